@@ -57,6 +57,7 @@ public class ASiCContainerWithCAdESValidator extends AbstractASiCContainerValida
 				CMSDocumentForASiCValidator cadesValidator = new CMSDocumentForASiCValidator(signature);
 				cadesValidator.setCertificateVerifier(certificateVerifier);
 				cadesValidator.setProcessExecutor(processExecutor);
+				cadesValidator.setExecutorService(executorService);
 				cadesValidator.setSignaturePolicyProvider(signaturePolicyProvider);
 				cadesValidator.setValidationCertPool(validationCertPool);
 				cadesValidator.setDetachedContents(getSignedDocuments(signature));
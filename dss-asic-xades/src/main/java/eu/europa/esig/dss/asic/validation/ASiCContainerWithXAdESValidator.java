@@ -46,6 +46,7 @@ public class ASiCContainerWithXAdESValidator extends AbstractASiCContainerValida
 				XMLDocumentForASiCValidator xadesValidator = new XMLDocumentForASiCValidator(signature);
 				xadesValidator.setCertificateVerifier(certificateVerifier);
 				xadesValidator.setProcessExecutor(processExecutor);
+				xadesValidator.setExecutorService(executorService);
 				xadesValidator.setValidationCertPool(validationCertPool);
 				xadesValidator.setSignaturePolicyProvider(signaturePolicyProvider);
 				xadesValidator.setDetachedContents(getSignedDocuments());
@@ -0,0 +1,107 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmarks;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the results of a run with the results of a baseline run (e.g. the previous release). A result is a
+ * regression when it is worse than the baseline by more than the threshold, and the difference is larger than the
+ * errors of both runs. The same threshold is applied to the allocated bytes by operation.
+ */
+public class BaselineComparison {
+
+	private final Map<String, BenchmarkResult> baseline = new LinkedHashMap<String, BenchmarkResult>();
+
+	private final double threshold;
+
+	private final List<String> regressions = new ArrayList<String>();
+
+	/**
+	 * @param baseline
+	 *            the results of the baseline run
+	 * @param threshold
+	 *            the tolerated degradation in percent
+	 */
+	public BaselineComparison(Collection<BenchmarkResult> baseline, double threshold) {
+		for (BenchmarkResult result : baseline) {
+			this.baseline.put(result.getKey(), result);
+		}
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Prints the comparison of each result with its baseline
+	 *
+	 * @param results
+	 *            the results of the current run
+	 * @param out
+	 *            the stream of the report
+	 */
+	public void compare(Collection<BenchmarkResult> results, PrintStream out) {
+		out.println(String.format("%-80s %14s %14s %9s %9s  %s", "Benchmark", "Baseline", "Current", "Score", "Alloc", "Status"));
+		for (BenchmarkResult result : results) {
+			BenchmarkResult base = baseline.get(result.getKey());
+			if (base == null) {
+				out.println(String.format("%-80s %14s %14.3f %9s %9s  %s", result.getKey(), "-", result.getScore(), "-", "-", "NEW"));
+				continue;
+			}
+
+			double scoreChange = getChange(base.getScore(), result.getScore(), result.isLowerBetter());
+			boolean slower = scoreChange > threshold && Math.abs(result.getScore() - base.getScore()) > result.getError() + base.getError();
+
+			double allocatedChange = getChange(base.getAllocated(), result.getAllocated(), true);
+			boolean allocating = allocatedChange > threshold;
+
+			String status = "OK";
+			if (slower || allocating) {
+				status = "REGRESSION";
+				regressions.add(result.getKey());
+			}
+			out.println(String.format("%-80s %14.3f %14.3f %+8.1f%% %+8.1f%%  %s", result.getKey(), base.getScore(), result.getScore(), scoreChange,
+					allocatedChange, status));
+		}
+	}
+
+	/**
+	 * @return the keys of the results which are worse than the baseline
+	 */
+	public List<String> getRegressions() {
+		return regressions;
+	}
+
+	/**
+	 * Returns the degradation in percent (positive when the current value is worse)
+	 */
+	private double getChange(double base, double current, boolean lowerIsBetter) {
+		if (Double.isNaN(base) || Double.isNaN(current) || base == 0) {
+			return 0;
+		}
+		double change = (current - base) / base * 100;
+		return lowerIsBetter ? change : -change;
+	}
+
+}
@@ -0,0 +1,90 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.InMemoryDocument;
+import eu.europa.esig.dss.MimeType;
+
+/**
+ * Generates the documents to be signed, so that the benchmarks do not depend on test resources
+ */
+public final class BenchmarkDocuments {
+
+	private static final int XML_ELEMENTS = 200;
+
+	private static final int PDF_PAGES = 5;
+
+	private BenchmarkDocuments() {
+	}
+
+	/**
+	 * @return an XML document of about 20 kB
+	 */
+	public static DSSDocument xml() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		sb.append("<invoice xmlns=\"urn:dss:benchmark\">\n");
+		for (int i = 0; i < XML_ELEMENTS; i++) {
+			sb.append("\t<line id=\"l").append(i).append("\"><label>Item number ").append(i).append("</label><amount>").append(i * 10)
+					.append(".00</amount></line>\n");
+		}
+		sb.append("</invoice>");
+		try {
+			return new InMemoryDocument(sb.toString().getBytes("UTF-8"), "invoice.xml", MimeType.XML);
+		} catch (IOException e) {
+			throw new DSSException(e);
+		}
+	}
+
+	/**
+	 * @return a PDF document with a few pages of text
+	 */
+	public static DSSDocument pdf() {
+		try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			for (int i = 0; i < PDF_PAGES; i++) {
+				PDPage page = new PDPage();
+				document.addPage(page);
+				try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+					contentStream.beginText();
+					contentStream.setFont(PDType1Font.HELVETICA, 12);
+					contentStream.newLineAtOffset(50, 700);
+					contentStream.showText("DSS benchmark, page " + (i + 1));
+					contentStream.endText();
+				}
+			}
+			document.save(baos);
+			return new InMemoryDocument(baos.toByteArray(), "document.pdf", MimeType.PDF);
+		} catch (IOException e) {
+			throw new DSSException(e);
+		}
+	}
+
+}
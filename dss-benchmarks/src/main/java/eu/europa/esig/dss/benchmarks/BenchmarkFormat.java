@@ -0,0 +1,141 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmarks;
+
+import eu.europa.esig.dss.ASiCContainerType;
+import eu.europa.esig.dss.SignatureLevel;
+import eu.europa.esig.dss.SignaturePackaging;
+import eu.europa.esig.dss.asic.ASiCWithCAdESSignatureParameters;
+import eu.europa.esig.dss.asic.ASiCWithXAdESSignatureParameters;
+import eu.europa.esig.dss.asic.signature.ASiCWithCAdESService;
+import eu.europa.esig.dss.asic.signature.ASiCWithXAdESService;
+import eu.europa.esig.dss.cades.CAdESSignatureParameters;
+import eu.europa.esig.dss.cades.signature.CAdESService;
+import eu.europa.esig.dss.pades.PAdESSignatureParameters;
+import eu.europa.esig.dss.pades.signature.PAdESService;
+import eu.europa.esig.dss.validation.CertificateVerifier;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import eu.europa.esig.dss.xades.signature.XAdESService;
+
+/**
+ * The signature formats covered by the benchmarks. The levels are given as B, T, LT or LTA and mapped to the
+ * baseline {@code SignatureLevel} of the format.
+ */
+public enum BenchmarkFormat {
+
+	XAdES {
+		@Override
+		public SignatureFixture<?> createFixture(BenchmarkPKI pki, CertificateVerifier certificateVerifier) {
+			return new SignatureFixture<XAdESSignatureParameters>(new XAdESService(certificateVerifier), BenchmarkDocuments.xml(), pki) {
+
+				@Override
+				protected XAdESSignatureParameters newParameters(String level) {
+					XAdESSignatureParameters parameters = new XAdESSignatureParameters();
+					parameters.setSignaturePackaging(SignaturePackaging.ENVELOPED);
+					parameters.setSignatureLevel(SignatureLevel.valueOf("XAdES_BASELINE_" + level));
+					return parameters;
+				}
+
+			};
+		}
+	},
+
+	CAdES {
+		@Override
+		public SignatureFixture<?> createFixture(BenchmarkPKI pki, CertificateVerifier certificateVerifier) {
+			return new SignatureFixture<CAdESSignatureParameters>(new CAdESService(certificateVerifier), BenchmarkDocuments.xml(), pki) {
+
+				@Override
+				protected CAdESSignatureParameters newParameters(String level) {
+					CAdESSignatureParameters parameters = new CAdESSignatureParameters();
+					parameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+					parameters.setSignatureLevel(SignatureLevel.valueOf("CAdES_BASELINE_" + level));
+					return parameters;
+				}
+
+			};
+		}
+	},
+
+	PAdES {
+		@Override
+		public SignatureFixture<?> createFixture(BenchmarkPKI pki, CertificateVerifier certificateVerifier) {
+			return new SignatureFixture<PAdESSignatureParameters>(new PAdESService(certificateVerifier), BenchmarkDocuments.pdf(), pki) {
+
+				@Override
+				protected PAdESSignatureParameters newParameters(String level) {
+					PAdESSignatureParameters parameters = new PAdESSignatureParameters();
+					parameters.setSignatureLevel(SignatureLevel.valueOf("PAdES_BASELINE_" + level));
+					return parameters;
+				}
+
+			};
+		}
+	},
+
+	ASiC_E_XAdES {
+		@Override
+		public SignatureFixture<?> createFixture(BenchmarkPKI pki, CertificateVerifier certificateVerifier) {
+			return new SignatureFixture<ASiCWithXAdESSignatureParameters>(new ASiCWithXAdESService(certificateVerifier), BenchmarkDocuments.xml(),
+					pki) {
+
+				@Override
+				protected ASiCWithXAdESSignatureParameters newParameters(String level) {
+					ASiCWithXAdESSignatureParameters parameters = new ASiCWithXAdESSignatureParameters();
+					parameters.aSiC().setContainerType(ASiCContainerType.ASiC_E);
+					parameters.setSignatureLevel(SignatureLevel.valueOf("XAdES_BASELINE_" + level));
+					return parameters;
+				}
+
+			};
+		}
+	},
+
+	ASiC_E_CAdES {
+		@Override
+		public SignatureFixture<?> createFixture(BenchmarkPKI pki, CertificateVerifier certificateVerifier) {
+			return new SignatureFixture<ASiCWithCAdESSignatureParameters>(new ASiCWithCAdESService(certificateVerifier), BenchmarkDocuments.xml(),
+					pki) {
+
+				@Override
+				protected ASiCWithCAdESSignatureParameters newParameters(String level) {
+					ASiCWithCAdESSignatureParameters parameters = new ASiCWithCAdESSignatureParameters();
+					parameters.aSiC().setContainerType(ASiCContainerType.ASiC_E);
+					parameters.setSignatureLevel(SignatureLevel.valueOf("CAdES_BASELINE_" + level));
+					return parameters;
+				}
+
+			};
+		}
+	};
+
+	/**
+	 * Creates the service of the format with its document to sign
+	 *
+	 * @param pki
+	 *            the PKI which provides the signing key and the TSP source
+	 * @param certificateVerifier
+	 *            the verifier used by the service
+	 * @return a new fixture, the level has to be set before signing
+	 */
+	public abstract SignatureFixture<?> createFixture(BenchmarkPKI pki, CertificateVerifier certificateVerifier);
+
+}
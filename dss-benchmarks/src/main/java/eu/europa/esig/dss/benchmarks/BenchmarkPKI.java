@@ -0,0 +1,231 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.KeyStore.PasswordProtection;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.util.Date;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AccessDescription;
+import org.bouncycastle.asn1.x509.AuthorityInformationAccess;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.KeyStoreSignatureTokenConnection;
+import eu.europa.esig.dss.validation.CertificateVerifier;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.CommonTrustedCertificateSource;
+
+/**
+ * In-process PKI used by the benchmarks: a trusted root CA, a signer and a time-stamping unit, with mock TSP, OCSP and
+ * CRL sources. Nothing is downloaded, so that the measures only depend on the code under test.
+ */
+public class BenchmarkPKI {
+
+	static final String OCSP_URL = "http://ocsp.benchmark.test";
+
+	static final String CRL_URL = "http://crl.benchmark.test/root.crl";
+
+	private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
+
+	private static final long ONE_DAY = 24 * 60 * 60 * 1000L;
+
+	private static final X500Name ROOT_NAME = new X500Name("CN=Benchmark Root CA,O=DSS-benchmark");
+
+	private static final PasswordProtection PASSWORD = new PasswordProtection("benchmark".toCharArray());
+
+	private final KeyPair rootKeyPair;
+
+	private final CertificateToken rootCertificate;
+
+	private final KeyStoreSignatureTokenConnection signingToken;
+
+	private final MockTSPSource tspSource;
+
+	private final MockOCSPSource ocspSource;
+
+	private final MockCRLSource crlSource;
+
+	public BenchmarkPKI() {
+		try {
+			KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+			keyPairGenerator.initialize(2048);
+
+			rootKeyPair = keyPairGenerator.generateKeyPair();
+			JcaX509v3CertificateBuilder rootBuilder = new JcaX509v3CertificateBuilder(ROOT_NAME, BigInteger.ONE, notBefore(), notAfter(), ROOT_NAME,
+					rootKeyPair.getPublic());
+			rootBuilder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+			rootBuilder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+			rootCertificate = sign(rootBuilder);
+
+			KeyPair signerKeyPair = keyPairGenerator.generateKeyPair();
+			JcaX509v3CertificateBuilder signerBuilder = newEndEntityBuilder(BigInteger.valueOf(2), "CN=Benchmark Signer,O=DSS-benchmark",
+					signerKeyPair);
+			signerBuilder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.digitalSignature | KeyUsage.nonRepudiation));
+			CertificateToken signerCertificate = sign(signerBuilder);
+			signingToken = new KeyStoreSignatureTokenConnection(toPKCS12(signerKeyPair.getPrivate(), signerCertificate), "PKCS12", PASSWORD);
+
+			KeyPair tsaKeyPair = keyPairGenerator.generateKeyPair();
+			JcaX509v3CertificateBuilder tsaBuilder = newEndEntityBuilder(BigInteger.valueOf(3), "CN=Benchmark TSA,O=DSS-benchmark", tsaKeyPair);
+			tsaBuilder.addExtension(Extension.extendedKeyUsage, true, new ExtendedKeyUsage(KeyPurposeId.id_kp_timeStamping));
+			CertificateToken tsaCertificate = sign(tsaBuilder);
+
+			tspSource = new MockTSPSource(tsaKeyPair.getPrivate(), tsaCertificate);
+			ocspSource = new MockOCSPSource(rootKeyPair.getPrivate(), rootCertificate);
+			crlSource = new MockCRLSource(createCRL(0), rootCertificate);
+		} catch (Exception e) {
+			throw new DSSException("Unable to create the benchmark PKI : " + e.getMessage(), e);
+		}
+	}
+
+	public CertificateToken getRootCertificate() {
+		return rootCertificate;
+	}
+
+	public KeyStoreSignatureTokenConnection getSigningToken() {
+		return signingToken;
+	}
+
+	public DSSPrivateKeyEntry getPrivateKeyEntry() {
+		return signingToken.getKeys().get(0);
+	}
+
+	public MockTSPSource getTSPSource() {
+		return tspSource;
+	}
+
+	public MockOCSPSource getOCSPSource() {
+		return ocspSource;
+	}
+
+	public MockCRLSource getCRLSource() {
+		return crlSource;
+	}
+
+	/**
+	 * Creates a verifier which trusts the root CA and retrieves the revocation data from the mock sources.
+	 *
+	 * @param ocsp
+	 *            true if the OCSP source is used
+	 * @param crl
+	 *            true if the CRL source is used
+	 * @return a new {@code CertificateVerifier}
+	 */
+	public CertificateVerifier createCertificateVerifier(boolean ocsp, boolean crl) {
+		CommonTrustedCertificateSource trustedCertSource = new CommonTrustedCertificateSource();
+		trustedCertSource.addCertificate(rootCertificate);
+
+		// no DataLoader : all the certificates are embedded in the signatures
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier(true);
+		certificateVerifier.setTrustedCertSource(trustedCertSource);
+		if (ocsp) {
+			certificateVerifier.setOcspSource(ocspSource);
+		}
+		if (crl) {
+			certificateVerifier.setCrlSource(crlSource);
+		}
+		return certificateVerifier;
+	}
+
+	/**
+	 * Creates a CRL signed by the root CA with the given number of revoked certificates
+	 *
+	 * @param revokedCertificates
+	 *            the number of entries
+	 * @return the DER encoded CRL
+	 */
+	public byte[] createCRL(int revokedCertificates) {
+		try {
+			Date now = new Date();
+			X509v2CRLBuilder builder = new X509v2CRLBuilder(ROOT_NAME, now);
+			builder.setNextUpdate(new Date(now.getTime() + ONE_DAY));
+			for (int i = 0; i < revokedCertificates; i++) {
+				// the serial numbers of the PKI certificates are never revoked
+				builder.addCRLEntry(BigInteger.valueOf(1000L + i), now, CRLReason.keyCompromise);
+			}
+			return builder.build(newContentSigner(rootKeyPair.getPrivate())).getEncoded();
+		} catch (Exception e) {
+			throw new DSSException("Unable to create the CRL : " + e.getMessage(), e);
+		}
+	}
+
+	private JcaX509v3CertificateBuilder newEndEntityBuilder(BigInteger serialNumber, String subject, KeyPair keyPair) throws Exception {
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(ROOT_NAME,
+				serialNumber, notBefore(), notAfter(), new X500Name(subject), keyPair.getPublic());
+		builder.addExtension(Extension.authorityInfoAccess, false, new AuthorityInformationAccess(
+				new AccessDescription(AccessDescription.id_ad_ocsp, new GeneralName(GeneralName.uniformResourceIdentifier, OCSP_URL))));
+		GeneralNames crlName = new GeneralNames(new GeneralName(GeneralName.uniformResourceIdentifier, CRL_URL));
+		builder.addExtension(Extension.cRLDistributionPoints, false,
+				new CRLDistPoint(new DistributionPoint[] { new DistributionPoint(new DistributionPointName(crlName), null, null) }));
+		return builder;
+	}
+
+	private CertificateToken sign(JcaX509v3CertificateBuilder builder) throws Exception {
+		return new CertificateToken(new JcaX509CertificateConverter().getCertificate(builder.build(newContentSigner(rootKeyPair.getPrivate()))));
+	}
+
+	private byte[] toPKCS12(PrivateKey privateKey, CertificateToken certificate) throws Exception {
+		KeyStore keyStore = KeyStore.getInstance("PKCS12");
+		keyStore.load(null, null);
+		keyStore.setKeyEntry("signer", privateKey, PASSWORD.getPassword(),
+				new Certificate[] { certificate.getCertificate(), rootCertificate.getCertificate() });
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		keyStore.store(baos, PASSWORD.getPassword());
+		return baos.toByteArray();
+	}
+
+	static ContentSigner newContentSigner(PrivateKey privateKey) throws Exception {
+		return new JcaContentSignerBuilder(SIGNATURE_ALGORITHM).build(privateKey);
+	}
+
+	private static Date notBefore() {
+		return new Date(System.currentTimeMillis() - ONE_DAY);
+	}
+
+	private static Date notAfter() {
+		return new Date(System.currentTimeMillis() + 365 * ONE_DAY);
+	}
+
+}
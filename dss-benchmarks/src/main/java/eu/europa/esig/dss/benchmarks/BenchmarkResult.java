@@ -0,0 +1,138 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmarks;
+
+import java.util.Map;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+import eu.europa.esig.dss.DSSException;
+
+/**
+ * The score of a benchmark with a given set of parameters, as stored in the CSV files
+ */
+public class BenchmarkResult {
+
+	/**
+	 * The bytes allocated by operation, computed by the JMH GC profiler
+	 */
+	private static final String GC_ALLOC_RATE_NORM = "\u00b7gc.alloc.rate.norm";
+
+	private static final String SEPARATOR = ",";
+
+	static final String CSV_HEADER = "benchmark,mode,unit,score,error,allocated";
+
+	private final String key;
+
+	private final String mode;
+
+	private final String unit;
+
+	private final double score;
+
+	private final double error;
+
+	private final double allocated;
+
+	public BenchmarkResult(String key, String mode, String unit, double score, double error, double allocated) {
+		this.key = key;
+		this.mode = mode;
+		this.unit = unit;
+		this.score = score;
+		this.error = error;
+		this.allocated = allocated;
+	}
+
+	/**
+	 * The key is the benchmark method followed by its parameters, e.g.
+	 * {@code SignatureBenchmark.signDocument;format=XAdES;level=LT}
+	 *
+	 * @return the identifier of the result
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	public String getMode() {
+		return mode;
+	}
+
+	public String getUnit() {
+		return unit;
+	}
+
+	public double getScore() {
+		return score;
+	}
+
+	public double getError() {
+		return error;
+	}
+
+	/**
+	 * @return the allocated bytes by operation or NaN if the GC profiler was not enabled
+	 */
+	public double getAllocated() {
+		return allocated;
+	}
+
+	/**
+	 * @return true if a lower score is better (average time) or false if a higher score is better (throughput)
+	 */
+	public boolean isLowerBetter() {
+		return !"thrpt".equals(mode);
+	}
+
+	public static BenchmarkResult fromRunResult(RunResult runResult) {
+		BenchmarkParams params = runResult.getParams();
+		String benchmark = params.getBenchmark();
+		StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+		for (String paramKey : params.getParamsKeys()) {
+			key.append(';').append(paramKey).append('=').append(params.getParam(paramKey));
+		}
+
+		Result<?> primaryResult = runResult.getPrimaryResult();
+		double allocated = Double.NaN;
+		Map<String, Result> secondaryResults = runResult.getSecondaryResults();
+		Result<?> allocatedResult = secondaryResults.get(GC_ALLOC_RATE_NORM);
+		if (allocatedResult != null) {
+			allocated = allocatedResult.getScore();
+		}
+		return new BenchmarkResult(key.toString(), params.getMode().shortLabel(), primaryResult.getScoreUnit(), primaryResult.getScore(),
+				primaryResult.getScoreError(), allocated);
+	}
+
+	public static BenchmarkResult fromCsv(String line) {
+		String[] values = line.split(SEPARATOR);
+		if (values.length != 6) {
+			throw new DSSException("Invalid benchmark result : " + line);
+		}
+		return new BenchmarkResult(values[0], values[1], values[2], Double.parseDouble(values[3]), Double.parseDouble(values[4]),
+				Double.parseDouble(values[5]));
+	}
+
+	public String toCsv() {
+		return key + SEPARATOR + mode + SEPARATOR + unit + SEPARATOR + score + SEPARATOR + error + SEPARATOR + allocated;
+	}
+
+}
@@ -0,0 +1,116 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, stores the results in a CSV file and compares them with a baseline.
+ *
+ * <pre>
+ * java -jar benchmarks.jar [regexp] [-o results.csv] [-b baseline.csv] [-t threshold]
+ * </pre>
+ *
+ * The regexp selects the benchmarks (all by default), the threshold is the tolerated degradation in percent (10 by
+ * default). The exit status is 1 if a regression is found.
+ */
+public final class BenchmarkRunner {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		String include = BenchmarkRunner.class.getPackage().getName() + ".*";
+		File output = new File("benchmarks.csv");
+		File baselineFile = null;
+		double threshold = 10;
+
+		for (int i = 0; i < args.length; i++) {
+			if ("-o".equals(args[i]) && i + 1 < args.length) {
+				output = new File(args[++i]);
+			} else if ("-b".equals(args[i]) && i + 1 < args.length) {
+				baselineFile = new File(args[++i]);
+			} else if ("-t".equals(args[i]) && i + 1 < args.length) {
+				threshold = Double.parseDouble(args[++i]);
+			} else {
+				include = args[i];
+			}
+		}
+
+		ChainedOptionsBuilder options = new OptionsBuilder().include(include).addProfiler(GCProfiler.class);
+		List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+		for (RunResult runResult : new Runner(options.build()).run()) {
+			results.add(BenchmarkResult.fromRunResult(runResult));
+		}
+		write(results, output);
+		System.out.println("Results stored in " + output.getAbsolutePath());
+
+		if (baselineFile != null) {
+			BaselineComparison comparison = new BaselineComparison(read(baselineFile), threshold);
+			comparison.compare(results, System.out);
+			if (!comparison.getRegressions().isEmpty()) {
+				System.out.println(comparison.getRegressions().size() + " regression(s) above " + threshold + "%");
+				System.exit(1);
+			}
+		}
+	}
+
+	static void write(List<BenchmarkResult> results, File file) throws IOException {
+		try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), UTF8))) {
+			writer.println(BenchmarkResult.CSV_HEADER);
+			for (BenchmarkResult result : results) {
+				writer.println(result.toCsv());
+			}
+		}
+	}
+
+	static List<BenchmarkResult> read(File file) throws IOException {
+		List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF8))) {
+			String line = reader.readLine(); // header
+			while ((line = reader.readLine()) != null) {
+				if (!line.trim().isEmpty()) {
+					results.add(BenchmarkResult.fromCsv(line));
+				}
+			}
+		}
+		return results;
+	}
+
+}
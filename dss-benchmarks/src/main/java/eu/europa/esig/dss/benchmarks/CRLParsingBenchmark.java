@@ -0,0 +1,99 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.cert.X509CRLEntry;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.europa.esig.dss.crl.CRLUtilsStreamImpl;
+import eu.europa.esig.dss.crl.CRLUtilsX509CRLImpl;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.crl.ICRLUtils;
+import eu.europa.esig.dss.x509.CertificateToken;
+
+/**
+ * Compares the two CRL parsers (java.security X509CRL and stream) with CRLs of increasing size
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CRLParsingBenchmark {
+
+	@Param({ "10", "1000", "100000" })
+	public int entries;
+
+	@Param({ "x509crl", "stream" })
+	public String parser;
+
+	private ICRLUtils crlUtils;
+
+	private byte[] crl;
+
+	private CertificateToken issuerCertificate;
+
+	private CRLValidity crlValidity;
+
+	private BigInteger lastSerialNumber;
+
+	@Setup
+	public void setup() throws IOException {
+		BenchmarkPKI pki = new BenchmarkPKI();
+		crl = pki.createCRL(entries);
+		issuerCertificate = pki.getRootCertificate();
+		if ("stream".equals(parser)) {
+			crlUtils = new CRLUtilsStreamImpl();
+		} else {
+			crlUtils = new CRLUtilsX509CRLImpl();
+		}
+		crlValidity = isValidCRL();
+		lastSerialNumber = BigInteger.valueOf(1000L + entries - 1);
+	}
+
+	@Benchmark
+	public CRLValidity isValidCRL() throws IOException {
+		return crlUtils.isValidCRL(new ByteArrayInputStream(crl), issuerCertificate);
+	}
+
+	@Benchmark
+	public X509CRLEntry getRevocationInfo() {
+		// the worst case : the last entry of the CRL
+		return crlUtils.getRevocationInfo(crlValidity, lastSerialNumber);
+	}
+
+}
@@ -0,0 +1,62 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmarks;
+
+import java.io.ByteArrayInputStream;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.crl.CRLSource;
+import eu.europa.esig.dss.x509.crl.CRLToken;
+
+/**
+ * CRL source which serves a CRL generated once. The CRL is parsed and verified at each call, as it would be after a
+ * download.
+ */
+@SuppressWarnings("serial")
+public class MockCRLSource implements CRLSource {
+
+	private final byte[] crl;
+
+	private final CertificateToken issuerCertificate;
+
+	public MockCRLSource(byte[] crl, CertificateToken issuerCertificate) {
+		this.crl = crl;
+		this.issuerCertificate = issuerCertificate;
+	}
+
+	@Override
+	public CRLToken findCrl(CertificateToken certificateToken) throws DSSException {
+		if (!issuerCertificate.equals(certificateToken.getIssuerToken())) {
+			return null;
+		}
+		try {
+			CRLToken crlToken = new CRLToken(certificateToken, CRLUtils.isValidCRL(new ByteArrayInputStream(crl), issuerCertificate));
+			crlToken.setSourceURL(BenchmarkPKI.CRL_URL);
+			crlToken.setAvailable(true);
+			return crlToken;
+		} catch (Exception e) {
+			throw new DSSException(e);
+		}
+	}
+
+}
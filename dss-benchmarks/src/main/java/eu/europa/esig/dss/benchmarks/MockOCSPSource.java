@@ -0,0 +1,81 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmarks;
+
+import java.security.PrivateKey;
+import java.util.Date;
+
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.BasicOCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.RespID;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSRevocationUtils;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.ocsp.OCSPRespStatus;
+import eu.europa.esig.dss.x509.ocsp.OCSPSource;
+import eu.europa.esig.dss.x509.ocsp.OCSPToken;
+
+/**
+ * OCSP responder which signs a GOOD response for every certificate issued by the CA, without any request/response
+ * round trip
+ */
+@SuppressWarnings("serial")
+public class MockOCSPSource implements OCSPSource {
+
+	private final transient PrivateKey caKey;
+
+	private final CertificateToken caCertificate;
+
+	public MockOCSPSource(PrivateKey caKey, CertificateToken caCertificate) {
+		this.caKey = caKey;
+		this.caCertificate = caCertificate;
+	}
+
+	@Override
+	public OCSPToken getOCSPToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+		if (!caCertificate.equals(issuerCertificateToken)) {
+			return null;
+		}
+		try {
+			final CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerCertificateToken);
+			X509CertificateHolder caHolder = new X509CertificateHolder(caCertificate.getEncoded());
+			BasicOCSPRespBuilder builder = new BasicOCSPRespBuilder(new RespID(caHolder.getSubject()));
+			Date now = new Date();
+			builder.addResponse(certId, CertificateStatus.GOOD, now, null, null);
+			BasicOCSPResp basicOCSPResp = builder.build(BenchmarkPKI.newContentSigner(caKey), new X509CertificateHolder[] { caHolder }, now);
+
+			OCSPToken ocspToken = new OCSPToken();
+			ocspToken.setResponseStatus(OCSPRespStatus.SUCCESSFUL);
+			ocspToken.setSourceURL(BenchmarkPKI.OCSP_URL);
+			ocspToken.setCertId(certId);
+			ocspToken.setAvailable(true);
+			ocspToken.setBasicOCSPResp(basicOCSPResp);
+			return ocspToken;
+		} catch (Exception e) {
+			throw new DSSException(e);
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmarks;
+
+import java.math.BigInteger;
+import java.security.PrivateKey;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.nist.NISTObjectIdentifiers;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoGeneratorBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.bouncycastle.tsp.TimeStampRequestGenerator;
+import org.bouncycastle.tsp.TimeStampToken;
+import org.bouncycastle.tsp.TimeStampTokenGenerator;
+import org.bouncycastle.util.CollectionStore;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.tsp.TSPSource;
+
+/**
+ * Time-stamping unit which generates the tokens in memory, without any request/response round trip
+ */
+@SuppressWarnings("serial")
+public class MockTSPSource implements TSPSource {
+
+	private static final ASN1ObjectIdentifier POLICY_OID = new ASN1ObjectIdentifier("1.2.3.4");
+
+	private final transient TimeStampTokenGenerator generator;
+
+	private final AtomicLong serialNumber = new AtomicLong();
+
+	public MockTSPSource(PrivateKey tsaKey, CertificateToken tsaCertificate) {
+		try {
+			X509CertificateHolder certificate = new X509CertificateHolder(tsaCertificate.getEncoded());
+			generator = new TimeStampTokenGenerator(
+					new JcaSimpleSignerInfoGeneratorBuilder().build("SHA256withRSA", tsaKey, tsaCertificate.getCertificate()),
+					new JcaDigestCalculatorProviderBuilder().build().get(new AlgorithmIdentifier(NISTObjectIdentifiers.id_sha256)), POLICY_OID);
+			generator.addCertificates(new CollectionStore<X509CertificateHolder>(Collections.singleton(certificate)));
+		} catch (Exception e) {
+			throw new DSSException("Unable to create the TSA : " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public TimeStampToken getTimeStampResponse(DigestAlgorithm digestAlgorithm, byte[] digest) throws DSSException {
+		try {
+			TimeStampRequestGenerator requestGenerator = new TimeStampRequestGenerator();
+			requestGenerator.setCertReq(true);
+			// the generator is not thread-safe
+			synchronized (generator) {
+				return generator.generate(requestGenerator.generate(new ASN1ObjectIdentifier(digestAlgorithm.getOid()), digest),
+						BigInteger.valueOf(serialNumber.incrementAndGet()), new Date());
+			}
+		} catch (Exception e) {
+			throw new DSSException(e);
+		}
+	}
+
+}
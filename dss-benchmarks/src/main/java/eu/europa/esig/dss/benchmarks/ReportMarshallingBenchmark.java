@@ -0,0 +1,83 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+
+/**
+ * Measures the XML marshalling of the reports of a XAdES-BASELINE-LTA validation. The {@code Reports} keep the
+ * generated XML, a new instance is created for each call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportMarshallingBenchmark {
+
+	private Reports reports;
+
+	@Setup
+	public void setup() {
+		BenchmarkPKI pki = new BenchmarkPKI();
+		SignatureFixture<?> fixture = BenchmarkFormat.XAdES.createFixture(pki, pki.createCertificateVerifier(true, false));
+		fixture.setLevel("LTA");
+
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(fixture.signDocument());
+		validator.setCertificateVerifier(pki.createCertificateVerifier(true, false));
+		reports = validator.validateDocument();
+	}
+
+	@Benchmark
+	public String diagnosticData() {
+		return newReports().getXmlDiagnosticData();
+	}
+
+	@Benchmark
+	public String detailedReport() {
+		return newReports().getXmlDetailedReport();
+	}
+
+	@Benchmark
+	public String simpleReport() {
+		return newReports().getXmlSimpleReport();
+	}
+
+	private Reports newReports() {
+		return new Reports(reports.getDiagnosticDataJaxb(), reports.getDetailedReportJaxb(), reports.getSimpleReportJaxb());
+	}
+
+}
@@ -0,0 +1,81 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+
+/**
+ * Measures the two steps of the signature creation done by the service : the computation of the data to be signed
+ * and the creation of the signed document from the signature value.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignatureBenchmark {
+
+	@Param({ "XAdES", "CAdES", "PAdES", "ASiC_E_XAdES", "ASiC_E_CAdES" })
+	public BenchmarkFormat format;
+
+	@Param({ "B", "T", "LT", "LTA" })
+	public String level;
+
+	private SignatureFixture<?> fixture;
+
+	private SignatureValue signatureValue;
+
+	@Setup
+	public void setup() {
+		BenchmarkPKI pki = new BenchmarkPKI();
+		fixture = format.createFixture(pki, pki.createCertificateVerifier(true, false));
+		fixture.setLevel(level);
+		signatureValue = fixture.sign(fixture.getDataToSign());
+	}
+
+	@Benchmark
+	public ToBeSigned getDataToSign() {
+		return fixture.getDataToSign();
+	}
+
+	@Benchmark
+	public DSSDocument signDocument() {
+		return fixture.signDocument(signatureValue);
+	}
+
+}
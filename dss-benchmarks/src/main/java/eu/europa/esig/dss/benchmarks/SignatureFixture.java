@@ -0,0 +1,101 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmarks;
+
+import eu.europa.esig.dss.AbstractSignatureParameters;
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+import eu.europa.esig.dss.signature.AbstractSignatureService;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+
+/**
+ * A signature service with the document to sign and the parameters of a given signature level. The parameters are
+ * created once, so that the data to be signed are the same at each call.
+ *
+ * @param <SP>
+ *            the signature parameters of the format
+ */
+public abstract class SignatureFixture<SP extends AbstractSignatureParameters> {
+
+	private final AbstractSignatureService<SP> service;
+
+	private final DSSDocument toSignDocument;
+
+	private final BenchmarkPKI pki;
+
+	private final DSSPrivateKeyEntry privateKeyEntry;
+
+	private SP parameters;
+
+	protected SignatureFixture(AbstractSignatureService<SP> service, DSSDocument toSignDocument, BenchmarkPKI pki) {
+		this.service = service;
+		this.toSignDocument = toSignDocument;
+		this.pki = pki;
+		this.privateKeyEntry = pki.getPrivateKeyEntry();
+		service.setTspSource(pki.getTSPSource());
+	}
+
+	/**
+	 * Creates the parameters of the format
+	 *
+	 * @param level
+	 *            the baseline level (B, T, LT or LTA)
+	 * @return the new parameters
+	 */
+	protected abstract SP newParameters(String level);
+
+	/**
+	 * Creates the signature parameters used by the following calls
+	 *
+	 * @param level
+	 *            the baseline level (B, T, LT or LTA)
+	 */
+	public void setLevel(String level) {
+		parameters = newParameters(level);
+		parameters.setSigningCertificate(privateKeyEntry.getCertificate());
+		parameters.setCertificateChain(privateKeyEntry.getCertificateChain());
+	}
+
+	public ToBeSigned getDataToSign() {
+		return service.getDataToSign(toSignDocument, parameters);
+	}
+
+	public SignatureValue sign(ToBeSigned toBeSigned) {
+		return pki.getSigningToken().sign(toBeSigned, parameters.getDigestAlgorithm(), privateKeyEntry);
+	}
+
+	public DSSDocument signDocument(SignatureValue signatureValue) {
+		return service.signDocument(toSignDocument, parameters, signatureValue);
+	}
+
+	/**
+	 * @return a new signed document, with the whole getDataToSign / sign / signDocument sequence
+	 */
+	public DSSDocument signDocument() {
+		return signDocument(sign(getDataToSign()));
+	}
+
+	public DSSDocument extendDocument(DSSDocument signedDocument, String level) {
+		return service.extendDocument(signedDocument, newParameters(level));
+	}
+
+}
@@ -0,0 +1,87 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.tsl.TSLParserResult;
+import eu.europa.esig.dss.tsl.service.TSLParser;
+import eu.europa.esig.dss.utils.Utils;
+
+/**
+ * Measures the parsing of trusted lists of different sizes. The trusted lists are the ones of the dss-tsl-validation
+ * tests : BE (50 kB), FR (470 kB) and DE (2 MB).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TSLParsingBenchmark {
+
+	@Param({ "5AB2F66B1E2ECA8A02DF0F1C09937D4575BD93DF", "8F7ECB98E4C8AA799F658A90084252864F813093", "59F95095730A1809A027655246D6524959B191A8" })
+	public String tsl;
+
+	private File tslFile;
+
+	@Setup
+	public void setup() throws IOException {
+		// the parser reads the trusted lists from the file cache
+		tslFile = File.createTempFile("tsl-", ".xml");
+		try (InputStream is = TSLParsingBenchmark.class.getResourceAsStream("/tsls/" + tsl + ".xml"); OutputStream os = new FileOutputStream(tslFile)) {
+			if (is == null) {
+				throw new DSSException("Trusted list not found : " + tsl);
+			}
+			Utils.copy(is, os);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		tslFile.delete();
+	}
+
+	@Benchmark
+	public TSLParserResult parse() throws Exception {
+		return new TSLParser(tslFile.getAbsolutePath()).call();
+	}
+
+}
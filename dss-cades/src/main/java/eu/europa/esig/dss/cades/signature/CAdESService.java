@@ -55,6 +55,7 @@ import eu.europa.esig.dss.signature.AbstractSignatureService;
 import eu.europa.esig.dss.signature.SignatureExtension;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.CertificateVerifier;
+import eu.europa.esig.dss.validation.SharedCertificateVerifier;
 import eu.europa.esig.dss.validation.TimestampToken;
 import eu.europa.esig.dss.x509.TimestampType;
 
@@ -145,7 +146,7 @@ public class CAdESService extends AbstractSignatureService<CAdESSignatureParamet
 		final SignatureLevel signatureLevel = parameters.getSignatureLevel();
 		if (!SignatureLevel.CAdES_BASELINE_B.equals(signatureLevel)) {
 			// true: Only the last signature will be extended
-			final SignatureExtension<CAdESSignatureParameters> extension = getExtensionProfile(parameters, true);
+			final SignatureExtension<CAdESSignatureParameters> extension = getExtensionProfile(parameters, certificateVerifier, true);
 			signature = extension.extendSignatures(signature, parameters);
 		}
 		signature.setName(DSSUtils.getFinalFileName(toSignDocument, SigningOperation.SIGN, parameters.getSignatureLevel()));
@@ -172,8 +173,9 @@ public class CAdESService extends AbstractSignatureService<CAdESSignatureParamet
 
 	@Override
 	public DSSDocument extendDocument(final DSSDocument toExtendDocument, final CAdESSignatureParameters parameters) {
-		// false: All signature are extended
-		final SignatureExtension<CAdESSignatureParameters> extension = getExtensionProfile(parameters, false);
+		// false: All signature are extended (the validation data is shared between the signatures)
+		final SignatureExtension<CAdESSignatureParameters> extension = getExtensionProfile(parameters, new SharedCertificateVerifier(certificateVerifier),
+				false);
 		final DSSDocument dssDocument = extension.extendSignatures(toExtendDocument, parameters);
 		dssDocument.setName(DSSUtils.getFinalFileName(toExtendDocument, SigningOperation.EXTEND, parameters.getSignatureLevel()));
 		return dssDocument;
@@ -226,11 +228,14 @@ public class CAdESService extends AbstractSignatureService<CAdESSignatureParamet
 	/**
 	 * @param parameters
 	 *            set of driving signing parameters
+	 * @param certificateVerifier
+	 *            the certificate verifier used to collect the validation data
 	 * @param onlyLastCMSSignature
 	 *            indicates if only the last CSM signature should be extended
 	 * @return {@code SignatureExtension} related to the predefine profile
 	 */
-	private SignatureExtension<CAdESSignatureParameters> getExtensionProfile(final CAdESSignatureParameters parameters, final boolean onlyLastCMSSignature) {
+	private SignatureExtension<CAdESSignatureParameters> getExtensionProfile(final CAdESSignatureParameters parameters,
+			final CertificateVerifier certificateVerifier, final boolean onlyLastCMSSignature) {
 		final SignatureLevel signatureLevel = parameters.getSignatureLevel();
 		switch (signatureLevel) {
 		case CAdES_BASELINE_T:
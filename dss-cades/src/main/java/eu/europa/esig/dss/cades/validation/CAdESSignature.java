@@ -40,13 +40,17 @@ import static org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers.id_aa_signingCert
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.security.MessageDigest;
 import java.security.PublicKey;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import org.bouncycastle.asn1.ASN1Encodable;
 import org.bouncycastle.asn1.ASN1EncodableVector;
@@ -125,6 +129,7 @@ import eu.europa.esig.dss.DigestDocument;
 import eu.europa.esig.dss.EncryptionAlgorithm;
 import eu.europa.esig.dss.InMemoryDocument;
 import eu.europa.esig.dss.MaskGenerationFunction;
+import eu.europa.esig.dss.MessageDigestOutputStream;
 import eu.europa.esig.dss.OID;
 import eu.europa.esig.dss.SignatureAlgorithm;
 import eu.europa.esig.dss.SignatureForm;
@@ -193,6 +198,11 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 	 */
 	private List<TimestampReference> signingCertificateTimestampReferences;
 
+	/**
+	 * Cached digests of the signed content, by digest algorithm (content timestamps and archive-timestamp-v3).
+	 */
+	private final Map<DigestAlgorithm, byte[]> originalDocumentDigests = new EnumMap<DigestAlgorithm, byte[]>(DigestAlgorithm.class);
+
 	/**
 	 * @param data
 	 *            byte array representing CMSSignedData
@@ -1411,7 +1421,7 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 		final Attribute atsHashIndexAttribute = timestampExtractor.getVerifiedAtsHashIndex(signerInformation, timestampToken);
 
 		final DigestAlgorithm signedDataDigestAlgorithm = timestampToken.getSignedDataDigestAlgo();
-		byte[] originalDocumentDigest = DSSUtils.digest(signedDataDigestAlgorithm, getOriginalDocument());
+		byte[] originalDocumentDigest = getOriginalDocumentDigest(signedDataDigestAlgorithm);
 		byte[] archiveTimestampData = timestampExtractor.getArchiveTimestampDataV3(signerInformation, atsHashIndexAttribute, originalDocumentDigest);
 		return archiveTimestampData;
 	}
@@ -1427,6 +1437,109 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 		}
 	}
 
+	/**
+	 * Returns the digest of the signed content. The content is digested in streaming (without the copy of
+	 * {@code #getOriginalDocument()}) and only once per digest algorithm.
+	 *
+	 * @param digestAlgorithm
+	 *            the digest algorithm
+	 * @return the digest of the signed content
+	 */
+	public byte[] getOriginalDocumentDigest(final DigestAlgorithm digestAlgorithm) {
+		synchronized (originalDocumentDigests) {
+			byte[] digest = originalDocumentDigests.get(digestAlgorithm);
+			if (digest == null) {
+				if ((cmsSignedData.getSignedContent() == null) && (Utils.collectionSize(detachedContents) == 1)) {
+					// the detached document caches its digests (or only knows them, eg : DigestDocument)
+					digest = Utils.fromBase64(detachedContents.get(0).getDigest(digestAlgorithm));
+				} else {
+					final MessageDigestOutputStream sink = new MessageDigestOutputStream(DSSUtils.getMessageDigest(digestAlgorithm));
+					try {
+						writeOriginalDocument(sink);
+					} catch (IOException e) {
+						throw new DSSException(e);
+					}
+					digest = sink.getMessageDigest().digest();
+				}
+				originalDocumentDigests.put(digestAlgorithm, digest);
+			}
+			return digest;
+		}
+	}
+
+	private void writeOriginalDocument(final OutputStream outputStream) throws IOException {
+		final CMSTypedData signedContent = cmsSignedData.getSignedContent();
+		if (signedContent != null) {
+			try {
+				signedContent.write(outputStream);
+			} catch (CMSException e) {
+				throw new DSSException(e);
+			}
+		} else if (Utils.collectionSize(detachedContents) == 1) {
+			detachedContents.get(0).writeTo(outputStream);
+		} else {
+			throw new DSSException("Only enveloping and detached signatures are supported");
+		}
+	}
+
+	@Override
+	protected byte[] getTimestampedDataDigest(final TimestampToken timestampToken, final DigestAlgorithm digestAlgorithm) {
+		if (CONTENT_TIMESTAMP == timestampToken.getTimeStampType()) {
+			return getOriginalDocumentDigest(digestAlgorithm);
+		}
+		return super.getTimestampedDataDigest(timestampToken, digestAlgorithm);
+	}
+
+	@Override
+	protected boolean matchTimestampedData(final TimestampToken timestampToken) {
+		if ((ARCHIVE_TIMESTAMP == timestampToken.getTimeStampType()) && (CAdES_V2 == timestampToken.getArchiveTimestampType())) {
+			return matchArchiveTimestampV2(timestampToken);
+		}
+		return super.matchTimestampedData(timestampToken);
+	}
+
+	/**
+	 * Checks the archive-timestamp-v2 according to ETSI TS 101 733 v2.2.1 and then v1.8.3 (see
+	 * {@code #getArchiveTimestampData}). The data is digested in streaming and the part which is common to both
+	 * versions (content, certificates and CRLs) is only digested once.
+	 */
+	private boolean matchArchiveTimestampV2(final TimestampToken timestampToken) {
+		final DigestAlgorithm digestAlgorithm = timestampToken.getSignedDataDigestAlgo();
+		try {
+			final MessageDigestOutputStream sink = new MessageDigestOutputStream(DSSUtils.getMessageDigest(digestAlgorithm));
+			writeArchiveTimestampDataV2Content(sink);
+			MessageDigest contentDigest = cloneDigest(sink.getMessageDigest());
+
+			writeArchiveTimestampDataV2SignerInfo(timestampToken, true, sink);
+			if (timestampToken.matchDigest(sink.getMessageDigest().digest(), true)) {
+				return true;
+			}
+
+			if (contentDigest == null) {
+				contentDigest = DSSUtils.getMessageDigest(digestAlgorithm);
+				writeArchiveTimestampDataV2Content(new MessageDigestOutputStream(contentDigest));
+			}
+			writeArchiveTimestampDataV2SignerInfo(timestampToken, false, new MessageDigestOutputStream(contentDigest));
+			return timestampToken.matchDigest(contentDigest.digest());
+		} catch (IOException e) {
+			throw new DSSException(e);
+		} catch (Exception e) {
+			// When error in computing or in format the algorithm just
+			// continues.
+			LOG.warn("When error in computing or in format the algorithm just continue...", e);
+			return timestampToken.matchData(DSSUtils.EMPTY_BYTE_ARRAY);
+		}
+	}
+
+	private MessageDigest cloneDigest(final MessageDigest messageDigest) {
+		try {
+			return (MessageDigest) messageDigest.clone();
+		} catch (CloneNotSupportedException e) {
+			LOG.debug("The digest {} cannot be cloned", messageDigest.getAlgorithm());
+			return null;
+		}
+	}
+
 	/**
 	 * This method handles the archive-timestamp-v2
 	 * The value of the messageImprint field within TimeStampToken shall be a
@@ -1490,62 +1603,85 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 	 */
 	private byte[] getArchiveTimestampDataV2(TimestampToken timestampToken, boolean includeUnsignedAttrsTagAndLength) throws DSSException {
 
-		try (ByteArrayOutputStream data = new ByteArrayOutputStream(); ByteArrayOutputStream signerByteArrayOutputStream = new ByteArrayOutputStream()) {
+		try (ByteArrayOutputStream data = new ByteArrayOutputStream()) {
+			writeArchiveTimestampDataV2Content(data);
+			writeArchiveTimestampDataV2SignerInfo(timestampToken, includeUnsignedAttrsTagAndLength, data);
+			return data.toByteArray();
+		} catch (IOException e) {
+			throw new DSSException(e);
+		} catch (Exception e) {
+			// When error in computing or in format the algorithm just
+			// continues.
+			LOG.warn("When error in computing or in format the algorithm just continue...", e);
+			return DSSUtils.EMPTY_BYTE_ARRAY;
+		}
+	}
 
-			final ContentInfo contentInfo = cmsSignedData.toASN1Structure();
-			final SignedData signedData = SignedData.getInstance(contentInfo.getContent());
-			final ContentInfo content = signedData.getEncapContentInfo();
-			byte[] contentInfoBytes;
-			if (content.getContent() instanceof BEROctetString) {
-				contentInfoBytes = DSSASN1Utils.getBEREncoded(content);
-			} else {
-				contentInfoBytes = DSSASN1Utils.getDEREncoded(content);
-			}
-			if (LOG.isTraceEnabled()) {
-				LOG.trace("Content Info: {}", DSSUtils.toHex(contentInfoBytes));
+	/**
+	 * Writes the part of the archive-timestamp-v2 data which does not depend on the timestamp : the encapContentInfo,
+	 * the external content, the certificates and the CRLs.
+	 */
+	private void writeArchiveTimestampDataV2Content(final OutputStream data) throws IOException {
+		final ContentInfo contentInfo = cmsSignedData.toASN1Structure();
+		final SignedData signedData = SignedData.getInstance(contentInfo.getContent());
+		final ContentInfo content = signedData.getEncapContentInfo();
+		byte[] contentInfoBytes;
+		if (content.getContent() instanceof BEROctetString) {
+			contentInfoBytes = DSSASN1Utils.getBEREncoded(content);
+		} else {
+			contentInfoBytes = DSSASN1Utils.getDEREncoded(content);
+		}
+		if (LOG.isTraceEnabled()) {
+			LOG.trace("Content Info: {}", DSSUtils.toHex(contentInfoBytes));
+		}
+		data.write(contentInfoBytes);
+		if (isDetachedSignature()) {
+			/*
+			 * Detached signatures have either no encapContentInfo in signedData, or it
+			 * exists but has no eContent
+			 */
+			if (Utils.isCollectionEmpty(detachedContents)) {
+				throw new DSSException("Signature is detached and no original data provided.");
 			}
-			data.write(contentInfoBytes);
-			if (isDetachedSignature()) {
-				/*
-				 * Detached signatures have either no encapContentInfo in signedData, or it
-				 * exists but has no eContent
-				 */
-				byte[] originalDocumentBinaries = DSSUtils.toByteArray(getOriginalDocument());
-				if (Utils.isArrayNotEmpty(originalDocumentBinaries)) {
-					data.write(originalDocumentBinaries);
-				} else {
-					throw new DSSException("Signature is detached and no original data provided.");
-				}
+			writeOriginalDocument(data);
+		}
+		
+		final ASN1Set certificates = signedData.getCertificates();
+		if (certificates != null) {
+
+			byte[] certificatesBytes = null;
+			/*
+			 * In order to calculate correct message imprint it is important
+			 * to use the correct encoding.
+			 */
+			if (certificates instanceof BERSet) {
+				certificatesBytes = new BERTaggedObject(false, 0, new BERSequence(certificates.toArray())).getEncoded();
+			} else {
+				certificatesBytes = new DERTaggedObject(false, 0, new DERSequence(certificates.toArray())).getEncoded();
 			}
 			
-			final ASN1Set certificates = signedData.getCertificates();
-			if (certificates != null) {
-
-				byte[] certificatesBytes = null;
-				/*
-				 * In order to calculate correct message imprint it is important
-				 * to use the correct encoding.
-				 */
-				if (certificates instanceof BERSet) {
-					certificatesBytes = new BERTaggedObject(false, 0, new BERSequence(certificates.toArray())).getEncoded();
-				} else {
-					certificatesBytes = new DERTaggedObject(false, 0, new DERSequence(certificates.toArray())).getEncoded();
-				}
-				
-				if (LOG.isTraceEnabled()) {
-					LOG.trace("Certificates: {}", DSSUtils.toHex(certificatesBytes));
-				}
-				data.write(certificatesBytes);
+			if (LOG.isTraceEnabled()) {
+				LOG.trace("Certificates: {}", DSSUtils.toHex(certificatesBytes));
 			}
-			if (signedData.getCRLs() != null) {
+			data.write(certificatesBytes);
+		}
+		if (signedData.getCRLs() != null) {
 
-				final byte[] crlBytes = signedData.getCRLs().getEncoded();
-				if (LOG.isTraceEnabled()) {
-					LOG.trace("CRLs: {}", DSSUtils.toHex(crlBytes));
-				}
-				data.write(crlBytes);
+			final byte[] crlBytes = signedData.getCRLs().getEncoded();
+			if (LOG.isTraceEnabled()) {
+				LOG.trace("CRLs: {}", DSSUtils.toHex(crlBytes));
 			}
+			data.write(crlBytes);
+		}
+	}
 
+	/**
+	 * Writes the SignerInfo part of the archive-timestamp-v2 data (with the unsigned attributes which precede the
+	 * timestamp).
+	 */
+	private void writeArchiveTimestampDataV2SignerInfo(final TimestampToken timestampToken, final boolean includeUnsignedAttrsTagAndLength,
+			final OutputStream data) throws IOException {
+		try (ByteArrayOutputStream signerByteArrayOutputStream = new ByteArrayOutputStream()) {
 			final SignerInfo signerInfo = signerInformation.toASN1Structure();
 			final ASN1Set unauthenticatedAttributes = signerInfo.getUnauthenticatedAttributes();
 			final ASN1Sequence filteredUnauthenticatedAttributes = filterUnauthenticatedAttributes(unauthenticatedAttributes, timestampToken);
@@ -1559,17 +1695,6 @@ public class CAdESSignature extends DefaultAdvancedSignature {
 				LOG.trace("SignerInfoBytes: {}", DSSUtils.toHex(signerInfoBytes));
 			}
 			data.write(signerInfoBytes);
-
-			final byte[] result = data.toByteArray();
-			return result;
-
-		} catch (IOException e) {
-			throw new DSSException(e);
-		} catch (Exception e) {
-			// When error in computing or in format the algorithm just
-			// continues.
-			LOG.warn("When error in computing or in format the algorithm just continue...", e);
-			return DSSUtils.EMPTY_BYTE_ARRAY;
 		}
 	}
 
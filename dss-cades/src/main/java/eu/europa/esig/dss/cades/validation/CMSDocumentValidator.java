@@ -87,6 +87,15 @@ public class CMSDocumentValidator extends SignedDocumentValidator {
 		return DSSASN1Utils.isASN1SequenceTag(firstByte);
 	}
 
+	/**
+	 * The signatures can be checked concurrently : each signature has its own {@code SignerInformation}, the
+	 * {@code CMSSignedData} and the detached contents are only read.
+	 */
+	@Override
+	protected boolean isConcurrentSignatureValidationSupported() {
+		return true;
+	}
+
 	@Override
 	public List<AdvancedSignature> getSignatures() {
 		List<AdvancedSignature> signatures = new ArrayList<AdvancedSignature>();
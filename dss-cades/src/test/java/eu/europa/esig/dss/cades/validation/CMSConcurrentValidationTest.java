@@ -0,0 +1,72 @@
+package eu.europa.esig.dss.cades.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.validation.reports.SimpleReport;
+import eu.europa.esig.dss.validation.reports.wrapper.DiagnosticData;
+
+public class CMSConcurrentValidationTest {
+
+	private ExecutorService executorService;
+
+	@Before
+	public void init() {
+		executorService = Executors.newFixedThreadPool(4);
+	}
+
+	@After
+	public void shutdown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void threeSignatures() {
+		compare(new FileDocument("src/test/resources/validation/dss-768/FD1&FD2&FEA.pdf.p7m"), 3);
+	}
+
+	@Test
+	public void timestampedSignatures() {
+		compare(new FileDocument("src/test/resources/plugtest/cades/CAdES-T/Sample_Set_12/Signature-C-T-2.p7m"), 2);
+	}
+
+	private void compare(DSSDocument document, int expectedSignatures) {
+		Reports sequential = validate(document, null);
+		Reports concurrent = validate(document, executorService);
+
+		DiagnosticData sequentialData = sequential.getDiagnosticData();
+		DiagnosticData concurrentData = concurrent.getDiagnosticData();
+		assertEquals(expectedSignatures, concurrentData.getSignatureIdList().size());
+		assertEquals(sequentialData.getSignatureIdList(), concurrentData.getSignatureIdList());
+
+		SimpleReport sequentialReport = sequential.getSimpleReport();
+		SimpleReport concurrentReport = concurrent.getSimpleReport();
+		for (String id : concurrentData.getSignatureIdList()) {
+			assertTrue(concurrentData.isBLevelTechnicallyValid(id));
+			assertEquals(sequentialData.isBLevelTechnicallyValid(id), concurrentData.isBLevelTechnicallyValid(id));
+			assertEquals(sequentialData.getTimestampIdList(id), concurrentData.getTimestampIdList(id));
+			assertEquals(sequentialReport.getIndication(id), concurrentReport.getIndication(id));
+			assertEquals(sequentialReport.getSubIndication(id), concurrentReport.getSubIndication(id));
+		}
+	}
+
+	private Reports validate(DSSDocument document, ExecutorService executorService) {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(document);
+		validator.setCertificateVerifier(new CommonCertificateVerifier(true));
+		validator.setExecutorService(executorService);
+		return validator.validateDocument();
+	}
+
+}
@@ -0,0 +1,68 @@
+package eu.europa.esig.dss.cades.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.ReportProjection;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.ValidationResultCache;
+import eu.europa.esig.dss.validation.reports.Reports;
+
+public class CMSReportProjectionTest {
+
+	private static final String PATH = "src/test/resources/validation/dss-768/FD1&FD2&FEA.pdf.p7m";
+
+	@Test
+	public void simpleOnly() {
+		Reports fullReports = validate(ReportProjection.FULL, null);
+		Reports reports = validate(ReportProjection.SIMPLE_ONLY, null);
+
+		assertNotNull(reports.getDiagnosticDataJaxb());
+		assertNull(reports.getDetailedReportJaxb());
+		assertNull(reports.getDetailedReport());
+		assertNull(reports.getXmlDetailedReport());
+		assertNotNull(reports.getSimpleReport());
+		assertEquals(3, reports.getSimpleReport().getSignaturesCount());
+		for (String id : fullReports.getSimpleReport().getSignatureIdList()) {
+			assertEquals(fullReports.getSimpleReport().getIndication(id), reports.getSimpleReport().getIndication(id));
+			assertEquals(fullReports.getSimpleReport().getSubIndication(id), reports.getSimpleReport().getSubIndication(id));
+			assertEquals(fullReports.getSimpleReport().getErrors(id), reports.getSimpleReport().getErrors(id));
+		}
+	}
+
+	@Test
+	public void diagnosticOnly() {
+		Reports reports = validate(ReportProjection.DIAGNOSTIC_ONLY, null);
+
+		assertNotNull(reports.getDiagnosticData());
+		assertEquals(3, reports.getDiagnosticData().getSignatureIdList().size());
+		assertNull(reports.getDetailedReportJaxb());
+		assertNull(reports.getSimpleReportJaxb());
+		assertNull(reports.getSimpleReport());
+	}
+
+	@Test
+	public void projectionIsPartOfTheCacheKey() {
+		ValidationResultCache cache = new ValidationResultCache();
+		Reports reports = validate(ReportProjection.DIAGNOSTIC_ONLY, cache);
+		assertNull(reports.getSimpleReportJaxb());
+
+		reports = validate(ReportProjection.FULL, cache);
+		assertNotNull(reports.getSimpleReportJaxb());
+		assertNotNull(reports.getDetailedReportJaxb());
+	}
+
+	private Reports validate(ReportProjection reportProjection, ValidationResultCache cache) {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(new FileDocument(PATH));
+		validator.setCertificateVerifier(new CommonCertificateVerifier());
+		validator.setReportProjection(reportProjection);
+		validator.setValidationResultCache(cache);
+		return validator.validateDocument();
+	}
+
+}
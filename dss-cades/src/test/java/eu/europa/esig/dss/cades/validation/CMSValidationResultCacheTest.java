@@ -0,0 +1,89 @@
+package eu.europa.esig.dss.cades.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.metrics.NoOpValidationMetrics;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.FileValidationResultStore;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.ValidationResultCache;
+import eu.europa.esig.dss.validation.executor.ValidationLevel;
+import eu.europa.esig.dss.validation.reports.Reports;
+
+public class CMSValidationResultCacheTest {
+
+	private static final String PATH = "src/test/resources/validation/dss-768/FD1&FD2&FEA.pdf.p7m";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void inMemory() {
+		ValidationResultCache cache = new ValidationResultCache();
+		CountingMetrics metrics = new CountingMetrics();
+		cache.setValidationMetrics(metrics);
+		Reports reports = validate(new FileDocument(PATH), cache, ValidationLevel.ARCHIVAL_DATA);
+		assertEquals(3, reports.getSimpleReport().getSignaturesCount());
+		assertEquals(0, metrics.hits);
+
+		Reports cachedReports = validate(new FileDocument(PATH), cache, ValidationLevel.ARCHIVAL_DATA);
+		assertEquals(1, metrics.hits);
+		// a copy is returned
+		assertNotSame(reports, cachedReports);
+		assertEquals(reports.getXmlSimpleReport(), cachedReports.getXmlSimpleReport());
+
+		validate(new FileDocument(PATH), cache, ValidationLevel.BASIC_SIGNATURES);
+		assertEquals(1, metrics.hits);
+
+		cache.clear();
+		validate(new FileDocument(PATH), cache, ValidationLevel.ARCHIVAL_DATA);
+		assertEquals(1, metrics.hits);
+	}
+
+	@Test
+	public void fileStore() throws Exception {
+		ValidationResultCache cache = new ValidationResultCache();
+		cache.setStore(new FileValidationResultStore(temporaryFolder.newFolder("results")));
+		Reports reports = validate(new FileDocument(PATH), cache, ValidationLevel.ARCHIVAL_DATA);
+
+		Reports storedReports = validate(new FileDocument(PATH), cache, ValidationLevel.ARCHIVAL_DATA);
+		assertNotSame(reports, storedReports);
+		assertEquals(reports.getSimpleReport().getSignatureIdList(), storedReports.getSimpleReport().getSignatureIdList());
+		for (String id : reports.getSimpleReport().getSignatureIdList()) {
+			assertEquals(reports.getSimpleReport().getIndication(id), storedReports.getSimpleReport().getIndication(id));
+			assertEquals(reports.getSimpleReport().getSubIndication(id), storedReports.getSimpleReport().getSubIndication(id));
+		}
+		assertEquals(reports.getXmlDetailedReport(), storedReports.getXmlDetailedReport());
+	}
+
+	private Reports validate(DSSDocument document, ValidationResultCache cache, ValidationLevel validationLevel) {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(document);
+		validator.setCertificateVerifier(new CommonCertificateVerifier());
+		validator.setValidationLevel(validationLevel);
+		validator.setValidationResultCache(cache);
+		return validator.validateDocument();
+	}
+
+	@SuppressWarnings("serial")
+	private static class CountingMetrics extends NoOpValidationMetrics {
+
+		private int hits;
+
+		@Override
+		public void increment(String name, String tag) {
+			if (ValidationMetrics.VALIDATION_RESULT_CACHE.equals(name) && ValidationMetrics.HIT.equals(tag)) {
+				hits++;
+			}
+		}
+
+	}
+
+}
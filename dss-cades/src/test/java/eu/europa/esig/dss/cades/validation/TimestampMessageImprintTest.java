@@ -0,0 +1,107 @@
+package eu.europa.esig.dss.cades.validation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.client.http.IgnoreDataLoader;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.AdvancedSignature;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.TimestampToken;
+
+/**
+ * The message imprints computed in streaming (and memoized) must give the same results as the timestamped data
+ */
+@RunWith(Parameterized.class)
+public class TimestampMessageImprintTest {
+
+	@Parameters(name = "Message imprints {index} : {0}")
+	public static Collection<Object[]> data() {
+		File folder = new File("src/test/resources/plugtest/cades");
+		Collection<File> listFiles = Utils.listFiles(folder, new String[] { "p7m" }, true);
+		Collection<Object[]> dataToRun = new ArrayList<Object[]>();
+		for (File file : listFiles) {
+			dataToRun.add(new Object[] { file });
+		}
+		return dataToRun;
+	}
+
+	private File fileToTest;
+
+	public TimestampMessageImprintTest(File fileToTest) {
+		this.fileToTest = fileToTest;
+	}
+
+	@Test
+	public void streamingImprintsMatchTheTimestampedData() {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(new FileDocument(fileToTest));
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+		certificateVerifier.setDataLoader(new IgnoreDataLoader());
+		validator.setCertificateVerifier(certificateVerifier);
+
+		for (AdvancedSignature signature : validator.getSignatures()) {
+			CAdESSignature cadesSignature = (CAdESSignature) signature;
+			cadesSignature.validateTimestamps();
+
+			Map<TimestampToken, Boolean> streamingResults = new LinkedHashMap<TimestampToken, Boolean>();
+			for (TimestampToken timestampToken : getTimestamps(cadesSignature)) {
+				streamingResults.put(timestampToken, timestampToken.isMessageImprintDataIntact());
+			}
+
+			for (Entry<TimestampToken, Boolean> entry : streamingResults.entrySet()) {
+				TimestampToken timestampToken = entry.getKey();
+				assertEquals(entry.getValue(), timestampToken.matchData(getTimestampedData(cadesSignature, timestampToken)));
+			}
+
+			if (cadesSignature.getCmsSignedData().getSignedContent() != null) {
+				byte[] digest = cadesSignature.getOriginalDocumentDigest(DigestAlgorithm.SHA256);
+				assertArrayEquals(DSSUtils.digest(DigestAlgorithm.SHA256, cadesSignature.getOriginalDocument()), digest);
+				assertSame(digest, cadesSignature.getOriginalDocumentDigest(DigestAlgorithm.SHA256));
+			}
+		}
+	}
+
+	private List<TimestampToken> getTimestamps(CAdESSignature signature) {
+		List<TimestampToken> timestamps = new ArrayList<TimestampToken>();
+		timestamps.addAll(signature.getContentTimestamps());
+		timestamps.addAll(signature.getSignatureTimestamps());
+		timestamps.addAll(signature.getTimestampsX1());
+		timestamps.addAll(signature.getTimestampsX2());
+		timestamps.addAll(signature.getArchiveTimestamps());
+		return timestamps;
+	}
+
+	private byte[] getTimestampedData(CAdESSignature signature, TimestampToken timestampToken) {
+		switch (timestampToken.getTimeStampType()) {
+		case CONTENT_TIMESTAMP:
+			return signature.getContentTimestampData(timestampToken);
+		case SIGNATURE_TIMESTAMP:
+			return signature.getSignatureTimestampData(timestampToken, null);
+		case VALIDATION_DATA_TIMESTAMP:
+			return signature.getTimestampX1Data(timestampToken, null);
+		case VALIDATION_DATA_REFSONLY_TIMESTAMP:
+			return signature.getTimestampX2Data(timestampToken, null);
+		default:
+			return signature.getArchiveTimestampData(timestampToken, null);
+		}
+	}
+
+}
@@ -0,0 +1,173 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.signature;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.AbstractSignatureParameters;
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.SignatureTokenConnection;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.x509.CertificateToken;
+
+/**
+ * This class allows to produce one independent signature per document for a list of documents.
+ *
+ * The signing certificate, the certificate chain and the signing date are resolved once and shared by all the
+ * signatures. The computation of the data to be signed and the incorporation of the signature values (including the
+ * T/LT/LTA augmentation) are executed on the provided {@code ExecutorService} (in the current thread if none is
+ * provided). The signature values are computed sequentially with the same {@code SignatureTokenConnection}.
+ *
+ * @param <SP>
+ *            the type of the signature parameters
+ */
+public class BatchSignatureService<SP extends AbstractSignatureParameters> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BatchSignatureService.class);
+
+	private final DocumentSignatureService<SP> service;
+
+	private ExecutorService executorService;
+
+	/**
+	 * The default constructor for BatchSignatureService.
+	 *
+	 * @param service
+	 *            the signature service to be used for each document
+	 */
+	public BatchSignatureService(final DocumentSignatureService<SP> service) {
+		if (service == null) {
+			throw new NullPointerException("DocumentSignatureService cannot be null !");
+		}
+		this.service = service;
+	}
+
+	/**
+	 * This setter allows to define the executor used to compute the data to be signed and to incorporate the
+	 * signature values. If null (default), all the operations are executed in the current thread.
+	 *
+	 * @param executorService
+	 *            the executor service
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	/**
+	 * Signs each document of the list with the given key.
+	 *
+	 * @param toSignDocuments
+	 *            the documents to sign
+	 * @param parametersFactory
+	 *            the factory which creates the signature parameters for each document
+	 * @param token
+	 *            the connection to the token which contains the key
+	 * @param keyEntry
+	 *            the key to be used
+	 * @return the signed documents (in the same order than {@code toSignDocuments})
+	 * @throws DSSException
+	 *             if an error occurred with one of the documents
+	 */
+	public List<DSSDocument> signDocuments(final List<DSSDocument> toSignDocuments, final SignatureParametersFactory<SP> parametersFactory,
+			final SignatureTokenConnection token, final DSSPrivateKeyEntry keyEntry) throws DSSException {
+		if (Utils.isCollectionEmpty(toSignDocuments)) {
+			return new ArrayList<DSSDocument>();
+		}
+
+		final CertificateToken signingCertificate = keyEntry.getCertificate();
+		final List<CertificateToken> certificateChain = getCertificateChain(keyEntry);
+		final Date signingDate = new Date();
+
+		final List<SP> parametersList = new ArrayList<SP>();
+		for (DSSDocument toSignDocument : toSignDocuments) {
+			SP parameters = parametersFactory.createParameters(toSignDocument);
+			if (parameters.getSigningCertificate() == null) {
+				parameters.setSigningCertificate(signingCertificate);
+			}
+			if (Utils.isCollectionEmpty(parameters.getCertificateChain())) {
+				parameters.setCertificateChain(certificateChain);
+			}
+			parameters.bLevel().setSigningDate(signingDate);
+			parametersList.add(parameters);
+		}
+
+		LOG.info("GetDataToSign for {} documents in process...", toSignDocuments.size());
+		List<Callable<ToBeSigned>> dataToSignTasks = new ArrayList<Callable<ToBeSigned>>();
+		for (int i = 0; i < toSignDocuments.size(); i++) {
+			final DSSDocument toSignDocument = toSignDocuments.get(i);
+			final SP parameters = parametersList.get(i);
+			dataToSignTasks.add(new Callable<ToBeSigned>() {
+				@Override
+				public ToBeSigned call() throws Exception {
+					return service.getDataToSign(toSignDocument, parameters);
+				}
+			});
+		}
+		List<ToBeSigned> dataToSignList = BatchTaskExecutor.execute(executorService, dataToSignTasks);
+
+		LOG.info("Signing of {} data with the token in process...", dataToSignList.size());
+		final List<SignatureValue> signatureValues = new ArrayList<SignatureValue>();
+		for (int i = 0; i < dataToSignList.size(); i++) {
+			SP parameters = parametersList.get(i);
+			signatureValues.add(token.sign(dataToSignList.get(i), parameters.getDigestAlgorithm(), parameters.getMaskGenerationFunction(), keyEntry));
+		}
+
+		LOG.info("SignDocument for {} documents in process...", toSignDocuments.size());
+		List<Callable<DSSDocument>> signDocumentTasks = new ArrayList<Callable<DSSDocument>>();
+		for (int i = 0; i < toSignDocuments.size(); i++) {
+			final DSSDocument toSignDocument = toSignDocuments.get(i);
+			final SP parameters = parametersList.get(i);
+			final SignatureValue signatureValue = signatureValues.get(i);
+			signDocumentTasks.add(new Callable<DSSDocument>() {
+				@Override
+				public DSSDocument call() throws Exception {
+					return service.signDocument(toSignDocument, parameters, signatureValue);
+				}
+			});
+		}
+		List<DSSDocument> signedDocuments = BatchTaskExecutor.execute(executorService, signDocumentTasks);
+		LOG.info("Batch signature is finished");
+		return signedDocuments;
+	}
+
+	private List<CertificateToken> getCertificateChain(final DSSPrivateKeyEntry keyEntry) {
+		final CertificateToken[] certificateChain = keyEntry.getCertificateChain();
+		if (Utils.isArrayNotEmpty(certificateChain)) {
+			return Arrays.asList(certificateChain);
+		}
+		// no chain is available for the key : only the signing certificate is known
+		return Collections.singletonList(keyEntry.getCertificate());
+	}
+
+}
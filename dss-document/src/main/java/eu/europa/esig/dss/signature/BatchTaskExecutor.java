@@ -0,0 +1,81 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.signature;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import eu.europa.esig.dss.DSSException;
+
+/**
+ * This class runs the tasks of a batch signature (one task per document) on an {@code ExecutorService}.
+ */
+public final class BatchTaskExecutor {
+
+	private BatchTaskExecutor() {
+	}
+
+	/**
+	 * Runs all the tasks and waits for their results.
+	 *
+	 * @param executorService
+	 *            the executor service (the tasks are executed in the current thread if null)
+	 * @param tasks
+	 *            the tasks to execute
+	 * @return the results (in the same order than {@code tasks})
+	 * @throws DSSException
+	 *             if one of the tasks failed or if the current thread is interrupted
+	 */
+	public static <T> List<T> execute(ExecutorService executorService, List<Callable<T>> tasks) throws DSSException {
+		List<T> results = new ArrayList<T>();
+		if (executorService == null) {
+			for (Callable<T> task : tasks) {
+				try {
+					results.add(task.call());
+				} catch (DSSException e) {
+					throw e;
+				} catch (Exception e) {
+					throw new DSSException(e);
+				}
+			}
+		} else {
+			try {
+				for (Future<T> future : executorService.invokeAll(tasks)) {
+					results.add(future.get());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new DSSException("Interrupted batch signature", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof DSSException) {
+					throw (DSSException) e.getCause();
+				}
+				throw new DSSException(e.getCause());
+			}
+		}
+		return results;
+	}
+
+}
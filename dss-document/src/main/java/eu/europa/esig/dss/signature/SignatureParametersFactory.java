@@ -0,0 +1,46 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.signature;
+
+import eu.europa.esig.dss.AbstractSignatureParameters;
+import eu.europa.esig.dss.DSSDocument;
+
+/**
+ * This interface allows to create the signature parameters for each document of a batch from a common template.
+ *
+ * A new instance MUST be returned for each call : the signature services store some signature-specific data in the
+ * parameters (deterministic id, signature builder,...).
+ *
+ * @param <SP>
+ *            the type of the signature parameters
+ */
+public interface SignatureParametersFactory<SP extends AbstractSignatureParameters> {
+
+	/**
+	 * Creates the signature parameters to be used for the given document
+	 *
+	 * @param toSignDocument
+	 *            the document to be signed
+	 * @return a new instance of signature parameters
+	 */
+	SP createParameters(DSSDocument toSignDocument);
+
+}
@@ -0,0 +1,308 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSASN1Utils;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.client.http.DataLoader;
+import eu.europa.esig.dss.metrics.NoOpValidationMetrics;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.x509.CertificateToken;
+
+/**
+ * This class keeps the issuer certificates which are downloaded with the AIA extension (id-ad-caIssuers) of the
+ * validated certificates.
+ *
+ * <ul>
+ * <li>the certificates are cached by url during {@code positiveTimeToLive}. When they contain the issuer of the
+ * requesting certificate (its signature is verified), they are also indexed by its AKI (or its issuer name), so the
+ * certificates of the same issuer with a different AIA url reuse them. The indexed certificates are only returned if
+ * one of them signed the requesting certificate, otherwise its own AIA urls are used</li>
+ * <li>an url which cannot be downloaded or parsed is not requested again during {@code negativeTimeToLive}. This delay
+ * is doubled after each new failure (up to {@code maxNegativeTimeToLive})</li>
+ * <li>the concurrent lookups of the same url are collapsed into one download</li>
+ * </ul>
+ *
+ * The returned {@code CertificateToken}s are new instances (sharing the parsed X509Certificate) : the validation data
+ * of a certificate is never shared between two validations.
+ */
+public class AIACertificateCache {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AIACertificateCache.class);
+
+	private int maxSize = 1000;
+
+	private long positiveTimeToLive = TimeUnit.HOURS.toMillis(1);
+
+	private long negativeTimeToLive = TimeUnit.MINUTES.toMillis(1);
+
+	private long maxNegativeTimeToLive = TimeUnit.HOURS.toMillis(1);
+
+	private ValidationMetrics validationMetrics = new NoOpValidationMetrics();
+
+	private final Map<String, CachedUrl> urls = Collections.synchronizedMap(new LruMap<CachedUrl>());
+
+	private final Map<String, CachedUrl> issuers = Collections.synchronizedMap(new LruMap<CachedUrl>());
+
+	/**
+	 * This setter allows to define the maximum number of cached urls (default : 1000)
+	 *
+	 * @param maxSize
+	 *            the maximum number of urls
+	 */
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * This setter allows to define how long the downloaded certificates are reused (default : 1 hour)
+	 *
+	 * @param positiveTimeToLive
+	 *            the delay in milliseconds
+	 */
+	public void setPositiveTimeToLive(long positiveTimeToLive) {
+		this.positiveTimeToLive = positiveTimeToLive;
+	}
+
+	/**
+	 * This setter allows to define how long an url is not requested after a failure (default : 1 minute, doubled after
+	 * each consecutive failure)
+	 *
+	 * @param negativeTimeToLive
+	 *            the delay in milliseconds
+	 */
+	public void setNegativeTimeToLive(long negativeTimeToLive) {
+		this.negativeTimeToLive = negativeTimeToLive;
+	}
+
+	/**
+	 * This setter allows to define the maximum delay before a new attempt for an url which keeps failing (default : 1
+	 * hour)
+	 *
+	 * @param maxNegativeTimeToLive
+	 *            the delay in milliseconds
+	 */
+	public void setMaxNegativeTimeToLive(long maxNegativeTimeToLive) {
+		this.maxNegativeTimeToLive = maxNegativeTimeToLive;
+	}
+
+	/**
+	 * This setter allows to count the cache hits and the downloads (default : ignored)
+	 *
+	 * @param validationMetrics
+	 *            the metrics collector
+	 */
+	public void setValidationMetrics(ValidationMetrics validationMetrics) {
+		this.validationMetrics = validationMetrics;
+	}
+
+	/**
+	 * Removes all the cached content
+	 */
+	public void clear() {
+		urls.clear();
+		issuers.clear();
+	}
+
+	/**
+	 * This method returns the potential issuer certificate(s) of the given certificate from its AIA locations (see
+	 * {@code DSSUtils#loadPotentialIssuerCertificates(CertificateToken, DataLoader)}).
+	 *
+	 * @param certificateToken
+	 *            certificate for which the issuer(s) should be loaded
+	 * @param dataLoader
+	 *            the data loader to use
+	 * @return a list of potential issuers
+	 */
+	public Collection<CertificateToken> getPotentialIssuerCertificates(final CertificateToken certificateToken, final DataLoader dataLoader) {
+		final List<String> aiaUrls = DSSASN1Utils.getCAAccessLocations(certificateToken);
+		if (Utils.isCollectionEmpty(aiaUrls)) {
+			LOG.info("There is no AIA extension for certificate download.");
+			return Collections.emptyList();
+		}
+		if (dataLoader == null) {
+			LOG.warn("There is no DataLoader defined to load Certificates from AIA extension (urls : {})", aiaUrls);
+			return Collections.emptyList();
+		}
+
+		final String issuerKey = getIssuerKey(certificateToken);
+		final CachedUrl cachedIssuer = issuers.get(issuerKey);
+		if (cachedIssuer != null) {
+			final List<CertificateToken> certificates = cachedIssuer.getValidCertificates();
+			if (Utils.isCollectionNotEmpty(certificates) && containsIssuer(certificateToken, certificates)) {
+				LOG.debug("AIA certificate(s) of {} found in the cache", certificateToken.getAbbreviation());
+				validationMetrics.increment(ValidationMetrics.AIA_CACHE, ValidationMetrics.HIT);
+				return copy(certificates);
+			}
+		}
+
+		List<CertificateToken> result = Collections.emptyList();
+		for (String url : aiaUrls) {
+			final CachedUrl cachedUrl = getCachedUrl(url);
+			final List<CertificateToken> certificates = cachedUrl.load(dataLoader);
+			if (Utils.isCollectionNotEmpty(certificates)) {
+				if (containsIssuer(certificateToken, certificates)) {
+					// only a verified issuer is shared with the certificates which have the same AKI / issuer name
+					issuers.put(issuerKey, cachedUrl);
+					return copy(certificates);
+				}
+				if (result.isEmpty()) {
+					result = certificates;
+				}
+			}
+		}
+		return copy(result);
+	}
+
+	/**
+	 * Checks if one of the certificates signed the given certificate (the validation data of the given certificate is
+	 * not modified)
+	 */
+	private boolean containsIssuer(final CertificateToken certificateToken, final List<CertificateToken> certificates) {
+		final CertificateToken copy = new CertificateToken(certificateToken.getCertificate());
+		for (CertificateToken certificate : certificates) {
+			if (copy.isSignedBy(certificate)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private CachedUrl getCachedUrl(final String url) {
+		synchronized (urls) {
+			CachedUrl cachedUrl = urls.get(url);
+			if (cachedUrl == null) {
+				cachedUrl = new CachedUrl(url);
+				urls.put(url, cachedUrl);
+			}
+			return cachedUrl;
+		}
+	}
+
+	private String getIssuerKey(final CertificateToken certificateToken) {
+		final byte[] aki = DSSASN1Utils.getAki(certificateToken);
+		if (aki != null) {
+			return "AKI:" + Utils.toHex(aki);
+		}
+		return "DN:" + certificateToken.getCanonicalIssuerName();
+	}
+
+	private List<CertificateToken> copy(final List<CertificateToken> certificates) {
+		final List<CertificateToken> result = new ArrayList<CertificateToken>();
+		for (CertificateToken certificate : certificates) {
+			result.add(new CertificateToken(certificate.getCertificate()));
+		}
+		return result;
+	}
+
+	/**
+	 * The result of the last download of an url
+	 */
+	private final class CachedUrl {
+
+		private final String url;
+
+		private volatile List<CertificateToken> certificates;
+
+		private volatile long expiration;
+
+		private int failures;
+
+		private CachedUrl(String url) {
+			this.url = url;
+		}
+
+		/**
+		 * Returns the cached certificates (null if expired)
+		 */
+		private List<CertificateToken> getValidCertificates() {
+			if (System.currentTimeMillis() < expiration) {
+				return certificates;
+			}
+			return null;
+		}
+
+		/**
+		 * Returns the cached result or downloads the url. The threads which request the same url wait for the same
+		 * download.
+		 */
+		private synchronized List<CertificateToken> load(final DataLoader dataLoader) {
+			final List<CertificateToken> cached = getValidCertificates();
+			if (cached != null) {
+				if (cached.isEmpty()) {
+					LOG.debug("The AIA url '{}' failed recently, it is not requested", url);
+				}
+				validationMetrics.increment(ValidationMetrics.AIA_CACHE, ValidationMetrics.HIT);
+				return cached;
+			}
+
+			validationMetrics.increment(ValidationMetrics.AIA_CACHE, ValidationMetrics.MISS);
+			final List<CertificateToken> loaded = DSSUtils.loadPotentialIssuerCertificates(url, dataLoader);
+			if (Utils.isCollectionNotEmpty(loaded)) {
+				failures = 0;
+				certificates = Collections.unmodifiableList(new ArrayList<CertificateToken>(loaded));
+				expiration = System.currentTimeMillis() + positiveTimeToLive;
+			} else {
+				failures++;
+				certificates = Collections.emptyList();
+				expiration = System.currentTimeMillis() + getNegativeTimeToLive();
+			}
+			return certificates;
+		}
+
+		private long getNegativeTimeToLive() {
+			long delay = negativeTimeToLive;
+			for (int i = 1; (i < failures) && (delay < maxNegativeTimeToLive); i++) {
+				delay *= 2;
+			}
+			return Math.min(delay, maxNegativeTimeToLive);
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private class LruMap<V> extends LinkedHashMap<String, V> {
+
+		private LruMap() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Entry<String, V> eldest) {
+			return size() > maxSize;
+		}
+
+	}
+
+}
@@ -0,0 +1,291 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.validation.policy.EtsiValidationPolicy;
+import eu.europa.esig.dss.validation.policy.ValidationPolicy;
+import eu.europa.esig.dss.validation.reports.CertificateReports;
+import eu.europa.esig.dss.tsl.ServiceInfo;
+import eu.europa.esig.dss.x509.CertificatePool;
+import eu.europa.esig.dss.x509.CertificateSource;
+import eu.europa.esig.dss.x509.CertificateSourceType;
+import eu.europa.esig.dss.x509.CertificateToken;
+
+/**
+ * This class allows to validate a large number of certificates with the same configuration.
+ *
+ * The work which is common to several certificates is shared during a call to {@link #validate(Iterator)} :
+ * <ul>
+ * <li>the validation policy is loaded once;</li>
+ * <li>the AIA downloads are kept : the issuer certificates are downloaded once;</li>
+ * <li>the parsed CRLs are indexed by issuer and CRL distribution points : a CRL is downloaded and parsed once per
+ * issuer;</li>
+ * <li>the OCSP responses for the CA certificates are retrieved once.</li>
+ * </ul>
+ * With an {@code ExecutorService}, this data is retrieved once per concurrent validation : the validations which run
+ * at the same time do not share any token. The certificates of the given {@code CertificateVerifier} are copied and
+ * never modified.
+ *
+ * The certificates are validated lazily, when the next report is requested. If an {@code ExecutorService} is provided,
+ * the following certificates are validated in advance on this executor (up to
+ * {@link #setMaxPendingValidations(int)}).
+ */
+public class BulkCertificateValidator {
+
+	private final CertificateVerifier certificateVerifier;
+
+	private Date validationTime = new Date();
+
+	private ValidationPolicy validationPolicy;
+
+	private ExecutorService executorService;
+
+	private int maxPendingValidations = 100;
+
+	/**
+	 * The default constructor for BulkCertificateValidator.
+	 *
+	 * @param certificateVerifier
+	 *            the certificate verifier with the trusted certificates and the revocation sources
+	 */
+	public BulkCertificateValidator(final CertificateVerifier certificateVerifier) {
+		if (certificateVerifier == null) {
+			throw new NullPointerException("CertificateVerifier cannot be null !");
+		}
+		this.certificateVerifier = certificateVerifier;
+	}
+
+	public void setValidationTime(Date validationTime) {
+		this.validationTime = validationTime;
+	}
+
+	/**
+	 * This setter allows to define a custom validation policy. If null (default), the default validation policy is
+	 * used.
+	 *
+	 * @param validationPolicy
+	 *            the validation policy
+	 */
+	public void setValidationPolicy(ValidationPolicy validationPolicy) {
+		this.validationPolicy = validationPolicy;
+	}
+
+	/**
+	 * This setter allows to define the executor used to validate the certificates in parallel. If null (default), the
+	 * certificates are validated in the current thread.
+	 *
+	 * @param executorService
+	 *            the executor service
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	/**
+	 * This setter allows to define the maximum number of certificates validated in advance (default : 100). Only used
+	 * with an {@code ExecutorService}.
+	 *
+	 * @param maxPendingValidations
+	 *            the maximum number of pending validations
+	 */
+	public void setMaxPendingValidations(int maxPendingValidations) {
+		if (maxPendingValidations < 1) {
+			throw new IllegalArgumentException("The maximum number of pending validations must be positive");
+		}
+		this.maxPendingValidations = maxPendingValidations;
+	}
+
+	/**
+	 * Validates the given certificates. The reports are returned in the same order than the certificates.
+	 *
+	 * @param certificates
+	 *            the certificates to validate (consumed lazily)
+	 * @return an iterator over the certificate reports
+	 */
+	public Iterator<CertificateReports> validate(final Iterator<CertificateToken> certificates) {
+		ValidationPolicy policy = validationPolicy;
+		if (policy == null) {
+			policy = new EtsiValidationPolicy(ValidationResourceManager.loadPolicyData(null));
+		}
+		return new ReportsIterator(certificates, new BulkValidationContext(policy));
+	}
+
+	/**
+	 * Validates the given certificates
+	 *
+	 * @param certificates
+	 *            the certificates to validate
+	 * @return an iterator over the certificate reports (in the same order than the certificates)
+	 */
+	public Iterator<CertificateReports> validate(final List<CertificateToken> certificates) {
+		return validate(certificates.iterator());
+	}
+
+	/**
+	 * Contains the shared data for one call to {@link BulkCertificateValidator#validate(Iterator)}.
+	 *
+	 * The certificate and revocation tokens are modified by a validation : they are never used by two validations at
+	 * the same time. Each running validation takes a lane, with its own sources and its own copies of the trusted
+	 * certificates, and each validation gets a new pool : the downloads, the parsed CRLs and the OCSP responses of the
+	 * CA certificates are shared by the successive validations of a lane, not their tokens.
+	 */
+	private final class BulkValidationContext {
+
+		private final ValidationPolicy policy;
+
+		private final Queue<ValidationLane> idleLanes = new ConcurrentLinkedQueue<ValidationLane>();
+
+		private BulkValidationContext(ValidationPolicy policy) {
+			this.policy = policy;
+		}
+
+		private CertificateReports validate(CertificateToken certificate) {
+			ValidationLane lane = idleLanes.poll();
+			if (lane == null) {
+				lane = new ValidationLane();
+			}
+			try {
+				CertificateValidator validator = CertificateValidator.fromCertificate(certificate);
+				validator.setCertificateVerifier(lane.sharedCertificateVerifier);
+				validator.setValidationTime(validationTime);
+				return validator.validate(policy, lane.createValidationPool());
+			} finally {
+				idleLanes.offer(lane);
+			}
+		}
+
+	}
+
+	/**
+	 * Used by one validation at a time
+	 */
+	private final class ValidationLane {
+
+		private final CertificateVerifier sharedCertificateVerifier;
+
+		private final CertificatePool trustedPool = new CertificatePool();
+
+		private ValidationLane() {
+			// the responses of the end-entity certificates are not shared between the validations
+			this.sharedCertificateVerifier = new SharedCertificateVerifier(certificateVerifier, false);
+			copyCertificates(certificateVerifier.getTrustedCertSource(), trustedPool);
+		}
+
+		/**
+		 * The trusted certificates are copied once per lane (they are not checked), the adjunct certificates are
+		 * copied for each validation (their revocation data and validation messages are specific to it)
+		 */
+		private CertificatePool createValidationPool() {
+			final CertificatePool validationPool = new CertificatePool();
+			validationPool.merge(trustedPool);
+			copyCertificates(certificateVerifier.getAdjunctCertSource(), validationPool);
+			return validationPool;
+		}
+
+		private void copyCertificates(final CertificateSource certificateSource, final CertificatePool validationPool) {
+			if (certificateSource != null) {
+				for (CertificateToken certificateToken : certificateSource.getCertificatePool().getCertificateTokens()) {
+					final Set<ServiceInfo> services = new HashSet<ServiceInfo>();
+					if (certificateToken.getAssociatedTSPS() != null) {
+						services.addAll(certificateToken.getAssociatedTSPS());
+					}
+					validationPool.getInstance(new CertificateToken(certificateToken.getCertificate()),
+							new HashSet<CertificateSourceType>(certificateToken.getSources()), services);
+				}
+			}
+		}
+
+	}
+
+	private final class ReportsIterator implements Iterator<CertificateReports> {
+
+		private final Iterator<CertificateToken> certificates;
+		private final BulkValidationContext context;
+		private final LinkedList<Future<CertificateReports>> pendingValidations = new LinkedList<Future<CertificateReports>>();
+
+		private ReportsIterator(Iterator<CertificateToken> certificates, BulkValidationContext context) {
+			this.certificates = certificates;
+			this.context = context;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !pendingValidations.isEmpty() || certificates.hasNext();
+		}
+
+		@Override
+		public CertificateReports next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			if (executorService == null) {
+				return context.validate(certificates.next());
+			}
+
+			fillPendingValidations();
+			try {
+				return pendingValidations.removeFirst().get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new DSSException("Interrupted certificate validation", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof DSSException) {
+					throw (DSSException) e.getCause();
+				}
+				throw new DSSException(e.getCause());
+			}
+		}
+
+		private void fillPendingValidations() {
+			while (pendingValidations.size() < maxPendingValidations && certificates.hasNext()) {
+				final CertificateToken certificate = certificates.next();
+				pendingValidations.add(executorService.submit(new Callable<CertificateReports>() {
+					@Override
+					public CertificateReports call() throws Exception {
+						return context.validate(certificate);
+					}
+				}));
+			}
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("remove");
+		}
+
+	}
+
+}
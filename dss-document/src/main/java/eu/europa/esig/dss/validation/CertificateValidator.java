@@ -3,10 +3,14 @@ package eu.europa.esig.dss.validation;
 import java.util.Date;
 
 import eu.europa.esig.dss.jaxb.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.metrics.MetricsSpan;
+import eu.europa.esig.dss.metrics.NoOpValidationMetrics;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
 import eu.europa.esig.dss.validation.executor.CertificateProcessExecutor;
 import eu.europa.esig.dss.validation.policy.EtsiValidationPolicy;
 import eu.europa.esig.dss.validation.policy.ValidationPolicy;
 import eu.europa.esig.dss.validation.reports.CertificateReports;
+import eu.europa.esig.dss.x509.CertificatePool;
 import eu.europa.esig.dss.x509.CertificateToken;
 import eu.europa.esig.jaxb.policy.ConstraintsParameters;
 
@@ -39,8 +43,16 @@ public class CertificateValidator {
 	}
 
 	public CertificateReports validate(ValidationPolicy validationPolicy) {
+		return validate(validationPolicy, certificateVerifier.createValidationPool());
+	}
+
+	/**
+	 * Validates the certificate with a given pool (the pool can be shared between several validations to reuse the
+	 * already retrieved issuer certificates)
+	 */
+	CertificateReports validate(ValidationPolicy validationPolicy, CertificatePool validationCertificatePool) {
 
-		SignatureValidationContext svc = new SignatureValidationContext();
+		SignatureValidationContext svc = new SignatureValidationContext(validationCertificatePool);
 		svc.initialize(certificateVerifier);
 		svc.addCertificateTokenForVerification(token);
 		svc.setCurrentTime(validationTime);
@@ -48,16 +60,26 @@ public class CertificateValidator {
 
 		DiagnosticDataBuilder builder = new DiagnosticDataBuilder();
 		builder.usedCertificates(svc.getProcessedCertificates()).trustedListsCertificateSource(certificateVerifier.getTrustedCertSource())
-				.validationDate(svc.getCurrentTime());
+				.validationDate(svc.getCurrentTime()).cache(certificateVerifier.getDiagnosticDataCache());
+
+		ValidationMetrics validationMetrics = certificateVerifier.getValidationMetrics();
+		if (validationMetrics == null) {
+			validationMetrics = new NoOpValidationMetrics();
+		}
 
-		DiagnosticData diagnosticData = builder.build();
+		DiagnosticData diagnosticData = null;
+		try (MetricsSpan span = validationMetrics.startSpan(ValidationMetrics.DIAGNOSTIC_DATA_BUILD)) {
+			diagnosticData = builder.build();
+		}
 
 		CertificateProcessExecutor executor = provideProcessExecutorInstance();
 		executor.setValidationPolicy(validationPolicy);
 		executor.setDiagnosticData(diagnosticData);
 		executor.setCertificateId(token.getDSSIdAsString());
 		executor.setCurrentTime(svc.getCurrentTime());
-		return executor.execute();
+		try (MetricsSpan span = validationMetrics.startSpan(ValidationMetrics.PROCESS_EXECUTION)) {
+			return executor.execute();
+		}
 	}
 
 	public CertificateProcessExecutor provideProcessExecutorInstance() {
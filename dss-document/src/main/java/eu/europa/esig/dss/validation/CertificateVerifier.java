@@ -21,6 +21,7 @@
 package eu.europa.esig.dss.validation;
 
 import eu.europa.esig.dss.client.http.DataLoader;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
 import eu.europa.esig.dss.x509.CertificatePool;
 import eu.europa.esig.dss.x509.CertificateSource;
 import eu.europa.esig.dss.x509.crl.CRLSource;
@@ -138,6 +139,45 @@ public interface CertificateVerifier {
 	 */
 	void setSignatureOCSPSource(final ListOCSPSource signatureOCSPSource);
 
+	/**
+	 * This method returns the cache of the diagnostic data parts which only depend on the certificates (can be null).
+	 */
+	DiagnosticDataCache getDiagnosticDataCache();
+
+	/**
+	 * This method allows to set the cache of the diagnostic data parts which only depend on the certificates. A null
+	 * value disables the cache.
+	 *
+	 * @param diagnosticDataCache
+	 */
+	void setDiagnosticDataCache(final DiagnosticDataCache diagnosticDataCache);
+
+	/**
+	 * This method returns the cache of the certificates downloaded with the AIA extension (can be null).
+	 */
+	AIACertificateCache getAIACertificateCache();
+
+	/**
+	 * This method allows to set the cache of the certificates downloaded with the AIA extension. A null value disables
+	 * the cache.
+	 *
+	 * @param aiaCertificateCache
+	 */
+	void setAIACertificateCache(final AIACertificateCache aiaCertificateCache);
+
+	/**
+	 * This method returns the collector of the validation metrics (durations of the phases, processed tokens,...).
+	 */
+	ValidationMetrics getValidationMetrics();
+
+	/**
+	 * This method allows to set the collector of the validation metrics. The online sources, the data loader and the
+	 * caches have their own setter.
+	 *
+	 * @param validationMetrics
+	 */
+	void setValidationMetrics(final ValidationMetrics validationMetrics);
+
 	/**
 	 * This method creates the validation pool of certificates which is used
 	 * during the validation process.
@@ -25,6 +25,8 @@ import org.slf4j.LoggerFactory;
 
 import eu.europa.esig.dss.client.http.DataLoader;
 import eu.europa.esig.dss.client.http.NativeHTTPDataLoader;
+import eu.europa.esig.dss.metrics.NoOpValidationMetrics;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
 import eu.europa.esig.dss.x509.CertificatePool;
 import eu.europa.esig.dss.x509.CertificateSource;
 import eu.europa.esig.dss.x509.crl.CRLSource;
@@ -85,6 +87,21 @@ public class CommonCertificateVerifier implements CertificateVerifier {
 	 */
 	private ListOCSPSource signatureOCSPSource;
 
+	/**
+	 * This variable contains the cache of the diagnostic data parts which are shared by the validations.
+	 */
+	private DiagnosticDataCache diagnosticDataCache = new DiagnosticDataCache();
+
+	/**
+	 * This variable contains the cache of the certificates downloaded with AIA.
+	 */
+	private AIACertificateCache aiaCertificateCache = new AIACertificateCache();
+
+	/**
+	 * This variable contains the collector of the validation metrics.
+	 */
+	private ValidationMetrics validationMetrics = new NoOpValidationMetrics();
+
 	/**
 	 * The default constructor. The {@code DataLoader} is created to allow the retrieval of certificates through AIA.
 	 */
@@ -245,6 +262,36 @@ public class CommonCertificateVerifier implements CertificateVerifier {
 		this.signatureOCSPSource = signatureOCSPSource;
 	}
 
+	@Override
+	public DiagnosticDataCache getDiagnosticDataCache() {
+		return diagnosticDataCache;
+	}
+
+	@Override
+	public void setDiagnosticDataCache(final DiagnosticDataCache diagnosticDataCache) {
+		this.diagnosticDataCache = diagnosticDataCache;
+	}
+
+	@Override
+	public AIACertificateCache getAIACertificateCache() {
+		return aiaCertificateCache;
+	}
+
+	@Override
+	public void setAIACertificateCache(final AIACertificateCache aiaCertificateCache) {
+		this.aiaCertificateCache = aiaCertificateCache;
+	}
+
+	@Override
+	public ValidationMetrics getValidationMetrics() {
+		return validationMetrics;
+	}
+
+	@Override
+	public void setValidationMetrics(final ValidationMetrics validationMetrics) {
+		this.validationMetrics = validationMetrics;
+	}
+
 	@Override
 	public CertificatePool createValidationPool() {
 		final CertificatePool validationPool = new CertificatePool();
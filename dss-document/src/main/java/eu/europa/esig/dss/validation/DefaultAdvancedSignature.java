@@ -20,6 +20,8 @@
  */
 package eu.europa.esig.dss.validation;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -42,6 +44,7 @@ import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DSSRevocationUtils;
 import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.MessageDigestOutputStream;
 import eu.europa.esig.dss.SignatureLevel;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.x509.CertificatePool;
@@ -123,6 +126,12 @@ public abstract class DefaultAdvancedSignature implements AdvancedSignature {
 
 	private List<SignatureScope> signatureScopes;
 
+	/**
+	 * The message imprints of the timestamped data which is shared by several timestamps, by data scope and digest
+	 * algorithm (see {@code #getTimestampedDataScope(TimestampToken)}).
+	 */
+	private final Map<String, byte[]> messageImprints = new HashMap<String, byte[]>();
+
 	private String signatureFilename;
 
 	/**
@@ -439,32 +448,28 @@ public abstract class DefaultAdvancedSignature implements AdvancedSignature {
 		 * This validates the content-timestamp tokensToProcess present in the signature.
 		 */
 		for (final TimestampToken timestampToken : getContentTimestamps()) {
-			final byte[] timestampBytes = getContentTimestampData(timestampToken);
-			timestampToken.matchData(timestampBytes);
+			matchTimestampedData(timestampToken);
 		}
 
 		/*
 		 * This validates the signature timestamp tokensToProcess present in the signature.
 		 */
 		for (final TimestampToken timestampToken : getSignatureTimestamps()) {
-			final byte[] timestampBytes = getSignatureTimestampData(timestampToken, null);
-			timestampToken.matchData(timestampBytes);
+			matchTimestampedData(timestampToken);
 		}
 
 		/*
 		 * This validates the SigAndRefs timestamp tokensToProcess present in the signature.
 		 */
 		for (final TimestampToken timestampToken : getTimestampsX1()) {
-			final byte[] timestampBytes = getTimestampX1Data(timestampToken, null);
-			timestampToken.matchData(timestampBytes);
+			matchTimestampedData(timestampToken);
 		}
 
 		/*
 		 * This validates the RefsOnly timestamp tokensToProcess present in the signature.
 		 */
 		for (final TimestampToken timestampToken : getTimestampsX2()) {
-			final byte[] timestampBytes = getTimestampX2Data(timestampToken, null);
-			timestampToken.matchData(timestampBytes);
+			matchTimestampedData(timestampToken);
 		}
 
 		/*
@@ -472,12 +477,118 @@ public abstract class DefaultAdvancedSignature implements AdvancedSignature {
 		 */
 		for (final TimestampToken timestampToken : getArchiveTimestamps()) {
 			if (!timestampToken.isProcessed()) {
-				final byte[] timestampData = getArchiveTimestampData(timestampToken, null);
-				timestampToken.matchData(timestampData);
+				matchTimestampedData(timestampToken);
 			}
 		}
 	}
 
+	/**
+	 * Checks if the message imprint of the timestamp matches the timestamped data.
+	 *
+	 * @param timestampToken
+	 *            the timestamp to check
+	 * @return true if the message imprint is intact
+	 */
+	protected boolean matchTimestampedData(final TimestampToken timestampToken) {
+		return timestampToken.matchDigest(getTimestampedDataDigest(timestampToken, timestampToken.getSignedDataDigestAlgo()));
+	}
+
+	/**
+	 * Returns the digest of the data covered by the timestamp. The data is written into a digest sink (see
+	 * {@code #writeTimestampedData(TimestampToken, OutputStream)}) and the result is memoized when the data is shared
+	 * by several timestamps.
+	 *
+	 * @param timestampToken
+	 *            the timestamp
+	 * @param digestAlgorithm
+	 *            the digest algorithm of the message imprint
+	 * @return the digest or null if the timestamped data is not found
+	 */
+	protected byte[] getTimestampedDataDigest(final TimestampToken timestampToken, final DigestAlgorithm digestAlgorithm) {
+		final String scope = getTimestampedDataScope(timestampToken);
+		final String key = scope + "/" + digestAlgorithm.name();
+		if ((scope != null) && messageImprints.containsKey(key)) {
+			return messageImprints.get(key);
+		}
+
+		final MessageDigestOutputStream sink = new MessageDigestOutputStream(DSSUtils.getMessageDigest(digestAlgorithm));
+		final byte[] digest;
+		try {
+			digest = writeTimestampedData(timestampToken, sink) ? sink.getMessageDigest().digest() : null;
+		} catch (IOException e) {
+			throw new DSSException("Unable to compute the timestamped data", e);
+		}
+		if (scope != null) {
+			messageImprints.put(key, digest);
+		}
+		return digest;
+	}
+
+	/**
+	 * Returns the scope of the data covered by the timestamp : the timestamps with the same scope cover the same data
+	 * and their message imprint is only computed once. By default, the content (CAdES), signature, SigAndRefs and
+	 * RefsOnly timestamps of the signature are shared (by canonicalization method).
+	 *
+	 * @param timestampToken
+	 *            the timestamp
+	 * @return the scope or null if the data only concerns the given timestamp
+	 */
+	protected String getTimestampedDataScope(final TimestampToken timestampToken) {
+		final TimestampType timestampType = timestampToken.getTimeStampType();
+		switch (timestampType) {
+		case CONTENT_TIMESTAMP:
+		case SIGNATURE_TIMESTAMP:
+		case VALIDATION_DATA_TIMESTAMP:
+		case VALIDATION_DATA_REFSONLY_TIMESTAMP:
+			return timestampType.name() + "/" + timestampToken.getCanonicalizationMethod();
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the data covered by the timestamp into the given sink. By default, the data is obtained with the
+	 * {@code byte} array methods ({@code #getSignatureTimestampData}, ...), the formats override it to write the data
+	 * in streaming.
+	 *
+	 * @param timestampToken
+	 *            the timestamp
+	 * @param sink
+	 *            the {@code OutputStream} which receives the timestamped data
+	 * @return false if the timestamped data is not found
+	 * @throws IOException
+	 *             if the data cannot be written
+	 */
+	protected boolean writeTimestampedData(final TimestampToken timestampToken, final OutputStream sink) throws IOException {
+		final byte[] data;
+		switch (timestampToken.getTimeStampType()) {
+		case CONTENT_TIMESTAMP:
+		case ALL_DATA_OBJECTS_TIMESTAMP:
+		case INDIVIDUAL_DATA_OBJECTS_TIMESTAMP:
+			data = getContentTimestampData(timestampToken);
+			break;
+		case SIGNATURE_TIMESTAMP:
+			data = getSignatureTimestampData(timestampToken, null);
+			break;
+		case VALIDATION_DATA_TIMESTAMP:
+			data = getTimestampX1Data(timestampToken, null);
+			break;
+		case VALIDATION_DATA_REFSONLY_TIMESTAMP:
+			data = getTimestampX2Data(timestampToken, null);
+			break;
+		case ARCHIVE_TIMESTAMP:
+			data = getArchiveTimestampData(timestampToken, null);
+			break;
+		default:
+			throw new DSSException("Unsupported timestamp type " + timestampToken.getTimeStampType());
+		}
+		if (data == null) {
+			return false;
+		}
+		sink.write(data);
+		return true;
+	}
+
 	@Override
 	public void validateStructure() {
 	}
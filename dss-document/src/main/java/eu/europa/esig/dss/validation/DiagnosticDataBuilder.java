@@ -82,6 +82,7 @@ public class DiagnosticDataBuilder {
 	private Set<CertificateToken> usedCertificates;
 	private TrustedListsCertificateSource trustedListCertSource;
 	private Date validationDate;
+	private DiagnosticDataCache cache;
 
 	/**
 	 * This method allows to set the document which is analysed
@@ -157,6 +158,19 @@ public class DiagnosticDataBuilder {
 		return this;
 	}
 
+	/**
+	 * This method allows to set the cache of the diagnostic data parts which do not depend on the validation (can be
+	 * null)
+	 * 
+	 * @param cache
+	 *            the cache shared by the validations
+	 * @return the builder
+	 */
+	public DiagnosticDataBuilder cache(DiagnosticDataCache cache) {
+		this.cache = cache;
+		return this;
+	}
+
 	public DiagnosticData build() {
 		DiagnosticData diagnosticData = new DiagnosticData();
 		if (signedDocument != null) {
@@ -729,6 +743,45 @@ public class DiagnosticDataBuilder {
 	}
 
 	private XmlCertificate getXmlCertificate(Set<DigestAlgorithm> usedDigestAlgorithms, CertificateToken certToken) {
+		final XmlCertificate xmlCert;
+		if (cache == null) {
+			xmlCert = getStaticXmlCertificate(certToken);
+		} else {
+			XmlCertificate cached = cache.getCertificate(certToken.getDSSIdAsString());
+			if (cached == null) {
+				cached = getStaticXmlCertificate(certToken);
+				cache.putCertificate(certToken.getDSSIdAsString(), cached);
+			}
+			xmlCert = copyStaticXmlCertificate(cached);
+		}
+
+		xmlCert.setDigestAlgoAndValues(getXmlDigestAlgoAndValues(usedDigestAlgorithms, certToken));
+
+		xmlCert.setBasicSignature(getXmlBasicSignature(certToken));
+
+		final CertificateToken issuerToken = certToken.getIssuerToken();
+		xmlCert.setSigningCertificate(getXmlSigningCertificate(issuerToken));
+		xmlCert.setCertificateChain(getXmlForCertificateChain(issuerToken));
+
+		xmlCert.setTrusted(certToken.isTrusted());
+		xmlCert.setInfo(getXmlInfo(certToken.getValidationInfo()));
+
+		final Set<RevocationToken> revocationTokens = certToken.getRevocationTokens();
+		if (Utils.isCollectionNotEmpty(revocationTokens)) {
+			for (RevocationToken revocationToken : revocationTokens) {
+				xmlCert.getRevocations().add(getXmlRevocation(certToken, revocationToken, usedDigestAlgorithms));
+			}
+		}
+
+		xmlCert.setTrustedServiceProviders(getXmlTrustedServiceProviders(certToken));
+
+		return xmlCert;
+	}
+
+	/**
+	 * Builds the content of the XmlCertificate which only depends on the certificate
+	 */
+	private XmlCertificate getStaticXmlCertificate(CertificateToken certToken) {
 		final XmlCertificate xmlCert = new XmlCertificate();
 
 		xmlCert.setId(certToken.getDSSIdAsString());
@@ -758,8 +811,6 @@ public class DiagnosticDataBuilder {
 		xmlCert.setOCSPAccessUrls(DSSASN1Utils.getOCSPAccessLocations(certToken, false));
 		xmlCert.setCRLDistributionPoints(DSSASN1Utils.getCrlUrls(certToken, false));
 
-		xmlCert.setDigestAlgoAndValues(getXmlDigestAlgoAndValues(usedDigestAlgorithms, certToken));
-
 		xmlCert.setNotAfter(certToken.getNotAfter());
 		xmlCert.setNotBefore(certToken.getNotBefore());
 		final PublicKey publicKey = certToken.getPublicKey();
@@ -771,29 +822,50 @@ public class DiagnosticDataBuilder {
 
 		xmlCert.setIdPkixOcspNoCheck(DSSASN1Utils.hasIdPkixOcspNoCheckExtension(certToken));
 
-		xmlCert.setBasicSignature(getXmlBasicSignature(certToken));
-
-		final CertificateToken issuerToken = certToken.getIssuerToken();
-		xmlCert.setSigningCertificate(getXmlSigningCertificate(issuerToken));
-		xmlCert.setCertificateChain(getXmlForCertificateChain(issuerToken));
-
 		xmlCert.setQCStatementIds(getXmlOids(DSSASN1Utils.getQCStatementsIdList(certToken)));
 		xmlCert.setQCTypes(getXmlOids(DSSASN1Utils.getQCTypesIdList(certToken)));
 		xmlCert.setCertificatePolicies(getXmlCertificatePolicies(DSSASN1Utils.getCertificatePolicies(certToken)));
 
 		xmlCert.setSelfSigned(certToken.isSelfSigned());
-		xmlCert.setTrusted(certToken.isTrusted());
-		xmlCert.setInfo(getXmlInfo(certToken.getValidationInfo()));
-
-		final Set<RevocationToken> revocationTokens = certToken.getRevocationTokens();
-		if (Utils.isCollectionNotEmpty(revocationTokens)) {
-			for (RevocationToken revocationToken : revocationTokens) {
-				xmlCert.getRevocations().add(getXmlRevocation(certToken, revocationToken, usedDigestAlgorithms));
-			}
-		}
 
-		xmlCert.setTrustedServiceProviders(getXmlTrustedServiceProviders(certToken));
+		return xmlCert;
+	}
 
+	/**
+	 * Creates a new XmlCertificate with the static content of a cached one (the lists are copied, their elements are
+	 * shared)
+	 */
+	private XmlCertificate copyStaticXmlCertificate(XmlCertificate cached) {
+		final XmlCertificate xmlCert = new XmlCertificate();
+		xmlCert.setId(cached.getId());
+		xmlCert.setBase64Encoded(cached.getBase64Encoded());
+		xmlCert.getSubjectDistinguishedName().addAll(cached.getSubjectDistinguishedName());
+		xmlCert.getIssuerDistinguishedName().addAll(cached.getIssuerDistinguishedName());
+		xmlCert.setSerialNumber(cached.getSerialNumber());
+		xmlCert.setCommonName(cached.getCommonName());
+		xmlCert.setLocality(cached.getLocality());
+		xmlCert.setState(cached.getState());
+		xmlCert.setCountryName(cached.getCountryName());
+		xmlCert.setOrganizationName(cached.getOrganizationName());
+		xmlCert.setGivenName(cached.getGivenName());
+		xmlCert.setOrganizationalUnit(cached.getOrganizationalUnit());
+		xmlCert.setSurname(cached.getSurname());
+		xmlCert.setPseudonym(cached.getPseudonym());
+		xmlCert.setEmail(cached.getEmail());
+		xmlCert.setAuthorityInformationAccessUrls(new ArrayList<String>(cached.getAuthorityInformationAccessUrls()));
+		xmlCert.setOCSPAccessUrls(new ArrayList<String>(cached.getOCSPAccessUrls()));
+		xmlCert.setCRLDistributionPoints(new ArrayList<String>(cached.getCRLDistributionPoints()));
+		xmlCert.setNotAfter(cached.getNotAfter());
+		xmlCert.setNotBefore(cached.getNotBefore());
+		xmlCert.setPublicKeySize(cached.getPublicKeySize());
+		xmlCert.setPublicKeyEncryptionAlgo(cached.getPublicKeyEncryptionAlgo());
+		xmlCert.setKeyUsageBits(new ArrayList<String>(cached.getKeyUsageBits()));
+		xmlCert.setExtendedKeyUsages(new ArrayList<XmlOID>(cached.getExtendedKeyUsages()));
+		xmlCert.setIdPkixOcspNoCheck(cached.isIdPkixOcspNoCheck());
+		xmlCert.setQCStatementIds(new ArrayList<XmlOID>(cached.getQCStatementIds()));
+		xmlCert.setQCTypes(new ArrayList<XmlOID>(cached.getQCTypes()));
+		xmlCert.setCertificatePolicies(new ArrayList<XmlCertificatePolicy>(cached.getCertificatePolicies()));
+		xmlCert.setSelfSigned(cached.isSelfSigned());
 		return xmlCert;
 	}
 
@@ -823,8 +895,20 @@ public class DiagnosticDataBuilder {
 	}
 
 	private List<XmlTrustedServiceProvider> getXmlTrustedServiceProviders(CertificateToken certToken) {
-		List<XmlTrustedServiceProvider> result = new ArrayList<XmlTrustedServiceProvider>();
 		Set<ServiceInfo> services = getLinkedTrustedServices(certToken);
+		if (cache == null) {
+			return getXmlTrustedServiceProviders(certToken, services);
+		}
+		List<XmlTrustedServiceProvider> result = cache.getTrustedServiceProviders(certToken.getDSSIdAsString(), services);
+		if (result == null) {
+			result = getXmlTrustedServiceProviders(certToken, services);
+			cache.putTrustedServiceProviders(certToken.getDSSIdAsString(), services, result);
+		}
+		return new ArrayList<XmlTrustedServiceProvider>(result);
+	}
+
+	private List<XmlTrustedServiceProvider> getXmlTrustedServiceProviders(CertificateToken certToken, Set<ServiceInfo> services) {
+		List<XmlTrustedServiceProvider> result = new ArrayList<XmlTrustedServiceProvider>();
 		Map<String, List<ServiceInfo>> servicesByProviders = classifyByServiceProvider(services);
 		for (List<ServiceInfo> servicesByProvider : servicesByProviders.values()) {
 			ServiceInfo first = servicesByProvider.get(0);
@@ -0,0 +1,160 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import eu.europa.esig.dss.jaxb.diagnostic.XmlCertificate;
+import eu.europa.esig.dss.jaxb.diagnostic.XmlTrustedServiceProvider;
+import eu.europa.esig.dss.metrics.NoOpValidationMetrics;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
+import eu.europa.esig.dss.tsl.ServiceInfo;
+
+/**
+ * This class keeps the parts of the diagnostic data which do not depend on the validated document, for the
+ * certificates which are used again and again (trust anchors, intermediate CAs,...).
+ *
+ * The cache contains :
+ * <ul>
+ * <li>the static content of the {@code XmlCertificate} (names, extensions, key,...), by certificate id (digest)</li>
+ * <li>the trusted service providers of a certificate, by certificate id. They are reused as long as the trust anchor
+ * is associated to the same services (a new trusted list loading creates new services)</li>
+ * </ul>
+ *
+ * The cached objects are shared by the diagnostic data of the different validations and must not be modified.
+ */
+public class DiagnosticDataCache {
+
+	private int maxSize = 1000;
+
+	private ValidationMetrics validationMetrics = new NoOpValidationMetrics();
+
+	private final Map<String, XmlCertificate> certificates = Collections.synchronizedMap(new LruMap<XmlCertificate>());
+
+	private final Map<String, TrustedServiceProviders> trustedServiceProviders = Collections
+			.synchronizedMap(new LruMap<TrustedServiceProviders>());
+
+	/**
+	 * This setter allows to define the maximum number of cached certificates (default : 1000)
+	 *
+	 * @param maxSize
+	 *            the maximum number of certificates
+	 */
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * This setter allows to count the cache hits and misses (default : ignored)
+	 *
+	 * @param validationMetrics
+	 *            the metrics collector
+	 */
+	public void setValidationMetrics(ValidationMetrics validationMetrics) {
+		this.validationMetrics = validationMetrics;
+	}
+
+	/**
+	 * Removes all the cached content
+	 */
+	public void clear() {
+		certificates.clear();
+		trustedServiceProviders.clear();
+	}
+
+	XmlCertificate getCertificate(String certificateId) {
+		XmlCertificate xmlCertificate = certificates.get(certificateId);
+		validationMetrics.increment(ValidationMetrics.DIAGNOSTIC_DATA_CACHE, xmlCertificate != null ? ValidationMetrics.HIT : ValidationMetrics.MISS);
+		return xmlCertificate;
+	}
+
+	void putCertificate(String certificateId, XmlCertificate xmlCertificate) {
+		certificates.put(certificateId, xmlCertificate);
+	}
+
+	List<XmlTrustedServiceProvider> getTrustedServiceProviders(String certificateId, Collection<ServiceInfo> services) {
+		TrustedServiceProviders cached = trustedServiceProviders.get(certificateId);
+		if (cached != null && cached.isComputedFrom(services)) {
+			return cached.result;
+		}
+		return null;
+	}
+
+	void putTrustedServiceProviders(String certificateId, Collection<ServiceInfo> services, List<XmlTrustedServiceProvider> result) {
+		trustedServiceProviders.put(certificateId, new TrustedServiceProviders(services, result));
+	}
+
+	private static class TrustedServiceProviders {
+
+		private final Set<ServiceInfo> services;
+
+		private final List<XmlTrustedServiceProvider> result;
+
+		private TrustedServiceProviders(Collection<ServiceInfo> services, List<XmlTrustedServiceProvider> result) {
+			// ServiceInfo.equals only compares the TSP, the instances are compared
+			this.services = Collections.newSetFromMap(new IdentityHashMap<ServiceInfo, Boolean>());
+			if (services != null) {
+				this.services.addAll(new ArrayList<ServiceInfo>(services));
+			}
+			this.result = result;
+		}
+
+		private boolean isComputedFrom(Collection<ServiceInfo> currentServices) {
+			if (currentServices == null) {
+				return services.isEmpty();
+			}
+			List<ServiceInfo> copy = new ArrayList<ServiceInfo>(currentServices);
+			if (copy.size() != services.size()) {
+				return false;
+			}
+			for (ServiceInfo serviceInfo : copy) {
+				if (!services.contains(serviceInfo)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private class LruMap<V> extends LinkedHashMap<String, V> {
+
+		private LruMap() {
+			super(16, 0.75f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Entry<String, V> eldest) {
+			return size() > maxSize;
+		}
+
+	}
+
+}
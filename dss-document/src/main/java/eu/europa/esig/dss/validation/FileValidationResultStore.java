@@ -0,0 +1,228 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.jaxb.detailedreport.DetailedReport;
+import eu.europa.esig.dss.jaxb.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.jaxb.simplereport.SimpleReport;
+import eu.europa.esig.dss.validation.reports.Reports;
+
+/**
+ * This class keeps the validation results on the local disk, so that they survive a restart of the application. Each
+ * result is a sub-directory of the given directory which contains the XML diagnostic data, detailed report and simple
+ * report (when they were produced). The least recently used results are evicted first.
+ *
+ * A result is written in a temporary directory which is then renamed : a concurrent reader never sees a partial
+ * result.
+ */
+public class FileValidationResultStore implements ValidationResultStore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(FileValidationResultStore.class);
+
+	private static final String DIAGNOSTIC_DATA = "diagnostic-data.xml";
+
+	private static final String DETAILED_REPORT = "detailed-report.xml";
+
+	private static final String SIMPLE_REPORT = "simple-report.xml";
+
+	private static final String TEMPORARY_SUFFIX = ".tmp";
+
+	private final File directory;
+
+	private int maxSize = 1000;
+
+	/**
+	 * The default constructor. The temporary directories left by an interrupted write (eg : a crash of the
+	 * application) are deleted.
+	 *
+	 * @param directory
+	 *            the directory where the results are stored (created if needed)
+	 */
+	public FileValidationResultStore(final File directory) {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new DSSException("Unable to create the directory '" + directory.getAbsolutePath() + "'");
+		}
+		this.directory = directory;
+		deleteTemporaryEntries();
+	}
+
+	/**
+	 * This setter allows to define the maximum number of kept results (default : 1000)
+	 *
+	 * @param maxSize
+	 *            the maximum number of results
+	 */
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	public Reports get(String key) {
+		File entry = new File(directory, key);
+		if (!entry.isDirectory()) {
+			return null;
+		}
+		try {
+			Unmarshaller unmarshaller = ValidationResultMarshaller.createUnmarshaller();
+			DiagnosticData diagnosticData = (DiagnosticData) read(unmarshaller, new File(entry, DIAGNOSTIC_DATA));
+			DetailedReport detailedReport = (DetailedReport) read(unmarshaller, new File(entry, DETAILED_REPORT));
+			SimpleReport simpleReport = (SimpleReport) read(unmarshaller, new File(entry, SIMPLE_REPORT));
+			// the last modification date orders the entries for the eviction
+			entry.setLastModified(System.currentTimeMillis());
+			return new Reports(diagnosticData, detailedReport, simpleReport);
+		} catch (Exception e) {
+			LOG.warn("Unable to read the validation result '{}' : {}", key, e.getMessage());
+			delete(entry);
+			return null;
+		}
+	}
+
+	@Override
+	public void put(String key, Reports reports) {
+		File entry = new File(directory, key);
+		File temporaryEntry = new File(directory, key + "-" + UUID.randomUUID().toString() + TEMPORARY_SUFFIX);
+		if (!temporaryEntry.mkdir()) {
+			LOG.warn("Unable to create the directory '{}'", temporaryEntry.getAbsolutePath());
+			return;
+		}
+		try {
+			Marshaller marshaller = ValidationResultMarshaller.createMarshaller();
+			write(marshaller, reports.getDiagnosticDataJaxb(), new File(temporaryEntry, DIAGNOSTIC_DATA));
+			write(marshaller, reports.getDetailedReportJaxb(), new File(temporaryEntry, DETAILED_REPORT));
+			write(marshaller, reports.getSimpleReportJaxb(), new File(temporaryEntry, SIMPLE_REPORT));
+			if (!temporaryEntry.renameTo(entry)) {
+				// stored in the meantime by another validation
+				delete(temporaryEntry);
+			}
+		} catch (Exception e) {
+			LOG.warn("Unable to store the validation result '{}' : {}", key, e.getMessage());
+			delete(temporaryEntry);
+			return;
+		}
+		evict();
+	}
+
+	@Override
+	public void remove(String key) {
+		delete(new File(directory, key));
+	}
+
+	@Override
+	public void clear() {
+		for (File entry : getEntries()) {
+			delete(entry);
+		}
+	}
+
+	/* A report which was not produced (see ReportProjection) has no file */
+	private static Object read(Unmarshaller unmarshaller, File file) throws JAXBException {
+		if (!file.isFile()) {
+			return null;
+		}
+		return unmarshaller.unmarshal(file);
+	}
+
+	private static void write(Marshaller marshaller, Object report, File file) throws JAXBException {
+		if (report != null) {
+			marshaller.marshal(report, file);
+		}
+	}
+
+	private synchronized void evict() {
+		File[] entries = getEntries();
+		if (entries.length <= maxSize) {
+			return;
+		}
+		final long[] lastModified = new long[entries.length];
+		Integer[] indexes = new Integer[entries.length];
+		for (int i = 0; i < entries.length; i++) {
+			// read once : the dates can change while sorting
+			lastModified[i] = entries[i].lastModified();
+			indexes[i] = i;
+		}
+		Arrays.sort(indexes, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i1, Integer i2) {
+				return Long.compare(lastModified[i1], lastModified[i2]);
+			}
+		});
+		for (int i = 0; i < entries.length - maxSize; i++) {
+			delete(entries[indexes[i]]);
+		}
+	}
+
+	private void deleteTemporaryEntries() {
+		File[] temporaryEntries = directory.listFiles(new FileFilter() {
+			@Override
+			public boolean accept(File file) {
+				return file.isDirectory() && file.getName().endsWith(TEMPORARY_SUFFIX);
+			}
+		});
+		if (temporaryEntries != null) {
+			for (File temporaryEntry : temporaryEntries) {
+				LOG.debug("Deleting the incomplete validation result '{}'", temporaryEntry.getName());
+				delete(temporaryEntry);
+			}
+		}
+	}
+
+	private File[] getEntries() {
+		File[] entries = directory.listFiles(new FileFilter() {
+			@Override
+			public boolean accept(File file) {
+				return file.isDirectory() && !file.getName().endsWith(TEMPORARY_SUFFIX);
+			}
+		});
+		if (entries == null) {
+			return new File[0];
+		}
+		return entries;
+	}
+
+	private static void delete(File entry) {
+		File[] files = entry.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				if (!file.delete()) {
+					LOG.debug("Unable to delete the file '{}'", file.getAbsolutePath());
+				}
+			}
+		}
+		if (entry.exists() && !entry.delete()) {
+			LOG.debug("Unable to delete the directory '{}'", entry.getAbsolutePath());
+		}
+	}
+
+}
@@ -0,0 +1,129 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.jaxb.detailedreport.DetailedReport;
+import eu.europa.esig.dss.jaxb.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.jaxb.simplereport.SimpleReport;
+import eu.europa.esig.dss.validation.reports.Reports;
+
+/**
+ * This class keeps the validation results in memory. The least recently used results are evicted first.
+ *
+ * The results are kept as XML : each call to {@link #get(String)} returns new {@code Reports} instances, which can be
+ * modified by the caller without altering the stored result.
+ */
+public class InMemoryValidationResultStore implements ValidationResultStore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(InMemoryValidationResultStore.class);
+
+	private int maxSize = 100;
+
+	@SuppressWarnings("serial")
+	private final Map<String, StoredReports> results = Collections.synchronizedMap(new LinkedHashMap<String, StoredReports>(16, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Entry<String, StoredReports> eldest) {
+			return size() > maxSize;
+		}
+
+	});
+
+	/**
+	 * This setter allows to define the maximum number of kept results (default : 100)
+	 *
+	 * @param maxSize
+	 *            the maximum number of results
+	 */
+	public void setMaxSize(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	public Reports get(String key) {
+		StoredReports storedReports = results.get(key);
+		if (storedReports == null) {
+			return null;
+		}
+		try {
+			Unmarshaller unmarshaller = ValidationResultMarshaller.createUnmarshaller();
+			return new Reports((DiagnosticData) ValidationResultMarshaller.unmarshal(unmarshaller, storedReports.diagnosticData),
+					(DetailedReport) ValidationResultMarshaller.unmarshal(unmarshaller, storedReports.detailedReport),
+					(SimpleReport) ValidationResultMarshaller.unmarshal(unmarshaller, storedReports.simpleReport));
+		} catch (JAXBException e) {
+			LOG.warn("Unable to read the validation result '{}' : {}", key, e.getMessage());
+			results.remove(key);
+			return null;
+		}
+	}
+
+	@Override
+	public void put(String key, Reports reports) {
+		try {
+			Marshaller marshaller = ValidationResultMarshaller.createMarshaller();
+			results.put(key, new StoredReports(ValidationResultMarshaller.marshal(marshaller, reports.getDiagnosticDataJaxb()),
+					ValidationResultMarshaller.marshal(marshaller, reports.getDetailedReportJaxb()),
+					ValidationResultMarshaller.marshal(marshaller, reports.getSimpleReportJaxb())));
+		} catch (JAXBException e) {
+			LOG.warn("Unable to store the validation result '{}' : {}", key, e.getMessage());
+		}
+	}
+
+	@Override
+	public void remove(String key) {
+		results.remove(key);
+	}
+
+	@Override
+	public void clear() {
+		results.clear();
+	}
+
+	/**
+	 * The XML of the reports (null for a report which was not produced)
+	 */
+	private static final class StoredReports {
+
+		private final byte[] diagnosticData;
+		private final byte[] detailedReport;
+		private final byte[] simpleReport;
+
+		private StoredReports(byte[] diagnosticData, byte[] detailedReport, byte[] simpleReport) {
+			this.diagnosticData = diagnosticData;
+			this.detailedReport = detailedReport;
+			this.simpleReport = simpleReport;
+		}
+
+	}
+
+}
@@ -0,0 +1,76 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import java.util.concurrent.Callable;
+
+import eu.europa.esig.dss.DSSASN1Utils;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.crl.CRLSource;
+import eu.europa.esig.dss.x509.crl.CRLToken;
+
+/**
+ * This source keeps the CRLs per issuer and distribution points : the CRL is retrieved once and the status of the
+ * following certificates is read in the already parsed CRL.
+ */
+final class IndexedCRLSource implements CRLSource {
+
+	private static final long serialVersionUID = -2467419545937637165L;
+
+	private final CRLSource crlSource;
+
+	private final MemoizedResults<CRLToken> crlsByIssuer = new MemoizedResults<CRLToken>();
+
+	IndexedCRLSource(CRLSource crlSource) {
+		this.crlSource = crlSource;
+	}
+
+	@Override
+	public CRLToken findCrl(final CertificateToken certificateToken) throws DSSException {
+		final CertificateToken issuerToken = certificateToken.getIssuerToken();
+		if (issuerToken == null) {
+			return crlSource.findCrl(certificateToken);
+		}
+
+		final String key = issuerToken.getDSSIdAsString() + DSSASN1Utils.getCrlUrls(certificateToken);
+		final CRLToken firstCrlToken = crlsByIssuer.get(key, new Callable<CRLToken>() {
+			@Override
+			public CRLToken call() throws Exception {
+				return crlSource.findCrl(certificateToken);
+			}
+		});
+		if (firstCrlToken == null) {
+			return null;
+		}
+		final CRLValidity crlValidity = firstCrlToken.getCrlValidity();
+		if (!crlValidity.isValid()) {
+			// the invalid CRLs are not shared
+			return crlSource.findCrl(certificateToken);
+		}
+		final CRLToken crlToken = new CRLToken(certificateToken, crlValidity);
+		crlToken.setSourceURL(firstCrlToken.getSourceURL());
+		crlToken.setAvailable(firstCrlToken.isAvailable());
+		return crlToken;
+	}
+
+}
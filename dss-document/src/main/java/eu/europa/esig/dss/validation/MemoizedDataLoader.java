@@ -0,0 +1,73 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import eu.europa.esig.dss.client.http.DataLoader;
+
+/**
+ * This data loader keeps the downloaded issuer certificates (AIA)
+ */
+final class MemoizedDataLoader implements DataLoader {
+
+	private static final long serialVersionUID = -5640618420594406640L;
+
+	private final DataLoader dataLoader;
+
+	private final MemoizedResults<byte[]> responses = new MemoizedResults<byte[]>();
+
+	MemoizedDataLoader(DataLoader dataLoader) {
+		this.dataLoader = dataLoader;
+	}
+
+	@Override
+	public byte[] get(final String url) {
+		return responses.get(url, new Callable<byte[]>() {
+			@Override
+			public byte[] call() throws Exception {
+				return dataLoader.get(url);
+			}
+		});
+	}
+
+	@Override
+	public DataAndUrl get(List<String> urlStrings) {
+		return dataLoader.get(urlStrings);
+	}
+
+	@Override
+	public byte[] get(String url, boolean refresh) {
+		return dataLoader.get(url, refresh);
+	}
+
+	@Override
+	public byte[] post(String url, byte[] content) {
+		return dataLoader.post(url, content);
+	}
+
+	@Override
+	public void setContentType(String contentType) {
+		dataLoader.setContentType(contentType);
+	}
+
+}
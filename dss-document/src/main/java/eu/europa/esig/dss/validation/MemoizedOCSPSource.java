@@ -0,0 +1,109 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.ocsp.BatchOCSPSource;
+import eu.europa.esig.dss.x509.ocsp.OCSPSource;
+import eu.europa.esig.dss.x509.ocsp.OCSPToken;
+
+/**
+ * This source keeps the OCSP responses per certificate. The responses of the end-entity certificates are only kept
+ * if required, the CA certificates are always checked once.
+ *
+ * The requests of several certificates are forwarded at once if the wrapped source is a {@code BatchOCSPSource}.
+ */
+final class MemoizedOCSPSource implements BatchOCSPSource {
+
+	private static final long serialVersionUID = 4536019387283946312L;
+
+	private final OCSPSource ocspSource;
+
+	private final boolean endEntityResponses;
+
+	private final MemoizedResults<OCSPToken> responses = new MemoizedResults<OCSPToken>();
+
+	/**
+	 * The default constructor for MemoizedOCSPSource.
+	 *
+	 * @param ocspSource
+	 *            the source of the OCSP responses
+	 * @param endEntityResponses
+	 *            true if the responses of the end-entity certificates are kept
+	 */
+	MemoizedOCSPSource(OCSPSource ocspSource, boolean endEntityResponses) {
+		this.ocspSource = ocspSource;
+		this.endEntityResponses = endEntityResponses;
+	}
+
+	@Override
+	public OCSPToken getOCSPToken(final CertificateToken certificateToken, final CertificateToken issuerCertificateToken) {
+		if (!isKept(certificateToken)) {
+			return ocspSource.getOCSPToken(certificateToken, issuerCertificateToken);
+		}
+		return responses.get(certificateToken.getDSSIdAsString(), new Callable<OCSPToken>() {
+			@Override
+			public OCSPToken call() throws Exception {
+				return ocspSource.getOCSPToken(certificateToken, issuerCertificateToken);
+			}
+		});
+	}
+
+	@Override
+	public Map<CertificateToken, OCSPToken> getOCSPTokens(final Collection<CertificateToken> certificateTokens) {
+		final Map<CertificateToken, OCSPToken> ocspTokens = new HashMap<CertificateToken, OCSPToken>();
+		final List<CertificateToken> toRequest = new ArrayList<CertificateToken>();
+		for (CertificateToken certificateToken : certificateTokens) {
+			if (isKept(certificateToken) && responses.contains(certificateToken.getDSSIdAsString())) {
+				ocspTokens.put(certificateToken, getOCSPToken(certificateToken, certificateToken.getIssuerToken()));
+			} else {
+				toRequest.add(certificateToken);
+			}
+		}
+
+		if (!toRequest.isEmpty() && (ocspSource instanceof BatchOCSPSource)) {
+			final Map<CertificateToken, OCSPToken> retrieved = ((BatchOCSPSource) ocspSource).getOCSPTokens(toRequest);
+			for (CertificateToken certificateToken : toRequest) {
+				// the certificates which were not processed are requested one by one by the caller
+				if (retrieved.containsKey(certificateToken)) {
+					final OCSPToken ocspToken = retrieved.get(certificateToken);
+					if ((ocspToken != null) && isKept(certificateToken)) {
+						responses.put(certificateToken.getDSSIdAsString(), ocspToken);
+					}
+					ocspTokens.put(certificateToken, ocspToken);
+				}
+			}
+		}
+		return ocspTokens;
+	}
+
+	private boolean isKept(final CertificateToken certificateToken) {
+		return endEntityResponses || (certificateToken.getCertificate().getBasicConstraints() != -1);
+	}
+
+}
@@ -0,0 +1,106 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import eu.europa.esig.dss.DSSException;
+
+/**
+ * Keeps the results of computations by key : the computation is executed once per key (concurrent callers wait for
+ * the result of the first one). The failures are not kept.
+ *
+ * @param <V>
+ *            the type of the results
+ */
+final class MemoizedResults<V> {
+
+	private final ConcurrentMap<String, FutureTask<V>> results = new ConcurrentHashMap<String, FutureTask<V>>();
+
+	/**
+	 * Returns the result for the key, the computation is executed only if the key is not known yet.
+	 *
+	 * @param key
+	 *            the key of the result
+	 * @param computation
+	 *            the computation of the result
+	 * @return the (possibly null) result
+	 */
+	V get(final String key, final Callable<V> computation) {
+		FutureTask<V> task = results.get(key);
+		if (task == null) {
+			final FutureTask<V> newTask = new FutureTask<V>(computation);
+			task = results.putIfAbsent(key, newTask);
+			if (task == null) {
+				task = newTask;
+				task.run();
+			}
+		}
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("Interrupted computation", e);
+		} catch (ExecutionException e) {
+			// the failure is not kept
+			results.remove(key, task);
+			if (e.getCause() instanceof DSSException) {
+				throw (DSSException) e.getCause();
+			}
+			throw new DSSException(e.getCause());
+		}
+	}
+
+	/**
+	 * Returns true if a result (or a running computation) exists for the key
+	 *
+	 * @param key
+	 *            the key of the result
+	 * @return true if the key is known
+	 */
+	boolean contains(final String key) {
+		return results.containsKey(key);
+	}
+
+	/**
+	 * Keeps an already computed result (an existing result is not replaced)
+	 *
+	 * @param key
+	 *            the key of the result
+	 * @param value
+	 *            the (possibly null) result
+	 */
+	void put(final String key, final V value) {
+		final FutureTask<V> task = new FutureTask<V>(new Callable<V>() {
+			@Override
+			public V call() {
+				return value;
+			}
+		});
+		task.run();
+		results.putIfAbsent(key, task);
+	}
+
+}
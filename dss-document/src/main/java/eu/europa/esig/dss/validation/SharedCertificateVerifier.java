@@ -0,0 +1,94 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import eu.europa.esig.dss.x509.CertificatePool;
+
+/**
+ * This {@code CertificateVerifier} shares the validation work between the validation contexts which are created
+ * with it (eg : one per signature during the extension of a document with several signatures) :
+ * <ul>
+ * <li>the validation pool is created once (the trusted certificates are merged once);</li>
+ * <li>the downloaded issuer certificates (AIA) are kept;</li>
+ * <li>the CRLs are indexed by issuer and distribution points : a CRL is retrieved and parsed once;</li>
+ * <li>the OCSP responses are kept per certificate and the requests of several certificates are still batched if the
+ * OCSP source supports it.</li>
+ * </ul>
+ *
+ * The configuration is copied from the given {@code CertificateVerifier}, which is not modified. The shared data is
+ * kept as long as this instance : it is intended to be used for one operation (eg : one call to extendDocument).
+ */
+public class SharedCertificateVerifier extends CommonCertificateVerifier {
+
+	private CertificatePool validationPool;
+
+	/**
+	 * The default constructor for SharedCertificateVerifier. All the OCSP responses are kept.
+	 *
+	 * @param certificateVerifier
+	 *            the certificate verifier with the trusted certificates and the revocation sources
+	 */
+	public SharedCertificateVerifier(final CertificateVerifier certificateVerifier) {
+		this(certificateVerifier, true);
+	}
+
+	/**
+	 * @param certificateVerifier
+	 *            the certificate verifier with the trusted certificates and the revocation sources
+	 * @param endEntityResponses
+	 *            true if the OCSP responses of the end-entity certificates are kept (else only the CA certificates
+	 *            are checked once)
+	 */
+	SharedCertificateVerifier(final CertificateVerifier certificateVerifier, final boolean endEntityResponses) {
+		super(true);
+		if (certificateVerifier == null) {
+			throw new NullPointerException("CertificateVerifier cannot be null !");
+		}
+		setTrustedCertSource(certificateVerifier.getTrustedCertSource());
+		setAdjunctCertSource(certificateVerifier.getAdjunctCertSource());
+		if (certificateVerifier.getDataLoader() != null) {
+			setDataLoader(new MemoizedDataLoader(certificateVerifier.getDataLoader()));
+		}
+		setSignatureCRLSource(certificateVerifier.getSignatureCRLSource());
+		setSignatureOCSPSource(certificateVerifier.getSignatureOCSPSource());
+		setAIACertificateCache(certificateVerifier.getAIACertificateCache());
+		setDiagnosticDataCache(certificateVerifier.getDiagnosticDataCache());
+		setValidationMetrics(certificateVerifier.getValidationMetrics());
+		if (certificateVerifier.getCrlSource() != null) {
+			setCrlSource(new IndexedCRLSource(certificateVerifier.getCrlSource()));
+		}
+		if (certificateVerifier.getOcspSource() != null) {
+			setOcspSource(new MemoizedOCSPSource(certificateVerifier.getOcspSource(), endEntityResponses));
+		}
+	}
+
+	/**
+	 * Returns the shared validation pool (created at the first call)
+	 */
+	@Override
+	public synchronized CertificatePool createValidationPool() {
+		if (validationPool == null) {
+			validationPool = super.createValidationPool();
+		}
+		return validationPool;
+	}
+
+}
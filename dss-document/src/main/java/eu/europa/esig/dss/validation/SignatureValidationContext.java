@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -41,6 +42,9 @@ import eu.europa.esig.dss.DSSASN1Utils;
 import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.client.http.DataLoader;
+import eu.europa.esig.dss.metrics.MetricsSpan;
+import eu.europa.esig.dss.metrics.NoOpValidationMetrics;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.x509.CertificatePool;
 import eu.europa.esig.dss.x509.CertificateSourceType;
@@ -48,7 +52,9 @@ import eu.europa.esig.dss.x509.CertificateToken;
 import eu.europa.esig.dss.x509.RevocationToken;
 import eu.europa.esig.dss.x509.Token;
 import eu.europa.esig.dss.x509.crl.CRLSource;
+import eu.europa.esig.dss.x509.ocsp.BatchOCSPSource;
 import eu.europa.esig.dss.x509.ocsp.OCSPSource;
+import eu.europa.esig.dss.x509.ocsp.OCSPToken;
 
 /**
  * During the validation of a signature, the software retrieves different X509 artifacts like Certificate, CRL and OCSP
@@ -64,11 +70,27 @@ public class SignatureValidationContext implements ValidationContext {
 	private final Set<RevocationToken> processedRevocations = new HashSet<RevocationToken>();
 	private final Set<TimestampToken> processedTimestamps = new HashSet<TimestampToken>();
 
+	/**
+	 * The revocation tokens which are equal to an already processed one but are distinct instances (eg : the OCSP
+	 * tokens of several certificates built from the same batched response)
+	 */
+	private final List<RevocationToken> identicalRevocations = new ArrayList<RevocationToken>();
+
 	/**
 	 * The data loader used to access AIA certificate source.
 	 */
 	private DataLoader dataLoader;
 
+	/**
+	 * The cache of the certificates downloaded with AIA (can be null).
+	 */
+	private AIACertificateCache aiaCertificateCache;
+
+	/**
+	 * The collector of the validation metrics.
+	 */
+	private ValidationMetrics validationMetrics = new NoOpValidationMetrics();
+
 	/**
 	 * The certificate pool which encapsulates all certificates used during the validation process and extracted from
 	 * all used sources
@@ -135,6 +157,10 @@ public class SignatureValidationContext implements ValidationContext {
 		this.crlSource = certificateVerifier.getCrlSource();
 		this.ocspSource = certificateVerifier.getOcspSource();
 		this.dataLoader = certificateVerifier.getDataLoader();
+		this.aiaCertificateCache = certificateVerifier.getAIACertificateCache();
+		if (certificateVerifier.getValidationMetrics() != null) {
+			this.validationMetrics = certificateVerifier.getValidationMetrics();
+		}
 		this.signatureCRLSource = certificateVerifier.getSignatureCRLSource();
 		this.signatureOCSPSource = certificateVerifier.getSignatureOCSPSource();
 	}
@@ -224,7 +250,12 @@ public class SignatureValidationContext implements ValidationContext {
 	 */
 	private CertificateToken getIssuerFromAIA(final CertificateToken token) {
 		LOG.info("Retrieving {} certificate's issuer using AIA.", token.getAbbreviation());
-		Collection<CertificateToken> candidates = DSSUtils.loadPotentialIssuerCertificates(token, dataLoader);
+		Collection<CertificateToken> candidates = null;
+		if (aiaCertificateCache != null) {
+			candidates = aiaCertificateCache.getPotentialIssuerCertificates(token, dataLoader);
+		} else {
+			candidates = DSSUtils.loadPotentialIssuerCertificates(token, dataLoader);
+		}
 		if (Utils.isCollectionNotEmpty(candidates)) {
 			// The potential issuers might support 3 known scenarios:
 			//  - issuer certificate with single entry
@@ -364,6 +395,8 @@ public class SignatureValidationContext implements ValidationContext {
 						LOG.trace("RevocationToken already present processedRevocations: {} ", revocationToken);
 					}
 				}
+			} else if (revocationToken != null) {
+				identicalRevocations.add(revocationToken);
 			}
 
 		}
@@ -401,55 +434,124 @@ public class SignatureValidationContext implements ValidationContext {
 		}
 	}
 
+	/**
+	 * The tokens are processed by rounds : the issuers of all the pending tokens are retrieved first, then the revocation
+	 * data of the collected certificates. That allows to request the OCSP responses of several certificates at once with
+	 * a {@code BatchOCSPSource}.
+	 */
 	@Override
 	public void validate() throws DSSException {
-		Token token = null;
-		do {
-			token = getNotYetVerifiedToken();
-			if (token != null) {
-
-				/**
-				 * Gets the issuer certificate of the Token and checks its signature
-				 */
-				final CertificateToken issuerCertToken = getIssuerCertificate(token);
-				if (issuerCertToken != null) {
-					addCertificateTokenForVerification(issuerCertToken);
-				}
+		try (MetricsSpan span = validationMetrics.startSpan(ValidationMetrics.VALIDATION_CONTEXT)) {
+			List<CertificateToken> certificatesToCheck = null;
+			do {
+				certificatesToCheck = new ArrayList<CertificateToken>();
+				Token token = null;
+				do {
+					token = getNotYetVerifiedToken();
+					if (token != null) {
+						validationMetrics.increment(ValidationMetrics.PROCESSED_TOKENS, token.getClass().getSimpleName());
+
+						/**
+						 * Gets the issuer certificate of the Token and checks its signature
+						 */
+						final CertificateToken issuerCertToken = getIssuerCertificate(token);
+						if (issuerCertToken != null) {
+							addCertificateTokenForVerification(issuerCertToken);
+						}
+
+						if (token instanceof CertificateToken) {
+							certificatesToCheck.add((CertificateToken) token);
+						}
 
-				if (token instanceof CertificateToken) {
-					final List<RevocationToken> revocationTokens = getRevocationData((CertificateToken) token);
-					addRevocationTokensForVerification(revocationTokens);
-				}
+					}
+				} while (token != null);
+
+				processRevocationData(certificatesToCheck);
+			} while (!certificatesToCheck.isEmpty());
+
+			verifyIdenticalRevocations();
+		}
+	}
+
+	/**
+	 * Only one instance of identical revocation tokens is processed. The signature of the other instances is checked
+	 * with the issuer found for the processed one.
+	 */
+	private void verifyIdenticalRevocations() {
+		final Map<RevocationToken, RevocationToken> processedInstances = new HashMap<RevocationToken, RevocationToken>();
+		for (RevocationToken revocationToken : processedRevocations) {
+			processedInstances.put(revocationToken, revocationToken);
+		}
+		for (RevocationToken revocationToken : identicalRevocations) {
+			final RevocationToken processedInstance = processedInstances.get(revocationToken);
+			if ((processedInstance != null) && (processedInstance != revocationToken) && (revocationToken.getIssuerToken() == null)
+					&& (processedInstance.getIssuerToken() != null)) {
+				revocationToken.isSignedBy(processedInstance.getIssuerToken());
+			}
+		}
+		identicalRevocations.clear();
+	}
+
+	private void processRevocationData(final List<CertificateToken> certTokens) {
+		final Map<CertificateToken, List<RevocationToken>> revocationsByCertificate = new LinkedHashMap<CertificateToken, List<RevocationToken>>();
+		final List<CertificateToken> onlineChecks = new ArrayList<CertificateToken>();
+		for (CertificateToken certToken : certTokens) {
+			final List<RevocationToken> revocations = getEmbeddedRevocationData(certToken);
+			revocationsByCertificate.put(certToken, revocations);
+			if (revocations != null && revocations.isEmpty()) {
+				onlineChecks.add(certToken);
+			} else if (revocations != null) {
+				validationMetrics.increment(ValidationMetrics.REVOCATION_DATA, ValidationMetrics.EMBEDDED);
+			}
+		}
+
+		final OCSPSource onlineOCSPSource = getOnlineOCSPSource(onlineChecks);
+		for (CertificateToken certToken : onlineChecks) {
+			// Online resources (OCSP and CRL if OCSP doesn't reply)
+			final OCSPAndCRLCertificateVerifier onlineVerifier = new OCSPAndCRLCertificateVerifier(crlSource, onlineOCSPSource,
+					validationCertificatePool);
+			final RevocationToken onlineRevocationToken = onlineVerifier.check(certToken);
+			if (onlineRevocationToken != null) {
+				validationMetrics.increment(ValidationMetrics.REVOCATION_DATA, ValidationMetrics.ONLINE);
+				revocationsByCertificate.get(certToken).add(onlineRevocationToken);
+			} else {
+				validationMetrics.increment(ValidationMetrics.REVOCATION_DATA, ValidationMetrics.NONE);
+				LOG.warn("No revocation found for certificate {}", certToken.getDSSIdAsString());
+			}
+		}
 
+		for (List<RevocationToken> revocations : revocationsByCertificate.values()) {
+			if (revocations != null) {
+				addRevocationTokensForVerification(revocations);
 			}
-		} while (token != null);
+		}
 	}
 
 	/**
-	 * Retrieves the revocation data from signature (if exists) or from the online sources. The issuer certificate must
-	 * be provided, the underlining library (bouncy castle) needs
-	 * it to build the request.
+	 * Retrieves the revocation data from the signature (if exists). The issuer certificate must be provided, the
+	 * underlining library (bouncy castle) needs it to build the request.
 	 *
 	 * @param certToken
-	 * @return
+	 * @return null if the revocation data is not needed, the embedded revocation data otherwise (an empty list if the
+	 *         online sources need to be used)
 	 */
-	private List<RevocationToken> getRevocationData(final CertificateToken certToken) {
+	private List<RevocationToken> getEmbeddedRevocationData(final CertificateToken certToken) {
 
 		if (LOG.isTraceEnabled()) {
 			LOG.trace("Checking revocation data for: " + certToken.getDSSIdAsString());
 		}
 		if (certToken.isSelfSigned() || certToken.isTrusted()) {
 			// This check is not needed for the trust anchor.
-			return Collections.emptyList();
+			return null;
 		} else if (certToken.getIssuerToken() == null) {
 			// It is not possible to check the revocation data without its signing certificate;
 			LOG.warn("Cannot retrieve revocation data (issuer is unknown)");
-			return Collections.emptyList();
+			return null;
 		}
 
 		if (DSSASN1Utils.hasIdPkixOcspNoCheckExtension(certToken)) {
 			certToken.extraInfo().infoOCSPNoCheckPresent();
-			return Collections.emptyList();
+			return null;
 		}
 
 		List<RevocationToken> revocations = new ArrayList<RevocationToken>();
@@ -469,21 +571,22 @@ public class SignatureValidationContext implements ValidationContext {
 			}
 		}
 
-		if (revocations.isEmpty()) {
-			// Online resources (OCSP and CRL if OCSP doesn't reply)
-			final OCSPAndCRLCertificateVerifier onlineVerifier = new OCSPAndCRLCertificateVerifier(crlSource, ocspSource, validationCertificatePool);
-			final RevocationToken onlineRevocationToken = onlineVerifier.check(certToken);
-			// CRL can already exist in the signature
-			if (onlineRevocationToken != null && !revocations.contains(onlineRevocationToken)) {
-				revocations.add(onlineRevocationToken);
-			}
-		}
+		return revocations;
+	}
 
-		if (revocations.isEmpty()) {
-			LOG.warn("No revocation found for certificate {}", certToken.getDSSIdAsString());
+	/**
+	 * Returns the OCSP source to use for the given certificates : when the OCSP source supports it, the responses are
+	 * retrieved at once and the certificates without a prefetched response are requested one by one.
+	 */
+	private OCSPSource getOnlineOCSPSource(final List<CertificateToken> certTokens) {
+		if ((ocspSource instanceof BatchOCSPSource) && (certTokens.size() > 1)) {
+			try {
+				return new PrefetchedOCSPSource(((BatchOCSPSource) ocspSource).getOCSPTokens(certTokens), ocspSource);
+			} catch (DSSException e) {
+				LOG.warn("Unable to retrieve the OCSP responses of {} certificates : {}", certTokens.size(), e.getMessage());
+			}
 		}
-
-		return revocations;
+		return ocspSource;
 	}
 
 	@Override
@@ -538,4 +641,30 @@ public class SignatureValidationContext implements ValidationContext {
 
 		return toString("");
 	}
+
+	/**
+	 * {@code OCSPSource} which returns the responses retrieved by a {@code BatchOCSPSource}
+	 */
+	@SuppressWarnings("serial")
+	private static final class PrefetchedOCSPSource implements OCSPSource {
+
+		private final Map<CertificateToken, OCSPToken> ocspTokens;
+
+		private final OCSPSource ocspSource;
+
+		private PrefetchedOCSPSource(Map<CertificateToken, OCSPToken> ocspTokens, OCSPSource ocspSource) {
+			this.ocspTokens = ocspTokens;
+			this.ocspSource = ocspSource;
+		}
+
+		@Override
+		public OCSPToken getOCSPToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			if (ocspTokens.containsKey(certificateToken)) {
+				return ocspTokens.get(certificateToken);
+			}
+			return ocspSource.getOCSPToken(certificateToken, issuerCertificateToken);
+		}
+
+	}
+
 }
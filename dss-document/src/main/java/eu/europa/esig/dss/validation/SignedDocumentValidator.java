@@ -26,8 +26,13 @@ import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,7 +40,11 @@ import org.slf4j.LoggerFactory;
 import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.ReportProjection;
 import eu.europa.esig.dss.jaxb.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.metrics.MetricsSpan;
+import eu.europa.esig.dss.metrics.NoOpValidationMetrics;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.executor.CustomProcessExecutor;
 import eu.europa.esig.dss.validation.executor.ProcessExecutor;
@@ -100,9 +109,21 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 
 	protected SignaturePolicyProvider signaturePolicyProvider;
 
+	/**
+	 * The executor used to check the signatures concurrently (can be null)
+	 */
+	protected ExecutorService executorService;
+
+	/**
+	 * The cache of the validation results (can be null)
+	 */
+	protected ValidationResultCache validationResultCache;
+
 	// Default configuration with the highest level
 	private ValidationLevel validationLevel = ValidationLevel.ARCHIVAL_DATA;
 
+	private ReportProjection reportProjection = ReportProjection.FULL;
+
 	private static List<Class<SignedDocumentValidator>> registredDocumentValidators = new ArrayList<Class<SignedDocumentValidator>>();
 
 	static {
@@ -207,6 +228,17 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 		this.validationLevel = validationLevel;
 	}
 
+	/**
+	 * This method allows to define the reports which are returned (default : FULL). With
+	 * {@code ReportProjection.DIAGNOSTIC_ONLY}, the validation policy is not applied.
+	 *
+	 * @param reportProjection
+	 *            the reports to produce
+	 */
+	public void setReportProjection(ReportProjection reportProjection) {
+		this.reportProjection = reportProjection;
+	}
+
 	@Override
 	public Reports validateDocument() {
 		return validateDocument((InputStream) null);
@@ -286,19 +318,52 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 			throw new NullPointerException("CertificateVerifier not defined");
 		}
 
+		String resultKey = null;
+		if ((validationResultCache != null) && (providedSigningCertificateToken == null)) {
+			final Date validationTime = provideProcessExecutorInstance().getCurrentTime();
+			resultKey = validationResultCache.getKey(document, detachedContents, validationPolicy, validationLevel, reportProjection,
+					certificateVerifier.getTrustedCertSource(), validationTime);
+			if (resultKey != null) {
+				final Reports cachedReports = validationResultCache.get(resultKey, validationTime);
+				if (cachedReports != null) {
+					LOG.info("Validation result found in the cache");
+					return cachedReports;
+				}
+			}
+		}
+
 		ensureSignaturePolicyDetectorInitialized();
 
 		boolean structuralValidation = isRequireStructuralValidation(validationPolicy);
 		final ValidationContext validationContext = new SignatureValidationContext(validationCertPool);
 
-		List<AdvancedSignature> allSignatureList = processSignaturesValidation(validationContext, structuralValidation);
+		final ValidationMetrics validationMetrics = getValidationMetrics();
+		List<AdvancedSignature> allSignatureList = null;
+		try (MetricsSpan span = validationMetrics.startSpan(ValidationMetrics.SIGNATURES_VALIDATION)) {
+			allSignatureList = processSignaturesValidation(validationContext, structuralValidation);
+		}
 
 		DiagnosticDataBuilder builder = new DiagnosticDataBuilder();
 		builder.document(document).containerInfo(getContainerInfo()).foundSignatures(allSignatureList)
 				.usedCertificates(validationContext.getProcessedCertificates()).trustedListsCertificateSource(certificateVerifier.getTrustedCertSource())
-				.validationDate(validationContext.getCurrentTime());
+				.validationDate(validationContext.getCurrentTime()).cache(certificateVerifier.getDiagnosticDataCache());
+
+		DiagnosticData diagnosticData = null;
+		try (MetricsSpan span = validationMetrics.startSpan(ValidationMetrics.DIAGNOSTIC_DATA_BUILD)) {
+			diagnosticData = builder.build();
+		}
+		final Reports reports = processValidationPolicy(diagnosticData, validationPolicy);
+		if (resultKey != null) {
+			validationResultCache.put(resultKey, reports);
+		}
+		return reports;
+	}
 
-		return processValidationPolicy(builder.build(), validationPolicy);
+	private ValidationMetrics getValidationMetrics() {
+		if (certificateVerifier.getValidationMetrics() != null) {
+			return certificateVerifier.getValidationMetrics();
+		}
+		return new NoOpValidationMetrics();
 	}
 
 	@Override
@@ -318,13 +383,16 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 		validationContext.initialize(certificateVerifier);
 		validationContext.validate();
 
-		for (final AdvancedSignature signature : allSignatureList) {
-			signature.checkSigningCertificate();
-			signature.checkSignatureIntegrity();
-			signature.validateTimestamps();
-			if (structuralValidation) {
-				signature.validateStructure();
+		if ((executorService != null) && (allSignatureList.size() > 1) && isConcurrentSignatureValidationSupported()) {
+			checkSignaturesConcurrently(allSignatureList, structuralValidation);
+		} else {
+			for (final AdvancedSignature signature : allSignatureList) {
+				checkSignature(signature, structuralValidation);
 			}
+		}
+
+		// the SignaturePolicyProvider caches the downloaded policies (not thread-safe)
+		for (final AdvancedSignature signature : allSignatureList) {
 			signature.checkSignaturePolicy(signaturePolicyProvider);
 
 			if (signatureScopeFinder != null) {
@@ -334,6 +402,64 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 		return allSignatureList;
 	}
 
+	/**
+	 * Carries out the checks which only depend on the given signature : signing certificate, signature integrity,
+	 * timestamps and structure.
+	 */
+	private void checkSignature(final AdvancedSignature signature, final boolean structuralValidation) {
+		signature.checkSigningCertificate();
+		signature.checkSignatureIntegrity();
+		signature.validateTimestamps();
+		if (structuralValidation) {
+			signature.validateStructure();
+		}
+	}
+
+	/**
+	 * Checks the signatures on the executor and waits for the results. The first failure is re-thrown.
+	 */
+	private void checkSignaturesConcurrently(final List<AdvancedSignature> allSignatureList, final boolean structuralValidation) {
+		final List<Future<Void>> checks = new ArrayList<Future<Void>>();
+		for (final AdvancedSignature signature : allSignatureList) {
+			checks.add(executorService.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					checkSignature(signature, structuralValidation);
+					return null;
+				}
+			}));
+		}
+
+		try {
+			for (Future<Void> check : checks) {
+				check.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("Interrupted signature validation", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof DSSException) {
+				throw (DSSException) e.getCause();
+			}
+			throw new DSSException(e.getCause());
+		} finally {
+			for (Future<Void> check : checks) {
+				check.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the signatures of the document can be checked concurrently (see
+	 * {@link #setExecutorService(ExecutorService)}) : the signatures must not share a mutable structure (eg : the
+	 * DOM of an XML document is not thread-safe). By default, the signatures are checked sequentially.
+	 *
+	 * @return true if the signatures can be checked in parallel
+	 */
+	protected boolean isConcurrentSignatureValidationSupported() {
+		return false;
+	}
+
 	/**
 	 * This method allows to retrieve the container information (ASiC Container)
 	 * 
@@ -344,11 +470,21 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 	}
 
 	protected Reports processValidationPolicy(DiagnosticData diagnosticData, ValidationPolicy validationPolicy) {
+		if (ReportProjection.DIAGNOSTIC_ONLY.equals(reportProjection)) {
+			return new Reports(diagnosticData, null, null);
+		}
 		final ProcessExecutor<Reports> executor = provideProcessExecutorInstance();
 		executor.setValidationPolicy(validationPolicy);
 		executor.setValidationLevel(validationLevel);
 		executor.setDiagnosticData(diagnosticData);
-		final Reports reports = executor.execute();
+		final Reports reports;
+		try (MetricsSpan span = getValidationMetrics().startSpan(ValidationMetrics.PROCESS_EXECUTION)) {
+			reports = executor.execute();
+		}
+		if (ReportProjection.SIMPLE_ONLY.equals(reportProjection)) {
+			// the detailed report is built anyway (the simple report is derived from it), it is only not returned
+			return new Reports(reports.getDiagnosticDataJaxb(), null, reports.getSimpleReportJaxb());
+		}
 		return reports;
 	}
 
@@ -369,6 +505,31 @@ public abstract class SignedDocumentValidator implements DocumentValidator {
 		this.processExecutor = processExecutor;
 	}
 
+	/**
+	 * This method allows to provide an executor to check the signatures concurrently (signing certificate, signature
+	 * integrity, timestamps and structure), when the format supports it (CMS only : the XAdES signatures share the
+	 * DOM and the PAdES signatures share the document timestamps). If null (default), the signatures are checked in
+	 * the current thread.
+	 *
+	 * @param executorService
+	 *            the executor service
+	 */
+	public void setExecutorService(final ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	/**
+	 * This method allows to provide a cache of the validation results : a document which is validated again with the
+	 * same detached contents, policy and trusted lists returns the stored reports. If null (default), the document is
+	 * always validated.
+	 *
+	 * @param validationResultCache
+	 *            the validation result cache
+	 */
+	public void setValidationResultCache(final ValidationResultCache validationResultCache) {
+		this.validationResultCache = validationResultCache;
+	}
+
 	/**
 	 * This method returns the process executor. If the instance of this class
 	 * is not yet instantiated then the new instance is created.
@@ -39,7 +39,6 @@ import org.bouncycastle.operator.OperatorCreationException;
 import org.bouncycastle.tsp.TSPException;
 import org.bouncycastle.tsp.TSPValidationException;
 import org.bouncycastle.tsp.TimeStampToken;
-import org.bouncycastle.tsp.TimeStampTokenInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -232,29 +231,59 @@ public class TimestampToken extends Token {
 	 * @return true if the data is verified by the TimeStampToken
 	 */
 	public boolean matchData(final byte[] data, final boolean suppressMatchWarnings) {
+		byte[] computedDigest = null;
+		if (data != null) {
+			try {
+				computedDigest = DSSUtils.digest(getSignedDataDigestAlgo(), data);
+			} catch (DSSException e) {
+				LOG.warn("Unable to validate the timestamp", e);
+			}
+		}
+		return matchDigest(data != null, computedDigest, suppressMatchWarnings);
+	}
+
+	/**
+	 * Checks if the {@code TimeStampToken} matches the digest of the signed data (computed with
+	 * {@code #getSignedDataDigestAlgo()}). This method allows to digest the timestamped data in streaming.
+	 *
+	 * @param computedDigest
+	 *            the digest of the timestamped data or null if the data is not found
+	 * @return true if the data is verified by the TimeStampToken
+	 */
+	public boolean matchDigest(final byte[] computedDigest) {
+		return matchDigest(computedDigest, false);
+	}
+
+	/**
+	 * Checks if the {@code TimeStampToken} matches the digest of the signed data (see
+	 * {@code #matchData(byte[], boolean)}).
+	 *
+	 * @param computedDigest
+	 *            the digest of the timestamped data or null if the data is not found
+	 * @param suppressMatchWarnings
+	 *            if true the message imprint match warning logs are suppressed.
+	 * @return true if the data is verified by the TimeStampToken
+	 */
+	public boolean matchDigest(final byte[] computedDigest, final boolean suppressMatchWarnings) {
+		return matchDigest(computedDigest != null, computedDigest, suppressMatchWarnings);
+	}
+
+	private boolean matchDigest(final boolean dataFound, final byte[] computedDigest, final boolean suppressMatchWarnings) {
 
 		processed = true;
 
-		messageImprintData = data != null;
+		messageImprintData = dataFound;
 		messageImprintIntact = false;
 
 		if (messageImprintData) {
-			try {
-				final TimeStampTokenInfo timeStampInfo = timeStamp.getTimeStampInfo();
-				final ASN1ObjectIdentifier hashAlgorithm = timeStampInfo.getHashAlgorithm().getAlgorithm();
-				final DigestAlgorithm digestAlgorithm = DigestAlgorithm.forOID(hashAlgorithm.getId());
-
-				final byte[] computedDigest = DSSUtils.digest(digestAlgorithm, data);
-				final byte[] timestampDigest = timeStampInfo.getMessageImprintDigest();
+			if (computedDigest != null) {
+				final byte[] timestampDigest = timeStamp.getTimeStampInfo().getMessageImprintDigest();
 				messageImprintIntact = Arrays.equals(computedDigest, timestampDigest);
 				if (!messageImprintIntact && !suppressMatchWarnings) {
-					LOG.warn("Computed digest ({}) on the extracted data from the document : {}", digestAlgorithm, Utils.toHex(computedDigest));
+					LOG.warn("Computed digest ({}) on the extracted data from the document : {}", getSignedDataDigestAlgo(), Utils.toHex(computedDigest));
 					LOG.warn("Digest present in TimestampToken: {}", Utils.toHex(timestampDigest));
 					LOG.warn("Digest in TimestampToken matches digest of extracted data from document: {}", messageImprintIntact);
 				}
-
-			} catch (DSSException e) {
-				LOG.warn("Unable to validate the timestamp", e);
 			}
 		} else {
 			LOG.warn("Timestamped data not found !");
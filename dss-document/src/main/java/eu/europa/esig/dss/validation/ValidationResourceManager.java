@@ -25,6 +25,7 @@ import java.io.InputStream;
 import javax.xml.XMLConstants;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
@@ -32,8 +33,12 @@ import javax.xml.validation.SchemaFactory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
 
 import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.MessageDigestOutputStream;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.jaxb.policy.ConstraintsParameters;
 import eu.europa.esig.jaxb.policy.ObjectFactory;
@@ -47,6 +52,9 @@ public class ValidationResourceManager {
 
 	private static JAXBContext jaxbContext;
 
+	/* The compiled schema is thread-safe and reused by all the unmarshallers */
+	private static Schema schema;
+
 	static {
 		try {
 			jaxbContext = JAXBContext.newInstance(ObjectFactory.class);
@@ -109,6 +117,14 @@ public class ValidationResourceManager {
 		return load(fileInputStream);
 	}
 
+	private static synchronized Schema getSchema() throws SAXException {
+		if (schema == null) {
+			SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+			schema = sf.newSchema(new StreamSource(ValidationResourceManager.class.getResourceAsStream(defaultPolicyXsdLocation)));
+		}
+		return schema;
+	}
+
 	/**
 	 * This is the utility method that loads the data from the inputstream determined by the inputstream parameter into
 	 * a
@@ -119,11 +135,8 @@ public class ValidationResourceManager {
 	 */
 	public static ConstraintsParameters load(final InputStream inputStream) throws DSSException {
 		try {
-			SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-			Schema schema = sf.newSchema(new StreamSource(ValidationResourceManager.class.getResourceAsStream(defaultPolicyXsdLocation)));
-
 			Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-			unmarshaller.setSchema(schema);
+			unmarshaller.setSchema(getSchema());
 
 			return (ConstraintsParameters) unmarshaller.unmarshal(inputStream);
 		} catch (Exception e) {
@@ -131,4 +144,25 @@ public class ValidationResourceManager {
 		}
 	}
 
+	/**
+	 * Computes the digest of the XML representation of the policy constraints : two policy files which only differ by
+	 * their formatting have the same digest.
+	 *
+	 * @param constraintsParameters
+	 *            the policy constraints
+	 * @param digestAlgorithm
+	 *            the digest algorithm to use
+	 * @return the digest value
+	 */
+	public static byte[] getDigest(final ConstraintsParameters constraintsParameters, final DigestAlgorithm digestAlgorithm) {
+		try {
+			MessageDigestOutputStream digestStream = new MessageDigestOutputStream(DSSUtils.getMessageDigest(digestAlgorithm));
+			Marshaller marshaller = jaxbContext.createMarshaller();
+			marshaller.marshal(constraintsParameters, digestStream);
+			return digestStream.getMessageDigest().digest();
+		} catch (JAXBException e) {
+			throw new DSSException("Unable to compute the policy digest : " + e.getMessage(), e);
+		}
+	}
+
 }
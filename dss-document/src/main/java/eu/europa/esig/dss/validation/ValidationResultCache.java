@@ -0,0 +1,252 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.ReportProjection;
+import eu.europa.esig.dss.jaxb.diagnostic.XmlCertificate;
+import eu.europa.esig.dss.jaxb.diagnostic.XmlRevocation;
+import eu.europa.esig.dss.metrics.NoOpValidationMetrics;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
+import eu.europa.esig.dss.tsl.TLInfo;
+import eu.europa.esig.dss.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.executor.ValidationLevel;
+import eu.europa.esig.dss.validation.policy.EtsiValidationPolicy;
+import eu.europa.esig.dss.validation.policy.ValidationPolicy;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.x509.CertificateSource;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.CommonCertificateSource;
+
+/**
+ * This class keeps the reports of the validated documents, so that a document which is submitted again (retry,
+ * several recipients,...) is not validated again.
+ *
+ * A result is identified by the digest of :
+ * <ul>
+ * <li>the signed document and the detached contents (name and digest)</li>
+ * <li>the validation policy (digest of its XML representation), the validation level and the produced reports</li>
+ * <li>the trust snapshot : the loaded trusted lists (sequence number, issue date, signature status) or the trusted
+ * certificates</li>
+ * <li>the validation time, truncated to a bucket (default : one hour)</li>
+ * </ul>
+ * A stored result is only returned while the revocation data used by the validation are fresh (their next update is
+ * after the validation time).
+ *
+ * The returned reports contain the validation time of the first validation. The other settings of the
+ * {@code CertificateVerifier} (sources, exception behaviours,...) are not part of the key : a cache must only be
+ * shared by the validators configured in the same way.
+ */
+public class ValidationResultCache {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ValidationResultCache.class);
+
+	private static final DigestAlgorithm DIGEST_ALGORITHM = DigestAlgorithm.SHA256;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private ValidationResultStore store = new InMemoryValidationResultStore();
+
+	private long validationTimeBucket = 60 * 60 * 1000L;
+
+	private ValidationMetrics validationMetrics = new NoOpValidationMetrics();
+
+	/* The digest of a parsed policy is computed once */
+	private final Map<EtsiValidationPolicy, String> policyDigests = Collections.synchronizedMap(new WeakHashMap<EtsiValidationPolicy, String>());
+
+	/**
+	 * This setter allows to define where the results are kept (default : {@code InMemoryValidationResultStore})
+	 *
+	 * @param store
+	 *            the storage of the results
+	 */
+	public void setStore(ValidationResultStore store) {
+		this.store = store;
+	}
+
+	/**
+	 * This setter allows to define the duration of the validation time buckets in milliseconds (default : one hour).
+	 * Two validations of the same document in the same bucket share the result.
+	 *
+	 * @param validationTimeBucket
+	 *            the duration of a bucket
+	 */
+	public void setValidationTimeBucket(long validationTimeBucket) {
+		this.validationTimeBucket = validationTimeBucket;
+	}
+
+	/**
+	 * This setter allows to count the cache hits and misses (default : ignored)
+	 *
+	 * @param validationMetrics
+	 *            the metrics collector
+	 */
+	public void setValidationMetrics(ValidationMetrics validationMetrics) {
+		this.validationMetrics = validationMetrics;
+	}
+
+	/**
+	 * Removes all the stored results
+	 */
+	public void clear() {
+		store.clear();
+	}
+
+	/**
+	 * Computes the key of a validation
+	 *
+	 * @param document
+	 *            the signed document
+	 * @param detachedContents
+	 *            the detached contents (can be null)
+	 * @param validationPolicy
+	 *            the validation policy
+	 * @param validationLevel
+	 *            the validation level
+	 * @param reportProjection
+	 *            the produced reports
+	 * @param trustedCertSource
+	 *            the trusted certificates (can be null)
+	 * @param validationTime
+	 *            the validation time
+	 * @return the key or null if the result cannot be cached (unknown digest, custom policy implementation)
+	 */
+	String getKey(DSSDocument document, List<DSSDocument> detachedContents, ValidationPolicy validationPolicy, ValidationLevel validationLevel,
+			ReportProjection reportProjection, CertificateSource trustedCertSource, Date validationTime) {
+		if (!(validationPolicy instanceof EtsiValidationPolicy)) {
+			LOG.debug("The validation result cannot be cached with the policy {}", validationPolicy);
+			return null;
+		}
+		StringBuilder key = new StringBuilder();
+		try {
+			key.append(document.getDigest(DIGEST_ALGORITHM));
+			if (Utils.isCollectionNotEmpty(detachedContents)) {
+				for (DSSDocument detachedContent : detachedContents) {
+					key.append('|').append(detachedContent.getName()).append(':').append(detachedContent.getDigest(DIGEST_ALGORITHM));
+				}
+			}
+		} catch (DSSException e) {
+			// eg : DigestDocument without the SHA-256 digest
+			LOG.debug("The validation result cannot be cached : {}", e.getMessage());
+			return null;
+		}
+		key.append('|').append(getPolicyDigest((EtsiValidationPolicy) validationPolicy));
+		key.append('|').append(validationLevel).append('|').append(reportProjection);
+		key.append('|').append(getTrustSnapshot(trustedCertSource));
+		key.append('|').append(validationTime.getTime() / validationTimeBucket);
+		return Utils.toHex(DSSUtils.digest(DIGEST_ALGORITHM, key.toString().getBytes(UTF8)));
+	}
+
+	/**
+	 * Returns the stored result if the used revocation data are still fresh
+	 *
+	 * @param key
+	 *            the key of the validation
+	 * @param validationTime
+	 *            the validation time
+	 * @return the reports or null
+	 */
+	Reports get(String key, Date validationTime) {
+		Reports reports = store.get(key);
+		if (reports != null && !isFresh(reports, validationTime)) {
+			LOG.debug("The revocation data of the validation result '{}' are outdated", key);
+			store.remove(key);
+			reports = null;
+		}
+		validationMetrics.increment(ValidationMetrics.VALIDATION_RESULT_CACHE, reports != null ? ValidationMetrics.HIT : ValidationMetrics.MISS);
+		return reports;
+	}
+
+	void put(String key, Reports reports) {
+		store.put(key, reports);
+	}
+
+	private boolean isFresh(Reports reports, Date validationTime) {
+		for (XmlCertificate xmlCertificate : reports.getDiagnosticDataJaxb().getUsedCertificates()) {
+			for (XmlRevocation xmlRevocation : xmlCertificate.getRevocations()) {
+				Date nextUpdate = xmlRevocation.getNextUpdate();
+				if (nextUpdate != null && !nextUpdate.after(validationTime)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private String getPolicyDigest(EtsiValidationPolicy validationPolicy) {
+		String digest = policyDigests.get(validationPolicy);
+		if (digest == null) {
+			digest = Utils.toBase64(ValidationResourceManager.getDigest(validationPolicy.getConstraintsParameters(), DIGEST_ALGORITHM));
+			policyDigests.put(validationPolicy, digest);
+		}
+		return digest;
+	}
+
+	private String getTrustSnapshot(CertificateSource trustedCertSource) {
+		if (trustedCertSource == null) {
+			return "";
+		}
+		StringBuilder snapshot = new StringBuilder();
+		if (trustedCertSource instanceof TrustedListsCertificateSource) {
+			TrustedListsCertificateSource trustedListsCertificateSource = (TrustedListsCertificateSource) trustedCertSource;
+			// the trusted lists are identified by their sequence number, sorted by country
+			Map<String, TLInfo> tlInfos = new TreeMap<String, TLInfo>(trustedListsCertificateSource.getSummary());
+			for (TLInfo tlInfo : tlInfos.values()) {
+				snapshot.append(tlInfo.getCountryCode()).append(':').append(tlInfo.getSequenceNumber()).append(':');
+				snapshot.append(tlInfo.getIssueDate() != null ? tlInfo.getIssueDate().getTime() : 0).append(':').append(tlInfo.isWellSigned()).append(';');
+			}
+			snapshot.append(trustedListsCertificateSource.getNumberOfTrustedCertificates());
+		} else {
+			List<CertificateToken> certificates = null;
+			if (trustedCertSource instanceof CommonCertificateSource) {
+				certificates = ((CommonCertificateSource) trustedCertSource).getCertificates();
+			} else {
+				certificates = trustedCertSource.getCertificatePool().getCertificateTokens();
+			}
+			List<String> ids = new ArrayList<String>();
+			for (CertificateToken certificate : certificates) {
+				ids.add(certificate.getDSSIdAsString());
+			}
+			Collections.sort(ids);
+			for (String id : ids) {
+				snapshot.append(id).append(';');
+			}
+		}
+		return snapshot.toString();
+	}
+
+}
@@ -0,0 +1,84 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.jaxb.detailedreport.DetailedReport;
+import eu.europa.esig.dss.jaxb.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.jaxb.simplereport.SimpleReport;
+
+/**
+ * This class converts the JAXB reports kept by the {@code ValidationResultStore}s to XML and back.
+ */
+final class ValidationResultMarshaller {
+
+	private static JAXBContext jaxbContext;
+
+	static {
+		try {
+			jaxbContext = JAXBContext.newInstance(DiagnosticData.class, DetailedReport.class, SimpleReport.class);
+		} catch (JAXBException e) {
+			throw new DSSException(e);
+		}
+	}
+
+	private ValidationResultMarshaller() {
+	}
+
+	static Marshaller createMarshaller() throws JAXBException {
+		return jaxbContext.createMarshaller();
+	}
+
+	static Unmarshaller createUnmarshaller() throws JAXBException {
+		return jaxbContext.createUnmarshaller();
+	}
+
+	/**
+	 * Returns the XML of the report (null if the report was not produced)
+	 */
+	static byte[] marshal(Marshaller marshaller, Object report) throws JAXBException {
+		if (report == null) {
+			return null;
+		}
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		marshaller.marshal(report, baos);
+		return baos.toByteArray();
+	}
+
+	/**
+	 * Returns a new instance of the report (null if the report was not produced)
+	 */
+	static Object unmarshal(Unmarshaller unmarshaller, byte[] xml) throws JAXBException {
+		if (xml == null) {
+			return null;
+		}
+		return unmarshaller.unmarshal(new ByteArrayInputStream(xml));
+	}
+
+}
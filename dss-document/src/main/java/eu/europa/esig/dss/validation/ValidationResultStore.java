@@ -0,0 +1,66 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import eu.europa.esig.dss.validation.reports.Reports;
+
+/**
+ * Storage of the validation results kept by a {@code ValidationResultCache}. The keys are hexadecimal digests of the
+ * validation inputs.
+ *
+ * An implementation is called concurrently by the different validations and must be thread-safe. It is responsible
+ * for bounding its size.
+ */
+public interface ValidationResultStore {
+
+	/**
+	 * Returns the stored reports
+	 *
+	 * @param key
+	 *            the digest of the validation inputs
+	 * @return the reports or null if the key is unknown
+	 */
+	Reports get(String key);
+
+	/**
+	 * Stores the reports of a validation
+	 *
+	 * @param key
+	 *            the digest of the validation inputs
+	 * @param reports
+	 *            the reports to store
+	 */
+	void put(String key, Reports reports);
+
+	/**
+	 * Removes the reports stored with the given key (eg : the revocation data are outdated)
+	 *
+	 * @param key
+	 *            the digest of the validation inputs
+	 */
+	void remove(String key);
+
+	/**
+	 * Removes all the stored reports
+	 */
+	void clear();
+
+}
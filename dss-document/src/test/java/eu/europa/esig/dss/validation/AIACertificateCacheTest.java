@@ -0,0 +1,200 @@
+package eu.europa.esig.dss.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AuthorityInformationAccess;
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.X509ObjectIdentifiers;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSASN1Utils;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.client.http.DataLoader;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.x509.CertificateToken;
+
+public class AIACertificateCacheTest {
+
+	private static final String LUXTRUST_QCA = "MIID8DCCAtigAwIBAgICA+swDQYJKoZIhvcNAQEFBQAwQDELMAkGA1UEBhMCTFUxFjAUBgNVBAoTDUx1eFRydXN0IHMuYS4xGTAXBgNVBAMTEEx1eFRydXN0IHJvb3QgQ0EwHhcNMDgwNjA1MDkyNTI0WhcNMTYxMDE4MTA0MDM0WjBFMQswCQYDVQQGEwJMVTEWMBQGA1UEChMNTHV4VHJ1c3QgUy5BLjEeMBwGA1UEAxMVTHV4VHJ1c3QgUXVhbGlmaWVkIENBMIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAybFXzA+8RNnvlCd+sZ8BnH6WO3LmaLi419Ygd9VBYcIwLmMx9KgAKF3u4B87Hee5NL4Xvhm/B9DuDUH5OGZ3P2Dwf7putVEvATvW8jzYq6CzarUthzb9ux+KTdTT+d4y6tkgVggy9DBe+bz635oZm2PPQT9kzoR48RBN730KA/MJIa0Sa7ZDphL37WHSA4/TWh9F1/LBRVGC0F4Mg1hU/u+kovF5mTuUK+ncU7+FS0cQRhAD+C4WfLI/WuzuE+T6ZuZ6Iqg6+vqgf6iKwL6iVZmwKkJPvV3+3Wgy3zq5tpDvsIGj4kXd1riQGKsEeDfN8y71DG3OdBqF1Yd7ue7ziwIDAQABo4HuMIHrMA8GA1UdEwQIMAYBAf8CAQAwQgYDVR0gBDswOTA3BggrgSsBAQEBADArMCkGCCsGAQUFBwIBFh1odHRwOi8vcmVwb3NpdG9yeS5sdXh0cnVzdC5sdTARBglghkgBhvhCAQEEBAMCAAcwDgYDVR0PAQH/BAQDAgHGMB8GA1UdIwQYMBaAFN2K1zDx+ZFx6UdwDCXlrKGN34wlMDEGA1UdHwQqMCgwJqAkoCKGIGh0dHA6Ly9jcmwubHV4dHJ1c3QubHUvTFRSQ0EuY3JsMB0GA1UdDgQWBBSNkKMH3RoTd5lMkqtNQ94/zSlkBTANBgkqhkiG9w0BAQUFAAOCAQEAapxOpigXTejGgHBWMAwDBMdZQHpPyoCmw32OIj1qqezO5nDnjG5gfJni/rp5IFMpV//xmCkjqyO92PyYbcHNSUpP1SjCkyn10e6ipmzpXK0MbgFvIPglAgA5dXxTNf0Q77eWu36fz5VKQEmJzqoXTccq4nuLL9rLZ88YUlczMaWscETIZCB4kecKVyqHf4+T0JucZqX7zzfpiVyTr2M+OGl9qiOmKwBGkzseJt+MgYWrskJADKDZMr4bQxkxnhzCSQoraX7DugxM0fH47MitCc74uZrWIJ6qQjCLBtKzxUGy7B3pYOjLlThr7S64cd12yuR+NjHAFZ2DTXwxKg/FQg==";
+
+	private final CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/ec.europa.eu.crt"));
+
+	@Test
+	public void cachedCertificates() {
+		CountingDataLoader dataLoader = new CountingDataLoader(true, 0);
+		AIACertificateCache cache = new AIACertificateCache();
+
+		Collection<CertificateToken> first = cache.getPotentialIssuerCertificates(certificate, dataLoader);
+		Collection<CertificateToken> second = cache.getPotentialIssuerCertificates(certificate, dataLoader);
+		assertEquals(1, first.size());
+		assertEquals(1, second.size());
+		assertEquals(first.iterator().next(), second.iterator().next());
+		// the validation data is not shared
+		assertNotSame(first.iterator().next(), second.iterator().next());
+		assertTrue(certificate.isSignedBy(second.iterator().next()));
+		assertEquals(1, dataLoader.calls.get());
+	}
+
+	@Test
+	public void negativeCache() throws Exception {
+		CountingDataLoader dataLoader = new CountingDataLoader(false, 0);
+		AIACertificateCache cache = new AIACertificateCache();
+		cache.setNegativeTimeToLive(100);
+
+		assertTrue(cache.getPotentialIssuerCertificates(certificate, dataLoader).isEmpty());
+		assertTrue(cache.getPotentialIssuerCertificates(certificate, dataLoader).isEmpty());
+		assertEquals(1, dataLoader.calls.get());
+
+		Thread.sleep(150);
+		assertTrue(cache.getPotentialIssuerCertificates(certificate, dataLoader).isEmpty());
+		assertEquals(2, dataLoader.calls.get());
+
+		// the delay is doubled after the second failure
+		Thread.sleep(150);
+		assertTrue(cache.getPotentialIssuerCertificates(certificate, dataLoader).isEmpty());
+		assertEquals(2, dataLoader.calls.get());
+	}
+
+	@Test
+	public void concurrentLookups() throws Exception {
+		final CountingDataLoader dataLoader = new CountingDataLoader(true, 200);
+		final AIACertificateCache cache = new AIACertificateCache();
+
+		ExecutorService executorService = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Collection<CertificateToken>>> futures = new ArrayList<Future<Collection<CertificateToken>>>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executorService.submit(new Callable<Collection<CertificateToken>>() {
+					@Override
+					public Collection<CertificateToken> call() throws Exception {
+						return cache.getPotentialIssuerCertificates(certificate, dataLoader);
+					}
+				}));
+			}
+			for (Future<Collection<CertificateToken>> future : futures) {
+				assertEquals(1, future.get().size());
+			}
+		} finally {
+			executorService.shutdown();
+		}
+		assertEquals(1, dataLoader.calls.get());
+	}
+
+	@Test
+	public void indexedIssuerMustSignTheCertificate() throws Exception {
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(2048);
+		KeyPair keyPair = keyPairGenerator.generateKeyPair();
+
+		// a certificate with the AKI of the LuxTrust QCA and an AIA url which returns another CA
+		X500Name caName = new X500Name("CN=Fake CA");
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(caName, BigInteger.ONE, new Date(System.currentTimeMillis() - 60000),
+				new Date(System.currentTimeMillis() + 3600000), caName, keyPair.getPublic());
+		builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+		final byte[] fakeCa = builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate())).getEncoded();
+
+		builder = new JcaX509v3CertificateBuilder(caName, BigInteger.TEN, new Date(System.currentTimeMillis() - 60000),
+				new Date(System.currentTimeMillis() + 3600000), new X500Name("CN=Fake certificate"), keyPair.getPublic());
+		builder.addExtension(Extension.authorityKeyIdentifier, false, new AuthorityKeyIdentifier(DSSASN1Utils.getAki(certificate)));
+		builder.addExtension(Extension.authorityInfoAccess, false, new AuthorityInformationAccess(X509ObjectIdentifiers.id_ad_caIssuers,
+				new GeneralName(GeneralName.uniformResourceIdentifier, "http://fake.example.com/ca.crt")));
+		CertificateToken fakeCertificate = DSSUtils
+				.loadCertificate(builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate())).getEncoded());
+
+		CountingDataLoader dataLoader = new CountingDataLoader(true, 0) {
+			@Override
+			public byte[] get(String url) {
+				if ("http://fake.example.com/ca.crt".equals(url)) {
+					return fakeCa;
+				}
+				return super.get(url);
+			}
+		};
+		AIACertificateCache cache = new AIACertificateCache();
+
+		Collection<CertificateToken> fakeIssuers = cache.getPotentialIssuerCertificates(fakeCertificate, dataLoader);
+		assertEquals(1, fakeIssuers.size());
+		assertTrue(fakeCertificate.isSignedBy(fakeIssuers.iterator().next()));
+
+		// the fake CA indexed with the same AKI is not returned, the AIA url of the certificate is used
+		Collection<CertificateToken> issuers = cache.getPotentialIssuerCertificates(certificate, dataLoader);
+		assertEquals(1, issuers.size());
+		assertTrue(certificate.isSignedBy(issuers.iterator().next()));
+		assertEquals(1, dataLoader.calls.get());
+	}
+
+	@SuppressWarnings("serial")
+	private static class CountingDataLoader implements DataLoader {
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		private final boolean available;
+
+		private final long latency;
+
+		private CountingDataLoader(boolean available, long latency) {
+			this.available = available;
+			this.latency = latency;
+		}
+
+		@Override
+		public byte[] get(String url) {
+			calls.incrementAndGet();
+			try {
+				Thread.sleep(latency);
+			} catch (InterruptedException e) {
+				throw new DSSException(e);
+			}
+			if (!available) {
+				throw new DSSException("Connection timeout");
+			}
+			assertEquals("http://ca.luxtrust.lu/LTQCA.crt", url);
+			return Utils.fromBase64(LUXTRUST_QCA);
+		}
+
+		@Override
+		public DataAndUrl get(List<String> urlStrings) {
+			throw new DSSException("Not implemented");
+		}
+
+		@Override
+		public byte[] get(String url, boolean refresh) {
+			throw new DSSException("Not implemented");
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			throw new DSSException("Not implemented");
+		}
+
+		@Override
+		public void setContentType(String contentType) {
+			throw new DSSException("Not implemented");
+		}
+
+	}
+
+}
@@ -0,0 +1,240 @@
+package eu.europa.esig.dss.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.client.http.DataLoader;
+import eu.europa.esig.dss.jaxb.diagnostic.XmlCertificate;
+import eu.europa.esig.dss.jaxb.diagnostic.XmlMessage;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.reports.CertificateReports;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.CommonCertificateSource;
+import eu.europa.esig.dss.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.x509.crl.CRLSource;
+import eu.europa.esig.dss.x509.crl.CRLToken;
+import eu.europa.esig.dss.x509.crl.ExternalResourcesCRLSource;
+import eu.europa.esig.dss.x509.ocsp.OCSPSource;
+import eu.europa.esig.dss.x509.ocsp.OCSPToken;
+
+public class BulkCertificateValidatorTest {
+
+	private static final String LUXTRUST_QCA = "MIID8DCCAtigAwIBAgICA+swDQYJKoZIhvcNAQEFBQAwQDELMAkGA1UEBhMCTFUxFjAUBgNVBAoTDUx1eFRydXN0IHMuYS4xGTAXBgNVBAMTEEx1eFRydXN0IHJvb3QgQ0EwHhcNMDgwNjA1MDkyNTI0WhcNMTYxMDE4MTA0MDM0WjBFMQswCQYDVQQGEwJMVTEWMBQGA1UEChMNTHV4VHJ1c3QgUy5BLjEeMBwGA1UEAxMVTHV4VHJ1c3QgUXVhbGlmaWVkIENBMIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAybFXzA+8RNnvlCd+sZ8BnH6WO3LmaLi419Ygd9VBYcIwLmMx9KgAKF3u4B87Hee5NL4Xvhm/B9DuDUH5OGZ3P2Dwf7putVEvATvW8jzYq6CzarUthzb9ux+KTdTT+d4y6tkgVggy9DBe+bz635oZm2PPQT9kzoR48RBN730KA/MJIa0Sa7ZDphL37WHSA4/TWh9F1/LBRVGC0F4Mg1hU/u+kovF5mTuUK+ncU7+FS0cQRhAD+C4WfLI/WuzuE+T6ZuZ6Iqg6+vqgf6iKwL6iVZmwKkJPvV3+3Wgy3zq5tpDvsIGj4kXd1riQGKsEeDfN8y71DG3OdBqF1Yd7ue7ziwIDAQABo4HuMIHrMA8GA1UdEwQIMAYBAf8CAQAwQgYDVR0gBDswOTA3BggrgSsBAQEBADArMCkGCCsGAQUFBwIBFh1odHRwOi8vcmVwb3NpdG9yeS5sdXh0cnVzdC5sdTARBglghkgBhvhCAQEEBAMCAAcwDgYDVR0PAQH/BAQDAgHGMB8GA1UdIwQYMBaAFN2K1zDx+ZFx6UdwDCXlrKGN34wlMDEGA1UdHwQqMCgwJqAkoCKGIGh0dHA6Ly9jcmwubHV4dHJ1c3QubHUvTFRSQ0EuY3JsMB0GA1UdDgQWBBSNkKMH3RoTd5lMkqtNQ94/zSlkBTANBgkqhkiG9w0BAQUFAAOCAQEAapxOpigXTejGgHBWMAwDBMdZQHpPyoCmw32OIj1qqezO5nDnjG5gfJni/rp5IFMpV//xmCkjqyO92PyYbcHNSUpP1SjCkyn10e6ipmzpXK0MbgFvIPglAgA5dXxTNf0Q77eWu36fz5VKQEmJzqoXTccq4nuLL9rLZ88YUlczMaWscETIZCB4kecKVyqHf4+T0JucZqX7zzfpiVyTr2M+OGl9qiOmKwBGkzseJt+MgYWrskJADKDZMr4bQxkxnhzCSQoraX7DugxM0fH47MitCc74uZrWIJ6qQjCLBtKzxUGy7B3pYOjLlThr7S64cd12yuR+NjHAFZ2DTXwxKg/FQg==";
+
+	@Test
+	public void sequential() {
+		validate(null, 1);
+	}
+
+	@Test
+	public void parallel() {
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			validate(executorService, 4);
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void parallelWithSharedIssuer() throws Exception {
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(1024);
+		KeyPair rootKeyPair = keyPairGenerator.generateKeyPair();
+		KeyPair caKeyPair = keyPairGenerator.generateKeyPair();
+		KeyPair userKeyPair = keyPairGenerator.generateKeyPair();
+
+		X500Name rootName = new X500Name("CN=Root CA");
+		X500Name caName = new X500Name("CN=Issuing CA");
+		CertificateToken root = createCertificate(rootName, rootKeyPair, rootName, rootKeyPair, 1, true);
+		CertificateToken ca = createCertificate(rootName, rootKeyPair, caName, caKeyPair, 2, true);
+		List<CertificateToken> certificates = new ArrayList<CertificateToken>();
+		for (int i = 0; i < 300; i++) {
+			certificates.add(createCertificate(caName, caKeyPair, new X500Name("CN=User " + i), userKeyPair, 100 + i, false));
+		}
+
+		CommonTrustedCertificateSource trustedCertSource = new CommonTrustedCertificateSource();
+		trustedCertSource.addCertificate(root);
+		CommonCertificateSource adjunctCertSource = new CommonCertificateSource();
+		adjunctCertSource.addCertificate(ca);
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier(true);
+		certificateVerifier.setTrustedCertSource(trustedCertSource);
+		certificateVerifier.setAdjunctCertSource(adjunctCertSource);
+		certificateVerifier.setCrlSource(new ExternalResourcesCRLSource(new ByteArrayInputStream(createCRL(rootName, rootKeyPair)),
+				new ByteArrayInputStream(createCRL(caName, caKeyPair))));
+		certificateVerifier.setOcspSource(new UnavailableOCSPSource());
+
+		ExecutorService executorService = Executors.newFixedThreadPool(8);
+		try {
+			BulkCertificateValidator validator = new BulkCertificateValidator(certificateVerifier);
+			validator.setExecutorService(executorService);
+			validator.setMaxPendingValidations(50);
+
+			Iterator<CertificateReports> reports = validator.validate(certificates);
+			int count = 0;
+			while (reports.hasNext()) {
+				CertificateReports certificateReports = reports.next();
+				CertificateToken certificate = certificates.get(count);
+				assertTrue(certificateReports.getDiagnosticData().getUsedCertificateById(certificate.getDSSIdAsString()).isRevocationDataAvailable());
+				assertTrue(certificateReports.getDiagnosticData().getUsedCertificateById(ca.getDSSIdAsString()).isRevocationDataAvailable());
+				for (XmlCertificate xmlCertificate : certificateReports.getDiagnosticDataJaxb().getUsedCertificates()) {
+					// the messages of the shared issuers are not repeated for each validated certificate
+					Set<String> messages = new HashSet<String>();
+					for (XmlMessage message : xmlCertificate.getInfo()) {
+						assertTrue(messages.add(message.getValue()));
+					}
+				}
+				count++;
+			}
+			assertEquals(certificates.size(), count);
+			// the certificates of the verifier are copied
+			assertTrue(ca.getValidationInfo().isEmpty());
+			assertTrue(ca.getRevocationTokens().isEmpty());
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	private CertificateToken createCertificate(X500Name issuerName, KeyPair issuerKeyPair, X500Name subjectName, KeyPair keyPair, int serialNumber,
+			boolean ca) throws Exception {
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(issuerName, BigInteger.valueOf(serialNumber),
+				new Date(System.currentTimeMillis() - 3600000), new Date(System.currentTimeMillis() + 3600000), subjectName, keyPair.getPublic());
+		if (ca) {
+			builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+			builder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+		}
+		return new CertificateToken(new JcaX509CertificateConverter()
+				.getCertificate(builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(issuerKeyPair.getPrivate()))));
+	}
+
+	private byte[] createCRL(X500Name issuerName, KeyPair issuerKeyPair) throws Exception {
+		X509v2CRLBuilder builder = new X509v2CRLBuilder(issuerName, new Date(System.currentTimeMillis() - 60000));
+		builder.setNextUpdate(new Date(System.currentTimeMillis() + 3600000));
+		return builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(issuerKeyPair.getPrivate())).getEncoded();
+	}
+
+	private void validate(ExecutorService executorService, int maxCalls) {
+		CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/ec.europa.eu.crt"));
+		List<CertificateToken> certificates = new ArrayList<CertificateToken>();
+		for (int i = 0; i < 50; i++) {
+			certificates.add(certificate);
+		}
+
+		CountingDataLoader dataLoader = new CountingDataLoader();
+		CountingCRLSource crlSource = new CountingCRLSource();
+
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier(true);
+		certificateVerifier.setDataLoader(dataLoader);
+		certificateVerifier.setCrlSource(crlSource);
+
+		BulkCertificateValidator validator = new BulkCertificateValidator(certificateVerifier);
+		validator.setExecutorService(executorService);
+		validator.setMaxPendingValidations(10);
+
+		Iterator<CertificateReports> reports = validator.validate(certificates);
+		int count = 0;
+		while (reports.hasNext()) {
+			CertificateReports certificateReports = reports.next();
+			assertNotNull(certificateReports.getSimpleReport());
+			assertNotNull(certificateReports.getDiagnosticData().getUsedCertificateById(certificate.getDSSIdAsString()));
+			count++;
+		}
+		assertEquals(certificates.size(), count);
+		assertFalse(reports.hasNext());
+
+		// the issuer is retrieved once with AIA and the CRL is requested once per issuer (per concurrent validation)
+		assertTrue(dataLoader.calls.get() >= 1);
+		assertTrue(dataLoader.calls.get() <= maxCalls);
+		assertTrue(crlSource.calls.get() >= 1);
+		assertTrue(crlSource.calls.get() <= maxCalls);
+	}
+
+	@SuppressWarnings("serial")
+	private static class UnavailableOCSPSource implements OCSPSource {
+
+		@Override
+		public OCSPToken getOCSPToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			throw new DSSException("The OCSP responder is not available");
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static class CountingCRLSource implements CRLSource {
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		@Override
+		public CRLToken findCrl(CertificateToken certificateToken) throws DSSException {
+			calls.incrementAndGet();
+			return null;
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static class CountingDataLoader implements DataLoader {
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		@Override
+		public byte[] get(String url) {
+			calls.incrementAndGet();
+			if ("http://ca.luxtrust.lu/LTQCA.crt".equals(url)) {
+				return Utils.fromBase64(LUXTRUST_QCA);
+			}
+			return null;
+		}
+
+		@Override
+		public DataAndUrl get(List<String> urlStrings) {
+			throw new DSSException("Not implemented");
+		}
+
+		@Override
+		public byte[] get(String url, boolean refresh) {
+			throw new DSSException("Not implemented");
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			throw new DSSException("Not implemented");
+		}
+
+		@Override
+		public void setContentType(String contentType) {
+			throw new DSSException("Not implemented");
+		}
+
+	}
+
+}
@@ -0,0 +1,69 @@
+package eu.europa.esig.dss.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.jaxb.diagnostic.XmlCertificate;
+import eu.europa.esig.dss.validation.reports.CertificateReports;
+import eu.europa.esig.dss.x509.CertificateToken;
+
+public class DiagnosticDataCacheTest {
+
+	@Test
+	public void cachedCertificate() {
+		CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier(true);
+		DiagnosticDataCache cache = certificateVerifier.getDiagnosticDataCache();
+		assertNotNull(cache);
+
+		XmlCertificate first = validate(certificate, certificateVerifier);
+		XmlCertificate cached = cache.getCertificate(certificate.getDSSIdAsString());
+		assertNotNull(cached);
+
+		XmlCertificate second = validate(certificate, certificateVerifier);
+		assertNotSame(first, second);
+		assertNotSame(first.getKeyUsageBits(), second.getKeyUsageBits());
+		assertEquals(first.getCommonName(), second.getCommonName());
+		assertEquals(first.getSerialNumber(), second.getSerialNumber());
+		assertEquals(first.getKeyUsageBits(), second.getKeyUsageBits());
+		assertEquals(first.getSubjectDistinguishedName().size(), second.getSubjectDistinguishedName().size());
+		assertEquals(first.getCertificatePolicies().size(), second.getCertificatePolicies().size());
+		assertEquals(first.getDigestAlgoAndValues().size(), second.getDigestAlgoAndValues().size());
+		// the per validation content is not cached
+		assertEquals(0, cached.getDigestAlgoAndValues().size());
+
+		cache.clear();
+		assertNull(cache.getCertificate(certificate.getDSSIdAsString()));
+	}
+
+	@Test
+	public void withoutCache() {
+		CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier(true);
+		certificateVerifier.setDiagnosticDataCache(null);
+
+		XmlCertificate xmlCertificate = validate(certificate, certificateVerifier);
+		assertEquals(certificate.getDSSIdAsString(), xmlCertificate.getId());
+		assertNotNull(xmlCertificate.getCommonName());
+	}
+
+	private XmlCertificate validate(CertificateToken certificate, CertificateVerifier certificateVerifier) {
+		CertificateValidator validator = CertificateValidator.fromCertificate(certificate);
+		validator.setCertificateVerifier(certificateVerifier);
+		CertificateReports reports = validator.validate();
+		for (XmlCertificate xmlCertificate : reports.getDiagnosticDataJaxb().getUsedCertificates()) {
+			if (certificate.getDSSIdAsString().equals(xmlCertificate.getId())) {
+				return xmlCertificate;
+			}
+		}
+		throw new AssertionError("Certificate not found");
+	}
+
+}
@@ -0,0 +1,143 @@
+package eu.europa.esig.dss.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.client.http.DataLoader;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.crl.CRLSource;
+import eu.europa.esig.dss.x509.crl.CRLToken;
+import eu.europa.esig.dss.x509.ocsp.OCSPSource;
+import eu.europa.esig.dss.x509.ocsp.OCSPToken;
+
+public class SharedCertificateVerifierTest {
+
+	private static final String LUXTRUST_QCA = "MIID8DCCAtigAwIBAgICA+swDQYJKoZIhvcNAQEFBQAwQDELMAkGA1UEBhMCTFUxFjAUBgNVBAoTDUx1eFRydXN0IHMuYS4xGTAXBgNVBAMTEEx1eFRydXN0IHJvb3QgQ0EwHhcNMDgwNjA1MDkyNTI0WhcNMTYxMDE4MTA0MDM0WjBFMQswCQYDVQQGEwJMVTEWMBQGA1UEChMNTHV4VHJ1c3QgUy5BLjEeMBwGA1UEAxMVTHV4VHJ1c3QgUXVhbGlmaWVkIENBMIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAybFXzA+8RNnvlCd+sZ8BnH6WO3LmaLi419Ygd9VBYcIwLmMx9KgAKF3u4B87Hee5NL4Xvhm/B9DuDUH5OGZ3P2Dwf7putVEvATvW8jzYq6CzarUthzb9ux+KTdTT+d4y6tkgVggy9DBe+bz635oZm2PPQT9kzoR48RBN730KA/MJIa0Sa7ZDphL37WHSA4/TWh9F1/LBRVGC0F4Mg1hU/u+kovF5mTuUK+ncU7+FS0cQRhAD+C4WfLI/WuzuE+T6ZuZ6Iqg6+vqgf6iKwL6iVZmwKkJPvV3+3Wgy3zq5tpDvsIGj4kXd1riQGKsEeDfN8y71DG3OdBqF1Yd7ue7ziwIDAQABo4HuMIHrMA8GA1UdEwQIMAYBAf8CAQAwQgYDVR0gBDswOTA3BggrgSsBAQEBADArMCkGCCsGAQUFBwIBFh1odHRwOi8vcmVwb3NpdG9yeS5sdXh0cnVzdC5sdTARBglghkgBhvhCAQEEBAMCAAcwDgYDVR0PAQH/BAQDAgHGMB8GA1UdIwQYMBaAFN2K1zDx+ZFx6UdwDCXlrKGN34wlMDEGA1UdHwQqMCgwJqAkoCKGIGh0dHA6Ly9jcmwubHV4dHJ1c3QubHUvTFRSQ0EuY3JsMB0GA1UdDgQWBBSNkKMH3RoTd5lMkqtNQ94/zSlkBTANBgkqhkiG9w0BAQUFAAOCAQEAapxOpigXTejGgHBWMAwDBMdZQHpPyoCmw32OIj1qqezO5nDnjG5gfJni/rp5IFMpV//xmCkjqyO92PyYbcHNSUpP1SjCkyn10e6ipmzpXK0MbgFvIPglAgA5dXxTNf0Q77eWu36fz5VKQEmJzqoXTccq4nuLL9rLZ88YUlczMaWscETIZCB4kecKVyqHf4+T0JucZqX7zzfpiVyTr2M+OGl9qiOmKwBGkzseJt+MgYWrskJADKDZMr4bQxkxnhzCSQoraX7DugxM0fH47MitCc74uZrWIJ6qQjCLBtKzxUGy7B3pYOjLlThr7S64cd12yuR+NjHAFZ2DTXwxKg/FQg==";
+
+	private final CountingDataLoader dataLoader = new CountingDataLoader();
+	private final CountingCRLSource crlSource = new CountingCRLSource();
+	private final CountingOCSPSource ocspSource = new CountingOCSPSource();
+
+	@Test
+	public void eachContextRetrievesTheValidationData() {
+		CertificateVerifier certificateVerifier = createCertificateVerifier();
+		validateTwoSignatures(certificateVerifier);
+
+		assertEquals(2, dataLoader.calls.get());
+		assertEquals(2, ocspSource.calls.get());
+		assertEquals(2, crlSource.calls.get());
+	}
+
+	@Test
+	public void sharedValidationData() {
+		CertificateVerifier certificateVerifier = createCertificateVerifier();
+		SharedCertificateVerifier sharedCertificateVerifier = new SharedCertificateVerifier(certificateVerifier);
+		assertSame(sharedCertificateVerifier.createValidationPool(), sharedCertificateVerifier.createValidationPool());
+
+		validateTwoSignatures(sharedCertificateVerifier);
+
+		// the issuer, the OCSP response and the CRL are retrieved once for both signatures
+		assertEquals(1, dataLoader.calls.get());
+		assertEquals(1, ocspSource.calls.get());
+		assertEquals(1, crlSource.calls.get());
+
+		// the given certificate verifier is not modified
+		assertSame(crlSource, certificateVerifier.getCrlSource());
+		assertSame(ocspSource, certificateVerifier.getOcspSource());
+		assertNotSame(certificateVerifier.createValidationPool(), certificateVerifier.createValidationPool());
+	}
+
+	private CertificateVerifier createCertificateVerifier() {
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier(true);
+		certificateVerifier.setDataLoader(dataLoader);
+		certificateVerifier.setCrlSource(crlSource);
+		certificateVerifier.setOcspSource(ocspSource);
+		certificateVerifier.setAIACertificateCache(null);
+		return certificateVerifier;
+	}
+
+	private void validateTwoSignatures(CertificateVerifier certificateVerifier) {
+		for (int i = 0; i < 2; i++) {
+			// one certificate token per signature
+			CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/ec.europa.eu.crt"));
+			ValidationContext validationContext = new SignatureValidationContext();
+			validationContext.addCertificateTokenForVerification(certificate);
+			validationContext.initialize(certificateVerifier);
+			validationContext.validate();
+			assertEquals(2, validationContext.getProcessedCertificates().size());
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private static class CountingCRLSource implements CRLSource {
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		@Override
+		public CRLToken findCrl(CertificateToken certificateToken) throws DSSException {
+			calls.incrementAndGet();
+			return null;
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static class CountingOCSPSource implements OCSPSource {
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		@Override
+		public OCSPToken getOCSPToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			calls.incrementAndGet();
+			return null;
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static class CountingDataLoader implements DataLoader {
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		@Override
+		public byte[] get(String url) {
+			calls.incrementAndGet();
+			if ("http://ca.luxtrust.lu/LTQCA.crt".equals(url)) {
+				return Utils.fromBase64(LUXTRUST_QCA);
+			}
+			return null;
+		}
+
+		@Override
+		public DataAndUrl get(List<String> urlStrings) {
+			throw new DSSException("Not implemented");
+		}
+
+		@Override
+		public byte[] get(String url, boolean refresh) {
+			throw new DSSException("Not implemented");
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			throw new DSSException("Not implemented");
+		}
+
+		@Override
+		public void setContentType(String contentType) {
+			throw new DSSException("Not implemented");
+		}
+
+	}
+
+}
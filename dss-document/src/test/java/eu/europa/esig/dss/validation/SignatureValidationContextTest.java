@@ -3,14 +3,38 @@ package eu.europa.esig.dss.validation;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.BasicOCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.RespID;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.junit.Test;
 
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSRevocationUtils;
 import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.client.MemoryDataLoader;
 import eu.europa.esig.dss.client.http.IgnoreDataLoader;
@@ -19,7 +43,11 @@ import eu.europa.esig.dss.x509.CertificatePool;
 import eu.europa.esig.dss.x509.CertificateSource;
 import eu.europa.esig.dss.x509.CertificateToken;
 import eu.europa.esig.dss.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.x509.RevocationToken;
 import eu.europa.esig.dss.x509.TimestampType;
+import eu.europa.esig.dss.x509.ocsp.BatchOCSPSource;
+import eu.europa.esig.dss.x509.ocsp.OCSPRespStatus;
+import eu.europa.esig.dss.x509.ocsp.OCSPToken;
 
 public class SignatureValidationContextTest {
 
@@ -136,6 +164,61 @@ public class SignatureValidationContextTest {
 		assertNotNull(getRootCertificate(certificateToken)); // given that the root certificate has an issuer, it's not possible to determine the trust anchor
 	}
 	
+	@Test
+	public void testBatchedOCSPResponse() throws Exception {
+		TestPKI pki = new TestPKI(2);
+		CertificateVerifier certificateVerifier = new CommonCertificateVerifier(true);
+		CertificateSource certSource = new CommonTrustedCertificateSource();
+		certSource.addCertificate(pki.caToken);
+		certificateVerifier.setTrustedCertSource(certSource);
+		certificateVerifier.setOcspSource(new TestBatchOCSPSource(pki));
+
+		ValidationContext vc = new SignatureValidationContext();
+		vc.initialize(certificateVerifier);
+		for (CertificateToken certificate : pki.certificates) {
+			vc.addCertificateTokenForVerification(certificate);
+		}
+
+		vc.validate();
+
+		assertEquals(1, vc.getProcessedRevocations().size());
+		for (CertificateToken certificate : pki.certificates) {
+			assertEquals(1, certificate.getRevocationTokens().size());
+			for (RevocationToken revocationToken : certificate.getRevocationTokens()) {
+				assertEquals(pki.caToken, revocationToken.getIssuerToken());
+				assertTrue(revocationToken.isSignatureValid());
+			}
+		}
+	}
+
+	@Test
+	public void testIdenticalRevocationTokens() throws Exception {
+		TestPKI pki = new TestPKI(2);
+		CertificateVerifier certificateVerifier = new CommonCertificateVerifier(true);
+		CertificateSource certSource = new CommonTrustedCertificateSource();
+		certSource.addCertificate(pki.caToken);
+		certificateVerifier.setTrustedCertSource(certSource);
+
+		Map<CertificateToken, OCSPToken> ocspTokens = pki.getOCSPTokens(pki.certificates);
+		List<RevocationToken> revocationTokens = new ArrayList<RevocationToken>(ocspTokens.values());
+		assertEquals(revocationTokens.get(0), revocationTokens.get(1));
+		// only the first instance has been checked by the OCSP verifier
+		assertTrue(revocationTokens.get(0).isSignedBy(pki.caToken));
+		assertNull(revocationTokens.get(1).getIssuerToken());
+
+		ValidationContext vc = new SignatureValidationContext();
+		vc.initialize(certificateVerifier);
+		vc.addRevocationTokensForVerification(revocationTokens);
+
+		vc.validate();
+
+		assertEquals(1, vc.getProcessedRevocations().size());
+		for (RevocationToken revocationToken : revocationTokens) {
+			assertEquals(pki.caToken, revocationToken.getIssuerToken());
+			assertTrue(revocationToken.isSignatureValid());
+		}
+	}
+
 	public CertificateToken getRootCertificate(CertificateToken token) {
 		Set<CertificateToken> processed = new HashSet<>();
 		while(token.getIssuerToken() != null) {
@@ -150,4 +233,94 @@ public class SignatureValidationContextTest {
 		}
 		return null;
 	}
+
+	/**
+	 * A CA with its certificates, the OCSP responses of all the certificates are signed at once by the CA
+	 */
+	private static class TestPKI {
+
+		private final KeyPair caKeyPair;
+		private final CertificateToken caToken;
+		private final List<CertificateToken> certificates = new ArrayList<CertificateToken>();
+
+		private TestPKI(int nbCertificates) throws Exception {
+			KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+			keyPairGenerator.initialize(1024);
+			caKeyPair = keyPairGenerator.generateKeyPair();
+
+			X500Name caName = new X500Name("CN=Test CA");
+			JcaX509v3CertificateBuilder caBuilder = new JcaX509v3CertificateBuilder(caName, BigInteger.ONE, notBefore(), notAfter(), caName,
+					caKeyPair.getPublic());
+			caBuilder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+			caToken = new CertificateToken(new JcaX509CertificateConverter().getCertificate(caBuilder.build(signer())));
+
+			for (int i = 0; i < nbCertificates; i++) {
+				JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(caName, BigInteger.valueOf(100 + i), notBefore(),
+						notAfter(), new X500Name("CN=User " + i), keyPairGenerator.generateKeyPair().getPublic());
+				certificates.add(new CertificateToken(new JcaX509CertificateConverter().getCertificate(builder.build(signer()))));
+			}
+		}
+
+		private Map<CertificateToken, OCSPToken> getOCSPTokens(Collection<CertificateToken> certificateTokens) {
+			try {
+				Map<CertificateToken, CertificateID> certIds = new HashMap<CertificateToken, CertificateID>();
+				BasicOCSPRespBuilder builder = new BasicOCSPRespBuilder(new RespID(new X509CertificateHolder(caToken.getEncoded()).getSubject()));
+				for (CertificateToken certificateToken : certificateTokens) {
+					CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, caToken);
+					certIds.put(certificateToken, certId);
+					builder.addResponse(certId, CertificateStatus.GOOD, new Date(), null, null);
+				}
+				OCSPResp ocspResp = DSSRevocationUtils.fromBasicToResp(builder.build(signer(), null, new Date()));
+				BasicOCSPResp basicOCSPResp = (BasicOCSPResp) ocspResp.getResponseObject();
+
+				Map<CertificateToken, OCSPToken> ocspTokens = new HashMap<CertificateToken, OCSPToken>();
+				for (CertificateToken certificateToken : certificateTokens) {
+					OCSPToken ocspToken = new OCSPToken();
+					ocspToken.setResponseStatus(OCSPRespStatus.SUCCESSFUL);
+					ocspToken.setCertId(certIds.get(certificateToken));
+					ocspToken.setAvailable(true);
+					ocspToken.setBasicOCSPResp(basicOCSPResp);
+					ocspTokens.put(certificateToken, ocspToken);
+				}
+				return ocspTokens;
+			} catch (Exception e) {
+				throw new DSSException(e);
+			}
+		}
+
+		private ContentSigner signer() throws Exception {
+			return new JcaContentSignerBuilder("SHA256withRSA").build(caKeyPair.getPrivate());
+		}
+
+		private Date notBefore() {
+			return new Date(System.currentTimeMillis() - 3600000);
+		}
+
+		private Date notAfter() {
+			return new Date(System.currentTimeMillis() + 3600000);
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static class TestBatchOCSPSource implements BatchOCSPSource {
+
+		private final TestPKI pki;
+
+		private TestBatchOCSPSource(TestPKI pki) {
+			this.pki = pki;
+		}
+
+		@Override
+		public OCSPToken getOCSPToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
+			throw new DSSException("The responses must be retrieved at once");
+		}
+
+		@Override
+		public Map<CertificateToken, OCSPToken> getOCSPTokens(Collection<CertificateToken> certificateTokens) {
+			return pki.getOCSPTokens(certificateTokens);
+		}
+
+	}
+
 }
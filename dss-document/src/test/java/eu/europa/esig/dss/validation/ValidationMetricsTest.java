@@ -0,0 +1,149 @@
+package eu.europa.esig.dss.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.client.http.DataLoader;
+import eu.europa.esig.dss.metrics.MetricsSpan;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.crl.CRLSource;
+import eu.europa.esig.dss.x509.crl.CRLToken;
+
+public class ValidationMetricsTest {
+
+	private static final String LUXTRUST_QCA = "MIID8DCCAtigAwIBAgICA+swDQYJKoZIhvcNAQEFBQAwQDELMAkGA1UEBhMCTFUxFjAUBgNVBAoTDUx1eFRydXN0IHMuYS4xGTAXBgNVBAMTEEx1eFRydXN0IHJvb3QgQ0EwHhcNMDgwNjA1MDkyNTI0WhcNMTYxMDE4MTA0MDM0WjBFMQswCQYDVQQGEwJMVTEWMBQGA1UEChMNTHV4VHJ1c3QgUy5BLjEeMBwGA1UEAxMVTHV4VHJ1c3QgUXVhbGlmaWVkIENBMIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAybFXzA+8RNnvlCd+sZ8BnH6WO3LmaLi419Ygd9VBYcIwLmMx9KgAKF3u4B87Hee5NL4Xvhm/B9DuDUH5OGZ3P2Dwf7putVEvATvW8jzYq6CzarUthzb9ux+KTdTT+d4y6tkgVggy9DBe+bz635oZm2PPQT9kzoR48RBN730KA/MJIa0Sa7ZDphL37WHSA4/TWh9F1/LBRVGC0F4Mg1hU/u+kovF5mTuUK+ncU7+FS0cQRhAD+C4WfLI/WuzuE+T6ZuZ6Iqg6+vqgf6iKwL6iVZmwKkJPvV3+3Wgy3zq5tpDvsIGj4kXd1riQGKsEeDfN8y71DG3OdBqF1Yd7ue7ziwIDAQABo4HuMIHrMA8GA1UdEwQIMAYBAf8CAQAwQgYDVR0gBDswOTA3BggrgSsBAQEBADArMCkGCCsGAQUFBwIBFh1odHRwOi8vcmVwb3NpdG9yeS5sdXh0cnVzdC5sdTARBglghkgBhvhCAQEEBAMCAAcwDgYDVR0PAQH/BAQDAgHGMB8GA1UdIwQYMBaAFN2K1zDx+ZFx6UdwDCXlrKGN34wlMDEGA1UdHwQqMCgwJqAkoCKGIGh0dHA6Ly9jcmwubHV4dHJ1c3QubHUvTFRSQ0EuY3JsMB0GA1UdDgQWBBSNkKMH3RoTd5lMkqtNQ94/zSlkBTANBgkqhkiG9w0BAQUFAAOCAQEAapxOpigXTejGgHBWMAwDBMdZQHpPyoCmw32OIj1qqezO5nDnjG5gfJni/rp5IFMpV//xmCkjqyO92PyYbcHNSUpP1SjCkyn10e6ipmzpXK0MbgFvIPglAgA5dXxTNf0Q77eWu36fz5VKQEmJzqoXTccq4nuLL9rLZ88YUlczMaWscETIZCB4kecKVyqHf4+T0JucZqX7zzfpiVyTr2M+OGl9qiOmKwBGkzseJt+MgYWrskJADKDZMr4bQxkxnhzCSQoraX7DugxM0fH47MitCc74uZrWIJ6qQjCLBtKzxUGy7B3pYOjLlThr7S64cd12yuR+NjHAFZ2DTXwxKg/FQg==";
+
+	@Test
+	public void certificateValidation() {
+		RecordingValidationMetrics metrics = new RecordingValidationMetrics();
+
+		AIACertificateCache aiaCertificateCache = new AIACertificateCache();
+		aiaCertificateCache.setValidationMetrics(metrics);
+
+		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier(true);
+		certificateVerifier.setDataLoader(new AIADataLoader());
+		certificateVerifier.setCrlSource(new EmptyCRLSource());
+		certificateVerifier.setAIACertificateCache(aiaCertificateCache);
+		certificateVerifier.setValidationMetrics(metrics);
+
+		for (int i = 0; i < 2; i++) {
+			CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/ec.europa.eu.crt"));
+			CertificateValidator validator = CertificateValidator.fromCertificate(certificate);
+			validator.setCertificateVerifier(certificateVerifier);
+			validator.validate();
+		}
+
+		assertEquals(Integer.valueOf(2), metrics.closedSpans.get(ValidationMetrics.VALIDATION_CONTEXT));
+		assertEquals(Integer.valueOf(2), metrics.closedSpans.get(ValidationMetrics.DIAGNOSTIC_DATA_BUILD));
+		assertEquals(Integer.valueOf(2), metrics.closedSpans.get(ValidationMetrics.PROCESS_EXECUTION));
+		assertEquals(1, metrics.count(ValidationMetrics.AIA_CACHE, ValidationMetrics.MISS));
+		assertEquals(1, metrics.count(ValidationMetrics.AIA_CACHE, ValidationMetrics.HIT));
+		assertTrue(metrics.count(ValidationMetrics.PROCESSED_TOKENS, CertificateToken.class.getSimpleName()) >= 4);
+		// no revocation data for the end entity certificate (the issuer of the intermediate CA is unknown)
+		assertEquals(2, metrics.count(ValidationMetrics.REVOCATION_DATA, ValidationMetrics.NONE));
+	}
+
+	@SuppressWarnings("serial")
+	private static class RecordingValidationMetrics implements ValidationMetrics {
+
+		private final Map<String, Integer> closedSpans = new ConcurrentHashMap<String, Integer>();
+
+		private final Map<String, AtomicInteger> counters = new ConcurrentHashMap<String, AtomicInteger>();
+
+		@Override
+		public MetricsSpan startSpan(final String name) {
+			return new MetricsSpan() {
+
+				@Override
+				public void tag(String key, String value) {
+				}
+
+				@Override
+				public void fail(Exception e) {
+				}
+
+				@Override
+				public void close() {
+					Integer count = closedSpans.get(name);
+					closedSpans.put(name, count == null ? 1 : count + 1);
+				}
+
+			};
+		}
+
+		@Override
+		public synchronized void increment(String name, String tag) {
+			AtomicInteger counter = counters.get(name + ":" + tag);
+			if (counter == null) {
+				counter = new AtomicInteger();
+				counters.put(name + ":" + tag, counter);
+			}
+			counter.incrementAndGet();
+		}
+
+		@Override
+		public void networkCall(String method, String host, String url, int status, long bytes, long duration) {
+		}
+
+		private int count(String name, String tag) {
+			AtomicInteger counter = counters.get(name + ":" + tag);
+			return counter == null ? 0 : counter.get();
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static class EmptyCRLSource implements CRLSource {
+
+		@Override
+		public CRLToken findCrl(CertificateToken certificateToken) throws DSSException {
+			return null;
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static class AIADataLoader implements DataLoader {
+
+		@Override
+		public byte[] get(String url) {
+			if ("http://ca.luxtrust.lu/LTQCA.crt".equals(url)) {
+				return Utils.fromBase64(LUXTRUST_QCA);
+			}
+			return null;
+		}
+
+		@Override
+		public DataAndUrl get(List<String> urlStrings) {
+			throw new DSSException("Not implemented");
+		}
+
+		@Override
+		public byte[] get(String url, boolean refresh) {
+			throw new DSSException("Not implemented");
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			throw new DSSException("Not implemented");
+		}
+
+		@Override
+		public void setContentType(String contentType) {
+		}
+
+	}
+
+}
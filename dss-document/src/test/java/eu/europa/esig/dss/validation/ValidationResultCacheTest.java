@@ -0,0 +1,227 @@
+package eu.europa.esig.dss.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.DigestDocument;
+import eu.europa.esig.dss.InMemoryDocument;
+import eu.europa.esig.dss.ReportProjection;
+import eu.europa.esig.dss.jaxb.detailedreport.DetailedReport;
+import eu.europa.esig.dss.jaxb.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.jaxb.diagnostic.XmlCertificate;
+import eu.europa.esig.dss.jaxb.diagnostic.XmlRevocation;
+import eu.europa.esig.dss.jaxb.simplereport.SimpleReport;
+import eu.europa.esig.dss.validation.executor.ValidationLevel;
+import eu.europa.esig.dss.validation.policy.EtsiValidationPolicy;
+import eu.europa.esig.dss.validation.policy.ValidationPolicy;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.x509.CommonTrustedCertificateSource;
+
+public class ValidationResultCacheTest {
+
+	private static final long ONE_HOUR = 60 * 60 * 1000L;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private final DSSDocument document = new InMemoryDocument("signed".getBytes(), "signed.bin");
+
+	private final Date validationTime = new Date(1000 * ONE_HOUR);
+
+	@Test
+	public void contentAddressedKey() throws Exception {
+		ValidationResultCache cache = new ValidationResultCache();
+		ValidationPolicy policy = new EtsiValidationPolicy(ValidationResourceManager.loadPolicyData(null));
+		String key = getKey(cache, document, null, policy, validationTime);
+		assertNotNull(key);
+
+		// same content, other instances
+		ValidationPolicy samePolicy = new EtsiValidationPolicy(ValidationResourceManager.loadPolicyData(null));
+		assertEquals(key, getKey(cache, new InMemoryDocument("signed".getBytes()), null, samePolicy, new Date(validationTime.getTime() + 1000)));
+
+		assertNotEquals(key, getKey(cache, new InMemoryDocument("other".getBytes()), null, policy, validationTime));
+		assertNotEquals(key, getKey(cache, document, Arrays.<DSSDocument> asList(new InMemoryDocument("data".getBytes(), "data.txt")), policy,
+				validationTime));
+		ValidationPolicy otherPolicy = new EtsiValidationPolicy(
+				ValidationResourceManager.loadPolicyData(new FileInputStream("src/test/resources/constraint.xml")));
+		assertNotEquals(key, getKey(cache, document, null, otherPolicy, validationTime));
+		assertNotEquals(key, getKey(cache, document, null, policy, new Date(validationTime.getTime() + ONE_HOUR)));
+		assertNotEquals(key, cache.getKey(document, null, policy, ValidationLevel.BASIC_SIGNATURES, ReportProjection.FULL, new CommonTrustedCertificateSource(),
+				validationTime));
+
+		CommonTrustedCertificateSource trustedCertSource = new CommonTrustedCertificateSource();
+		trustedCertSource.addCertificate(DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer")));
+		assertNotEquals(key, cache.getKey(document, null, policy, ValidationLevel.ARCHIVAL_DATA, ReportProjection.FULL, trustedCertSource, validationTime));
+		assertNotEquals(key, cache.getKey(document, null, policy, ValidationLevel.ARCHIVAL_DATA, ReportProjection.SIMPLE_ONLY,
+				new CommonTrustedCertificateSource(), validationTime));
+
+		// the detached content is only known by a digest
+		DigestDocument digestDocument = new DigestDocument();
+		digestDocument.setName("data.txt");
+		digestDocument.addDigest(DigestAlgorithm.SHA256, new InMemoryDocument("data".getBytes()).getDigest(DigestAlgorithm.SHA256));
+		assertEquals(getKey(cache, document, Arrays.<DSSDocument> asList(new InMemoryDocument("data".getBytes(), "data.txt")), policy, validationTime),
+				getKey(cache, document, Arrays.<DSSDocument> asList(digestDocument), policy, validationTime));
+		DigestDocument sha1Document = new DigestDocument();
+		sha1Document.addDigest(DigestAlgorithm.SHA1, "AAAA");
+		assertNull(getKey(cache, document, Arrays.<DSSDocument> asList(sha1Document), policy, validationTime));
+	}
+
+	@Test
+	public void outdatedRevocationData() {
+		ValidationResultCache cache = new ValidationResultCache();
+		Reports reports = createReports(new Date(validationTime.getTime() + ONE_HOUR));
+		cache.put("key", reports);
+
+		assertNotNull(cache.get("key", validationTime));
+		assertNull(cache.get("key", new Date(validationTime.getTime() + 2 * ONE_HOUR)));
+		// removed from the store
+		assertNull(cache.get("key", validationTime));
+	}
+
+	@Test
+	public void inMemoryEviction() {
+		InMemoryValidationResultStore store = new InMemoryValidationResultStore();
+		store.setMaxSize(2);
+		store.put("1", createReports(null));
+		store.put("2", createReports(null));
+		assertNotNull(store.get("1"));
+		store.put("3", createReports(null));
+		assertNull(store.get("2"));
+		assertNotNull(store.get("1"));
+		assertNotNull(store.get("3"));
+
+		store.clear();
+		assertNull(store.get("1"));
+	}
+
+	@Test
+	public void inMemoryStoreReturnsCopies() {
+		InMemoryValidationResultStore store = new InMemoryValidationResultStore();
+		Reports reports = createReports(null);
+		store.put("1", reports);
+		// the stored result does not depend on the validated instance
+		reports.getDiagnosticDataJaxb().getUsedCertificates().clear();
+
+		Reports first = store.get("1");
+		assertNotSame(first, store.get("1"));
+		assertEquals(1, first.getDiagnosticDataJaxb().getUsedCertificates().size());
+		assertEquals(validationTime, first.getSimpleReportJaxb().getValidationTime());
+
+		first.getDiagnosticDataJaxb().getUsedCertificates().clear();
+		first.getSimpleReportJaxb().setValidationTime(null);
+		Reports second = store.get("1");
+		assertEquals(1, second.getDiagnosticDataJaxb().getUsedCertificates().size());
+		assertEquals(validationTime, second.getSimpleReportJaxb().getValidationTime());
+	}
+
+	@Test
+	public void fileStore() throws Exception {
+		File directory = temporaryFolder.newFolder("results");
+		FileValidationResultStore store = new FileValidationResultStore(directory);
+		Date nextUpdate = new Date(validationTime.getTime() + ONE_HOUR);
+		store.put("1", createReports(nextUpdate));
+
+		// read by another instance (eg : after a restart)
+		Reports reports = new FileValidationResultStore(directory).get("1");
+		assertNotNull(reports);
+		List<XmlCertificate> usedCertificates = reports.getDiagnosticDataJaxb().getUsedCertificates();
+		assertEquals(1, usedCertificates.size());
+		assertEquals("C-1", usedCertificates.get(0).getId());
+		assertEquals(nextUpdate, usedCertificates.get(0).getRevocations().get(0).getNextUpdate());
+		assertEquals(validationTime, reports.getSimpleReportJaxb().getValidationTime());
+		assertNull(store.get("2"));
+
+		store.remove("1");
+		assertNull(store.get("1"));
+		assertEquals(0, directory.listFiles().length);
+	}
+
+	@Test
+	public void fileStoreWithoutDetailedReport() throws Exception {
+		FileValidationResultStore store = new FileValidationResultStore(temporaryFolder.newFolder("results"));
+		Reports reports = createReports(null);
+		store.put("1", new Reports(reports.getDiagnosticDataJaxb(), null, reports.getSimpleReportJaxb()));
+
+		Reports storedReports = store.get("1");
+		assertNotNull(storedReports);
+		assertNotNull(storedReports.getDiagnosticDataJaxb());
+		assertNotNull(storedReports.getSimpleReport());
+		assertNull(storedReports.getDetailedReportJaxb());
+		assertNull(storedReports.getDetailedReport());
+	}
+
+	@Test
+	public void fileStoreEviction() throws Exception {
+		File directory = temporaryFolder.newFolder("results");
+		FileValidationResultStore store = new FileValidationResultStore(directory);
+		store.setMaxSize(2);
+		store.put("1", createReports(null));
+		store.put("2", createReports(null));
+		new File(directory, "1").setLastModified(System.currentTimeMillis() - 2000);
+		new File(directory, "2").setLastModified(System.currentTimeMillis() - 1000);
+		// the first result is used again
+		assertNotNull(store.get("1"));
+
+		store.put("3", createReports(null));
+		assertEquals(2, directory.listFiles().length);
+		assertNull(store.get("2"));
+		assertNotNull(store.get("1"));
+		assertNotNull(store.get("3"));
+
+		store.clear();
+		assertEquals(0, directory.listFiles().length);
+	}
+
+	@Test
+	public void fileStoreDeletesTemporaryEntries() throws Exception {
+		File directory = temporaryFolder.newFolder("results");
+		new FileValidationResultStore(directory).put("1", createReports(null));
+		// a write interrupted by a crash
+		File temporaryEntry = new File(directory, "2-uuid.tmp");
+		assertTrue(temporaryEntry.mkdir());
+		assertTrue(new File(temporaryEntry, "diagnostic-data.xml").createNewFile());
+
+		FileValidationResultStore store = new FileValidationResultStore(directory);
+		assertFalse(temporaryEntry.exists());
+		assertNotNull(store.get("1"));
+	}
+
+	private String getKey(ValidationResultCache cache, DSSDocument signedDocument, List<DSSDocument> detachedContents, ValidationPolicy policy,
+			Date time) {
+		return cache.getKey(signedDocument, detachedContents, policy, ValidationLevel.ARCHIVAL_DATA, ReportProjection.FULL, new CommonTrustedCertificateSource(),
+				time);
+	}
+
+	private Reports createReports(Date nextUpdate) {
+		XmlRevocation xmlRevocation = new XmlRevocation();
+		xmlRevocation.setNextUpdate(nextUpdate);
+		XmlCertificate xmlCertificate = new XmlCertificate();
+		xmlCertificate.setId("C-1");
+		xmlCertificate.getRevocations().add(xmlRevocation);
+		DiagnosticData diagnosticData = new DiagnosticData();
+		diagnosticData.setValidationDate(validationTime);
+		diagnosticData.getUsedCertificates().add(xmlCertificate);
+		SimpleReport simpleReport = new SimpleReport();
+		simpleReport.setValidationTime(validationTime);
+		return new Reports(diagnosticData, new DetailedReport(), simpleReport);
+	}
+
+}
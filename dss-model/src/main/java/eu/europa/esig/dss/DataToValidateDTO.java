@@ -17,6 +17,16 @@ public class DataToValidateDTO {
 	 */
 	private RemoteDocument policy;
 
+	/**
+	 * The id of a validation policy registered on the server (instead of the custom policy)
+	 */
+	private String policyId;
+
+	/**
+	 * The reports to return (all of them when null)
+	 */
+	private ReportProjection reportProjection;
+
 	public DataToValidateDTO() {
 	}
 
@@ -50,4 +60,20 @@ public class DataToValidateDTO {
 		this.policy = policy;
 	}
 
+	public String getPolicyId() {
+		return policyId;
+	}
+
+	public void setPolicyId(String policyId) {
+		this.policyId = policyId;
+	}
+
+	public ReportProjection getReportProjection() {
+		return reportProjection;
+	}
+
+	public void setReportProjection(ReportProjection reportProjection) {
+		this.reportProjection = reportProjection;
+	}
+
 }
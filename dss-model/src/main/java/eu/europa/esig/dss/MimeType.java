@@ -221,6 +221,20 @@ public class MimeType implements Serializable {
 		return mimeType;
 	}
 
+	/**
+	 * This method returns the known {@code MimeType} corresponding to the given
+	 * mime-type string. Unlike {@link #fromMimeTypeString(String)}, an unknown
+	 * mime-type is not registered (eg : for values received from a client).
+	 *
+	 * @param mimeTypeString
+	 *            is a string identifier composed of two parts: a "type" and a
+	 *            "subtype"
+	 * @return the corresponding {@code MimeType} or null if it is unknown
+	 */
+	public static MimeType fromKnownMimeTypeString(final String mimeTypeString) {
+		return mimeTypes.get(mimeTypeString);
+	}
+
 	/**
 	 * This method allows to define a new relationship between a file extension
 	 * and a {@code MimeType}.
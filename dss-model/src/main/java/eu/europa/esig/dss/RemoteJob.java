@@ -0,0 +1,101 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * This class is used to transport the state of an asynchronous job with SOAP and/or REST
+ */
+@SuppressWarnings("serial")
+public class RemoteJob implements Serializable {
+
+	private String id;
+	private RemoteJobStatus status;
+	private Date submissionTime;
+	private Date completionTime;
+	private String errorMessage;
+
+	public RemoteJob() {
+	}
+
+	public RemoteJob(String id, RemoteJobStatus status) {
+		this.id = id;
+		this.status = status;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public RemoteJobStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(RemoteJobStatus status) {
+		this.status = status;
+	}
+
+	public Date getSubmissionTime() {
+		return submissionTime;
+	}
+
+	public void setSubmissionTime(Date submissionTime) {
+		this.submissionTime = submissionTime;
+	}
+
+	/**
+	 * Returns the end time of the job (null if the job is not finished)
+	 *
+	 * @return the completion time
+	 */
+	public Date getCompletionTime() {
+		return completionTime;
+	}
+
+	public void setCompletionTime(Date completionTime) {
+		this.completionTime = completionTime;
+	}
+
+	/**
+	 * Returns the error message if the status is {@code RemoteJobStatus.FAILED}
+	 *
+	 * @return the error message
+	 */
+	public String getErrorMessage() {
+		return errorMessage;
+	}
+
+	public void setErrorMessage(String errorMessage) {
+		this.errorMessage = errorMessage;
+	}
+
+	@Override
+	public String toString() {
+		return "RemoteJob [id=" + id + ", status=" + status + "]";
+	}
+
+}
@@ -0,0 +1,44 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss;
+
+/**
+ * The reports which are returned by the validation of a document. Only DIAGNOSTIC_ONLY reduces the validation work.
+ */
+public enum ReportProjection {
+
+	/**
+	 * The diagnostic data, the detailed report and the simple report
+	 */
+	FULL,
+
+	/**
+	 * The simple report. The detailed report is fully built as with FULL (the indications, errors and warnings of
+	 * the simple report are derived from it) but it is not returned.
+	 */
+	SIMPLE_ONLY,
+
+	/**
+	 * The diagnostic data. The validation policy is not applied.
+	 */
+	DIAGNOSTIC_ONLY
+
+}
@@ -0,0 +1,71 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.signature;
+
+import java.io.Serializable;
+import java.util.List;
+
+import eu.europa.esig.dss.AbstractSerializableSignatureParameters;
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+
+/**
+ * This interface {@code RemoteBatchSignatureService} provides operations for the creation of one independent
+ * signature per document with the same parameters.
+ *
+ * The signing date MUST be defined in the parameters : the same parameters are used to compute the data to be signed
+ * and to incorporate the signature values.
+ *
+ */
+public interface RemoteBatchSignatureService<DOC, SP extends AbstractSerializableSignatureParameters> extends Serializable {
+
+	/**
+	 * Retrieves the bytes of the data that need to be signed for each document of {@code toSignDocuments}
+	 *
+	 * @param toSignDocuments
+	 *            list of documents to sign
+	 * @param parameters
+	 *            set of the driving signing parameters (shared by all the signatures)
+	 * @return the data to be signed (in the same order than {@code toSignDocuments})
+	 * @throws DSSException
+	 *             if an error occurred
+	 */
+	List<ToBeSigned> getDataToSign(final List<DOC> toSignDocuments, final SP parameters) throws DSSException;
+
+	/**
+	 * Signs each document of {@code toSignDocuments} with the corresponding signature value.
+	 *
+	 * @param toSignDocuments
+	 *            list of documents to sign
+	 * @param parameters
+	 *            set of the driving signing parameters (shared by all the signatures)
+	 * @param signatureValues
+	 *            the signature values to incorporate (in the same order than {@code toSignDocuments})
+	 * @return the signed documents (in the same order than {@code toSignDocuments})
+	 * @throws DSSException
+	 *             if an error occurred
+	 */
+	List<DSSDocument> signDocuments(final List<DOC> toSignDocuments, final SP parameters, final List<SignatureValue> signatureValues)
+			throws DSSException;
+
+}
@@ -0,0 +1,191 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.x509;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import eu.europa.esig.dss.CertificatePolicy;
+
+/**
+ * This class contains the decoded extensions of a certificate. It is computed once per {@code CertificateToken} (see
+ * {@code DSSASN1Utils.getCertificateExtensions}) and is immutable : the lists are unmodifiable and the getters return
+ * copies of the byte arrays.
+ */
+public class CertificateExtensions {
+
+	private final byte[] subjectKeyIdentifier;
+
+	private final byte[] authorityKeyIdentifier;
+
+	private final byte[] publicKeyHash;
+
+	private final List<CertificatePolicy> certificatePolicies;
+
+	private final List<String> qcStatementIds;
+
+	private final List<String> qcTypeIds;
+
+	private final List<String> caIssuersUrls;
+
+	private final List<String> ocspUrls;
+
+	private final List<String> crlUrls;
+
+	private final List<String> extendedKeyUsages;
+
+	private final boolean ocspNoCheck;
+
+	/**
+	 * The default constructor for CertificateExtensions.
+	 *
+	 * @param subjectKeyIdentifier
+	 *            the value of the subject key identifier extension (can be null)
+	 * @param authorityKeyIdentifier
+	 *            the key identifier of the authority key identifier extension (can be null)
+	 * @param publicKeyHash
+	 *            the SHA-1 digest of the subject public key
+	 * @param certificatePolicies
+	 *            the certificate policies
+	 * @param qcStatementIds
+	 *            the QCStatement ids
+	 * @param qcTypeIds
+	 *            the QCType ids
+	 * @param caIssuersUrls
+	 *            the CA issuers urls of the authority information access extension
+	 * @param ocspUrls
+	 *            the OCSP urls of the authority information access extension
+	 * @param crlUrls
+	 *            the urls of the CRL distribution points extension
+	 * @param extendedKeyUsages
+	 *            the oids of the extended key usage extension (null if the extension is missing)
+	 * @param ocspNoCheck
+	 *            true if the id-pkix-ocsp-nocheck extension is present
+	 */
+	public CertificateExtensions(byte[] subjectKeyIdentifier, byte[] authorityKeyIdentifier, byte[] publicKeyHash,
+			List<CertificatePolicy> certificatePolicies, List<String> qcStatementIds, List<String> qcTypeIds, List<String> caIssuersUrls,
+			List<String> ocspUrls, List<String> crlUrls, List<String> extendedKeyUsages, boolean ocspNoCheck) {
+		this.subjectKeyIdentifier = copy(subjectKeyIdentifier);
+		this.authorityKeyIdentifier = copy(authorityKeyIdentifier);
+		this.publicKeyHash = copy(publicKeyHash);
+		this.certificatePolicies = unmodifiableCopy(certificatePolicies);
+		this.qcStatementIds = unmodifiableCopy(qcStatementIds);
+		this.qcTypeIds = unmodifiableCopy(qcTypeIds);
+		this.caIssuersUrls = unmodifiableCopy(caIssuersUrls);
+		this.ocspUrls = unmodifiableCopy(ocspUrls);
+		this.crlUrls = unmodifiableCopy(crlUrls);
+		this.extendedKeyUsages = extendedKeyUsages == null ? null : unmodifiableCopy(extendedKeyUsages);
+		this.ocspNoCheck = ocspNoCheck;
+	}
+
+	/**
+	 * Returns the value of the subject key identifier extension
+	 *
+	 * @return the SKI or null if the extension is missing
+	 */
+	public byte[] getSubjectKeyIdentifier() {
+		return copy(subjectKeyIdentifier);
+	}
+
+	/**
+	 * Returns the key identifier of the authority key identifier extension
+	 *
+	 * @return the AKI or null if the extension is missing
+	 */
+	public byte[] getAuthorityKeyIdentifier() {
+		return copy(authorityKeyIdentifier);
+	}
+
+	/**
+	 * Returns the SHA-1 digest of the subject public key (the BIT STRING value, as used in the OCSP CertID and in the
+	 * computed SKI)
+	 *
+	 * @return the SHA-1 digest of the public key
+	 */
+	public byte[] getPublicKeyHash() {
+		return copy(publicKeyHash);
+	}
+
+	public List<CertificatePolicy> getCertificatePolicies() {
+		return certificatePolicies;
+	}
+
+	public List<String> getQcStatementIds() {
+		return qcStatementIds;
+	}
+
+	public List<String> getQcTypeIds() {
+		return qcTypeIds;
+	}
+
+	/**
+	 * Returns the CA issuers urls of the authority information access extension
+	 *
+	 * @return the list of urls (empty if the extension is missing)
+	 */
+	public List<String> getCaIssuersUrls() {
+		return caIssuersUrls;
+	}
+
+	/**
+	 * Returns the OCSP urls of the authority information access extension
+	 *
+	 * @return the list of urls (empty if the extension is missing)
+	 */
+	public List<String> getOcspUrls() {
+		return ocspUrls;
+	}
+
+	/**
+	 * Returns the urls of the CRL distribution points extension
+	 *
+	 * @return the list of urls (empty if the extension is missing)
+	 */
+	public List<String> getCrlUrls() {
+		return crlUrls;
+	}
+
+	/**
+	 * Returns the oids of the extended key usage extension
+	 *
+	 * @return the list of oids or null if the extension is missing
+	 */
+	public List<String> getExtendedKeyUsages() {
+		return extendedKeyUsages;
+	}
+
+	public boolean isOcspNoCheck() {
+		return ocspNoCheck;
+	}
+
+	private static byte[] copy(byte[] bytes) {
+		return bytes == null ? null : bytes.clone();
+	}
+
+	private static <T> List<T> unmodifiableCopy(List<T> list) {
+		if (list == null || list.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(new ArrayList<T>(list));
+	}
+
+}
@@ -97,6 +97,17 @@ public class CertificateToken extends Token {
 	 */
 	private Set<KeyUsageBit> keyUsageBits;
 
+	/**
+	 * The subject and issuer names in the canonical form (computed once)
+	 */
+	private String canonicalSubjectName;
+	private String canonicalIssuerName;
+
+	/**
+	 * The decoded extensions (computed once)
+	 */
+	private transient volatile CertificateExtensions extensions;
+
 	/**
 	 * This method returns an instance of {@link eu.europa.esig.dss.x509.CertificateToken}.
 	 *
@@ -324,9 +335,54 @@ public class CertificateToken extends Token {
 	 * @return true if the certificate is self-issued
 	 */
 	public boolean isSelfIssued() {
-		final String n1 = x509Certificate.getSubjectX500Principal().getName(X500Principal.CANONICAL);
-		final String n2 = x509Certificate.getIssuerX500Principal().getName(X500Principal.CANONICAL);
-		return n1.equals(n2);
+		return getCanonicalSubjectName().equals(getCanonicalIssuerName());
+	}
+
+	/**
+	 * Returns the subject name in the {@code X500Principal.CANONICAL} format. The value is computed once.
+	 *
+	 * @return the canonical subject name
+	 */
+	public String getCanonicalSubjectName() {
+		if (canonicalSubjectName == null) {
+			canonicalSubjectName = x509Certificate.getSubjectX500Principal().getName(X500Principal.CANONICAL);
+		}
+		return canonicalSubjectName;
+	}
+
+	/**
+	 * Returns the issuer name in the {@code X500Principal.CANONICAL} format. The value is computed once.
+	 *
+	 * @return the canonical issuer name
+	 */
+	public String getCanonicalIssuerName() {
+		if (canonicalIssuerName == null) {
+			canonicalIssuerName = x509Certificate.getIssuerX500Principal().getName(X500Principal.CANONICAL);
+		}
+		return canonicalIssuerName;
+	}
+
+	/**
+	 * Returns the decoded extensions of the certificate if they were already computed. Use
+	 * {@code DSSASN1Utils.getCertificateExtensions} to compute them.
+	 *
+	 * @return the decoded extensions or null
+	 */
+	public CertificateExtensions getExtensions() {
+		return extensions;
+	}
+
+	/**
+	 * Attaches the decoded extensions to the certificate. The extensions can only be set once : the next calls are
+	 * ignored and the first published instance is kept.
+	 *
+	 * @param extensions
+	 *            the decoded extensions
+	 */
+	public synchronized void setExtensions(CertificateExtensions extensions) {
+		if (this.extensions == null) {
+			this.extensions = extensions;
+		}
 	}
 
 	/**
@@ -23,6 +23,8 @@ package eu.europa.esig.dss.pades;
 import java.awt.Color;
 import java.awt.Font;
 
+import eu.europa.esig.dss.DSSDocument;
+
 /**
  * This class allows to custom text generation in the PAdES visible signature
  *
@@ -80,6 +82,13 @@ public class SignatureImageTextParameters {
 	 */
 	private Color backgroundColor = DEFAULT_BACKGROUND_COLOR;
 
+	/**
+	 * TrueType / OpenType font file used by the vector appearance (see
+	 * {@code NativePdfBoxVisibleSignatureDrawer}) : the font is embedded as a subset. If null, the standard
+	 * 14 font which matches the family of {@code font} is used (not embedded).
+	 */
+	private DSSDocument embeddedFont;
+
 	public SignerPosition getSignerNamePosition() {
 		return signerNamePosition;
 	}
@@ -120,6 +129,14 @@ public class SignatureImageTextParameters {
 		this.backgroundColor = backgroundColor;
 	}
 
+	public DSSDocument getEmbeddedFont() {
+		return embeddedFont;
+	}
+
+	public void setEmbeddedFont(DSSDocument embeddedFont) {
+		this.embeddedFont = embeddedFont;
+	}
+
 	public String getText() {
 		return text;
 	}
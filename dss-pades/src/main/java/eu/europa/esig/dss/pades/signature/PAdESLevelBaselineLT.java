@@ -20,14 +20,19 @@
  */
 package eu.europa.esig.dss.pades.signature;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.FileDocument;
 import eu.europa.esig.dss.SignatureLevel;
 import eu.europa.esig.dss.pades.PAdESSignatureParameters;
 import eu.europa.esig.dss.pades.validation.PAdESSignature;
@@ -48,14 +53,25 @@ import eu.europa.esig.dss.x509.tsp.TSPSource;
  */
 class PAdESLevelBaselineLT implements SignatureExtension<PAdESSignatureParameters> {
 
+	private static final Logger LOG = LoggerFactory.getLogger(PAdESLevelBaselineLT.class);
+
 	private final CertificateVerifier certificateVerifier;
 	private final TSPSource tspSource;
 
+	private File temporaryDirectory;
+
 	PAdESLevelBaselineLT(final TSPSource tspSource, final CertificateVerifier certificateVerifier) {
 		this.certificateVerifier = certificateVerifier;
 		this.tspSource = tspSource;
 	}
 
+	/**
+	 * Enables the file-backed mode (see {@link PDFSignatureService#setTemporaryDirectory(File)})
+	 */
+	void setTemporaryDirectory(File temporaryDirectory) {
+		this.temporaryDirectory = temporaryDirectory;
+	}
+
 	/**
 	 * @param document
 	 * @param parameters
@@ -64,25 +80,34 @@ class PAdESLevelBaselineLT implements SignatureExtension<PAdESSignatureParameter
 	 */
 	@Override
 	public DSSDocument extendSignatures(DSSDocument document, final PAdESSignatureParameters parameters) throws DSSException {
-
-		// check if needed to extends with PAdESLevelBaselineT
 		PDFDocumentValidator pdfDocumentValidator = new PDFDocumentValidator(document);
 		pdfDocumentValidator.setCertificateVerifier(certificateVerifier);
+		return extendSignatures(document, parameters, pdfDocumentValidator.getSignatures());
+	}
 
-		List<AdvancedSignature> signatures = pdfDocumentValidator.getSignatures();
+	/**
+	 * Extends the signatures already extracted from the document (the document is only parsed again if a document
+	 * timestamp needs to be added)
+	 */
+	DSSDocument extendSignatures(final DSSDocument document, final PAdESSignatureParameters parameters, List<AdvancedSignature> signatures)
+			throws DSSException {
+
+		// check if needed to extends with PAdESLevelBaselineT
+		DSSDocument timestampedDocument = document;
 		for (final AdvancedSignature signature : signatures) {
 			if (!signature.isDataForSignatureLevelPresent(SignatureLevel.PAdES_BASELINE_T)) {
 				final PAdESLevelBaselineT padesLevelBaselineT = new PAdESLevelBaselineT(tspSource);
-				document = padesLevelBaselineT.extendSignatures(document, parameters);
+				padesLevelBaselineT.setTemporaryDirectory(temporaryDirectory);
+				timestampedDocument = padesLevelBaselineT.extendSignatures(document, parameters);
 
-				pdfDocumentValidator = new PDFDocumentValidator(document);
+				// the new document timestamp needs to be covered by the validation data
+				PDFDocumentValidator pdfDocumentValidator = new PDFDocumentValidator(timestampedDocument);
 				pdfDocumentValidator.setCertificateVerifier(certificateVerifier);
+				signatures = pdfDocumentValidator.getSignatures();
 				break;
 			}
 		}
 
-		signatures = pdfDocumentValidator.getSignatures();
-
 		// create DSS dictionary
 		List<DSSDictionaryCallback> callbacks = new ArrayList<DSSDictionaryCallback>();
 		for (final AdvancedSignature signature : signatures) {
@@ -92,8 +117,22 @@ class PAdESLevelBaselineLT implements SignatureExtension<PAdESSignatureParameter
 		}
 
 		final PDFSignatureService signatureService = PdfObjFactory.getInstance().newPAdESSignatureService();
-		return signatureService.addDssDictionary(document, callbacks);
+		signatureService.setTemporaryDirectory(temporaryDirectory);
+		final DSSDocument extendedDocument = signatureService.addDssDictionary(timestampedDocument, callbacks);
+		deleteIntermediateDocument(timestampedDocument, document);
+		return extendedDocument;
+	}
 
+	/**
+	 * Deletes an intermediate document created in the temporary directory
+	 */
+	static void deleteIntermediateDocument(final DSSDocument intermediateDocument, final DSSDocument originalDocument) {
+		if ((intermediateDocument != originalDocument) && (intermediateDocument instanceof FileDocument)) {
+			final File file = new File(intermediateDocument.getAbsolutePath());
+			if (!file.delete()) {
+				LOG.warn("Unable to delete the temporary file '{}'", file.getAbsolutePath());
+			}
+		}
 	}
 
 	private DSSDictionaryCallback validate(PAdESSignature signature) {
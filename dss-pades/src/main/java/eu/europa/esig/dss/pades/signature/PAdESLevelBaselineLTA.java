@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.pades.signature;
 
+import java.io.File;
 import java.util.List;
 
 import eu.europa.esig.dss.DSSDocument;
@@ -47,6 +48,15 @@ class PAdESLevelBaselineLTA implements SignatureExtension<PAdESSignatureParamete
 		this.certificateVerifier = certificateVerifier;
 	}
 
+	/**
+	 * Enables the file-backed mode : the intermediate revisions are stored in temporary files (see
+	 * {@link eu.europa.esig.dss.pdf.PDFSignatureService#setTemporaryDirectory(File)})
+	 */
+	void setTemporaryDirectory(File temporaryDirectory) {
+		padesLevelBaselineLT.setTemporaryDirectory(temporaryDirectory);
+		padesLevelBaselineT.setTemporaryDirectory(temporaryDirectory);
+	}
+
 	@Override
 	public DSSDocument extendSignatures(DSSDocument document, PAdESSignatureParameters parameters) throws DSSException {
 
@@ -54,15 +64,19 @@ class PAdESLevelBaselineLTA implements SignatureExtension<PAdESSignatureParamete
 		final PDFDocumentValidator pdfDocumentValidator = new PDFDocumentValidator(document);
 		pdfDocumentValidator.setCertificateVerifier(certificateVerifier);
 
+		DSSDocument ltDocument = document;
 		List<AdvancedSignature> signatures = pdfDocumentValidator.getSignatures();
 		for (final AdvancedSignature signature : signatures) {
 			if (!signature.isDataForSignatureLevelPresent(SignatureLevel.PAdES_BASELINE_LT)) {
-				document = padesLevelBaselineLT.extendSignatures(document, parameters);
+				// the already extracted signatures are reused for the revocation data collection
+				ltDocument = padesLevelBaselineLT.extendSignatures(document, parameters, signatures);
 				break;
 			}
 		}
 
 		// Will add a Document TimeStamp (not CMS)
-		return padesLevelBaselineT.extendSignatures(document, parameters);
+		final DSSDocument extendedDocument = padesLevelBaselineT.extendSignatures(ltDocument, parameters);
+		PAdESLevelBaselineLT.deleteIntermediateDocument(ltDocument, document);
+		return extendedDocument;
 	}
 }
\ No newline at end of file
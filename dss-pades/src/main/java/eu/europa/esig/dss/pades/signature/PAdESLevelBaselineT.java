@@ -20,6 +20,8 @@
  */
 package eu.europa.esig.dss.pades.signature;
 
+import java.io.File;
+
 import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.pades.PAdESSignatureParameters;
@@ -35,15 +37,25 @@ class PAdESLevelBaselineT implements SignatureExtension<PAdESSignatureParameters
 
 	private final TSPSource tspSource;
 
+	private File temporaryDirectory;
+
 	public PAdESLevelBaselineT(TSPSource tspSource) {
 		this.tspSource = tspSource;
 	}
 
+	/**
+	 * Enables the file-backed mode (see {@link PDFTimestampService#setTemporaryDirectory(File)})
+	 */
+	void setTemporaryDirectory(File temporaryDirectory) {
+		this.temporaryDirectory = temporaryDirectory;
+	}
+
 	@Override
 	public DSSDocument extendSignatures(final DSSDocument document, final PAdESSignatureParameters params) throws DSSException {
 		// Will add a DocumentTimeStamp. signature-timestamp (CMS) is impossible to add while extending
 		final PdfObjFactory factory = PdfObjFactory.getInstance();
 		final PDFTimestampService timestampService = factory.newTimestampSignatureService();
+		timestampService.setTemporaryDirectory(temporaryDirectory);
 		return timestampService.timestamp(document, params, tspSource);
 	}
 
@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.pades.signature;
 
+import java.io.File;
 import java.util.List;
 
 import org.bouncycastle.cms.CMSProcessableByteArray;
@@ -46,9 +47,11 @@ import eu.europa.esig.dss.pades.PAdESSignatureParameters;
 import eu.europa.esig.dss.pades.SignatureFieldParameters;
 import eu.europa.esig.dss.pdf.PDFSignatureService;
 import eu.europa.esig.dss.pdf.PdfObjFactory;
+import eu.europa.esig.dss.pdf.PdfPreparedSignatureCache;
 import eu.europa.esig.dss.signature.AbstractSignatureService;
 import eu.europa.esig.dss.signature.SignatureExtension;
 import eu.europa.esig.dss.validation.CertificateVerifier;
+import eu.europa.esig.dss.validation.SharedCertificateVerifier;
 import eu.europa.esig.dss.validation.TimestampToken;
 import eu.europa.esig.dss.x509.TimestampType;
 
@@ -61,6 +64,10 @@ public class PAdESService extends AbstractSignatureService<PAdESSignatureParamet
 
 	private final PadesCMSSignedDataBuilder padesCMSSignedDataBuilder;
 
+	private PdfPreparedSignatureCache preparedSignatureCache;
+
+	private File temporaryDirectory;
+
 	/**
 	 * This is the constructor to create an instance of the {@code PAdESService}. A certificate verifier must be
 	 * provided.
@@ -76,16 +83,48 @@ public class PAdESService extends AbstractSignatureService<PAdESSignatureParamet
 		LOG.debug("+ PAdESService created");
 	}
 
-	private SignatureExtension<PAdESSignatureParameters> getExtensionProfile(SignatureLevel signatureLevel) {
+	/**
+	 * This setter enables the two-phase signature : the new revision computed in
+	 * {@link #getDataToSign(DSSDocument, PAdESSignatureParameters)} is kept in the cache and the signature value is
+	 * injected in this revision in {@link #signDocument(DSSDocument, PAdESSignatureParameters, SignatureValue)}
+	 * (without parsing and saving the PDF document again).
+	 *
+	 * @param preparedSignatureCache
+	 *            the cache of prepared signature revisions (can be shared between several services)
+	 */
+	public void setPreparedSignatureCache(PdfPreparedSignatureCache preparedSignatureCache) {
+		this.preparedSignatureCache = preparedSignatureCache;
+	}
+
+	/**
+	 * This setter enables the file-backed mode : the PDF documents are parsed with temporary files as buffer and the
+	 * new revisions (signature, DSS dictionary, document timestamps) are streamed into temporary files of the given
+	 * directory. The intermediate files are deleted, the returned document is a {@code FileDocument} which needs to be
+	 * deleted by the caller. If null (default), the documents are processed in memory.
+	 *
+	 * @param temporaryDirectory
+	 *            the directory where the temporary files are created
+	 */
+	public void setTemporaryDirectory(File temporaryDirectory) {
+		this.temporaryDirectory = temporaryDirectory;
+	}
+
+	private SignatureExtension<PAdESSignatureParameters> getExtensionProfile(SignatureLevel signatureLevel, CertificateVerifier certificateVerifier) {
 		switch (signatureLevel) {
 		case PAdES_BASELINE_B:
 			return null;
 		case PAdES_BASELINE_T:
-			return new PAdESLevelBaselineT(tspSource);
+			final PAdESLevelBaselineT padesLevelBaselineT = new PAdESLevelBaselineT(tspSource);
+			padesLevelBaselineT.setTemporaryDirectory(temporaryDirectory);
+			return padesLevelBaselineT;
 		case PAdES_BASELINE_LT:
-			return new PAdESLevelBaselineLT(tspSource, certificateVerifier);
+			final PAdESLevelBaselineLT padesLevelBaselineLT = new PAdESLevelBaselineLT(tspSource, certificateVerifier);
+			padesLevelBaselineLT.setTemporaryDirectory(temporaryDirectory);
+			return padesLevelBaselineLT;
 		case PAdES_BASELINE_LTA:
-			return new PAdESLevelBaselineLTA(tspSource, certificateVerifier);
+			final PAdESLevelBaselineLTA padesLevelBaselineLTA = new PAdESLevelBaselineLTA(tspSource, certificateVerifier);
+			padesLevelBaselineLTA.setTemporaryDirectory(temporaryDirectory);
+			return padesLevelBaselineLTA;
 		default:
 			throw new IllegalArgumentException("Signature format '" + signatureLevel + "' not supported");
 		}
@@ -110,6 +149,8 @@ public class PAdESService extends AbstractSignatureService<PAdESSignatureParamet
 		final CustomContentSigner customContentSigner = new CustomContentSigner(signatureAlgorithm.getJCEId());
 
 		final PDFSignatureService pdfSignatureService = PdfObjFactory.getInstance().newPAdESSignatureService();
+		pdfSignatureService.setPreparedSignatureCache(preparedSignatureCache);
+		pdfSignatureService.setTemporaryDirectory(temporaryDirectory);
 		final byte[] messageDigest = pdfSignatureService.digest(toSignDocument, parameters, parameters.getDigestAlgorithm());
 
 		SignerInfoGeneratorBuilder signerInfoGeneratorBuilder = padesCMSSignedDataBuilder.getSignerInfoGeneratorBuilder(parameters, messageDigest);
@@ -135,6 +176,8 @@ public class PAdESService extends AbstractSignatureService<PAdESSignatureParamet
 		final CustomContentSigner customContentSigner = new CustomContentSigner(signatureAlgorithm.getJCEId(), signatureValue.getValue());
 
 		final PDFSignatureService pdfSignatureService = PdfObjFactory.getInstance().newPAdESSignatureService();
+		pdfSignatureService.setPreparedSignatureCache(preparedSignatureCache);
+		pdfSignatureService.setTemporaryDirectory(temporaryDirectory);
 		final byte[] messageDigest = pdfSignatureService.digest(toSignDocument, parameters, parameters.getDigestAlgorithm());
 
 		final SignerInfoGeneratorBuilder signerInfoGeneratorBuilder = padesCMSSignedDataBuilder.getSignerInfoGeneratorBuilder(parameters, messageDigest);
@@ -155,9 +198,11 @@ public class PAdESService extends AbstractSignatureService<PAdESSignatureParamet
 		final byte[] encodedData = CMSUtils.getEncoded(data);
 		DSSDocument signature = pdfSignatureService.sign(toSignDocument, encodedData, parameters, parameters.getDigestAlgorithm());
 
-		final SignatureExtension<PAdESSignatureParameters> extension = getExtensionProfile(signatureLevel);
+		final SignatureExtension<PAdESSignatureParameters> extension = getExtensionProfile(signatureLevel, certificateVerifier);
 		if ((signatureLevel != SignatureLevel.PAdES_BASELINE_B) && (signatureLevel != SignatureLevel.PAdES_BASELINE_T) && (extension != null)) {
-			signature = extension.extendSignatures(signature, parameters);
+			final DSSDocument signedDocument = signature;
+			signature = extension.extendSignatures(signedDocument, parameters);
+			PAdESLevelBaselineLT.deleteIntermediateDocument(signedDocument, signature);
 		}
 
 		parameters.reinitDeterministicId();
@@ -167,7 +212,9 @@ public class PAdESService extends AbstractSignatureService<PAdESSignatureParamet
 
 	@Override
 	public DSSDocument extendDocument(DSSDocument original, PAdESSignatureParameters parameters) throws DSSException {
-		final SignatureExtension<PAdESSignatureParameters> extension = getExtensionProfile(parameters.getSignatureLevel());
+		// the validation data is shared between the signatures of the document
+		final SignatureExtension<PAdESSignatureParameters> extension = getExtensionProfile(parameters.getSignatureLevel(),
+				new SharedCertificateVerifier(certificateVerifier));
 		if (extension != null) {
 			DSSDocument extended = extension.extendSignatures(original, parameters);
 			extended.setName(DSSUtils.getFinalFileName(original, SigningOperation.EXTEND, parameters.getSignatureLevel()));
@@ -147,7 +147,16 @@ public class ImageUtils {
 		return new Dimension(Math.round(width / ration), Math.round(height / ration));
 	}
 
-	private static ImageAndResolution readAndDisplayMetadata(DSSDocument image) throws IOException {
+	/**
+	 * This method reads the resolution of a JPEG or PNG image
+	 * 
+	 * @param image
+	 *            the image
+	 * @return the image with its resolution
+	 * @throws IOException
+	 *             if the image cannot be read
+	 */
+	public static ImageAndResolution readAndDisplayMetadata(DSSDocument image) throws IOException {
 		if (isImageWithContentType(image, MimeType.JPEG)) {
 			return readAndDisplayMetadataJPEG(image);
 		} else if (isImageWithContentType(image, MimeType.PNG)) {
@@ -301,7 +310,7 @@ public class ImageUtils {
 		metadata.mergeTree("javax_imageio_1.0", root);
 	}
 
-	static int getDpi(Integer dpi) {
+	public static int getDpi(Integer dpi) {
 		int result = DPI;
 		if (dpi != null && dpi.intValue() > 0) {
 			result = dpi.intValue();
@@ -308,6 +308,15 @@ public class PAdESSignature extends CAdESSignature {
 		throw new DSSException("Timestamp Data not found");
 	}
 
+	@Override
+	protected String getTimestampedDataScope(final TimestampToken timestampToken) {
+		if ((timestampToken.getTimeStampType() == TimestampType.SIGNATURE_TIMESTAMP) && !super.getSignatureTimestamps().contains(timestampToken)) {
+			// document timestamp : each one covers its own revision of the PDF
+			return null;
+		}
+		return super.getTimestampedDataScope(timestampToken);
+	}
+
 	@Override
 	public byte[] getTimestampX1Data(final TimestampToken timestampToken, String canonicalizationMethod) {
 		/* Not applicable for PAdES */
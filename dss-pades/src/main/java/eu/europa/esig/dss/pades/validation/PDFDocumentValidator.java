@@ -78,6 +78,15 @@ public class PDFDocumentValidator extends SignedDocumentValidator {
 		return false;
 	}
 
+	/**
+	 * The signatures are checked sequentially : the document timestamps are shared by the signatures and each
+	 * signature updates the same {@code TimestampToken} during its checks (timestamped references, message imprint).
+	 */
+	@Override
+	protected boolean isConcurrentSignatureValidationSupported() {
+		return false;
+	}
+
 	@Override
 	public List<AdvancedSignature> getSignatures() {
 		final List<AdvancedSignature> signatures = new ArrayList<AdvancedSignature>();
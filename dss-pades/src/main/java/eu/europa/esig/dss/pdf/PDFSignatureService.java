@@ -20,6 +20,7 @@
  */
 package eu.europa.esig.dss.pdf;
 
+import java.io.File;
 import java.util.List;
 
 import eu.europa.esig.dss.DSSDocument;
@@ -35,6 +36,28 @@ import eu.europa.esig.dss.x509.CertificatePool;
  */
 public interface PDFSignatureService {
 
+	/**
+	 * This method enables the two-phase signature : {@link #digest(DSSDocument, PAdESSignatureParameters, DigestAlgorithm)}
+	 * stores the new revision with an empty signature in the given cache and
+	 * {@link #sign(DSSDocument, byte[], PAdESSignatureParameters, DigestAlgorithm)} injects the signature in the stored
+	 * revision (without parsing the document again). If null (default), the document is processed in each method.
+	 *
+	 * @param preparedSignatureCache
+	 *            the cache of the prepared signature revisions
+	 */
+	void setPreparedSignatureCache(PdfPreparedSignatureCache preparedSignatureCache);
+
+	/**
+	 * This method enables the file-backed mode : the parsed documents are buffered in temporary files and the new
+	 * revisions (signature, DSS dictionary,...) are streamed into temporary files of the given directory (returned as
+	 * {@code FileDocument}). The caller is responsible for the deletion of the returned files. If null (default), the
+	 * documents are processed in memory.
+	 *
+	 * @param temporaryDirectory
+	 *            the directory where the temporary files are created
+	 */
+	void setTemporaryDirectory(File temporaryDirectory);
+
 	/**
 	 * Returns the digest value of a PDF document
 	 *
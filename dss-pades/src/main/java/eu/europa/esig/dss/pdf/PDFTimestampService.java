@@ -20,6 +20,8 @@
  */
 package eu.europa.esig.dss.pdf;
 
+import java.io.File;
+
 import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.pades.PAdESSignatureParameters;
@@ -27,6 +29,14 @@ import eu.europa.esig.dss.x509.tsp.TSPSource;
 
 public interface PDFTimestampService {
 
+	/**
+	 * This method enables the file-backed mode (see {@link PDFSignatureService#setTemporaryDirectory(File)})
+	 *
+	 * @param temporaryDirectory
+	 *            the directory where the temporary files are created
+	 */
+	void setTemporaryDirectory(File temporaryDirectory);
+
 	DSSDocument timestamp(final DSSDocument document, final PAdESSignatureParameters parameters, final TSPSource tspSource) throws DSSException;
 
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.pdf;
+
+import java.util.Arrays;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.InMemoryDocument;
+import eu.europa.esig.dss.MimeType;
+import eu.europa.esig.dss.utils.Utils;
+
+/**
+ * This class contains a PDF document with its new signature revision where the /Contents value is a zero-filled
+ * placeholder. The CMS signature can be injected in the placeholder without parsing the document again.
+ */
+public class PdfPreparedSignature {
+
+	private final byte[] preparedDocument;
+
+	private final int[] byteRange;
+
+	private final byte[] digest;
+
+	/**
+	 * The default constructor for PdfPreparedSignature.
+	 *
+	 * @param preparedDocument
+	 *            the complete PDF document with the zero-filled /Contents placeholder
+	 * @param byteRange
+	 *            the /ByteRange of the new signature
+	 * @param digest
+	 *            the digest of the bytes covered by the byte range
+	 */
+	public PdfPreparedSignature(byte[] preparedDocument, int[] byteRange, byte[] digest) {
+		if (byteRange == null || byteRange.length != 4) {
+			throw new DSSException("Invalid byte range");
+		}
+		if (preparedDocument[byteRange[1]] != '<' || preparedDocument[byteRange[2] - 1] != '>') {
+			throw new DSSException("The byte range " + Arrays.toString(byteRange) + " does not match the /Contents placeholder");
+		}
+		this.preparedDocument = preparedDocument;
+		this.byteRange = byteRange;
+		this.digest = digest;
+	}
+
+	public byte[] getDigest() {
+		return digest;
+	}
+
+	public int[] getByteRange() {
+		return byteRange;
+	}
+
+	/**
+	 * Returns the size of the prepared document
+	 *
+	 * @return the number of bytes
+	 */
+	public int getSize() {
+		return preparedDocument.length;
+	}
+
+	/**
+	 * Returns a copy of the prepared document where the placeholder is replaced with the hexadecimal encoding of the
+	 * CMS (the remaining placeholder is kept zero-filled).
+	 *
+	 * @param cms
+	 *            the encoded CMS signature
+	 * @return the signed PDF document
+	 */
+	public DSSDocument injectSignature(byte[] cms) {
+		final byte[] hexCms = Utils.toHex(cms).toUpperCase().getBytes();
+		final int placeholderLength = byteRange[2] - byteRange[1] - 2;
+		if (hexCms.length > placeholderLength) {
+			throw new DSSException("Can't write signature, not enough space : " + hexCms.length + " > " + placeholderLength);
+		}
+		final byte[] signedDocument = Arrays.copyOf(preparedDocument, preparedDocument.length);
+		System.arraycopy(hexCms, 0, signedDocument, byteRange[1] + 1, hexCms.length);
+		DSSDocument signature = new InMemoryDocument(signedDocument);
+		signature.setMimeType(MimeType.PDF);
+		return signature;
+	}
+
+}
@@ -0,0 +1,203 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.pdf;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.pades.PAdESSignatureParameters;
+import eu.europa.esig.dss.pades.SignatureImageParameters;
+import eu.europa.esig.dss.pades.SignatureImageTextParameters;
+import eu.europa.esig.dss.utils.Utils;
+
+/**
+ * This class keeps the prepared signature revisions between the computation of the data to be signed and the
+ * incorporation of the signature value (two-phase signature). The prepared revisions are stored in memory, the cache is
+ * bounded by a number of entries and a total size (the least recently used entries are evicted first).
+ *
+ * The key of an entry is computed from the document and all the parameters which have an impact on the generated
+ * revision. Instances are thread-safe and can be shared between several {@code PAdESService}s.
+ */
+public class PdfPreparedSignatureCache {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PdfPreparedSignatureCache.class);
+
+	private static final int DEFAULT_MAX_ENTRIES = 100;
+
+	private static final long DEFAULT_MAX_TOTAL_SIZE = 100 * 1024 * 1024;
+
+	private final int maxEntries;
+
+	private final long maxTotalSize;
+
+	private long totalSize;
+
+	private final Map<String, PdfPreparedSignature> entries = new LinkedHashMap<String, PdfPreparedSignature>(16, 0.75f, true);
+
+	public PdfPreparedSignatureCache() {
+		this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_TOTAL_SIZE);
+	}
+
+	/**
+	 * @param maxEntries
+	 *            the maximum number of prepared revisions
+	 * @param maxTotalSize
+	 *            the maximum cumulated size (in bytes) of the prepared revisions
+	 */
+	public PdfPreparedSignatureCache(int maxEntries, long maxTotalSize) {
+		this.maxEntries = maxEntries;
+		this.maxTotalSize = maxTotalSize;
+	}
+
+	/**
+	 * Returns the prepared revision for the given key (the entry is kept)
+	 *
+	 * @param key
+	 *            the key computed with {@link #getKey(DSSDocument, PAdESSignatureParameters, DigestAlgorithm)}
+	 * @return the prepared revision or null
+	 */
+	public synchronized PdfPreparedSignature get(String key) {
+		return entries.get(key);
+	}
+
+	/**
+	 * Returns and removes the prepared revision for the given key
+	 *
+	 * @param key
+	 *            the key computed with {@link #getKey(DSSDocument, PAdESSignatureParameters, DigestAlgorithm)}
+	 * @return the prepared revision or null
+	 */
+	public synchronized PdfPreparedSignature remove(String key) {
+		PdfPreparedSignature removed = entries.remove(key);
+		if (removed != null) {
+			totalSize -= removed.getSize();
+		}
+		return removed;
+	}
+
+	/**
+	 * Stores a prepared revision. The entry is ignored if it is bigger than the maximum total size.
+	 *
+	 * @param key
+	 *            the key computed with {@link #getKey(DSSDocument, PAdESSignatureParameters, DigestAlgorithm)}
+	 * @param preparedSignature
+	 *            the prepared revision
+	 */
+	public synchronized void put(String key, PdfPreparedSignature preparedSignature) {
+		if (preparedSignature.getSize() > maxTotalSize) {
+			LOG.debug("The prepared signature is too big to be cached ({} bytes)", preparedSignature.getSize());
+			return;
+		}
+		remove(key);
+		entries.put(key, preparedSignature);
+		totalSize += preparedSignature.getSize();
+
+		Iterator<Entry<String, PdfPreparedSignature>> iterator = entries.entrySet().iterator();
+		while ((entries.size() > maxEntries || totalSize > maxTotalSize) && iterator.hasNext()) {
+			Entry<String, PdfPreparedSignature> eldest = iterator.next();
+			totalSize -= eldest.getValue().getSize();
+			iterator.remove();
+		}
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Computes the key of the prepared revision for a document and the signature parameters
+	 *
+	 * @param toSignDocument
+	 *            the document to be signed
+	 * @param parameters
+	 *            the signature parameters
+	 * @param digestAlgorithm
+	 *            the digest algorithm used on the byte range
+	 * @return the key (hex encoded)
+	 */
+	public static String getKey(DSSDocument toSignDocument, PAdESSignatureParameters parameters, DigestAlgorithm digestAlgorithm) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(toSignDocument.getDigest(DigestAlgorithm.SHA256)).append('|');
+		sb.append(digestAlgorithm).append('|');
+		sb.append(parameters.bLevel().getSigningDate().getTime()).append('|');
+		sb.append(parameters.getSigningCertificate() == null ? null : parameters.getSigningCertificate().getDSSIdAsString()).append('|');
+		sb.append(parameters.getSignatureName()).append('|');
+		sb.append(parameters.getReason()).append('|');
+		sb.append(parameters.getContactInfo()).append('|');
+		sb.append(parameters.getLocation()).append('|');
+		sb.append(parameters.getSignatureFieldId()).append('|');
+		sb.append(parameters.getSignatureSize()).append('|');
+		sb.append(parameters.getSignatureFilter()).append('|');
+		sb.append(parameters.getSignatureSubFilter()).append('|');
+		sb.append(parameters.getPermission()).append('|');
+		appendImageParameters(sb, parameters.getSignatureImageParameters());
+		return Utils.toHex(DSSUtils.digest(DigestAlgorithm.SHA256, sb.toString().getBytes()));
+	}
+
+	/**
+	 * Appends all the parameters which define the appearance of a visible signature
+	 *
+	 * @param sb
+	 *            the key being built
+	 * @param imageParameters
+	 *            the visual signature parameters (can be null)
+	 */
+	public static void appendImageParameters(StringBuilder sb, SignatureImageParameters imageParameters) {
+		if (imageParameters == null) {
+			sb.append("no-image");
+			return;
+		}
+		sb.append(imageParameters.getImage() == null ? null : imageParameters.getImage().getDigest(DigestAlgorithm.SHA256)).append('|');
+		sb.append(imageParameters.getPage()).append('|');
+		sb.append(imageParameters.getxAxis()).append('|');
+		sb.append(imageParameters.getyAxis()).append('|');
+		sb.append(imageParameters.getWidth()).append('|');
+		sb.append(imageParameters.getHeight()).append('|');
+		sb.append(imageParameters.getZoom()).append('|');
+		sb.append(imageParameters.getBackgroundColor()).append('|');
+		sb.append(imageParameters.getDpi()).append('|');
+		sb.append(imageParameters.getSignerTextImageVerticalAlignment()).append('|');
+		sb.append(imageParameters.getRotation()).append('|');
+		sb.append(imageParameters.getAlignmentHorizontal()).append('|');
+		sb.append(imageParameters.getAlignmentVertical()).append('|');
+		sb.append(imageParameters.getSignatureReason()).append('|');
+		sb.append(imageParameters.getSignerLocation()).append('|');
+		SignatureImageTextParameters textParameters = imageParameters.getTextParameters();
+		if (textParameters != null) {
+			sb.append(textParameters.getText()).append('|');
+			sb.append(textParameters.getSignerNamePosition()).append('|');
+			sb.append(textParameters.getSignerTextHorizontalAlignment()).append('|');
+			sb.append(textParameters.getFont()).append('|');
+			sb.append(textParameters.getTextColor()).append('|');
+			sb.append(textParameters.getBackgroundColor()).append('|');
+			sb.append(textParameters.getEmbeddedFont() == null ? null : textParameters.getEmbeddedFont().getDigest(DigestAlgorithm.SHA256));
+		}
+	}
+
+}
@@ -0,0 +1,402 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.pdf.pdfbox;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.geom.AffineTransform;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.fontbox.util.BoundingBox;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDFontDescriptor;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceDictionary;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceStream;
+import org.apache.pdfbox.pdmodel.interactive.digitalsignature.SignatureOptions;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDSignatureField;
+import org.apache.pdfbox.util.Matrix;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.pades.SignatureImageParameters;
+import eu.europa.esig.dss.pades.SignatureImageTextParameters;
+import eu.europa.esig.dss.pades.signature.visible.ImageAndResolution;
+import eu.europa.esig.dss.pades.signature.visible.ImageTextWriter;
+import eu.europa.esig.dss.pades.signature.visible.ImageUtils;
+import eu.europa.esig.dss.pdf.PdfPreparedSignatureCache;
+import eu.europa.esig.dss.utils.Utils;
+
+/**
+ * This class draws the visible signature with PDF operators instead of a rasterized image : the text is written with
+ * a standard 14 font or with a subset of the embedded font (see {@code SignatureImageTextParameters#setEmbeddedFont}).
+ * The logo (if any) is added as an image XObject without being merged with the text.
+ *
+ * The appearance templates (form XObject, fonts and images) are cached by visual signature parameters and page
+ * format : signing several documents with the same stamp only parses the cached template.
+ */
+public class NativePdfBoxVisibleSignatureDrawer implements PdfBoxVisibleSignatureDrawer {
+
+	private static final Logger LOG = LoggerFactory.getLogger(NativePdfBoxVisibleSignatureDrawer.class);
+
+	private static final int DEFAULT_CACHE_SIZE = 100;
+
+	/* Same margin around the text as ImageTextWriter (in pixels at the signature resolution) */
+	private static final float TEXT_MARGIN = 10;
+
+	private final Map<String, byte[]> templates;
+
+	public NativePdfBoxVisibleSignatureDrawer() {
+		this(DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * The constructor with the maximum number of cached appearance templates
+	 *
+	 * @param cacheSize
+	 *            the maximum number of templates (the least recently used are removed)
+	 */
+	@SuppressWarnings("serial")
+	public NativePdfBoxVisibleSignatureDrawer(final int cacheSize) {
+		templates = Collections.synchronizedMap(new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+				return size() > cacheSize;
+			}
+		});
+	}
+
+	@Override
+	public SignatureOptions createVisualSignature(final PDDocument doc, final SignatureImageParameters params) throws IOException {
+		SignatureOptions sigOptions = new SignatureOptions();
+
+		if (params != null) {
+			String key = getKey(doc, params);
+			byte[] template = templates.get(key);
+			if (template == null) {
+				template = createTemplate(doc, params);
+				templates.put(key, template);
+			} else {
+				LOG.debug("Cached appearance template is reused");
+			}
+			sigOptions.setVisualSignature(new ByteArrayInputStream(template));
+			sigOptions.setPage(params.getPage() - 1); // DSS-1138
+		}
+
+		return sigOptions;
+	}
+
+	private String getKey(final PDDocument doc, final SignatureImageParameters params) {
+		PDPage page = doc.getPage(params.getPage() - 1);
+		PDRectangle mediaBox = page.getMediaBox();
+		StringBuilder sb = new StringBuilder();
+		sb.append(mediaBox.getWidth()).append('|').append(mediaBox.getHeight()).append('|').append(page.getRotation()).append('|');
+		PdfPreparedSignatureCache.appendImageParameters(sb, params);
+		return sb.toString();
+	}
+
+	private byte[] createTemplate(final PDDocument doc, final SignatureImageParameters params) throws IOException {
+		try (PDDocument template = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+			PDPage page = doc.getPage(params.getPage() - 1);
+			PDPage templatePage = new PDPage(page.getMediaBox());
+			template.addPage(templatePage);
+
+			SignatureImageTextParameters textParameters = params.getTextParameters();
+			int dpi = ImageUtils.getDpi(params.getDpi());
+
+			TextBlock text = null;
+			if ((textParameters != null) && Utils.isStringNotEmpty(textParameters.getText())) {
+				text = new TextBlock(loadFont(template, textParameters), textParameters, TEXT_MARGIN * ImageTextWriter.PDF_DEFAULT_DPI / dpi);
+			}
+
+			PDImageXObject image = null;
+			float imageWidth = 0;
+			float imageHeight = 0;
+			DSSDocument imageDocument = params.getImage();
+			if (imageDocument != null) {
+				image = PDImageXObject.createFromByteArray(template, DSSUtils.toByteArray(imageDocument), imageDocument.getName());
+				if (text != null) {
+					// same scale as the image merged with the text
+					imageWidth = image.getWidth() * ImageTextWriter.PDF_DEFAULT_DPI / (float) dpi;
+					imageHeight = image.getHeight() * ImageTextWriter.PDF_DEFAULT_DPI / (float) dpi;
+				} else {
+					ImageAndResolution ires = ImageUtils.readAndDisplayMetadata(imageDocument);
+					imageWidth = ires.toXPoint(image.getWidth());
+					imageHeight = ires.toYPoint(image.getHeight());
+				}
+			}
+
+			if (text == null && image == null) {
+				throw new DSSException("The visual signature requires a text or an image");
+			}
+
+			PDAppearanceStream appearanceStream = new PDAppearanceStream(template);
+			appearanceStream.setResources(new PDResources());
+			float width = draw(template, appearanceStream, params, text, image, imageWidth, imageHeight);
+			float height = appearanceStream.getBBox().getHeight();
+
+			int rotate = SignatureImageAndPositionProcessor.getRotation(params.getRotation(), page);
+			if (rotate % 360 != 0) {
+				// clockwise rotation as ImageUtils.rotate (the appearance is fitted in the widget rectangle)
+				appearanceStream.setMatrix(AffineTransform.getRotateInstance(Math.toRadians(-rotate)));
+				if (rotate % 180 != 0) {
+					float tmp = width;
+					width = height;
+					height = tmp;
+				}
+			}
+
+			SignatureImageAndPosition position = SignatureImageAndPositionProcessor.process(params, doc, width, height);
+			if ((params.getWidth() != 0) && (params.getHeight() != 0)) {
+				width = params.getWidth();
+				height = params.getHeight();
+			}
+			float zoom = params.getZoom() / 100f;
+			width *= zoom;
+			height *= zoom;
+
+			// the y position is computed from the top of the page
+			float pageHeight = page.getMediaBox().getHeight();
+			PDRectangle rectangle = new PDRectangle(position.getX(), pageHeight - position.getY() - height, width, height);
+
+			PDAcroForm acroForm = new PDAcroForm(template);
+			template.getDocumentCatalog().setAcroForm(acroForm);
+			acroForm.getCOSObject().setDirect(true);
+			acroForm.setSignaturesExist(true);
+			acroForm.setAppendOnly(true);
+
+			PDSignatureField signatureField = new PDSignatureField(acroForm);
+			acroForm.getFields().add(signatureField);
+
+			PDAnnotationWidget widget = signatureField.getWidgets().get(0);
+			widget.getCOSObject().setItem(COSName.TYPE, COSName.ANNOT);
+			widget.setRectangle(rectangle);
+			widget.setPage(templatePage);
+			templatePage.getAnnotations().add(widget);
+
+			PDAppearanceDictionary appearance = new PDAppearanceDictionary();
+			appearance.getCOSObject().setDirect(true);
+			appearance.setNormalAppearance(appearanceStream);
+			widget.setAppearance(appearance);
+
+			// the embedded fonts are subset during the save
+			template.save(baos);
+			return baos.toByteArray();
+		}
+	}
+
+	/**
+	 * Draws the text and the image in the appearance stream (same layout as the merged images of
+	 * {@code ImageUtils}) and defines its bounding box
+	 *
+	 * @return the width of the appearance
+	 */
+	private float draw(PDDocument template, PDAppearanceStream appearanceStream, SignatureImageParameters params, TextBlock text, PDImageXObject image,
+			float imageWidth, float imageHeight) throws IOException {
+		float width;
+		float height;
+		float textX = 0;
+		float textY = 0;
+		float imageX = 0;
+		float imageY = 0;
+
+		if (text == null) {
+			width = imageWidth;
+			height = imageHeight;
+		} else if (image == null) {
+			width = text.width;
+			height = text.height;
+		} else {
+			switch (params.getTextParameters().getSignerNamePosition()) {
+			case LEFT:
+			case RIGHT:
+				width = imageWidth + text.width;
+				height = Math.max(imageHeight, text.height);
+				boolean imageOnLeft = SignatureImageTextParameters.SignerPosition.LEFT.equals(params.getTextParameters().getSignerNamePosition());
+				imageX = imageOnLeft ? 0 : text.width;
+				textX = imageOnLeft ? imageWidth : 0;
+				imageY = getVerticalPosition(params.getSignerTextImageVerticalAlignment(), height, imageHeight);
+				textY = getVerticalPosition(params.getSignerTextImageVerticalAlignment(), height, text.height);
+				break;
+			case TOP:
+			case BOTTOM:
+				width = Math.max(imageWidth, text.width);
+				height = imageHeight + text.height;
+				boolean textOnTop = SignatureImageTextParameters.SignerPosition.TOP.equals(params.getTextParameters().getSignerNamePosition());
+				imageX = (width - imageWidth) / 2;
+				textX = (width - text.width) / 2;
+				imageY = textOnTop ? 0 : text.height;
+				textY = textOnTop ? imageHeight : 0;
+				break;
+			default:
+				throw new DSSException("Unsupported SignerPosition : " + params.getTextParameters().getSignerNamePosition());
+			}
+		}
+		appearanceStream.setBBox(new PDRectangle(width, height));
+
+		try (PDPageContentStream cs = new PDPageContentStream(template, appearanceStream)) {
+			if (text != null) {
+				Color backgroundColor = text.parameters.getBackgroundColor();
+				if (backgroundColor != null && backgroundColor.getAlpha() > 0) {
+					cs.setNonStrokingColor(backgroundColor);
+					cs.addRect(0, 0, width, height);
+					cs.fill();
+				}
+			}
+			if (image != null) {
+				cs.drawImage(image, imageX, imageY, imageWidth, imageHeight);
+			}
+			if (text != null) {
+				text.draw(cs, textX, textY);
+			}
+		}
+		return width;
+	}
+
+	private float getVerticalPosition(SignatureImageParameters.SignerTextImageVerticalAlignment alignment, float totalHeight, float height) {
+		switch (alignment) {
+		case TOP:
+			return totalHeight - height;
+		case MIDDLE:
+			return (totalHeight - height) / 2;
+		case BOTTOM:
+			return 0;
+		default:
+			throw new DSSException("Unsupported SignerTextImageVerticalAlignment : " + alignment);
+		}
+	}
+
+	private PDFont loadFont(PDDocument template, SignatureImageTextParameters textParameters) throws IOException {
+		DSSDocument embeddedFont = textParameters.getEmbeddedFont();
+		if (embeddedFont != null) {
+			try (InputStream is = embeddedFont.openStream()) {
+				return PDType0Font.load(template, is, true);
+			}
+		}
+
+		Font font = textParameters.getFont();
+		String name = font.getName().toLowerCase();
+		boolean bold = font.isBold();
+		boolean italic = font.isItalic();
+		if (name.contains("mono") || name.contains("courier")) {
+			return bold ? (italic ? PDType1Font.COURIER_BOLD_OBLIQUE : PDType1Font.COURIER_BOLD)
+					: (italic ? PDType1Font.COURIER_OBLIQUE : PDType1Font.COURIER);
+		} else if ((name.contains("serif") && !name.contains("sans")) || name.contains("times")) {
+			return bold ? (italic ? PDType1Font.TIMES_BOLD_ITALIC : PDType1Font.TIMES_BOLD) : (italic ? PDType1Font.TIMES_ITALIC : PDType1Font.TIMES_ROMAN);
+		}
+		return bold ? (italic ? PDType1Font.HELVETICA_BOLD_OBLIQUE : PDType1Font.HELVETICA_BOLD)
+				: (italic ? PDType1Font.HELVETICA_OBLIQUE : PDType1Font.HELVETICA);
+	}
+
+	private static class TextBlock {
+
+		private final PDFont font;
+		private final SignatureImageTextParameters parameters;
+		private final float margin;
+		private final float fontSize;
+		private final String[] lines;
+		private final float[] lineWidths;
+		private final float ascent;
+		private final float lineHeight;
+		private final float width;
+		private final float height;
+
+		private TextBlock(PDFont font, SignatureImageTextParameters parameters, float margin) throws IOException {
+			this.font = font;
+			this.parameters = parameters;
+			this.margin = margin;
+			this.fontSize = parameters.getFont().getSize2D();
+			this.lines = parameters.getText().split("\n");
+
+			PDFontDescriptor fontDescriptor = font.getFontDescriptor();
+			if (fontDescriptor != null && fontDescriptor.getAscent() != 0) {
+				ascent = fontDescriptor.getAscent() / 1000 * fontSize;
+				lineHeight = ascent - (fontDescriptor.getDescent() / 1000 * fontSize);
+			} else {
+				BoundingBox boundingBox = font.getBoundingBox();
+				ascent = boundingBox.getUpperRightY() / 1000 * fontSize;
+				lineHeight = boundingBox.getHeight() / 1000 * fontSize;
+			}
+
+			lineWidths = new float[lines.length];
+			float maxWidth = 0;
+			for (int i = 0; i < lines.length; i++) {
+				try {
+					lineWidths[i] = font.getStringWidth(lines[i]) / 1000 * fontSize;
+				} catch (IllegalArgumentException e) {
+					throw new DSSException("The text cannot be written with the font '" + font.getName() + "' (an embedded font is required) : "
+							+ e.getMessage(), e);
+				}
+				maxWidth = Math.max(maxWidth, lineWidths[i]);
+			}
+			width = maxWidth + margin;
+			height = (lineHeight * lines.length) + margin;
+		}
+
+		private void draw(PDPageContentStream cs, float x, float y) throws IOException {
+			Color textColor = parameters.getTextColor();
+			cs.setNonStrokingColor(textColor == null ? Color.BLACK : textColor);
+			cs.beginText();
+			cs.setFont(font, fontSize);
+			float baseline = y + height - (margin / 2) - ascent;
+			for (int i = 0; i < lines.length; i++) {
+				float lineX = x + (margin / 2); // left alignment
+				if (parameters.getSignerTextHorizontalAlignment() != null) {
+					switch (parameters.getSignerTextHorizontalAlignment()) {
+					case RIGHT:
+						lineX = x + width - (margin / 2) - lineWidths[i];
+						break;
+					case CENTER:
+						lineX = x + (width - lineWidths[i]) / 2;
+						break;
+					default:
+						break;
+					}
+				}
+				cs.setTextMatrix(Matrix.getTranslateInstance(lineX, baseline));
+				cs.showText(lines[i]);
+				baseline -= lineHeight;
+			}
+			cs.endText();
+		}
+
+	}
+
+}
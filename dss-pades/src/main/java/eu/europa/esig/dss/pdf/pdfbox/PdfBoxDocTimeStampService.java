@@ -36,6 +36,7 @@ import eu.europa.esig.dss.TimestampParameters;
 import eu.europa.esig.dss.pades.PAdESSignatureParameters;
 import eu.europa.esig.dss.pades.SignatureImageParameters;
 import eu.europa.esig.dss.pdf.PDFTimestampService;
+import eu.europa.esig.dss.pdf.PdfPreparedSignature;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.x509.tsp.TSPSource;
 
@@ -73,6 +74,12 @@ class PdfBoxDocTimeStampService extends PdfBoxSignatureService implements PDFTim
 		TimestampParameters signatureTimestampParameters = parameters.getSignatureTimestampParameters();
 		byte[] encoded = signatureTimestampParameters.getEncodedTimeStampToken();
 		final DigestAlgorithm timestampDigestAlgorithm = signatureTimestampParameters.getDigestAlgorithm();
+		if (encoded == null && temporaryDirectory == null) {
+			// single pass : the timestamp is injected in the prepared revision
+			final PdfPreparedSignature preparedSignature = prepareSignature(document, parameters, timestampDigestAlgorithm);
+			final TimeStampToken timeStampToken = tspSource.getTimeStampResponse(timestampDigestAlgorithm, preparedSignature.getDigest());
+			return preparedSignature.injectSignature(DSSASN1Utils.getEncoded(timeStampToken));
+		}
 		if (encoded == null) {
 			final byte[] digest = digest(document, parameters, timestampDigestAlgorithm);
 			final TimeStampToken timeStampToken = tspSource.getTimeStampResponse(timestampDigestAlgorithm, digest);
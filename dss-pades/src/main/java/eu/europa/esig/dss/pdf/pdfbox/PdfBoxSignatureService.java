@@ -20,7 +20,10 @@
  */
 package eu.europa.esig.dss.pdf.pdfbox;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -41,6 +44,7 @@ import org.apache.pdfbox.cos.COSDictionary;
 import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.cos.COSStream;
 import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDResources;
@@ -62,6 +66,7 @@ import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.FileDocument;
 import eu.europa.esig.dss.InMemoryDocument;
 import eu.europa.esig.dss.MimeType;
 import eu.europa.esig.dss.pades.CertificationPermission;
@@ -74,6 +79,8 @@ import eu.europa.esig.dss.pdf.DSSDictionaryCallback;
 import eu.europa.esig.dss.pdf.PDFSignatureService;
 import eu.europa.esig.dss.pdf.PdfDict;
 import eu.europa.esig.dss.pdf.PdfDssDict;
+import eu.europa.esig.dss.pdf.PdfPreparedSignature;
+import eu.europa.esig.dss.pdf.PdfPreparedSignatureCache;
 import eu.europa.esig.dss.pdf.PdfSignatureInfo;
 import eu.europa.esig.dss.pdf.PdfSignatureOrDocTimestampInfo;
 import eu.europa.esig.dss.pdf.PdfSignatureOrDocTimestampInfoComparator;
@@ -91,6 +98,10 @@ class PdfBoxSignatureService implements PDFSignatureService {
 
 	protected PdfBoxVisibleSignatureDrawer visibleSignatureDrawer = new DefaultPdfBoxVisibleSignatureDrawer();
 
+	private PdfPreparedSignatureCache preparedSignatureCache;
+
+	protected File temporaryDirectory;
+
 	/**
 	 * This method allows to inject a custom {@Code PdfBoxVisibleSignatureDrawer}
 	 * 
@@ -102,14 +113,34 @@ class PdfBoxSignatureService implements PDFSignatureService {
 		this.visibleSignatureDrawer = visibleSignatureDrawer;
 	}
 
+	@Override
+	public void setPreparedSignatureCache(PdfPreparedSignatureCache preparedSignatureCache) {
+		this.preparedSignatureCache = preparedSignatureCache;
+	}
+
+	@Override
+	public void setTemporaryDirectory(File temporaryDirectory) {
+		this.temporaryDirectory = temporaryDirectory;
+	}
+
 	@Override
 	public byte[] digest(final DSSDocument toSignDocument, final PAdESSignatureParameters parameters, final DigestAlgorithm digestAlgorithm)
 			throws DSSException {
 
+		if (preparedSignatureCache != null) {
+			final String key = PdfPreparedSignatureCache.getKey(toSignDocument, parameters, digestAlgorithm);
+			PdfPreparedSignature preparedSignature = preparedSignatureCache.get(key);
+			if (preparedSignature == null) {
+				preparedSignature = prepareSignature(toSignDocument, parameters, digestAlgorithm);
+				preparedSignatureCache.put(key, preparedSignature);
+			} else {
+				LOG.debug("Prepared signature revision found in the cache");
+			}
+			return preparedSignature.getDigest();
+		}
+
 		final byte[] signatureValue = DSSUtils.EMPTY_BYTE_ARRAY;
-		try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-				InputStream is = toSignDocument.openStream();
-				PDDocument pdDocument = PDDocument.load(is)) {
+		try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream(); PDDocument pdDocument = loadDocument(toSignDocument)) {
 
 			PDSignature pdSignature = createSignatureDictionary(parameters, pdDocument);
 			return signDocumentAndReturnDigest(parameters, signatureValue, outputStream, pdDocument, pdSignature, digestAlgorithm);
@@ -118,22 +149,107 @@ class PdfBoxSignatureService implements PDFSignatureService {
 		}
 	}
 
+	/**
+	 * Writes the new revision with a zero-filled /Contents and keeps the produced bytes
+	 */
+	PdfPreparedSignature prepareSignature(final DSSDocument toSignDocument, final PAdESSignatureParameters parameters,
+			final DigestAlgorithm digestAlgorithm) throws DSSException {
+
+		final byte[] signatureValue = DSSUtils.EMPTY_BYTE_ARRAY;
+		try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream(); PDDocument pdDocument = loadDocument(toSignDocument)) {
+
+			PDSignature pdSignature = createSignatureDictionary(parameters, pdDocument);
+			byte[] digest = signDocumentAndReturnDigest(parameters, signatureValue, outputStream, pdDocument, pdSignature, digestAlgorithm);
+			return new PdfPreparedSignature(outputStream.toByteArray(), pdSignature.getByteRange(), digest);
+		} catch (IOException e) {
+			throw new DSSException(e);
+		}
+	}
+
 	@Override
 	public DSSDocument sign(final DSSDocument toSignDocument, final byte[] signatureValue, final PAdESSignatureParameters parameters,
 			final DigestAlgorithm digestAlgorithm) throws DSSException {
 
-		try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-				InputStream is = toSignDocument.openStream();
-				PDDocument pdDocument = PDDocument.load(is)) {
+		if (preparedSignatureCache != null) {
+			final String key = PdfPreparedSignatureCache.getKey(toSignDocument, parameters, digestAlgorithm);
+			PdfPreparedSignature preparedSignature = preparedSignatureCache.remove(key);
+			if (preparedSignature != null) {
+				LOG.debug("Injection of the CMS in the prepared signature revision");
+				return preparedSignature.injectSignature(signatureValue);
+			}
+		}
+
+		final File outputFile = createTemporaryFile();
+		try (OutputStream os = createOutputStream(outputFile); PDDocument pdDocument = loadDocument(toSignDocument)) {
 
 			final PDSignature pdSignature = createSignatureDictionary(parameters, pdDocument);
-			signDocumentAndReturnDigest(parameters, signatureValue, baos, pdDocument, pdSignature, digestAlgorithm);
+			signDocumentAndReturnDigest(parameters, signatureValue, os, pdDocument, pdSignature, digestAlgorithm);
 
-			DSSDocument signature = new InMemoryDocument(baos.toByteArray());
-			signature.setMimeType(MimeType.PDF);
-			return signature;
+			return createDocument(outputFile, os);
 		} catch (IOException e) {
+			deleteTemporaryFile(outputFile);
 			throw new DSSException(e);
+		} catch (DSSException e) {
+			deleteTemporaryFile(outputFile);
+			throw e;
+		}
+	}
+
+	/**
+	 * Loads the PDF document. If a temporary directory is defined, the parsed document is buffered in temporary files
+	 * (and a {@code FileDocument} is read with random access instead of being copied in memory).
+	 */
+	private PDDocument loadDocument(final DSSDocument document) throws IOException {
+		if (temporaryDirectory == null) {
+			try (InputStream is = document.openStream()) {
+				return PDDocument.load(is);
+			}
+		}
+		final MemoryUsageSetting memoryUsageSetting = MemoryUsageSetting.setupTempFileOnly().setTempDir(temporaryDirectory);
+		if (document instanceof FileDocument) {
+			return PDDocument.load(new File(document.getAbsolutePath()), memoryUsageSetting);
+		}
+		try (InputStream is = document.openStream()) {
+			return PDDocument.load(is, memoryUsageSetting);
+		}
+	}
+
+	/**
+	 * Returns a new temporary file to store the incremental update or null if the documents are kept in memory
+	 */
+	private File createTemporaryFile() throws DSSException {
+		if (temporaryDirectory == null) {
+			return null;
+		}
+		try {
+			return File.createTempFile("dss-pades-", ".pdf", temporaryDirectory);
+		} catch (IOException e) {
+			throw new DSSException("Unable to create a temporary file in '" + temporaryDirectory.getAbsolutePath() + "'", e);
+		}
+	}
+
+	private OutputStream createOutputStream(final File outputFile) throws IOException {
+		if (outputFile == null) {
+			return new ByteArrayOutputStream();
+		}
+		return new BufferedOutputStream(new FileOutputStream(outputFile));
+	}
+
+	private DSSDocument createDocument(final File outputFile, final OutputStream os) throws IOException {
+		os.flush();
+		DSSDocument document;
+		if (outputFile == null) {
+			document = new InMemoryDocument(((ByteArrayOutputStream) os).toByteArray());
+		} else {
+			document = new FileDocument(outputFile);
+		}
+		document.setMimeType(MimeType.PDF);
+		return document;
+	}
+
+	private void deleteTemporaryFile(final File file) {
+		if (file != null && !file.delete()) {
+			LOG.warn("Unable to delete the temporary file '{}'", file.getAbsolutePath());
 		}
 	}
 
@@ -159,7 +275,7 @@ class PdfBoxSignatureService implements PDFSignatureService {
 			};
 
 			options.setPreferredSignatureSize(parameters.getSignatureSize());
-			if (parameters.getSignatureImageParameters() != null) {
+			if (parameters.getSignatureImageParameters() != null && visibleSignatureDrawer instanceof DefaultPdfBoxVisibleSignatureDrawer) {
 				fillImageParameters(pdDocument, parameters.getSignatureImageParameters(), options);
 			}
 			pdDocument.addSignature(pdSignature, signatureInterface, options);
@@ -515,7 +631,8 @@ class PdfBoxSignatureService implements PDFSignatureService {
 
 	@Override
 	public DSSDocument addDssDictionary(DSSDocument document, List<DSSDictionaryCallback> callbacks) {
-		try (ByteArrayOutputStream baos = new ByteArrayOutputStream(); InputStream is = document.openStream(); PDDocument pdDocument = PDDocument.load(is)) {
+		final File outputFile = createTemporaryFile();
+		try (OutputStream os = createOutputStream(outputFile); PDDocument pdDocument = loadDocument(document)) {
 
 			if (Utils.isCollectionNotEmpty(callbacks)) {
 				final COSDictionary cosDictionary = pdDocument.getDocumentCatalog().getCOSObject();
@@ -523,13 +640,12 @@ class PdfBoxSignatureService implements PDFSignatureService {
 				cosDictionary.setNeedToBeUpdated(true);
 			}
 
-			pdDocument.saveIncremental(baos);
+			pdDocument.saveIncremental(os);
 
-			DSSDocument inMemoryDocument = new InMemoryDocument(baos.toByteArray());
-			inMemoryDocument.setMimeType(MimeType.PDF);
-			return inMemoryDocument;
+			return createDocument(outputFile, os);
 
 		} catch (Exception e) {
+			deleteTemporaryFile(outputFile);
 			throw new DSSException(e);
 		}
 	}
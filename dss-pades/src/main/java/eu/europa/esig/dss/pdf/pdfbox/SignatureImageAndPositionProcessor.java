@@ -36,8 +36,10 @@ public class SignatureImageAndPositionProcessor {
 				visualImageSignature = ImageUtils.rotate(visualImageSignature, rotate);
 			}
 
-			float x = processX(rotate, ires, visualImageSignature, pdPage, signatureImageParameters);
-			float y = processY(rotate, ires, visualImageSignature, pdPage, signatureImageParameters);
+			float width = ires.toXPoint(visualImageSignature.getWidth());
+			float height = ires.toYPoint(visualImageSignature.getHeight());
+			float x = processX(rotate, width, height, pdPage, signatureImageParameters);
+			float y = processY(rotate, width, height, pdPage, signatureImageParameters);
 
 			ByteArrayOutputStream visualImageSignatureOutputStream = new ByteArrayOutputStream();
 			String imageType = "jpg";
@@ -50,23 +52,45 @@ public class SignatureImageAndPositionProcessor {
 		}
     }
 
-    private static float processX(int rotate, ImageAndResolution ires, BufferedImage visualImageSignature, PDPage pdPage, SignatureImageParameters signatureImageParameters) {
+    /**
+     * Computes the position of a visual signature which is not an image (eg : drawn with PDF operators)
+     *
+     * @param signatureImageParameters
+     *            the visual signature parameters
+     * @param doc
+     *            the PDF document
+     * @param width
+     *            the width in points of the visual signature (after the rotation)
+     * @param height
+     *            the height in points of the visual signature (after the rotation)
+     * @return the position (without image)
+     */
+    public static SignatureImageAndPosition process(final SignatureImageParameters signatureImageParameters, final PDDocument doc, final float width,
+            final float height) {
+        PDPage pdPage = doc.getPages().get(signatureImageParameters.getPage() - 1);
+        int rotate = getRotation(signatureImageParameters.getRotation(), pdPage);
+        float x = processX(rotate, width, height, pdPage, signatureImageParameters);
+        float y = processY(rotate, width, height, pdPage, signatureImageParameters);
+        return new SignatureImageAndPosition(x, y, null);
+    }
+
+    private static float processX(int rotate, float width, float height, PDPage pdPage, SignatureImageParameters signatureImageParameters) {
         float x;
 
         PDRectangle mediaBox = pdPage.getMediaBox();
 
         switch (rotate) {
             case ANGLE_90:
-                x = processXAngle90(mediaBox, ires, signatureImageParameters, visualImageSignature);
+                x = processXAngle90(mediaBox, signatureImageParameters, width, height);
                 break;
             case ANGLE_180:
-                x = processXAngle180(mediaBox, ires, signatureImageParameters, visualImageSignature);
+                x = processXAngle180(mediaBox, signatureImageParameters, width, height);
                 break;
             case ANGLE_270:
-                x = processXAngle270(mediaBox, ires, signatureImageParameters, visualImageSignature);
+                x = processXAngle270(mediaBox, signatureImageParameters, width, height);
                 break;
             case ANGLE_360:
-                x = processXAngle360(mediaBox, ires, signatureImageParameters, visualImageSignature);
+                x = processXAngle360(mediaBox, signatureImageParameters, width, height);
                 break;
             default:
                 throw new IllegalStateException(SUPPORTED_ANGLES_ERROR_MESSAGE);
@@ -75,23 +99,23 @@ public class SignatureImageAndPositionProcessor {
         return x;
     }
 
-    private static float processY(int rotate, ImageAndResolution ires, BufferedImage visualImageSignature, PDPage pdPage, SignatureImageParameters signatureImageParameters) {
+    private static float processY(int rotate, float width, float height, PDPage pdPage, SignatureImageParameters signatureImageParameters) {
         float y;
 
         PDRectangle mediaBox = pdPage.getMediaBox();
 
         switch (rotate) {
             case ANGLE_90:
-                y = processYAngle90(mediaBox, ires, signatureImageParameters, visualImageSignature);
+                y = processYAngle90(mediaBox, signatureImageParameters, width, height);
                 break;
             case ANGLE_180:
-                y = processYAngle180(mediaBox, ires, signatureImageParameters, visualImageSignature);
+                y = processYAngle180(mediaBox, signatureImageParameters, width, height);
                 break;
             case ANGLE_270:
-                y = processYAngle270(mediaBox, ires, signatureImageParameters, visualImageSignature);
+                y = processYAngle270(mediaBox, signatureImageParameters, width, height);
                 break;
             case ANGLE_360:
-                y = processYAngle360(mediaBox, ires, signatureImageParameters, visualImageSignature);
+                y = processYAngle360(mediaBox, signatureImageParameters, width, height);
                 break;
             default:
                 throw new IllegalStateException(SUPPORTED_ANGLES_ERROR_MESSAGE);
@@ -100,7 +124,7 @@ public class SignatureImageAndPositionProcessor {
         return y;
     }
 
-    private static float processXAngle90(PDRectangle mediaBox, ImageAndResolution ires, SignatureImageParameters signatureImageParameters, BufferedImage visualImageSignature) {
+    private static float processXAngle90(PDRectangle mediaBox, SignatureImageParameters signatureImageParameters, float width, float height) {
         float x;
 
         SignatureImageParameters.VisualSignatureAlignmentVertical alignmentVertical = getVisualSignatureAlignmentVertical(signatureImageParameters);
@@ -108,10 +132,10 @@ public class SignatureImageAndPositionProcessor {
         switch (alignmentVertical) {
             case TOP:
             case NONE:
-                x = mediaBox.getWidth() - ires.toXPoint(visualImageSignature.getWidth()) - signatureImageParameters.getyAxis();
+                x = mediaBox.getWidth() - width - signatureImageParameters.getyAxis();
                 break;
             case MIDDLE:
-                x = (mediaBox.getWidth() - ires.toXPoint(visualImageSignature.getWidth())) / 2;
+                x = (mediaBox.getWidth() - width) / 2;
                 break;
             case BOTTON:
                 x = signatureImageParameters.getyAxis();
@@ -123,7 +147,7 @@ public class SignatureImageAndPositionProcessor {
         return x;
     }
 
-    private static float processXAngle180(PDRectangle mediaBox, ImageAndResolution ires, SignatureImageParameters signatureImageParameters, BufferedImage visualImageSignature) {
+    private static float processXAngle180(PDRectangle mediaBox, SignatureImageParameters signatureImageParameters, float width, float height) {
         float x;
 
         SignatureImageParameters.VisualSignatureAlignmentHorizontal alignmentHorizontal = getVisualSignatureAlignmentHorizontal(signatureImageParameters);
@@ -131,10 +155,10 @@ public class SignatureImageAndPositionProcessor {
         switch (alignmentHorizontal) {
             case LEFT:
             case NONE:
-                x = mediaBox.getWidth() - ires.toXPoint(visualImageSignature.getWidth()) - signatureImageParameters.getxAxis();
+                x = mediaBox.getWidth() - width - signatureImageParameters.getxAxis();
                 break;
             case CENTER:
-                x = (mediaBox.getWidth() - ires.toXPoint(visualImageSignature.getWidth())) / 2;
+                x = (mediaBox.getWidth() - width) / 2;
                 break;
             case RIGHT:
                 x = signatureImageParameters.getxAxis();
@@ -146,7 +170,7 @@ public class SignatureImageAndPositionProcessor {
         return x;
     }
 
-    private static float processXAngle270(PDRectangle mediaBox, ImageAndResolution ires, SignatureImageParameters signatureImageParameters, BufferedImage visualImageSignature) {
+    private static float processXAngle270(PDRectangle mediaBox, SignatureImageParameters signatureImageParameters, float width, float height) {
         float x;
 
         SignatureImageParameters.VisualSignatureAlignmentVertical alignmentVertical = getVisualSignatureAlignmentVertical(signatureImageParameters);
@@ -157,10 +181,10 @@ public class SignatureImageAndPositionProcessor {
                 x = signatureImageParameters.getyAxis();
                 break;
             case MIDDLE:
-                x = (mediaBox.getWidth() - ires.toXPoint(visualImageSignature.getWidth())) / 2;
+                x = (mediaBox.getWidth() - width) / 2;
                 break;
             case BOTTON:
-                x = mediaBox.getWidth() - ires.toXPoint(visualImageSignature.getWidth()) - signatureImageParameters.getyAxis();
+                x = mediaBox.getWidth() - width - signatureImageParameters.getyAxis();
                 break;
             default:
                 throw new IllegalStateException(SUPPORTED_VERTICAL_ALIGNMENT_ERROR_MESSAGE + alignmentVertical.name());
@@ -169,7 +193,7 @@ public class SignatureImageAndPositionProcessor {
         return x;
     }
 
-    private static float processXAngle360(PDRectangle mediaBox, ImageAndResolution ires, SignatureImageParameters signatureImageParameters, BufferedImage visualImageSignature) {
+    private static float processXAngle360(PDRectangle mediaBox, SignatureImageParameters signatureImageParameters, float width, float height) {
         float x;
 
         SignatureImageParameters.VisualSignatureAlignmentHorizontal alignmentHorizontal = getVisualSignatureAlignmentHorizontal(signatureImageParameters);
@@ -180,10 +204,10 @@ public class SignatureImageAndPositionProcessor {
                 x = signatureImageParameters.getxAxis();
                 break;
             case CENTER:
-                x = (mediaBox.getWidth() - ires.toXPoint(visualImageSignature.getWidth())) / 2;
+                x = (mediaBox.getWidth() - width) / 2;
                 break;
             case RIGHT:
-                x = mediaBox.getWidth() -ires.toXPoint(visualImageSignature.getWidth()) - signatureImageParameters.getxAxis();
+                x = mediaBox.getWidth() -width - signatureImageParameters.getxAxis();
                 break;
             default:
                 throw new IllegalStateException(SUPPORTED_HORIZONTAL_ALIGNMENT_ERROR_MESSAGE + alignmentHorizontal.name());
@@ -192,7 +216,7 @@ public class SignatureImageAndPositionProcessor {
         return x;
     }
 
-    private static float processYAngle90(PDRectangle mediaBox, ImageAndResolution ires, SignatureImageParameters signatureImageParameters, BufferedImage visualImageSignature) {
+    private static float processYAngle90(PDRectangle mediaBox, SignatureImageParameters signatureImageParameters, float width, float height) {
         float y;
 
         SignatureImageParameters.VisualSignatureAlignmentHorizontal alignmentHorizontal = getVisualSignatureAlignmentHorizontal(signatureImageParameters);
@@ -203,10 +227,10 @@ public class SignatureImageAndPositionProcessor {
                 y = signatureImageParameters.getxAxis();
                 break;
             case CENTER:
-                y = (mediaBox.getHeight() - ires.toXPoint(visualImageSignature.getHeight())) / 2;
+                y = (mediaBox.getHeight() - height) / 2;
                 break;
             case RIGHT:
-                y = mediaBox.getHeight() - ires.toYPoint(visualImageSignature.getHeight()) - signatureImageParameters.getxAxis();
+                y = mediaBox.getHeight() - height - signatureImageParameters.getxAxis();
                 break;
             default:
                 throw new IllegalStateException(SUPPORTED_HORIZONTAL_ALIGNMENT_ERROR_MESSAGE + alignmentHorizontal.name());
@@ -215,7 +239,7 @@ public class SignatureImageAndPositionProcessor {
         return y;
     }
 
-    private static float processYAngle180(PDRectangle mediaBox, ImageAndResolution ires, SignatureImageParameters signatureImageParameters, BufferedImage visualImageSignature) {
+    private static float processYAngle180(PDRectangle mediaBox, SignatureImageParameters signatureImageParameters, float width, float height) {
         float y;
 
         SignatureImageParameters.VisualSignatureAlignmentVertical alignmentVertical = getVisualSignatureAlignmentVertical(signatureImageParameters);
@@ -223,10 +247,10 @@ public class SignatureImageAndPositionProcessor {
         switch (alignmentVertical) {
             case TOP:
             case NONE:
-                y = mediaBox.getHeight() - ires.toYPoint(visualImageSignature.getHeight()) - signatureImageParameters.getyAxis();
+                y = mediaBox.getHeight() - height - signatureImageParameters.getyAxis();
                 break;
             case MIDDLE:
-                y = (mediaBox.getHeight() - ires.toYPoint(visualImageSignature.getHeight())) / 2;
+                y = (mediaBox.getHeight() - height) / 2;
                 break;
             case BOTTON:
                 y = signatureImageParameters.getyAxis();
@@ -238,7 +262,7 @@ public class SignatureImageAndPositionProcessor {
         return y;
     }
 
-    private static float processYAngle270(PDRectangle mediaBox, ImageAndResolution ires, SignatureImageParameters signatureImageParameters, BufferedImage visualImageSignature) {
+    private static float processYAngle270(PDRectangle mediaBox, SignatureImageParameters signatureImageParameters, float width, float height) {
         float y;
 
         SignatureImageParameters.VisualSignatureAlignmentHorizontal alignmentHorizontal = getVisualSignatureAlignmentHorizontal(signatureImageParameters);
@@ -246,10 +270,10 @@ public class SignatureImageAndPositionProcessor {
         switch (alignmentHorizontal) {
             case LEFT:
             case NONE:
-                y = mediaBox.getHeight() - ires.toYPoint(visualImageSignature.getHeight()) - signatureImageParameters.getxAxis();
+                y = mediaBox.getHeight() - height - signatureImageParameters.getxAxis();
                 break;
             case CENTER:
-                y = (mediaBox.getHeight() - ires.toXPoint(visualImageSignature.getHeight())) / 2;
+                y = (mediaBox.getHeight() - height) / 2;
                 break;
             case RIGHT:
                 y = signatureImageParameters.getxAxis();
@@ -261,7 +285,7 @@ public class SignatureImageAndPositionProcessor {
         return y;
     }
 
-    private static float processYAngle360(PDRectangle mediaBox, ImageAndResolution ires, SignatureImageParameters signatureImageParameters, BufferedImage visualImageSignature) {
+    private static float processYAngle360(PDRectangle mediaBox, SignatureImageParameters signatureImageParameters, float width, float height) {
         float y;
 
         SignatureImageParameters.VisualSignatureAlignmentVertical alignmentVertical = getVisualSignatureAlignmentVertical(signatureImageParameters);
@@ -272,10 +296,10 @@ public class SignatureImageAndPositionProcessor {
                 y = signatureImageParameters.getyAxis();
                 break;
             case MIDDLE:
-                y = (mediaBox.getHeight() - ires.toYPoint(visualImageSignature.getHeight())) / 2;
+                y = (mediaBox.getHeight() - height) / 2;
                 break;
             case BOTTON:
-                y = mediaBox.getHeight() - ires.toYPoint(visualImageSignature.getHeight()) - signatureImageParameters.getyAxis();
+                y = mediaBox.getHeight() - height - signatureImageParameters.getyAxis();
                 break;
             default:
                 throw new IllegalStateException(SUPPORTED_VERTICAL_ALIGNMENT_ERROR_MESSAGE + alignmentVertical.name());
@@ -306,7 +330,7 @@ public class SignatureImageAndPositionProcessor {
         return visualSignatureRotation != null && !SignatureImageParameters.VisualSignatureRotation.NONE.equals(visualSignatureRotation);
     }
 
-    private static int getRotation(SignatureImageParameters.VisualSignatureRotation visualSignatureRotation, PDPage pdPage) {
+    static int getRotation(SignatureImageParameters.VisualSignatureRotation visualSignatureRotation, PDPage pdPage) {
         int rotate = ANGLE_360;
 
         if(needRotation(visualSignatureRotation)) {
@@ -0,0 +1,157 @@
+package eu.europa.esig.dss.pades.signature;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Collections;
+import java.util.Date;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.oiw.OIWObjectIdentifiers;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoGeneratorBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.bouncycastle.tsp.TimeStampRequestGenerator;
+import org.bouncycastle.tsp.TimeStampToken;
+import org.bouncycastle.tsp.TimeStampTokenGenerator;
+import org.bouncycastle.util.CollectionStore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.SignatureLevel;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+import eu.europa.esig.dss.pades.PAdESSignatureParameters;
+import eu.europa.esig.dss.signature.PKIFactoryAccess;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.KeyStoreSignatureTokenConnection;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.wrapper.DiagnosticData;
+import eu.europa.esig.dss.x509.tsp.TSPSource;
+
+public class PAdESFileBackedExtensionTest extends PKIFactoryAccess {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void inMemory() throws Exception {
+		DSSDocument extended = signAndExtend(null);
+		assertEquals(2, getTimestampCount(extended));
+	}
+
+	@Test
+	public void fileBacked() throws Exception {
+		File temporaryDirectory = temporaryFolder.newFolder();
+		DSSDocument extended = signAndExtend(temporaryDirectory);
+
+		assertTrue(extended instanceof FileDocument);
+		assertEquals(temporaryDirectory.getAbsolutePath(), new File(extended.getAbsolutePath()).getParent());
+		// the intermediate revisions are deleted
+		assertEquals(1, temporaryDirectory.listFiles().length);
+		assertEquals(2, getTimestampCount(extended));
+	}
+
+	private DSSDocument signAndExtend(File temporaryDirectory) throws Exception {
+		DSSDocument toSignDocument = new FileDocument(new File("src/test/resources/sample.pdf"));
+
+		try (KeyStoreSignatureTokenConnection token = getToken()) {
+			DSSPrivateKeyEntry privateKeyEntry = token.getKey(getSigningAlias());
+
+			PAdESSignatureParameters parameters = new PAdESSignatureParameters();
+			parameters.setSigningCertificate(privateKeyEntry.getCertificate());
+			parameters.setCertificateChain(privateKeyEntry.getCertificateChain());
+			parameters.setSignatureLevel(SignatureLevel.PAdES_BASELINE_T);
+
+			PAdESService service = new PAdESService(getEmptyCertificateVerifier());
+			service.setTspSource(new SelfSignedTSPSource());
+			service.setTemporaryDirectory(temporaryDirectory);
+
+			ToBeSigned dataToSign = service.getDataToSign(toSignDocument, parameters);
+			SignatureValue signatureValue = token.sign(dataToSign, parameters.getDigestAlgorithm(), privateKeyEntry);
+			DSSDocument signedDocument = service.signDocument(toSignDocument, parameters, signatureValue);
+
+			PAdESSignatureParameters extensionParameters = new PAdESSignatureParameters();
+			extensionParameters.setSignatureLevel(SignatureLevel.PAdES_BASELINE_LTA);
+			DSSDocument extendedDocument = service.extendDocument(signedDocument, extensionParameters);
+			if (signedDocument instanceof FileDocument) {
+				assertTrue(new File(signedDocument.getAbsolutePath()).delete());
+			}
+			return extendedDocument;
+		}
+	}
+
+	private int getTimestampCount(DSSDocument document) {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(document);
+		validator.setCertificateVerifier(getEmptyCertificateVerifier());
+		DiagnosticData diagnosticData = validator.validateDocument().getDiagnosticData();
+		assertEquals(1, diagnosticData.getSignatureIdList().size());
+		return diagnosticData.getTimestampIdList(diagnosticData.getFirstSignatureId()).size();
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+	@SuppressWarnings("serial")
+	private static class SelfSignedTSPSource implements TSPSource {
+
+		private final transient TimeStampTokenGenerator generator;
+
+		private SelfSignedTSPSource() throws Exception {
+			KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+			keyPairGenerator.initialize(2048);
+			KeyPair keyPair = keyPairGenerator.generateKeyPair();
+
+			X500Name subject = new X500Name("CN=Self-signed TSA");
+			Date notBefore = new Date(System.currentTimeMillis() - 3600000);
+			Date notAfter = new Date(System.currentTimeMillis() + 3600000);
+			JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(subject, BigInteger.ONE, notBefore, notAfter, subject,
+					keyPair.getPublic());
+			builder.addExtension(Extension.extendedKeyUsage, true, new ExtendedKeyUsage(KeyPurposeId.id_kp_timeStamping));
+			ContentSigner signer = new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate());
+			X509CertificateHolder certificate = builder.build(signer);
+
+			generator = new TimeStampTokenGenerator(
+					new JcaSimpleSignerInfoGeneratorBuilder().build("SHA256withRSA", keyPair.getPrivate(), new JcaX509CertificateConverter().getCertificate(certificate)),
+					new JcaDigestCalculatorProviderBuilder().build().get(new AlgorithmIdentifier(OIWObjectIdentifiers.idSHA1)),
+					new ASN1ObjectIdentifier("1.2.3.4"));
+			generator.addCertificates(new CollectionStore<X509CertificateHolder>(Collections.singleton(certificate)));
+		}
+
+		@Override
+		public TimeStampToken getTimeStampResponse(DigestAlgorithm digestAlgorithm, byte[] digest) throws DSSException {
+			try {
+				TimeStampRequestGenerator requestGenerator = new TimeStampRequestGenerator();
+				requestGenerator.setCertReq(true);
+				synchronized (generator) {
+					return generator.generate(requestGenerator.generate(new ASN1ObjectIdentifier(digestAlgorithm.getOid()), digest), BigInteger.valueOf(System.nanoTime()),
+							new Date());
+				}
+			} catch (Exception e) {
+				throw new DSSException(e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,164 @@
+package eu.europa.esig.dss.pades.signature;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.io.File;
+import java.io.InputStream;
+import java.util.Iterator;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceStream;
+import org.apache.pdfbox.pdmodel.interactive.form.PDSignatureField;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.InMemoryDocument;
+import eu.europa.esig.dss.SignatureLevel;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+import eu.europa.esig.dss.pades.PAdESSignatureParameters;
+import eu.europa.esig.dss.pades.SignatureImageParameters;
+import eu.europa.esig.dss.pades.SignatureImageTextParameters;
+import eu.europa.esig.dss.pdf.PdfObjFactory;
+import eu.europa.esig.dss.pdf.pdfbox.PdfBoxNativeObjectFactory;
+import eu.europa.esig.dss.signature.PKIFactoryAccess;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.KeyStoreSignatureTokenConnection;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.wrapper.DiagnosticData;
+
+public class PAdESNativeVisibleSignatureTest extends PKIFactoryAccess {
+
+	@Before
+	public void init() {
+		PdfObjFactory.setInstance(new PdfBoxNativeObjectFactory());
+	}
+
+	@After
+	public void reset() {
+		PdfObjFactory.setInstance(null);
+	}
+
+	@Test
+	public void textAndImage() throws Exception {
+		SignatureImageParameters imageParameters = new SignatureImageParameters();
+		imageParameters.setImage(new FileDocument(new File("src/test/resources/signature-image.png")));
+		imageParameters.setxAxis(100);
+		imageParameters.setyAxis(100);
+		imageParameters.setRotation(SignatureImageParameters.VisualSignatureRotation.ROTATE_90);
+		SignatureImageTextParameters textParameters = new SignatureImageTextParameters();
+		textParameters.setText("My signature\nsecond line");
+		textParameters.setTextColor(Color.BLUE);
+		imageParameters.setTextParameters(textParameters);
+
+		Appearance appearance = getAppearance(sign(imageParameters));
+		assertNotNull(appearance.fontName);
+		assertTrue(appearance.withImage);
+		assertTrue(appearance.rotated);
+	}
+
+	@Test
+	public void sameStampOnSeveralDocuments() throws Exception {
+		SignatureImageParameters imageParameters = new SignatureImageParameters();
+		SignatureImageTextParameters textParameters = new SignatureImageTextParameters();
+		textParameters.setText("Signed by the company");
+		imageParameters.setTextParameters(textParameters);
+
+		for (int i = 0; i < 2; i++) {
+			Appearance appearance = getAppearance(sign(imageParameters));
+			// text only : no raster image
+			assertFalse(appearance.withImage);
+			assertEquals("Times-Roman", appearance.fontName);
+		}
+	}
+
+	@Test(expected = DSSException.class)
+	public void unsupportedCharactersWithStandardFont() throws Exception {
+		SignatureImageParameters imageParameters = new SignatureImageParameters();
+		SignatureImageTextParameters textParameters = new SignatureImageTextParameters();
+		textParameters.setText("Łukasz Škoda");
+		imageParameters.setTextParameters(textParameters);
+		sign(imageParameters);
+	}
+
+	@Test
+	public void embeddedFont() throws Exception {
+		SignatureImageParameters imageParameters = new SignatureImageParameters();
+		SignatureImageTextParameters textParameters = new SignatureImageTextParameters();
+		textParameters.setText("Łukasz Škoda");
+		try (InputStream is = PDDocument.class.getResourceAsStream("/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf")) {
+			textParameters.setEmbeddedFont(new InMemoryDocument(is, "LiberationSans-Regular.ttf"));
+		}
+		imageParameters.setTextParameters(textParameters);
+
+		Appearance appearance = getAppearance(sign(imageParameters));
+		// subset font : XXXXXX+LiberationSans
+		assertTrue(appearance.fontName.endsWith("+LiberationSans"));
+	}
+
+	private DSSDocument sign(SignatureImageParameters imageParameters) throws Exception {
+		DSSDocument toSignDocument = new FileDocument(new File("src/test/resources/sample.pdf"));
+		try (KeyStoreSignatureTokenConnection token = getToken()) {
+			DSSPrivateKeyEntry privateKeyEntry = token.getKey(getSigningAlias());
+
+			PAdESSignatureParameters parameters = new PAdESSignatureParameters();
+			parameters.setSigningCertificate(privateKeyEntry.getCertificate());
+			parameters.setCertificateChain(privateKeyEntry.getCertificateChain());
+			parameters.setSignatureLevel(SignatureLevel.PAdES_BASELINE_B);
+			parameters.setSignatureImageParameters(imageParameters);
+
+			PAdESService service = new PAdESService(getEmptyCertificateVerifier());
+			ToBeSigned dataToSign = service.getDataToSign(toSignDocument, parameters);
+			SignatureValue signatureValue = token.sign(dataToSign, parameters.getDigestAlgorithm(), privateKeyEntry);
+			DSSDocument signedDocument = service.signDocument(toSignDocument, parameters, signatureValue);
+
+			SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+			validator.setCertificateVerifier(getEmptyCertificateVerifier());
+			DiagnosticData diagnosticData = validator.validateDocument().getDiagnosticData();
+			assertTrue(diagnosticData.isBLevelTechnicallyValid(diagnosticData.getFirstSignatureId()));
+			return signedDocument;
+		}
+	}
+
+	private Appearance getAppearance(DSSDocument signedDocument) throws Exception {
+		try (InputStream is = signedDocument.openStream(); PDDocument pdDocument = PDDocument.load(is)) {
+			PDSignatureField signatureField = pdDocument.getSignatureFields().get(0);
+			PDAppearanceStream appearanceStream = signatureField.getWidgets().get(0).getNormalAppearanceStream();
+			assertNotNull(appearanceStream);
+
+			Appearance appearance = new Appearance();
+			PDResources resources = appearanceStream.getResources();
+			Iterator<COSName> fontNames = resources.getFontNames().iterator();
+			if (fontNames.hasNext()) {
+				appearance.fontName = resources.getFont(fontNames.next()).getName();
+			}
+			appearance.withImage = resources.getXObjectNames().iterator().hasNext();
+			appearance.rotated = appearanceStream.getCOSObject().containsKey(COSName.MATRIX);
+			return appearance;
+		}
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+	private static class Appearance {
+
+		private String fontName;
+		private boolean withImage;
+		private boolean rotated;
+
+	}
+
+}
@@ -0,0 +1,66 @@
+package eu.europa.esig.dss.pades.signature;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.SignatureLevel;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+import eu.europa.esig.dss.pades.PAdESSignatureParameters;
+import eu.europa.esig.dss.pdf.PdfPreparedSignatureCache;
+import eu.europa.esig.dss.signature.PKIFactoryAccess;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.KeyStoreSignatureTokenConnection;
+
+public class PAdESPreparedSignatureTest extends PKIFactoryAccess {
+
+	@Test
+	public void sameResultWithPreparedSignature() throws IOException {
+		DSSDocument toSignDocument = new FileDocument(new File("src/test/resources/sample.pdf"));
+		Date signingDate = new Date();
+
+		try (KeyStoreSignatureTokenConnection token = getToken()) {
+			DSSPrivateKeyEntry privateKeyEntry = token.getKey(getSigningAlias());
+
+			PAdESService service = new PAdESService(getEmptyCertificateVerifier());
+			DSSDocument expected = sign(service, toSignDocument, token, privateKeyEntry, signingDate);
+
+			PdfPreparedSignatureCache cache = new PdfPreparedSignatureCache();
+			PAdESService preparedService = new PAdESService(getEmptyCertificateVerifier());
+			preparedService.setPreparedSignatureCache(cache);
+			DSSDocument signedDocument = sign(preparedService, toSignDocument, token, privateKeyEntry, signingDate);
+
+			assertArrayEquals(DSSUtils.toByteArray(expected), DSSUtils.toByteArray(signedDocument));
+			assertEquals(0, cache.size());
+		}
+	}
+
+	private DSSDocument sign(PAdESService service, DSSDocument toSignDocument, KeyStoreSignatureTokenConnection token, DSSPrivateKeyEntry privateKeyEntry,
+			Date signingDate) {
+		PAdESSignatureParameters parameters = new PAdESSignatureParameters();
+		parameters.bLevel().setSigningDate(signingDate);
+		parameters.setSigningCertificate(privateKeyEntry.getCertificate());
+		parameters.setCertificateChain(privateKeyEntry.getCertificateChain());
+		parameters.setSignatureLevel(SignatureLevel.PAdES_BASELINE_B);
+		parameters.setReason("DSS testing");
+
+		ToBeSigned dataToSign = service.getDataToSign(toSignDocument, parameters);
+		SignatureValue signatureValue = token.sign(dataToSign, parameters.getDigestAlgorithm(), privateKeyEntry);
+		return service.signDocument(toSignDocument, parameters, signatureValue);
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
@@ -0,0 +1,99 @@
+package eu.europa.esig.dss.pades.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.validation.reports.SimpleReport;
+import eu.europa.esig.dss.validation.reports.wrapper.DiagnosticData;
+import eu.europa.esig.dss.validation.reports.wrapper.TimestampWrapper;
+
+public class PDFConcurrentValidationTest {
+
+	private final DSSDocument document = new FileDocument("src/test/resources/validation/pades-5-signatures-and-1-document-timestamp.pdf");
+
+	private ExecutorService executorService;
+
+	@Before
+	public void init() {
+		executorService = Executors.newFixedThreadPool(4);
+	}
+
+	@After
+	public void shutdown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void signaturesAreCheckedSequentially() {
+		assertFalse(new PDFDocumentValidator(document).isConcurrentSignatureValidationSupported());
+	}
+
+	@Test
+	public void sameResultsWithAnExecutor() throws Exception {
+		Reports sequential = validate(null);
+
+		// several validations at the same time, each of them with the executor
+		ExecutorService callers = Executors.newFixedThreadPool(4);
+		List<Future<Reports>> futures = new ArrayList<Future<Reports>>();
+		try {
+			for (int i = 0; i < 4; i++) {
+				futures.add(callers.submit(new Callable<Reports>() {
+					@Override
+					public Reports call() throws Exception {
+						return validate(executorService);
+					}
+				}));
+			}
+			for (Future<Reports> future : futures) {
+				future.get();
+			}
+		} finally {
+			callers.shutdown();
+		}
+
+		DiagnosticData sequentialData = sequential.getDiagnosticData();
+		SimpleReport sequentialReport = sequential.getSimpleReport();
+		assertEquals(5, sequentialData.getSignatureIdList().size());
+		for (Future<Reports> future : futures) {
+			Reports concurrent = future.get();
+			DiagnosticData concurrentData = concurrent.getDiagnosticData();
+			SimpleReport concurrentReport = concurrent.getSimpleReport();
+			assertEquals(sequentialData.getSignatureIdList(), concurrentData.getSignatureIdList());
+			for (String id : concurrentData.getSignatureIdList()) {
+				assertEquals(sequentialData.isBLevelTechnicallyValid(id), concurrentData.isBLevelTechnicallyValid(id));
+				assertEquals(sequentialData.getTimestampIdList(id), concurrentData.getTimestampIdList(id));
+				List<TimestampWrapper> sequentialTimestamps = sequentialData.getTimestampList(id);
+				List<TimestampWrapper> concurrentTimestamps = concurrentData.getTimestampList(id);
+				for (int i = 0; i < concurrentTimestamps.size(); i++) {
+					assertEquals(sequentialTimestamps.get(i).isMessageImprintDataIntact(), concurrentTimestamps.get(i).isMessageImprintDataIntact());
+				}
+				assertEquals(sequentialReport.getIndication(id), concurrentReport.getIndication(id));
+				assertEquals(sequentialReport.getSubIndication(id), concurrentReport.getSubIndication(id));
+			}
+		}
+	}
+
+	private Reports validate(ExecutorService executorService) {
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(document);
+		validator.setCertificateVerifier(new CommonCertificateVerifier(true));
+		validator.setExecutorService(executorService);
+		return validator.validateDocument();
+	}
+
+}
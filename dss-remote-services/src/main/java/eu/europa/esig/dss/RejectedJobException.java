@@ -0,0 +1,55 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss;
+
+/**
+ * This exception is thrown when a job cannot be accepted (the work queue is full or the tenant reached its limit of
+ * concurrent jobs). The client is expected to retry later.
+ */
+public class RejectedJobException extends DSSException {
+
+	private static final long serialVersionUID = -2706553146316624227L;
+
+	private final long retryAfter;
+
+	/**
+	 * The default constructor for RejectedJobException.
+	 *
+	 * @param message
+	 *            the reason of the rejection
+	 * @param retryAfter
+	 *            the estimated delay (in seconds) before a new submission can be accepted
+	 */
+	public RejectedJobException(String message, long retryAfter) {
+		super(message);
+		this.retryAfter = retryAfter;
+	}
+
+	/**
+	 * Returns the estimated delay (in seconds) before a new submission can be accepted
+	 *
+	 * @return the delay in seconds
+	 */
+	public long getRetryAfter() {
+		return retryAfter;
+	}
+
+}
@@ -0,0 +1,435 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.client.http.DataLoader;
+import eu.europa.esig.dss.utils.Utils;
+
+/**
+ * This class executes asynchronous jobs (validations, signatures,...) for the remote services : a job is submitted,
+ * its status is polled (or the client is notified with a callback) and its result is fetched once completed.
+ *
+ * The number of accepted jobs (pending and running) is bounded globally and per tenant. When a limit is reached, the
+ * submission is rejected with a {@code RejectedJobException} which contains an estimation of the delay before a retry.
+ * A job (its state and its result) is only visible to the tenant which submitted it.
+ *
+ * The finished jobs are kept during the retention time and their number is limited (the oldest ones are removed
+ * first) : they are purged when the service is used or explicitly with {@link #purgeExpiredJobs()} (which can be
+ * scheduled).
+ *
+ * The callbacks are only posted to the urls whose scheme and host are allowed (see
+ * {@link #setAllowedCallbackHosts(Collection)}).
+ *
+ * @param <T>
+ *            the type of the job result
+ */
+public class RemoteJobService<T> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RemoteJobService.class);
+
+	private static final String DEFAULT_TENANT = "default";
+
+	private final ConcurrentMap<String, Job> jobs = new ConcurrentHashMap<String, Job>();
+
+	/* Guarded by itself, the identifiers of the finished jobs in the order of completion */
+	private final Queue<String> finishedJobs = new ArrayDeque<String>();
+
+	/* Guarded by this */
+	private final Map<String, Integer> activeJobsByTenant = new HashMap<String, Integer>();
+
+	/* Guarded by this */
+	private int activeJobs;
+
+	/* Guarded by this, exponential moving average of the job durations in milliseconds */
+	private long averageDuration;
+
+	private ExecutorService executorService;
+
+	private int maxActiveJobs = 100;
+
+	private int maxActiveJobsPerTenant = 10;
+
+	private long retentionTime = TimeUnit.MINUTES.toMillis(10);
+
+	private int maxFinishedJobs = 1000;
+
+	private DataLoader callbackDataLoader;
+
+	private Set<String> allowedCallbackSchemes = new HashSet<String>(Arrays.asList("https"));
+
+	private Set<String> allowedCallbackHosts = Collections.emptySet();
+
+	/**
+	 * This setter allows to define the executor which runs the jobs (mandatory)
+	 *
+	 * @param executorService
+	 *            the executor service
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	/**
+	 * This setter allows to define the maximum number of pending and running jobs (default : 100)
+	 *
+	 * @param maxActiveJobs
+	 *            the maximum number of active jobs
+	 */
+	public void setMaxActiveJobs(int maxActiveJobs) {
+		this.maxActiveJobs = maxActiveJobs;
+	}
+
+	/**
+	 * This setter allows to define the maximum number of pending and running jobs for a same tenant (default : 10)
+	 *
+	 * @param maxActiveJobsPerTenant
+	 *            the maximum number of active jobs per tenant
+	 */
+	public void setMaxActiveJobsPerTenant(int maxActiveJobsPerTenant) {
+		this.maxActiveJobsPerTenant = maxActiveJobsPerTenant;
+	}
+
+	/**
+	 * This setter allows to define how long the finished jobs (and their results) are kept (default : 10 minutes)
+	 *
+	 * @param retentionTime
+	 *            the retention time in milliseconds
+	 */
+	public void setRetentionTime(long retentionTime) {
+		this.retentionTime = retentionTime;
+	}
+
+	/**
+	 * This setter allows to define the maximum number of finished jobs (and results) which are kept (default : 1000).
+	 * When the limit is exceeded, the oldest finished jobs are removed before the end of their retention time.
+	 *
+	 * @param maxFinishedJobs
+	 *            the maximum number of finished jobs
+	 */
+	public void setMaxFinishedJobs(int maxFinishedJobs) {
+		this.maxFinishedJobs = maxFinishedJobs;
+	}
+
+	/**
+	 * This setter allows to enable the callbacks : the identifier of the job is posted to the callback url when the
+	 * job is finished. If null (default), the submissions with a callback url are refused.
+	 *
+	 * The data loader should not follow the redirections (the target of a redirection is not checked against the
+	 * allowed hosts).
+	 *
+	 * @param callbackDataLoader
+	 *            the data loader used to notify the clients
+	 */
+	public void setCallbackDataLoader(DataLoader callbackDataLoader) {
+		this.callbackDataLoader = callbackDataLoader;
+	}
+
+	/**
+	 * This setter allows to define the schemes allowed in the callback urls (default : https)
+	 *
+	 * @param allowedCallbackSchemes
+	 *            the allowed schemes
+	 */
+	public void setAllowedCallbackSchemes(Collection<String> allowedCallbackSchemes) {
+		this.allowedCallbackSchemes = toLowerCase(allowedCallbackSchemes);
+	}
+
+	/**
+	 * This setter allows to define the hosts allowed in the callback urls (default : none, all the callback urls are
+	 * refused)
+	 *
+	 * @param allowedCallbackHosts
+	 *            the allowed hosts
+	 */
+	public void setAllowedCallbackHosts(Collection<String> allowedCallbackHosts) {
+		this.allowedCallbackHosts = toLowerCase(allowedCallbackHosts);
+	}
+
+	/**
+	 * Checks if a callback url can be notified : the callbacks are enabled, the url is absolute, without user
+	 * information and its scheme and host are allowed.
+	 *
+	 * @param callbackUrl
+	 *            the callback url
+	 * @return true if the callback url is allowed
+	 */
+	public boolean isCallbackAllowed(String callbackUrl) {
+		if (callbackDataLoader == null || Utils.isStringEmpty(callbackUrl)) {
+			return false;
+		}
+		try {
+			URI uri = new URI(callbackUrl);
+			return uri.getScheme() != null && uri.getHost() != null && uri.getRawUserInfo() == null
+					&& allowedCallbackSchemes.contains(uri.getScheme().toLowerCase(Locale.ENGLISH))
+					&& allowedCallbackHosts.contains(uri.getHost().toLowerCase(Locale.ENGLISH));
+		} catch (URISyntaxException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Submits a new job.
+	 *
+	 * @param tenant
+	 *            the identifier of the client (null for the default tenant). The limit per tenant is only effective
+	 *            if the tenant is derived from the authenticated client.
+	 * @param task
+	 *            the task to execute
+	 * @param callbackUrl
+	 *            the url to notify when the job is finished (can be null)
+	 * @return the state of the created job
+	 * @throws RejectedJobException
+	 *             if the maximum number of active jobs is reached
+	 * @throws DSSException
+	 *             if the callback url is not allowed
+	 */
+	public RemoteJob submit(String tenant, Callable<T> task, String callbackUrl) throws RejectedJobException {
+		if (executorService == null) {
+			throw new DSSException("The ExecutorService is not defined");
+		}
+		if (Utils.isStringNotEmpty(callbackUrl) && !isCallbackAllowed(callbackUrl)) {
+			throw new DSSException("The callback url '" + callbackUrl + "' is not allowed");
+		}
+		purgeExpiredJobs();
+
+		String tenantId = getTenantId(tenant);
+		reserve(tenantId);
+
+		Job job = new Job(UUID.randomUUID().toString(), tenantId, task, callbackUrl);
+		jobs.put(job.id, job);
+		try {
+			executorService.execute(job);
+		} catch (RejectedExecutionException e) {
+			jobs.remove(job.id);
+			release(tenantId, -1);
+			throw new RejectedJobException("The job has been rejected by the executor", getRetryAfter());
+		}
+		LOG.debug("Job {} submitted for the tenant '{}'", job.id, tenantId);
+		return job.toRemoteJob();
+	}
+
+	/**
+	 * Returns the state of the job
+	 *
+	 * @param tenant
+	 *            the identifier of the client (null for the default tenant)
+	 * @param id
+	 *            the job identifier
+	 * @return the state of the job or null if the job is unknown (or expired, or submitted by another tenant)
+	 */
+	public RemoteJob getJob(String tenant, String id) {
+		Job job = getTenantJob(tenant, id);
+		if (job == null) {
+			return null;
+		}
+		return job.toRemoteJob();
+	}
+
+	/**
+	 * Returns the result of a completed job
+	 *
+	 * @param tenant
+	 *            the identifier of the client (null for the default tenant)
+	 * @param id
+	 *            the job identifier
+	 * @return the result of the job
+	 * @throws DSSException
+	 *             if the job is unknown (or submitted by another tenant), not finished or failed
+	 */
+	public T getResult(String tenant, String id) throws DSSException {
+		Job job = getTenantJob(tenant, id);
+		if (job == null) {
+			throw new DSSException("Unknown job '" + id + "'");
+		}
+		switch (job.status) {
+		case COMPLETED:
+			return job.result;
+		case FAILED:
+			throw new DSSException("The job '" + id + "' failed : " + job.errorMessage);
+		default:
+			throw new DSSException("The job '" + id + "' is not finished");
+		}
+	}
+
+	private Job getTenantJob(String tenant, String id) {
+		purgeExpiredJobs();
+		Job job = jobs.get(id);
+		if (job == null || !job.tenant.equals(getTenantId(tenant))) {
+			return null;
+		}
+		return job;
+	}
+
+	private String getTenantId(String tenant) {
+		return Utils.isStringEmpty(tenant) ? DEFAULT_TENANT : tenant;
+	}
+
+	private synchronized void reserve(String tenant) throws RejectedJobException {
+		if (activeJobs >= maxActiveJobs) {
+			throw new RejectedJobException("The maximum number of jobs is reached (" + maxActiveJobs + ")", getRetryAfter());
+		}
+		Integer tenantJobs = activeJobsByTenant.get(tenant);
+		int count = tenantJobs == null ? 0 : tenantJobs;
+		if (count >= maxActiveJobsPerTenant) {
+			throw new RejectedJobException("The maximum number of jobs for the tenant is reached (" + maxActiveJobsPerTenant + ")", getRetryAfter());
+		}
+		activeJobsByTenant.put(tenant, count + 1);
+		activeJobs++;
+	}
+
+	private synchronized void release(String tenant, long duration) {
+		int count = activeJobsByTenant.get(tenant) - 1;
+		if (count == 0) {
+			activeJobsByTenant.remove(tenant);
+		} else {
+			activeJobsByTenant.put(tenant, count);
+		}
+		activeJobs--;
+		if (duration >= 0) {
+			averageDuration = averageDuration == 0 ? duration : (averageDuration * 7 + duration) / 8;
+		}
+	}
+
+	/**
+	 * The estimated delay is the average duration of a job (at least one second)
+	 */
+	private synchronized long getRetryAfter() {
+		return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(averageDuration + 999));
+	}
+
+	/**
+	 * Removes the finished jobs (and their results) older than the retention time or exceeding the maximum number of
+	 * finished jobs
+	 */
+	public void purgeExpiredJobs() {
+		long now = System.currentTimeMillis();
+		synchronized (finishedJobs) {
+			String id = finishedJobs.peek();
+			while (id != null && (finishedJobs.size() > maxFinishedJobs || now - jobs.get(id).completionTime.getTime() > retentionTime)) {
+				jobs.remove(finishedJobs.poll());
+				id = finishedJobs.peek();
+			}
+		}
+	}
+
+	private void finished(Job job) {
+		synchronized (finishedJobs) {
+			finishedJobs.add(job.id);
+		}
+		purgeExpiredJobs();
+	}
+
+	private Set<String> toLowerCase(Collection<String> values) {
+		Set<String> result = new HashSet<String>();
+		for (String value : values) {
+			result.add(value.toLowerCase(Locale.ENGLISH));
+		}
+		return result;
+	}
+
+	private void notifyCallback(Job job) {
+		try {
+			callbackDataLoader.post(job.callbackUrl, job.id.getBytes("UTF-8"));
+		} catch (UnsupportedEncodingException e) {
+			throw new DSSException(e);
+		} catch (Exception e) {
+			LOG.warn("Unable to notify the end of the job {} to '{}' : {}", job.id, job.callbackUrl, e.getMessage());
+		}
+	}
+
+	private class Job implements Runnable {
+
+		private final String id;
+		private final String tenant;
+		private final Callable<T> task;
+		private final String callbackUrl;
+		private final Date submissionTime = new Date();
+
+		private volatile RemoteJobStatus status = RemoteJobStatus.PENDING;
+		private volatile T result;
+		private volatile String errorMessage;
+		private volatile Date completionTime;
+
+		private Job(String id, String tenant, Callable<T> task, String callbackUrl) {
+			this.id = id;
+			this.tenant = tenant;
+			this.task = task;
+			this.callbackUrl = callbackUrl;
+		}
+
+		@Override
+		public void run() {
+			status = RemoteJobStatus.RUNNING;
+			long start = System.currentTimeMillis();
+			try {
+				result = task.call();
+				completionTime = new Date();
+				status = RemoteJobStatus.COMPLETED;
+			} catch (Exception e) {
+				LOG.warn("The job {} failed : {}", id, e.getMessage(), e);
+				errorMessage = e.getMessage();
+				completionTime = new Date();
+				status = RemoteJobStatus.FAILED;
+			} finally {
+				release(tenant, System.currentTimeMillis() - start);
+			}
+			finished(this);
+			if (Utils.isStringNotEmpty(callbackUrl)) {
+				notifyCallback(this);
+			}
+		}
+
+		private RemoteJob toRemoteJob() {
+			RemoteJob remoteJob = new RemoteJob(id, status);
+			remoteJob.setSubmissionTime(submissionTime);
+			remoteJob.setCompletionTime(completionTime);
+			remoteJob.setErrorMessage(errorMessage);
+			return remoteJob;
+		}
+
+	}
+
+}
@@ -0,0 +1,129 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss;
+
+import java.security.Principal;
+import java.util.concurrent.Callable;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.InternalServerErrorException;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+
+/**
+ * This class maps the operations of a {@link RemoteJobService} to the HTTP statuses used by the asynchronous REST
+ * services.
+ */
+public final class RestJobSupport {
+
+	private static final int TOO_MANY_REQUESTS = 429;
+
+	private RestJobSupport() {
+	}
+
+	/**
+	 * Returns the tenant of the request : the name of the authenticated client if any. Otherwise, the tenant header
+	 * sent by the client is used and the limit per tenant is only advisory (a client can send any value).
+	 *
+	 * @param securityContext
+	 *            the security context of the request (can be null)
+	 * @param tenantHeader
+	 *            the tenant header sent by the client (can be null)
+	 * @return the tenant
+	 */
+	public static String getTenant(SecurityContext securityContext, String tenantHeader) {
+		Principal principal = securityContext == null ? null : securityContext.getUserPrincipal();
+		if (principal != null) {
+			return principal.getName();
+		}
+		return tenantHeader;
+	}
+
+	/**
+	 * Submits a job (HTTP status 400 if the callback url is not allowed, 429 with a Retry-After header if the job is
+	 * rejected)
+	 *
+	 * @param jobService
+	 *            the job service
+	 * @param tenant
+	 *            the tenant
+	 * @param task
+	 *            the task to execute
+	 * @param callbackUrl
+	 *            the url to notify when the job is finished (can be null)
+	 * @return the created job
+	 */
+	public static <T> RemoteJob submit(RemoteJobService<T> jobService, String tenant, Callable<T> task, String callbackUrl) {
+		if (callbackUrl != null && !jobService.isCallbackAllowed(callbackUrl)) {
+			throw new BadRequestException("The callback url '" + callbackUrl + "' is not allowed");
+		}
+		try {
+			return jobService.submit(tenant, task, callbackUrl);
+		} catch (RejectedJobException e) {
+			throw new WebApplicationException(e, Response.status(TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, e.getRetryAfter()).build());
+		}
+	}
+
+	/**
+	 * Returns the job (HTTP status 404 if the job is unknown, expired or submitted by another tenant)
+	 *
+	 * @param jobService
+	 *            the job service
+	 * @param tenant
+	 *            the tenant
+	 * @param id
+	 *            the job identifier
+	 * @return the job
+	 */
+	public static RemoteJob getJob(RemoteJobService<?> jobService, String tenant, String id) {
+		RemoteJob job = jobService.getJob(tenant, id);
+		if (job == null) {
+			throw new NotFoundException("Unknown job '" + id + "'");
+		}
+		return job;
+	}
+
+	/**
+	 * Returns the result of a completed job (HTTP status 409 if the job is not finished, 500 if it failed)
+	 *
+	 * @param jobService
+	 *            the job service
+	 * @param tenant
+	 *            the tenant
+	 * @param id
+	 *            the job identifier
+	 * @return the result of the job
+	 */
+	public static <T> T getResult(RemoteJobService<T> jobService, String tenant, String id) {
+		RemoteJob job = getJob(jobService, tenant, id);
+		if (RemoteJobStatus.FAILED.equals(job.getStatus())) {
+			throw new InternalServerErrorException(job.getErrorMessage());
+		} else if (!RemoteJobStatus.COMPLETED.equals(job.getStatus())) {
+			throw new ClientErrorException("The job '" + id + "' is not finished", Response.Status.CONFLICT);
+		}
+		return jobService.getResult(tenant, id);
+	}
+
+}
@@ -0,0 +1,109 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.signature;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.RemoteDocument;
+import eu.europa.esig.dss.RemoteSignatureParameters;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+import eu.europa.esig.dss.utils.Utils;
+
+/**
+ * This class produces one signature per document with the configured {@code RemoteDocumentSignatureService}. The
+ * documents are processed in parallel on the configured {@code ExecutorService} (in the current thread if none is
+ * configured).
+ */
+@SuppressWarnings("serial")
+public class RemoteBatchSignatureServiceImpl implements RemoteBatchSignatureService<RemoteDocument, RemoteSignatureParameters> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RemoteBatchSignatureServiceImpl.class);
+
+	private RemoteDocumentSignatureService<RemoteDocument, RemoteSignatureParameters> signatureService;
+
+	private transient ExecutorService executorService;
+
+	public void setSignatureService(RemoteDocumentSignatureService<RemoteDocument, RemoteSignatureParameters> signatureService) {
+		this.signatureService = signatureService;
+	}
+
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	@Override
+	public List<ToBeSigned> getDataToSign(List<RemoteDocument> toSignDocuments, final RemoteSignatureParameters remoteParameters) throws DSSException {
+		LOG.info("GetDataToSign for {} documents in process...", Utils.collectionSize(toSignDocuments));
+		assertSigningDateDefined(remoteParameters);
+		List<Callable<ToBeSigned>> tasks = new ArrayList<Callable<ToBeSigned>>();
+		for (final RemoteDocument toSignDocument : toSignDocuments) {
+			tasks.add(new Callable<ToBeSigned>() {
+				@Override
+				public ToBeSigned call() throws Exception {
+					return signatureService.getDataToSign(toSignDocument, remoteParameters);
+				}
+			});
+		}
+		List<ToBeSigned> result = BatchTaskExecutor.execute(executorService, tasks);
+		LOG.info("GetDataToSign is finished");
+		return result;
+	}
+
+	@Override
+	public List<DSSDocument> signDocuments(List<RemoteDocument> toSignDocuments, final RemoteSignatureParameters remoteParameters,
+			List<SignatureValue> signatureValues) throws DSSException {
+		LOG.info("SignDocument for {} documents in process...", Utils.collectionSize(toSignDocuments));
+		assertSigningDateDefined(remoteParameters);
+		if (Utils.collectionSize(toSignDocuments) != Utils.collectionSize(signatureValues)) {
+			throw new DSSException("The number of signature values must be equal to the number of documents");
+		}
+		List<Callable<DSSDocument>> tasks = new ArrayList<Callable<DSSDocument>>();
+		for (int i = 0; i < toSignDocuments.size(); i++) {
+			final RemoteDocument toSignDocument = toSignDocuments.get(i);
+			final SignatureValue signatureValue = signatureValues.get(i);
+			tasks.add(new Callable<DSSDocument>() {
+				@Override
+				public DSSDocument call() throws Exception {
+					return signatureService.signDocument(toSignDocument, remoteParameters, signatureValue);
+				}
+			});
+		}
+		List<DSSDocument> result = BatchTaskExecutor.execute(executorService, tasks);
+		LOG.info("SignDocument is finished");
+		return result;
+	}
+
+	private void assertSigningDateDefined(RemoteSignatureParameters remoteParameters) {
+		if (remoteParameters.bLevel().getSigningDate() == null) {
+			throw new DSSException("The signing date must be defined");
+		}
+	}
+
+}
@@ -1,48 +1,278 @@
 package eu.europa.esig.dss.validation;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import eu.europa.esig.dss.DSSDocument;
 import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DigestAlgorithm;
 import eu.europa.esig.dss.DigestDocument;
 import eu.europa.esig.dss.InMemoryDocument;
 import eu.europa.esig.dss.RemoteDocument;
+import eu.europa.esig.dss.ReportProjection;
 import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.policy.EtsiValidationPolicy;
+import eu.europa.esig.dss.validation.policy.ValidationPolicy;
 import eu.europa.esig.dss.validation.reports.Reports;
 import eu.europa.esig.dss.validation.reports.dto.ReportsDTO;
 
 public class RemoteDocumentValidationService {
 
+	private static final Logger LOG = LoggerFactory.getLogger(RemoteDocumentValidationService.class);
+
 	private CertificateVerifier verifier;
 
+	private int policyCacheSize = 20;
+
+	/*
+	 * Parsed custom policies (SHA-256 of the policy file -> policy), the least recently used is evicted first. The
+	 * cached and registered policies are shared by the concurrent validations : the validation process only reads
+	 * their JAXB objects and never modifies them.
+	 */
+	@SuppressWarnings("serial")
+	private final Map<String, ValidationPolicy> policyCache = Collections.synchronizedMap(new LinkedHashMap<String, ValidationPolicy>(16, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Entry<String, ValidationPolicy> eldest) {
+			return size() > policyCacheSize;
+		}
+
+	});
+
+	private final Map<String, ValidationPolicy> registeredPolicies = new ConcurrentHashMap<String, ValidationPolicy>();
+
+	private ValidationPolicy defaultPolicy;
+
+	private ValidationResultCache validationResultCache;
+
 	public void setVerifier(CertificateVerifier verifier) {
 		this.verifier = verifier;
 	}
 
+	/**
+	 * This setter allows to keep the reports of the validated documents : a document which is submitted again with
+	 * the same detached content and policy is not validated again (default : none)
+	 * 
+	 * @param validationResultCache
+	 *            the validation result cache
+	 */
+	public void setValidationResultCache(ValidationResultCache validationResultCache) {
+		this.validationResultCache = validationResultCache;
+	}
+
+	/**
+	 * This setter allows to define the maximum number of custom validation policies which are kept parsed in memory
+	 * (default : 20)
+	 * 
+	 * @param policyCacheSize
+	 *            the maximum number of cached policies
+	 */
+	public void setPolicyCacheSize(int policyCacheSize) {
+		this.policyCacheSize = policyCacheSize;
+	}
+
+	/**
+	 * This setter allows to define the validation policies which can be referenced by the clients with their id
+	 * (instead of uploading the policy file)
+	 * 
+	 * @param policies
+	 *            a map with the policy id as key and the policy file as value
+	 */
+	public void setRegisteredPolicies(Map<String, DSSDocument> policies) {
+		registeredPolicies.clear();
+		for (Entry<String, DSSDocument> entry : policies.entrySet()) {
+			registerPolicy(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Registers a validation policy which can be referenced by the clients with its id. The policy file is parsed
+	 * once.
+	 * 
+	 * @param policyId
+	 *            the id of the policy
+	 * @param policy
+	 *            the policy file
+	 */
+	public void registerPolicy(String policyId, DSSDocument policy) {
+		registeredPolicies.put(policyId, loadPolicy(policy));
+	}
+
 	public ReportsDTO validateDocument(RemoteDocument signedFile, RemoteDocument originalFile, RemoteDocument policy) {
+		return validateDocument(signedFile, originalFile, policy, null);
+	}
+
+	/**
+	 * Validates the signed document with a custom validation policy or a registered one.
+	 * 
+	 * @param signedFile
+	 *            the signed document to validate
+	 * @param originalFile
+	 *            the detached content (can be null)
+	 * @param policy
+	 *            the validation policy (can be null)
+	 * @param policyId
+	 *            the id of a registered validation policy (can be null)
+	 * @return the reports
+	 */
+	public ReportsDTO validateDocument(RemoteDocument signedFile, RemoteDocument originalFile, RemoteDocument policy, String policyId) {
+		return validateDocument(signedFile, originalFile, policy, policyId, null);
+	}
+
+	/**
+	 * Validates the signed document and only returns the requested reports.
+	 * 
+	 * @param signedFile
+	 *            the signed document to validate
+	 * @param originalFile
+	 *            the detached content (can be null)
+	 * @param policy
+	 *            the validation policy (can be null)
+	 * @param policyId
+	 *            the id of a registered validation policy (can be null)
+	 * @param reportProjection
+	 *            the reports to return (can be null for all of them)
+	 * @return the reports
+	 */
+	public ReportsDTO validateDocument(RemoteDocument signedFile, RemoteDocument originalFile, RemoteDocument policy, String policyId,
+			ReportProjection reportProjection) {
+		DSSDocument originalDocument = null;
+		if (originalFile != null && Utils.isArrayNotEmpty(originalFile.getBytes())) {
+			originalDocument = getDSSDocument(originalFile);
+		}
+		DSSDocument policyDocument = null;
+		if (policy != null) {
+			policyDocument = new InMemoryDocument(policy.getBytes());
+		}
+		return validateDocument(getDSSDocument(signedFile), originalDocument, policyDocument, policyId, reportProjection);
+	}
+
+	/**
+	 * Validates the signed document without copying it in memory (eg : file-backed documents received as multipart
+	 * parts).
+	 * 
+	 * @param signedDocument
+	 *            the signed document to validate
+	 * @param originalDocument
+	 *            the detached content (can be null)
+	 * @param policy
+	 *            the validation policy (can be null for the default one)
+	 * @return the reports
+	 */
+	public ReportsDTO validateDocument(DSSDocument signedDocument, DSSDocument originalDocument, DSSDocument policy) {
+		return validateDocument(signedDocument, originalDocument, policy, null);
+	}
+
+	/**
+	 * Validates the signed document with a custom validation policy or a registered one. If none of them is provided,
+	 * the default validation policy is used.
+	 * 
+	 * @param signedDocument
+	 *            the signed document to validate
+	 * @param originalDocument
+	 *            the detached content (can be null)
+	 * @param policy
+	 *            the validation policy (can be null)
+	 * @param policyId
+	 *            the id of a registered validation policy (can be null)
+	 * @return the reports
+	 */
+	public ReportsDTO validateDocument(DSSDocument signedDocument, DSSDocument originalDocument, DSSDocument policy, String policyId) {
+		return validateDocument(signedDocument, originalDocument, policy, policyId, null);
+	}
+
+	/**
+	 * Validates the signed document and only returns the requested reports. The detailed report is not returned with
+	 * {@code ReportProjection.SIMPLE_ONLY} and the validation policy is not applied with
+	 * {@code ReportProjection.DIAGNOSTIC_ONLY}.
+	 * 
+	 * @param signedDocument
+	 *            the signed document to validate
+	 * @param originalDocument
+	 *            the detached content (can be null)
+	 * @param policy
+	 *            the validation policy (can be null)
+	 * @param policyId
+	 *            the id of a registered validation policy (can be null)
+	 * @param reportProjection
+	 *            the reports to return (can be null for all of them)
+	 * @return the reports
+	 */
+	public ReportsDTO validateDocument(DSSDocument signedDocument, DSSDocument originalDocument, DSSDocument policy, String policyId,
+			ReportProjection reportProjection) {
+		if (reportProjection == null) {
+			reportProjection = ReportProjection.FULL;
+		}
 
-		DSSDocument signedDocument = getDSSDocument(signedFile);
 		SignedDocumentValidator signedDocValidator = SignedDocumentValidator.fromDocument(signedDocument);
 		signedDocValidator.setCertificateVerifier(verifier);
+		signedDocValidator.setValidationResultCache(validationResultCache);
+		signedDocValidator.setReportProjection(reportProjection);
 
-		if (originalFile != null && Utils.isArrayNotEmpty(originalFile.getBytes())) {
-			signedDocValidator.setDetachedContents(Arrays.asList(getDSSDocument(originalFile)));
+		if (originalDocument != null) {
+			signedDocValidator.setDetachedContents(Arrays.asList(originalDocument));
 		}
 
-		Reports reports = null;
-		if (policy == null) {
-			reports = signedDocValidator.validateDocument();
-		} else {
-			try (ByteArrayInputStream bais = new ByteArrayInputStream(policy.getBytes())) {
-				reports = signedDocValidator.validateDocument(bais);
-			} catch (IOException e) {
-				throw new DSSException(e);
+		Reports reports = signedDocValidator.validateDocument(getValidationPolicy(policy, policyId));
+
+		switch (reportProjection) {
+		case SIMPLE_ONLY:
+			return new ReportsDTO(null, reports.getSimpleReportJaxb(), null);
+		case DIAGNOSTIC_ONLY:
+			return new ReportsDTO(reports.getDiagnosticDataJaxb(), null, null);
+		default:
+			return new ReportsDTO(reports.getDiagnosticDataJaxb(), reports.getSimpleReportJaxb(), reports.getDetailedReportJaxb());
+		}
+	}
+
+	ValidationPolicy getValidationPolicy(DSSDocument policy, String policyId) {
+		if (Utils.isStringNotEmpty(policyId)) {
+			if (policy != null) {
+				throw new DSSException("A validation policy and a policy id cannot be provided together");
+			}
+			ValidationPolicy registeredPolicy = registeredPolicies.get(policyId);
+			if (registeredPolicy == null) {
+				throw new DSSException("Unknown validation policy id '" + policyId + "'");
 			}
+			return registeredPolicy;
+		}
+
+		if (policy == null) {
+			return getDefaultPolicy();
+		}
+
+		String digest = policy.getDigest(DigestAlgorithm.SHA256);
+		ValidationPolicy validationPolicy = policyCache.get(digest);
+		if (validationPolicy == null) {
+			LOG.debug("Validation policy with digest '{}' is not cached", digest);
+			validationPolicy = loadPolicy(policy);
+			policyCache.put(digest, validationPolicy);
+		}
+		return validationPolicy;
+	}
+
+	private synchronized ValidationPolicy getDefaultPolicy() {
+		if (defaultPolicy == null) {
+			defaultPolicy = new EtsiValidationPolicy(ValidationResourceManager.loadPolicyData(null));
 		}
+		return defaultPolicy;
+	}
 
-		return new ReportsDTO(reports.getDiagnosticDataJaxb(), reports.getSimpleReportJaxb(), reports.getDetailedReportJaxb());
+	private ValidationPolicy loadPolicy(DSSDocument policy) {
+		try (InputStream is = policy.openStream()) {
+			return new EtsiValidationPolicy(ValidationResourceManager.loadPolicyData(is));
+		} catch (IOException e) {
+			throw new DSSException(e);
+		}
 	}
 
 	private DSSDocument getDSSDocument(RemoteDocument remoteDocument) {
@@ -0,0 +1,284 @@
+package eu.europa.esig.dss;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.europa.esig.dss.client.http.DataLoader;
+
+public class RemoteJobServiceTest {
+
+	private ExecutorService executorService;
+
+	private RemoteJobService<String> jobService;
+
+	private CountDownLatch release;
+
+	@Before
+	public void init() {
+		executorService = Executors.newFixedThreadPool(4);
+		jobService = new RemoteJobService<String>();
+		jobService.setExecutorService(executorService);
+		release = new CountDownLatch(1);
+	}
+
+	@After
+	public void shutdown() {
+		release.countDown();
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void lifecycle() throws InterruptedException {
+		RemoteJob job = jobService.submit(null, blockingTask("result"), null);
+		assertNotNull(job.getId());
+		assertNotNull(job.getSubmissionTime());
+		assertNull(job.getCompletionTime());
+
+		try {
+			jobService.getResult(null, job.getId());
+			fail("The job is not finished");
+		} catch (DSSException e) {
+			assertTrue(e.getMessage().contains("not finished"));
+		}
+
+		release.countDown();
+		job = waitForCompletion(null, job.getId());
+		assertEquals(RemoteJobStatus.COMPLETED, job.getStatus());
+		assertNotNull(job.getCompletionTime());
+		assertEquals("result", jobService.getResult(null, job.getId()));
+	}
+
+	@Test
+	public void failedJob() throws InterruptedException {
+		RemoteJob job = jobService.submit(null, new Callable<String>() {
+			@Override
+			public String call() throws Exception {
+				throw new DSSException("Unable to validate");
+			}
+		}, null);
+
+		job = waitForCompletion(null, job.getId());
+		assertEquals(RemoteJobStatus.FAILED, job.getStatus());
+		assertEquals("Unable to validate", job.getErrorMessage());
+		try {
+			jobService.getResult(null, job.getId());
+			fail("The job failed");
+		} catch (DSSException e) {
+			assertTrue(e.getMessage().contains("Unable to validate"));
+		}
+	}
+
+	@Test
+	public void unknownJob() {
+		assertNull(jobService.getJob(null, "unknown"));
+		try {
+			jobService.getResult(null, "unknown");
+			fail("The job is unknown");
+		} catch (DSSException e) {
+			assertTrue(e.getMessage().contains("Unknown job"));
+		}
+	}
+
+	@Test
+	public void otherTenant() throws InterruptedException {
+		RemoteJob job = jobService.submit("tenant1", blockingTask("result"), null);
+		release.countDown();
+		waitForCompletion("tenant1", job.getId());
+		assertEquals("result", jobService.getResult("tenant1", job.getId()));
+
+		assertNull(jobService.getJob("tenant2", job.getId()));
+		assertNull(jobService.getJob(null, job.getId()));
+		try {
+			jobService.getResult("tenant2", job.getId());
+			fail("The job belongs to another tenant");
+		} catch (DSSException e) {
+			assertTrue(e.getMessage().contains("Unknown job"));
+		}
+	}
+
+	@Test
+	public void maxFinishedJobs() throws InterruptedException {
+		jobService.setMaxFinishedJobs(2);
+		List<RemoteJob> finished = new ArrayList<RemoteJob>();
+		for (int i = 0; i < 3; i++) {
+			RemoteJob job = jobService.submit(null, new Callable<String>() {
+				@Override
+				public String call() throws Exception {
+					return "finished";
+				}
+			}, null);
+			waitForCompletion(null, job.getId());
+			finished.add(job);
+		}
+
+		// the oldest result is removed
+		assertNull(jobService.getJob(null, finished.get(0).getId()));
+		assertNotNull(jobService.getJob(null, finished.get(1).getId()));
+		assertNotNull(jobService.getJob(null, finished.get(2).getId()));
+	}
+
+	@Test
+	public void limitPerTenant() throws InterruptedException {
+		jobService.setMaxActiveJobsPerTenant(2);
+		RemoteJob job1 = jobService.submit("tenant1", blockingTask("1"), null);
+		RemoteJob job2 = jobService.submit("tenant1", blockingTask("2"), null);
+		assertRejected("tenant1");
+
+		// the other tenants are not limited
+		jobService.submit("tenant2", blockingTask("3"), null);
+
+		// the slots are released at the end of the jobs
+		release.countDown();
+		waitForCompletion("tenant1", job1.getId());
+		waitForCompletion("tenant1", job2.getId());
+		jobService.submit("tenant1", blockingTask("4"), null);
+	}
+
+	@Test
+	public void globalLimit() {
+		jobService.setMaxActiveJobs(2);
+		jobService.submit("tenant1", blockingTask("1"), null);
+		jobService.submit("tenant2", blockingTask("2"), null);
+		assertRejected("tenant3");
+	}
+
+	@Test
+	public void expiry() throws InterruptedException {
+		jobService.setRetentionTime(0);
+		RemoteJob pending = jobService.submit(null, blockingTask("pending"), null);
+		RemoteJob finished = jobService.submit(null, new Callable<String>() {
+			@Override
+			public String call() throws Exception {
+				return "finished";
+			}
+		}, null);
+
+		long timeout = System.currentTimeMillis() + 10000;
+		while (jobService.getJob(null, finished.getId()) != null && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		jobService.purgeExpiredJobs();
+		assertNull(jobService.getJob(null, finished.getId()));
+		// the jobs are only purged once finished
+		assertNotNull(jobService.getJob(null, pending.getId()));
+	}
+
+	@Test
+	public void callbacks() throws InterruptedException {
+		RecordingDataLoader dataLoader = new RecordingDataLoader();
+
+		// the callbacks are disabled
+		assertFalse(jobService.isCallbackAllowed("https://client.example.com/jobs"));
+
+		jobService.setCallbackDataLoader(dataLoader);
+		// no allowed host
+		assertFalse(jobService.isCallbackAllowed("https://client.example.com/jobs"));
+
+		jobService.setAllowedCallbackHosts(Arrays.asList("Client.example.com"));
+		assertTrue(jobService.isCallbackAllowed("https://client.example.com/jobs"));
+		assertTrue(jobService.isCallbackAllowed("HTTPS://CLIENT.EXAMPLE.COM:8443/jobs"));
+		assertFalse(jobService.isCallbackAllowed("http://client.example.com/jobs"));
+		assertFalse(jobService.isCallbackAllowed("https://169.254.169.254/latest/meta-data"));
+		assertFalse(jobService.isCallbackAllowed("https://localhost/jobs"));
+		assertFalse(jobService.isCallbackAllowed("https://user@client.example.com/jobs"));
+		assertFalse(jobService.isCallbackAllowed("file:///etc/passwd"));
+		assertFalse(jobService.isCallbackAllowed("/jobs"));
+		assertFalse(jobService.isCallbackAllowed("https://client.example.com/jobs with spaces"));
+
+		try {
+			jobService.submit(null, blockingTask("refused"), "https://internal.example.com/admin");
+			fail("The callback url is not allowed");
+		} catch (DSSException e) {
+			assertTrue(e.getMessage().contains("not allowed"));
+		}
+
+		RemoteJob job = jobService.submit(null, blockingTask("result"), "https://client.example.com/jobs");
+		release.countDown();
+		waitForCompletion(null, job.getId());
+		executorService.shutdown();
+		assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("https://client.example.com/jobs " + job.getId()), dataLoader.posts);
+	}
+
+	private void assertRejected(String tenant) {
+		try {
+			jobService.submit(tenant, blockingTask("rejected"), null);
+			fail("The job must be rejected");
+		} catch (RejectedJobException e) {
+			assertTrue(e.getRetryAfter() >= 1);
+		}
+	}
+
+	private RemoteJob waitForCompletion(String tenant, String id) throws InterruptedException {
+		long timeout = System.currentTimeMillis() + 10000;
+		RemoteJob job = jobService.getJob(tenant, id);
+		while (job.getCompletionTime() == null && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+			job = jobService.getJob(tenant, id);
+		}
+		assertNotNull(job.getCompletionTime());
+		return job;
+	}
+
+	private Callable<String> blockingTask(final String result) {
+		return new Callable<String>() {
+			@Override
+			public String call() throws Exception {
+				release.await();
+				return result;
+			}
+		};
+	}
+
+	private static class RecordingDataLoader implements DataLoader {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<String> posts = new CopyOnWriteArrayList<String>();
+
+		@Override
+		public byte[] get(String url) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public DataAndUrl get(List<String> urlStrings) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public byte[] get(String url, boolean refresh) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			posts.add(url + " " + new String(content));
+			return null;
+		}
+
+		@Override
+		public void setContentType(String contentType) {
+		}
+
+	}
+
+}
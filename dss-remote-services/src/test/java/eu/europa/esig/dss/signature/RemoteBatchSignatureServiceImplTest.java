@@ -0,0 +1,139 @@
+package eu.europa.esig.dss.signature;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.InMemoryDocument;
+import eu.europa.esig.dss.MimeType;
+import eu.europa.esig.dss.RemoteDocument;
+import eu.europa.esig.dss.RemoteSignatureParameters;
+import eu.europa.esig.dss.SignatureAlgorithm;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+
+public class RemoteBatchSignatureServiceImplTest {
+
+	private static final DSSException FAILURE = new DSSException("Unable to sign");
+
+	private ExecutorService executorService;
+
+	private RemoteBatchSignatureServiceImpl batchService;
+
+	private RemoteSignatureParameters parameters;
+
+	@Before
+	public void init() {
+		executorService = Executors.newFixedThreadPool(4);
+		batchService = new RemoteBatchSignatureServiceImpl();
+		batchService.setSignatureService(new MockSignatureService());
+		batchService.setExecutorService(executorService);
+		parameters = new RemoteSignatureParameters();
+		parameters.bLevel().setSigningDate(new Date());
+	}
+
+	@After
+	public void shutdown() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	public void resultsInTheOrderOfTheDocuments() {
+		List<RemoteDocument> documents = createDocuments(20);
+
+		List<ToBeSigned> dataToSign = batchService.getDataToSign(documents, parameters);
+		assertEquals(documents.size(), dataToSign.size());
+		List<SignatureValue> signatureValues = new ArrayList<SignatureValue>();
+		for (int i = 0; i < documents.size(); i++) {
+			assertArrayEquals(documents.get(i).getBytes(), dataToSign.get(i).getBytes());
+			signatureValues.add(new SignatureValue(SignatureAlgorithm.RSA_SHA256, ("signature " + i).getBytes()));
+		}
+
+		List<DSSDocument> signedDocuments = batchService.signDocuments(documents, parameters, signatureValues);
+		assertEquals(documents.size(), signedDocuments.size());
+		for (int i = 0; i < documents.size(); i++) {
+			assertEquals("document " + i + "|signature " + i, new String(DSSUtils.toByteArray(signedDocuments.get(i))));
+		}
+	}
+
+	@Test
+	public void currentThreadWithoutExecutor() {
+		batchService.setExecutorService(null);
+		List<RemoteDocument> documents = createDocuments(3);
+		List<ToBeSigned> dataToSign = batchService.getDataToSign(documents, parameters);
+		assertEquals(3, dataToSign.size());
+		assertArrayEquals(documents.get(2).getBytes(), dataToSign.get(2).getBytes());
+	}
+
+	@Test
+	public void failureOfOneDocument() {
+		List<RemoteDocument> documents = createDocuments(5);
+		documents.set(3, new RemoteDocument("fail".getBytes(), MimeType.BINARY, "fail.bin"));
+		try {
+			batchService.getDataToSign(documents, parameters);
+			fail("The failure of a document must be reported");
+		} catch (DSSException e) {
+			assertSame(FAILURE, e);
+		}
+	}
+
+	@Test(expected = DSSException.class)
+	public void signingDateIsRequired() {
+		parameters.bLevel().setSigningDate(null);
+		batchService.getDataToSign(createDocuments(2), parameters);
+	}
+
+	@Test(expected = DSSException.class)
+	public void oneSignatureValuePerDocument() {
+		batchService.signDocuments(createDocuments(2), parameters,
+				Arrays.asList(new SignatureValue(SignatureAlgorithm.RSA_SHA256, "signature".getBytes())));
+	}
+
+	private List<RemoteDocument> createDocuments(int number) {
+		List<RemoteDocument> documents = new ArrayList<RemoteDocument>();
+		for (int i = 0; i < number; i++) {
+			documents.add(new RemoteDocument(("document " + i).getBytes(), MimeType.BINARY, "document" + i + ".bin"));
+		}
+		return documents;
+	}
+
+	@SuppressWarnings("serial")
+	private static class MockSignatureService implements RemoteDocumentSignatureService<RemoteDocument, RemoteSignatureParameters> {
+
+		@Override
+		public ToBeSigned getDataToSign(RemoteDocument toSignDocument, RemoteSignatureParameters parameters) throws DSSException {
+			if ("fail".equals(new String(toSignDocument.getBytes()))) {
+				throw FAILURE;
+			}
+			return new ToBeSigned(toSignDocument.getBytes());
+		}
+
+		@Override
+		public DSSDocument signDocument(RemoteDocument toSignDocument, RemoteSignatureParameters parameters, SignatureValue signatureValue)
+				throws DSSException {
+			return new InMemoryDocument((new String(toSignDocument.getBytes()) + "|" + new String(signatureValue.getValue())).getBytes());
+		}
+
+		@Override
+		public DSSDocument extendDocument(RemoteDocument toExtendDocument, RemoteSignatureParameters parameters) throws DSSException {
+			throw new DSSException("Not implemented");
+		}
+
+	}
+
+}
@@ -0,0 +1,139 @@
+package eu.europa.esig.dss.validation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.InMemoryDocument;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.policy.EtsiValidationPolicy;
+import eu.europa.esig.dss.validation.policy.ValidationPolicy;
+import eu.europa.esig.dss.validation.reports.dto.ReportsDTO;
+
+public class RemoteDocumentValidationServiceTest {
+
+	private RemoteDocumentValidationService service;
+
+	private byte[] policyBytes;
+
+	@Before
+	public void init() throws IOException {
+		service = new RemoteDocumentValidationService();
+		service.setVerifier(new CommonCertificateVerifier(true));
+		try (InputStream is = ValidationResourceManager.getResourceInputStream(ValidationResourceManager.defaultPolicyConstraintsLocation)) {
+			policyBytes = Utils.toByteArray(is);
+		}
+	}
+
+	@Test
+	public void policyCacheHitAndMiss() {
+		ValidationPolicy policy = service.getValidationPolicy(policy(1), null);
+		assertSame(policy, service.getValidationPolicy(policy(1), null));
+		assertNotSame(policy, service.getValidationPolicy(policy(2), null));
+	}
+
+	@Test
+	public void policyCacheEviction() {
+		service.setPolicyCacheSize(2);
+		ValidationPolicy policy1 = service.getValidationPolicy(policy(1), null);
+		ValidationPolicy policy2 = service.getValidationPolicy(policy(2), null);
+		// the policy 1 becomes the most recently used
+		assertSame(policy1, service.getValidationPolicy(policy(1), null));
+
+		service.getValidationPolicy(policy(3), null);
+		assertSame(policy1, service.getValidationPolicy(policy(1), null));
+		assertNotSame(policy2, service.getValidationPolicy(policy(2), null));
+	}
+
+	@Test
+	public void registeredPolicy() {
+		service.registerPolicy("policy", policy(1));
+		ValidationPolicy policy = service.getValidationPolicy(null, "policy");
+		assertSame(policy, service.getValidationPolicy(null, "policy"));
+	}
+
+	@Test(expected = DSSException.class)
+	public void unknownPolicyId() {
+		service.getValidationPolicy(null, "unknown");
+	}
+
+	@Test
+	public void policyAndPolicyId() {
+		service.registerPolicy("policy", policy(1));
+		try {
+			service.validateDocument(signedDocument(), null, policy(1), "policy");
+			fail("A policy and a policy id cannot be provided together");
+		} catch (DSSException e) {
+			assertTrue(e.getMessage().contains("cannot be provided together"));
+		}
+	}
+
+	@Test
+	public void sharedPolicyIsNotModified() throws Exception {
+		service.registerPolicy("policy", policy(1));
+		EtsiValidationPolicy policy = (EtsiValidationPolicy) service.getValidationPolicy(null, "policy");
+		byte[] digest = ValidationResourceManager.getDigest(policy.getConstraintsParameters(), DigestAlgorithm.SHA256);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<ReportsDTO>> futures = new ArrayList<Future<ReportsDTO>>();
+			for (int i = 0; i < 32; i++) {
+				final DSSDocument cachedPolicy = i % 2 == 0 ? policy(2) : null;
+				final String policyId = i % 2 == 0 ? null : "policy";
+				futures.add(executorService.submit(new Callable<ReportsDTO>() {
+					@Override
+					public ReportsDTO call() throws Exception {
+						return service.validateDocument(signedDocument(), null, cachedPolicy, policyId);
+					}
+				}));
+			}
+			String indication = null;
+			for (Future<ReportsDTO> future : futures) {
+				ReportsDTO reports = future.get();
+				assertNotNull(reports.getSimpleReport());
+				String currentIndication = reports.getSimpleReport().getSignature().get(0).getIndication().name();
+				if (indication == null) {
+					indication = currentIndication;
+				}
+				assertEquals(indication, currentIndication);
+			}
+		} finally {
+			executorService.shutdown();
+		}
+
+		assertArrayEquals(digest, ValidationResourceManager.getDigest(policy.getConstraintsParameters(), DigestAlgorithm.SHA256));
+	}
+
+	private DSSDocument signedDocument() {
+		return new FileDocument("src/test/resources/valid-xades.xml");
+	}
+
+	/**
+	 * Returns the default policy with a distinct digest for each index
+	 */
+	private DSSDocument policy(int index) {
+		return new InMemoryDocument(DSSUtils.concatenate(policyBytes, ("<!-- " + index + " -->").getBytes()));
+	}
+
+}
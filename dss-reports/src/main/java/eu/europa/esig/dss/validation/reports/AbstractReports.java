@@ -63,19 +63,24 @@ public abstract class AbstractReports {
 	private String xmlDetailedReport;
 
 	/**
-	 * This is the default constructor to instantiate this container.
+	 * This is the default constructor to instantiate this container. A report which was not produced (see
+	 * {@code ReportProjection}) is null.
 	 *
 	 * @param diagnosticDataJaxb
-	 *            the JAXB {@code DiagnosticData}
+	 *            the JAXB {@code DiagnosticData} (can be null)
 	 * @param detailedReport
-	 *            the JAXB {@code DetailedReport}
+	 *            the JAXB {@code DetailedReport} (can be null)
 	 */
 	protected AbstractReports(final eu.europa.esig.dss.jaxb.diagnostic.DiagnosticData diagnosticDataJaxb,
 			final eu.europa.esig.dss.jaxb.detailedreport.DetailedReport detailedReport) {
 		this.diagnosticData = diagnosticDataJaxb;
-		this.diagnosticDataWrapper = new DiagnosticData(diagnosticDataJaxb);
+		if (diagnosticDataJaxb != null) {
+			this.diagnosticDataWrapper = new DiagnosticData(diagnosticDataJaxb);
+		}
 		this.detailedReport = detailedReport;
-		this.detailedReportWrapper = new DetailedReport(detailedReport);
+		if (detailedReport != null) {
+			this.detailedReportWrapper = new DetailedReport(detailedReport);
+		}
 	}
 
 	public void setValidateXml(boolean validateXml) {
@@ -161,6 +166,10 @@ public abstract class AbstractReports {
 	}
 
 	protected String getJAXBObjectAsString(Object obj, String contextPath, String xsdFile) {
+		if (obj == null) {
+			// report not produced
+			return null;
+		}
 		try {
 
 			JAXBContext context = JAXBContext.newInstance(contextPath);
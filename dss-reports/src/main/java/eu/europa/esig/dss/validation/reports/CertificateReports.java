@@ -50,7 +50,9 @@ public class CertificateReports extends AbstractReports {
 			final eu.europa.esig.dss.jaxb.simplecertificatereport.SimpleCertificateReport simpleReport) {
 		super(diagnosticDataJaxb, detailedReport);
 		this.simpleReport = simpleReport;
-		this.simpleReportWrapper = new SimpleCertificateReport(simpleReport);
+		if (simpleReport != null) {
+			this.simpleReportWrapper = new SimpleCertificateReport(simpleReport);
+		}
 	}
 
 	/**
@@ -49,7 +49,9 @@ public class Reports extends AbstractReports {
 			final eu.europa.esig.dss.jaxb.detailedreport.DetailedReport detailedReport, final eu.europa.esig.dss.jaxb.simplereport.SimpleReport simpleReport) {
 		super(diagnosticDataJaxb, detailedReport);
 		this.simpleReport = simpleReport;
-		this.simpleReportWrapper = new SimpleReport(simpleReport);
+		if (simpleReport != null) {
+			this.simpleReportWrapper = new SimpleReport(simpleReport);
+		}
 	}
 
 	/**
@@ -0,0 +1,96 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.signature;
+
+import java.io.Serializable;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+
+import eu.europa.esig.dss.RemoteDocument;
+import eu.europa.esig.dss.RemoteJob;
+
+/**
+ * Asynchronous variant of {@link RestDocumentSignatureService} for the operations which can be long (augmentation to
+ * the levels T/LT/LTA) : the operation is submitted as a job, its status is polled (or a callback url is notified) and
+ * the document is fetched once the job is completed.
+ * 
+ * When the server is overloaded, the submission is refused with the HTTP status 429 (Too Many Requests) and a
+ * Retry-After header.
+ */
+@Path("/")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public interface RestAsyncDocumentSignatureService extends Serializable {
+
+	/**
+	 * The HTTP header which identifies the client (the concurrent jobs are limited per tenant and a job is only visible
+	 * to its tenant). It is ignored when the client is authenticated (the name of the principal is used) ; otherwise
+	 * the limit per tenant is only advisory.
+	 */
+	String TENANT_HEADER = "X-DSS-Tenant";
+
+	@POST
+	@Path("submitSignDocument")
+	RemoteJob submitSignDocument(SignOneDocumentDTO signDocument, @HeaderParam(TENANT_HEADER) String tenant,
+			@QueryParam("callbackUrl") String callbackUrl);
+
+	@POST
+	@Path("submitExtendDocument")
+	RemoteJob submitExtendDocument(ExtendDocumentDTO extendDocument, @HeaderParam(TENANT_HEADER) String tenant,
+			@QueryParam("callbackUrl") String callbackUrl);
+
+	/**
+	 * This method returns the status of a job (HTTP status 404 if the job is unknown, expired or submitted by another
+	 * tenant)
+	 * 
+	 * @param id
+	 *            the job identifier
+	 * @param tenant
+	 *            the client identifier (optional, the one used for the submission)
+	 * @return the job
+	 */
+	@GET
+	@Path("jobs/{id}")
+	RemoteJob getJob(@PathParam("id") String id, @HeaderParam(TENANT_HEADER) String tenant);
+
+	/**
+	 * This method returns the signed/extended document of a completed job (HTTP status 409 if the job is not
+	 * completed)
+	 * 
+	 * @param id
+	 *            the job identifier
+	 * @param tenant
+	 *            the client identifier (optional, the one used for the submission)
+	 * @return the document
+	 */
+	@GET
+	@Path("jobs/{id}/document")
+	RemoteDocument getDocument(@PathParam("id") String id, @HeaderParam(TENANT_HEADER) String tenant);
+
+}
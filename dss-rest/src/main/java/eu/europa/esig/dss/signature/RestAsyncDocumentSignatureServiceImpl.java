@@ -0,0 +1,90 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.signature;
+
+import java.util.concurrent.Callable;
+
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.SecurityContext;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.RemoteDocument;
+import eu.europa.esig.dss.RemoteJob;
+import eu.europa.esig.dss.RemoteJobService;
+import eu.europa.esig.dss.RemoteSignatureParameters;
+import eu.europa.esig.dss.RestJobSupport;
+
+@SuppressWarnings("serial")
+public class RestAsyncDocumentSignatureServiceImpl implements RestAsyncDocumentSignatureService {
+
+	private RemoteDocumentSignatureService<RemoteDocument, RemoteSignatureParameters> service;
+
+	private RemoteJobService<RemoteDocument> jobService;
+
+	@Context
+	private transient SecurityContext securityContext;
+
+	public void setService(RemoteDocumentSignatureService<RemoteDocument, RemoteSignatureParameters> service) {
+		this.service = service;
+	}
+
+	public void setJobService(RemoteJobService<RemoteDocument> jobService) {
+		this.jobService = jobService;
+	}
+
+	@Override
+	public RemoteJob submitSignDocument(final SignOneDocumentDTO signDocumentDto, String tenant, String callbackUrl) {
+		return RestJobSupport.submit(jobService, RestJobSupport.getTenant(securityContext, tenant), new Callable<RemoteDocument>() {
+			@Override
+			public RemoteDocument call() throws Exception {
+				return toRemoteDocument(
+						service.signDocument(signDocumentDto.getToSignDocument(), signDocumentDto.getParameters(), signDocumentDto.getSignatureValue()));
+			}
+		}, callbackUrl);
+	}
+
+	@Override
+	public RemoteJob submitExtendDocument(final ExtendDocumentDTO extendDocumentDto, String tenant, String callbackUrl) {
+		return RestJobSupport.submit(jobService, RestJobSupport.getTenant(securityContext, tenant), new Callable<RemoteDocument>() {
+			@Override
+			public RemoteDocument call() throws Exception {
+				return toRemoteDocument(service.extendDocument(extendDocumentDto.getToExtendDocument(), extendDocumentDto.getParameters()));
+			}
+		}, callbackUrl);
+	}
+
+	@Override
+	public RemoteJob getJob(String id, String tenant) {
+		return RestJobSupport.getJob(jobService, RestJobSupport.getTenant(securityContext, tenant), id);
+	}
+
+	@Override
+	public RemoteDocument getDocument(String id, String tenant) {
+		return RestJobSupport.getResult(jobService, RestJobSupport.getTenant(securityContext, tenant), id);
+	}
+
+	private RemoteDocument toRemoteDocument(DSSDocument doc) throws DSSException {
+		return new RemoteDocument(DSSUtils.toByteArray(doc), doc.getMimeType(), doc.getName());
+	}
+
+}
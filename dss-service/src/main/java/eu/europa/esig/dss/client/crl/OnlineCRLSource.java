@@ -34,6 +34,9 @@ import eu.europa.esig.dss.client.http.Protocol;
 import eu.europa.esig.dss.client.http.commons.CommonsDataLoader;
 import eu.europa.esig.dss.crl.CRLUtils;
 import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.metrics.MetricsSpan;
+import eu.europa.esig.dss.metrics.NoOpValidationMetrics;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.x509.CertificateToken;
 import eu.europa.esig.dss.x509.crl.CRLSource;
@@ -64,6 +67,11 @@ public class OnlineCRLSource implements CRLSource {
 	 */
 	private DataLoader dataLoader;
 
+	/**
+	 * The collector of the duration of the CRL downloads.
+	 */
+	private ValidationMetrics validationMetrics = new NoOpValidationMetrics();
+
 	/**
 	 * The default constructor. A {@code CommonsDataLoader is created}.
 	 */
@@ -109,6 +117,16 @@ public class OnlineCRLSource implements CRLSource {
 		this.dataLoader = dataLoader;
 	}
 
+	/**
+	 * Set the collector of the metrics (duration of the downloads).
+	 *
+	 * @param validationMetrics
+	 *            the metrics collector
+	 */
+	public void setValidationMetrics(final ValidationMetrics validationMetrics) {
+		this.validationMetrics = validationMetrics;
+	}
+
 	@Override
 	public CRLToken findCrl(final CertificateToken certificateToken) throws DSSException {
 
@@ -151,11 +169,15 @@ public class OnlineCRLSource implements CRLSource {
 	 * @return {@code X509CRL} or null if it was not possible to download the CRL
 	 */
 	private DataLoader.DataAndUrl downloadCrl(final List<String> downloadUrls) {
-		try {
-			return dataLoader.get(downloadUrls);
-		} catch (DSSException e) {
-			LOG.warn("Unable to download CRL from URLs {}", downloadUrls, e);
-			return null;
+		try (MetricsSpan span = validationMetrics.startSpan(ValidationMetrics.CRL_REQUEST)) {
+			span.tag(ValidationMetrics.URL, downloadUrls.get(0));
+			try {
+				return dataLoader.get(downloadUrls);
+			} catch (DSSException e) {
+				span.fail(e);
+				LOG.warn("Unable to download CRL from URLs {}", downloadUrls, e);
+				return null;
+			}
 		}
 	}
 
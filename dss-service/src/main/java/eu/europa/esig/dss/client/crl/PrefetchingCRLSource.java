@@ -0,0 +1,433 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.client.crl;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSASN1Utils;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.crl.CRLValidity;
+import eu.europa.esig.dss.metrics.NoOpValidationMetrics;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.crl.CRLSource;
+import eu.europa.esig.dss.x509.crl.CRLToken;
+
+/**
+ * This CRL source keeps the downloaded (and validated) CRLs in memory and refreshes them in the background shortly
+ * before their nextUpdate. The validations only wait for a download the first time a distribution point is seen (or
+ * if its background refresh failed).
+ *
+ * The distribution points are registered when a CRL is requested for a certificate or with
+ * {@code #prefetch(CertificateToken)} (eg : for the CA certificates of a trusted list). A refreshed CRL replaces the
+ * previous one atomically : a validation always sees a complete CRL.
+ *
+ * The background downloads are executed by a {@code ScheduledExecutorService} which is created with
+ * {@code maxConcurrentRefreshes} daemon threads if none is provided. {@code #shutdown()} stops the background
+ * refreshes.
+ */
+@SuppressWarnings("serial")
+public class PrefetchingCRLSource implements CRLSource {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PrefetchingCRLSource.class);
+
+	private final OnlineCRLSource cachedSource;
+
+	private final ConcurrentMap<String, DistributionPoint> distributionPoints = new ConcurrentHashMap<String, DistributionPoint>();
+
+	private final Random random = new Random();
+
+	private transient ScheduledExecutorService scheduledExecutorService;
+
+	private boolean defaultExecutor;
+
+	private boolean shutdown;
+
+	private int maxConcurrentRefreshes = 2;
+
+	private long refreshMargin = TimeUnit.MINUTES.toMillis(5);
+
+	private long maxJitter = TimeUnit.MINUTES.toMillis(1);
+
+	private long retryDelay = TimeUnit.MINUTES.toMillis(1);
+
+	private long defaultRefreshPeriod = TimeUnit.HOURS.toMillis(1);
+
+	private long evictionTime = TimeUnit.DAYS.toMillis(1);
+
+	private ValidationMetrics validationMetrics = new NoOpValidationMetrics();
+
+	/**
+	 * The default constructor. The CRLs are downloaded with the given {@code OnlineCRLSource}.
+	 *
+	 * @param cachedSource
+	 *            the source used to download and validate the CRLs
+	 */
+	public PrefetchingCRLSource(final OnlineCRLSource cachedSource) {
+		this.cachedSource = cachedSource;
+	}
+
+	/**
+	 * This method allows to provide the executor which runs the background refreshes. If not set, an executor with
+	 * {@code maxConcurrentRefreshes} daemon threads is created.
+	 *
+	 * @param scheduledExecutorService
+	 *            the executor of the refresh tasks
+	 */
+	public synchronized void setScheduledExecutorService(ScheduledExecutorService scheduledExecutorService) {
+		this.scheduledExecutorService = scheduledExecutorService;
+	}
+
+	/**
+	 * This method allows to define the maximum number of CRLs which are downloaded at the same time by the default
+	 * executor (default : 2)
+	 *
+	 * @param maxConcurrentRefreshes
+	 *            the number of threads of the default executor
+	 */
+	public void setMaxConcurrentRefreshes(int maxConcurrentRefreshes) {
+		this.maxConcurrentRefreshes = maxConcurrentRefreshes;
+	}
+
+	/**
+	 * This method allows to define how long before the nextUpdate a CRL is refreshed (default : 5 minutes)
+	 *
+	 * @param refreshMargin
+	 *            the delay in milliseconds
+	 */
+	public void setRefreshMargin(long refreshMargin) {
+		this.refreshMargin = refreshMargin;
+	}
+
+	/**
+	 * This method allows to define the maximum random delay which is subtracted from the refresh time, to avoid the
+	 * simultaneous downloads of the CRLs with the same nextUpdate (default : 1 minute)
+	 *
+	 * @param maxJitter
+	 *            the delay in milliseconds
+	 */
+	public void setMaxJitter(long maxJitter) {
+		this.maxJitter = maxJitter;
+	}
+
+	/**
+	 * This method allows to define the delay before a new attempt when a refresh failed. It is also the minimum delay
+	 * between two refreshes of a distribution point (default : 1 minute)
+	 *
+	 * @param retryDelay
+	 *            the delay in milliseconds
+	 */
+	public void setRetryDelay(long retryDelay) {
+		this.retryDelay = retryDelay;
+	}
+
+	/**
+	 * This method allows to define the refresh period of the CRLs without nextUpdate (default : 1 hour)
+	 *
+	 * @param defaultRefreshPeriod
+	 *            the period in milliseconds
+	 */
+	public void setDefaultRefreshPeriod(long defaultRefreshPeriod) {
+		this.defaultRefreshPeriod = defaultRefreshPeriod;
+	}
+
+	/**
+	 * This method allows to define after which period without request a distribution point is not refreshed anymore
+	 * (default : 1 day)
+	 *
+	 * @param evictionTime
+	 *            the period in milliseconds
+	 */
+	public void setEvictionTime(long evictionTime) {
+		this.evictionTime = evictionTime;
+	}
+
+	/**
+	 * This method allows to count the requests which are answered from the cache and the ones which wait for a
+	 * download.
+	 *
+	 * @param validationMetrics
+	 *            the metrics collector
+	 */
+	public void setValidationMetrics(ValidationMetrics validationMetrics) {
+		this.validationMetrics = validationMetrics;
+	}
+
+	@Override
+	public CRLToken findCrl(final CertificateToken certificateToken) throws DSSException {
+		if (certificateToken == null) {
+			return null;
+		}
+		final CertificateToken issuerToken = certificateToken.getIssuerToken();
+		if (issuerToken == null) {
+			return null;
+		}
+		final List<String> crlUrls = DSSASN1Utils.getCrlUrls(certificateToken);
+		if (Utils.isCollectionEmpty(crlUrls)) {
+			return null;
+		}
+
+		final String key = crlUrls.get(0);
+		DistributionPoint distributionPoint = distributionPoints.get(key);
+		if (distributionPoint != null && !issuerToken.equals(distributionPoint.certificateToken.getIssuerToken())) {
+			LOG.warn("The CRL '{}' is used by several issuers, it is not cached", key);
+			return cachedSource.findCrl(certificateToken);
+		}
+
+		if (distributionPoint == null) {
+			final DistributionPoint newDistributionPoint = new DistributionPoint(key, certificateToken);
+			distributionPoint = distributionPoints.putIfAbsent(key, newDistributionPoint);
+			if (distributionPoint == null) {
+				distributionPoint = newDistributionPoint;
+			}
+		}
+		distributionPoint.lastAccess = System.currentTimeMillis();
+
+		CRLToken crlToken = distributionPoint.getCRLToken(certificateToken);
+		if (crlToken == null) {
+			// first request or failed refresh : the validation waits for the download
+			validationMetrics.increment(ValidationMetrics.CRL_CACHE, ValidationMetrics.MISS);
+			distributionPoint.refresh();
+			crlToken = distributionPoint.getCRLToken(certificateToken);
+		} else {
+			validationMetrics.increment(ValidationMetrics.CRL_CACHE, ValidationMetrics.HIT);
+		}
+		return crlToken;
+	}
+
+	/**
+	 * Registers the CRL distribution point of the given certificate and loads it in the background. The issuer of the
+	 * certificate must be known.
+	 *
+	 * @param certificateToken
+	 *            a certificate with a CRL distribution point (eg : a CA certificate of a trusted list)
+	 */
+	public void prefetch(final CertificateToken certificateToken) {
+		if (certificateToken.getIssuerToken() == null) {
+			LOG.debug("Unknown issuer for {}, the CRL cannot be prefetched", certificateToken.getDSSIdAsString());
+			return;
+		}
+		final List<String> crlUrls = DSSASN1Utils.getCrlUrls(certificateToken);
+		if (Utils.isCollectionNotEmpty(crlUrls)) {
+			final DistributionPoint distributionPoint = new DistributionPoint(crlUrls.get(0), certificateToken);
+			distributionPoint.lastAccess = System.currentTimeMillis();
+			if (distributionPoints.putIfAbsent(distributionPoint.key, distributionPoint) == null) {
+				distributionPoint.scheduleRefresh(0);
+			}
+		}
+	}
+
+	/**
+	 * Stops the background refreshes. The cached CRLs are still used until their nextUpdate.
+	 */
+	public synchronized void shutdown() {
+		shutdown = true;
+		if (defaultExecutor && (scheduledExecutorService != null)) {
+			scheduledExecutorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Returns the executor of the refresh tasks or null if the background refreshes are stopped
+	 */
+	private synchronized ScheduledExecutorService getScheduledExecutorService() {
+		if (shutdown) {
+			return null;
+		}
+		if (scheduledExecutorService == null) {
+			defaultExecutor = true;
+			scheduledExecutorService = Executors.newScheduledThreadPool(maxConcurrentRefreshes, new ThreadFactory() {
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "dss-crl-prefetch");
+					thread.setDaemon(true);
+					return thread;
+				}
+
+			});
+		}
+		return scheduledExecutorService;
+	}
+
+	/**
+	 * Computes the delay before the next refresh : {@code refreshMargin} (+ jitter) before the nextUpdate
+	 */
+	private long getRefreshDelay(final CRLValidity crlValidity) {
+		final Date nextUpdate = crlValidity.getNextUpdate();
+		if (nextUpdate == null) {
+			return defaultRefreshPeriod;
+		}
+		long jitter = 0;
+		if (maxJitter > 0) {
+			synchronized (random) {
+				jitter = (long) (random.nextDouble() * maxJitter);
+			}
+		}
+		final long delay = nextUpdate.getTime() - System.currentTimeMillis() - refreshMargin - jitter;
+		return Math.max(delay, retryDelay);
+	}
+
+	/**
+	 * Returns true if the CRL does not need to be refreshed yet
+	 */
+	private boolean isFresh(final CRLValidity crlValidity) {
+		final Date nextUpdate = crlValidity.getNextUpdate();
+		if (nextUpdate == null) {
+			return true;
+		}
+		return (nextUpdate.getTime() - System.currentTimeMillis()) > (refreshMargin + maxJitter);
+	}
+
+	/**
+	 * A CRL distribution point with its last valid CRL
+	 */
+	private final class DistributionPoint {
+
+		private final String key;
+
+		/**
+		 * The certificate which is used to download the CRL (it contains the urls and the issuer)
+		 */
+		private final CertificateToken certificateToken;
+
+		/**
+		 * The last valid CRL, replaced by each successful refresh
+		 */
+		private volatile CachedCRL cachedCRL;
+
+		private volatile long lastAccess;
+
+		/**
+		 * True if a refresh task is pending (at most one per distribution point)
+		 */
+		private boolean scheduled;
+
+		private DistributionPoint(String key, CertificateToken certificateToken) {
+			this.key = key;
+			this.certificateToken = certificateToken;
+		}
+
+		/**
+		 * Returns a CRLToken built from the current CRL or null if there is no valid CRL
+		 */
+		private CRLToken getCRLToken(final CertificateToken certificate) {
+			final CachedCRL current = cachedCRL;
+			if ((current == null) || !isUpToDate(current.crlValidity)) {
+				return null;
+			}
+			final CRLToken crlToken = new CRLToken(certificate, current.crlValidity);
+			crlToken.setSourceURL(current.sourceURL);
+			crlToken.setAvailable(true);
+			return crlToken;
+		}
+
+		private boolean isUpToDate(final CRLValidity validity) {
+			final Date nextUpdate = validity.getNextUpdate();
+			return (nextUpdate == null) || nextUpdate.after(new Date());
+		}
+
+		/**
+		 * Downloads the CRL (if needed) and schedules the next refresh. Concurrent refreshes of the same distribution
+		 * point are executed only once.
+		 */
+		private synchronized void refresh() {
+			final CachedCRL current = cachedCRL;
+			long delay = retryDelay;
+			if ((current != null) && isFresh(current.crlValidity)) {
+				// refreshed by another thread in the meantime
+				delay = getRefreshDelay(current.crlValidity);
+			} else {
+				try {
+					final CRLToken crlToken = cachedSource.findCrl(certificateToken);
+					if ((crlToken != null) && crlToken.isValid()) {
+						LOG.debug("CRL '{}' refreshed", key);
+						cachedCRL = new CachedCRL(crlToken.getCrlValidity(), crlToken.getSourceURL());
+						delay = getRefreshDelay(crlToken.getCrlValidity());
+					} else {
+						LOG.warn("Unable to refresh the CRL '{}'", key);
+					}
+				} catch (DSSException e) {
+					LOG.warn("Unable to refresh the CRL '{}' : {}", key, e.getMessage());
+				}
+			}
+			if (!scheduled) {
+				scheduleRefresh(delay);
+			}
+		}
+
+		private synchronized void scheduleRefresh(final long delay) {
+			final ScheduledExecutorService executor = getScheduledExecutorService();
+			if (executor == null) {
+				return;
+			}
+			try {
+				executor.schedule(new Runnable() {
+
+					@Override
+					public void run() {
+						synchronized (DistributionPoint.this) {
+							scheduled = false;
+						}
+						if ((System.currentTimeMillis() - lastAccess) > evictionTime) {
+							LOG.debug("The CRL '{}' is not used anymore", key);
+							distributionPoints.remove(key, DistributionPoint.this);
+						} else {
+							refresh();
+						}
+					}
+
+				}, delay, TimeUnit.MILLISECONDS);
+				scheduled = true;
+			} catch (RejectedExecutionException e) {
+				LOG.warn("Unable to schedule the refresh of the CRL '{}' : {}", key, e.getMessage());
+			}
+		}
+
+	}
+
+	private static final class CachedCRL {
+
+		private final CRLValidity crlValidity;
+
+		private final String sourceURL;
+
+		private CachedCRL(CRLValidity crlValidity, String sourceURL) {
+			this.crlValidity = crlValidity;
+			this.sourceURL = sourceURL;
+		}
+
+	}
+
+}
@@ -0,0 +1,230 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.client.http.commons;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.client.http.AsyncDataLoader;
+
+/**
+ * {@code CommonsDataLoader} which executes the requests in the background. The requests share the pooled connections
+ * of the {@code HttpClient} : the number of connections to the same host is limited by
+ * {@code connectionsMaxPerRoute}.
+ *
+ * The identical GET requests which are executed at the same time are coalesced : only one request is sent and all the
+ * callers receive its result. The blocking {@code get} and {@code post} methods are still available, a blocking GET
+ * also joins an identical request in progress. The POST requests are never coalesced (eg : OCSP requests with a
+ * nonce).
+ *
+ * The background requests are executed by an {@code ExecutorService} which is created with
+ * {@code connectionsMaxTotal} daemon threads if none is provided.
+ */
+@SuppressWarnings("serial")
+public class AsyncCommonsDataLoader extends CommonsDataLoader implements AsyncDataLoader {
+
+	private transient ConcurrentMap<String, FutureTask<byte[]>> pendingGets;
+
+	private transient ExecutorService executorService;
+
+	private boolean defaultExecutor;
+
+	/**
+	 * The default constructor for AsyncCommonsDataLoader.
+	 */
+	public AsyncCommonsDataLoader() {
+		this(null);
+	}
+
+	/**
+	 * The constructor for AsyncCommonsDataLoader with defined content-type.
+	 *
+	 * @param contentType
+	 *            The content type of each request
+	 */
+	public AsyncCommonsDataLoader(final String contentType) {
+		super(contentType);
+	}
+
+	/**
+	 * This method allows to provide the executor which runs the background requests. If not set, an executor with
+	 * {@code connectionsMaxTotal} daemon threads is created.
+	 *
+	 * @param executorService
+	 *            the executor of the requests
+	 */
+	public synchronized void setExecutorService(final ExecutorService executorService) {
+		this.executorService = executorService;
+		this.defaultExecutor = false;
+	}
+
+	@Override
+	public byte[] get(final String url) {
+		final FutureTask<byte[]> task = new GetTask(url);
+		final FutureTask<byte[]> pending = getPendingGets().putIfAbsent(url, task);
+		if (pending != null) {
+			return getResult(pending);
+		}
+		// no identical request in progress : the request is executed by the caller
+		task.run();
+		return getResult(task);
+	}
+
+	@Override
+	public Future<byte[]> getAsync(final String url) {
+		final FutureTask<byte[]> task = new GetTask(url);
+		final FutureTask<byte[]> pending = getPendingGets().putIfAbsent(url, task);
+		if (pending != null) {
+			return pending;
+		}
+		execute(task);
+		return task;
+	}
+
+	@Override
+	public Future<byte[]> postAsync(final String url, final byte[] content) {
+		final FutureTask<byte[]> task = new FutureTask<byte[]>(new Callable<byte[]>() {
+
+			@Override
+			public byte[] call() {
+				return post(url, content);
+			}
+
+		});
+		execute(task);
+		return task;
+	}
+
+	/**
+	 * Stops the default executor and closes the HTTP clients. They are created again at the next request.
+	 */
+	@Override
+	public void shutdown() {
+		synchronized (this) {
+			if (defaultExecutor && (executorService != null)) {
+				executorService.shutdown();
+				executorService = null;
+			}
+		}
+		super.shutdown();
+	}
+
+	private void execute(final FutureTask<byte[]> task) {
+		try {
+			getExecutorService().execute(task);
+		} catch (RejectedExecutionException e) {
+			task.cancel(false);
+			throw new DSSException("Unable to execute the request in the background", e);
+		}
+	}
+
+	private byte[] getResult(final Future<byte[]> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("Interrupted while waiting for the response", e);
+		} catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof DSSException) {
+				throw (DSSException) cause;
+			}
+			throw new DSSException(cause);
+		}
+	}
+
+	private synchronized ConcurrentMap<String, FutureTask<byte[]>> getPendingGets() {
+		if (pendingGets == null) {
+			pendingGets = new ConcurrentHashMap<String, FutureTask<byte[]>>();
+		}
+		return pendingGets;
+	}
+
+	private synchronized ExecutorService getExecutorService() {
+		if (executorService == null) {
+			defaultExecutor = true;
+			executorService = Executors.newFixedThreadPool(getConnectionsMaxTotal(), new ThreadFactory() {
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "dss-data-loader");
+					thread.setDaemon(true);
+					return thread;
+				}
+
+			});
+		}
+		return executorService;
+	}
+
+	/**
+	 * GET request which is visible to the identical requests until its completion
+	 */
+	private class GetTask extends FutureTask<byte[]> {
+
+		private final String url;
+
+		private GetTask(final String url) {
+			super(new Callable<byte[]>() {
+
+				@Override
+				public byte[] call() {
+					return AsyncCommonsDataLoader.super.get(url);
+				}
+
+			});
+			this.url = url;
+		}
+
+		/**
+		 * The task is removed before its result is published : a request made after the completion is never joined to
+		 * it
+		 */
+		@Override
+		protected void set(byte[] result) {
+			getPendingGets().remove(url, this);
+			super.set(result);
+		}
+
+		@Override
+		protected void setException(Throwable t) {
+			getPendingGets().remove(url, this);
+			super.setException(t);
+		}
+
+		@Override
+		protected void done() {
+			// cancelled tasks
+			getPendingGets().remove(url, this);
+		}
+
+	}
+
+}
@@ -92,6 +92,8 @@ import eu.europa.esig.dss.client.http.DataLoader;
 import eu.europa.esig.dss.client.http.Protocol;
 import eu.europa.esig.dss.client.http.proxy.ProxyConfig;
 import eu.europa.esig.dss.client.http.proxy.ProxyProperties;
+import eu.europa.esig.dss.metrics.NoOpValidationMetrics;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
 import eu.europa.esig.dss.utils.Utils;
 
 /**
@@ -133,9 +135,22 @@ public class CommonsDataLoader implements DataLoader {
 	private int connectionsMaxPerRoute = CONNECTIONS_MAX_PER_ROUTE;
 	private boolean redirectsEnabled = true;
 	private List<Integer> acceptedHttpStatus = ACCEPTED_HTTP_STATUS;
+	private ValidationMetrics validationMetrics = new NoOpValidationMetrics();
 
 	private final Map<HttpHost, UsernamePasswordCredentials> authenticationMap = new HashMap<HttpHost, UsernamePasswordCredentials>();
 
+	/**
+	 * The HTTP clients by protocol (the proxy configuration depends on it). They are shared by all the requests, so
+	 * that the pooled connections are kept alive between the calls.
+	 */
+	private transient Map<String, CloseableHttpClient> httpClients;
+
+	/**
+	 * The number of requests in progress by HTTP client (guarded by this) : a client which is replaced after a change
+	 * of the configuration is only closed once its requests are finished.
+	 */
+	private transient Map<CloseableHttpClient, Integer> activeRequests;
+
 	/**
 	 * Path to the keystore.
 	 */
@@ -238,7 +253,57 @@ public class CommonsDataLoader implements DataLoader {
 		}
 	}
 
+	/**
+	 * Returns the shared {@code HttpClient} for the protocol of the given url. The client is created at the first call
+	 * and is kept until {@link #shutdown()} or a change of its configuration. The requests in progress with a replaced
+	 * client are completed before it is closed.
+	 *
+	 * @param url
+	 *            the url to access
+	 * @return the {@code HttpClient}
+	 * @throws DSSException
+	 *             if the client cannot be created
+	 */
 	protected synchronized CloseableHttpClient getHttpClient(final String url) throws DSSException {
+		if (httpClients == null) {
+			httpClients = new HashMap<String, CloseableHttpClient>();
+		}
+		final String protocol = getURL(url.trim()).getProtocol();
+		CloseableHttpClient httpClient = httpClients.get(protocol);
+		if (httpClient == null) {
+			httpClient = createHttpClient(url);
+			httpClients.put(protocol, httpClient);
+		}
+		return httpClient;
+	}
+
+	private synchronized CloseableHttpClient acquireHttpClient(final String url) throws DSSException {
+		final CloseableHttpClient httpClient = getHttpClient(url);
+		if (activeRequests == null) {
+			activeRequests = new HashMap<CloseableHttpClient, Integer>();
+		}
+		final Integer count = activeRequests.get(httpClient);
+		activeRequests.put(httpClient, count == null ? 1 : count + 1);
+		return httpClient;
+	}
+
+	private synchronized void releaseHttpClient(final CloseableHttpClient httpClient) {
+		if (httpClient == null) {
+			return;
+		}
+		final int count = activeRequests.get(httpClient) - 1;
+		if (count > 0) {
+			activeRequests.put(httpClient, count);
+			return;
+		}
+		activeRequests.remove(httpClient);
+		if ((httpClients == null) || !httpClients.containsValue(httpClient)) {
+			// the client has been replaced while the request was in progress
+			closeClient(httpClient);
+		}
+	}
+
+	private CloseableHttpClient createHttpClient(final String url) throws DSSException {
 		HttpClientBuilder httpClientBuilder = HttpClients.custom();
 
 		httpClientBuilder = configCredentials(httpClientBuilder, url);
@@ -496,8 +561,10 @@ public class CommonsDataLoader implements DataLoader {
 	protected byte[] httpGet(final String url) {
 
 		HttpGet httpRequest = null;
-		HttpResponse httpResponse = null;
 		CloseableHttpClient client = null;
+		HttpResponse httpResponse = null;
+		byte[] returnedBytes = null;
+		final long start = System.currentTimeMillis();
 		try {
 
 			final URI uri = new URI(url.trim());
@@ -506,10 +573,10 @@ public class CommonsDataLoader implements DataLoader {
 				httpRequest.setHeader(CONTENT_TYPE, contentType);
 			}
 
-			client = getHttpClient(url);
+			client = acquireHttpClient(url);
 			httpResponse = getHttpResponse(client, httpRequest, url);
 
-			final byte[] returnedBytes = readHttpResponse(url, httpResponse);
+			returnedBytes = readHttpResponse(url, httpResponse);
 			return returnedBytes;
 
 		} catch (URISyntaxException e) {
@@ -517,16 +584,14 @@ public class CommonsDataLoader implements DataLoader {
 
 		} finally {
 
-			try {
-				if (httpRequest != null) {
-					httpRequest.releaseConnection();
-				}
-				if (httpResponse != null) {
-					EntityUtils.consumeQuietly(httpResponse.getEntity());
-				}
-			} finally {
-				closeClient(client);
+			if (httpRequest != null) {
+				httpRequest.releaseConnection();
+			}
+			if (httpResponse != null) {
+				EntityUtils.consumeQuietly(httpResponse.getEntity());
 			}
+			releaseHttpClient(client);
+			recordNetworkCall(httpRequest, httpResponse, returnedBytes, start);
 		}
 	}
 
@@ -536,8 +601,10 @@ public class CommonsDataLoader implements DataLoader {
 		LOG.debug("Fetching data via POST from url " + url);
 
 		HttpPost httpRequest = null;
-		HttpResponse httpResponse = null;
 		CloseableHttpClient client = null;
+		HttpResponse httpResponse = null;
+		byte[] returnedBytes = null;
+		final long start = System.currentTimeMillis();
 		try {
 			final URI uri = URI.create(url.trim());
 			httpRequest = new HttpPost(uri);
@@ -557,24 +624,62 @@ public class CommonsDataLoader implements DataLoader {
 				httpRequest.setHeader(CONTENT_TYPE, contentType);
 			}
 
-			client = getHttpClient(url);
+			client = acquireHttpClient(url);
 			httpResponse = getHttpResponse(client, httpRequest, url);
 
-			final byte[] returnedBytes = readHttpResponse(url, httpResponse);
+			returnedBytes = readHttpResponse(url, httpResponse);
 			return returnedBytes;
 		} catch (IOException e) {
 			throw new DSSException(e);
 		} finally {
+			if (httpRequest != null) {
+				httpRequest.releaseConnection();
+			}
+			if (httpResponse != null) {
+				EntityUtils.consumeQuietly(httpResponse.getEntity());
+			}
+			releaseHttpClient(client);
+			recordNetworkCall(httpRequest, httpResponse, returnedBytes, start);
+		}
+	}
+
+	/**
+	 * Records the call once the connection is released : a failure of the metrics collector does not change the
+	 * result of the request
+	 */
+	private void recordNetworkCall(final HttpUriRequest httpRequest, final HttpResponse httpResponse, final byte[] returnedBytes, final long start) {
+		if (httpRequest != null) {
 			try {
-				if (httpRequest != null) {
-					httpRequest.releaseConnection();
-				}
-				if (httpResponse != null) {
-					EntityUtils.consumeQuietly(httpResponse.getEntity());
+				final int status = httpResponse != null ? httpResponse.getStatusLine().getStatusCode() : -1;
+				final long bytes = returnedBytes != null ? returnedBytes.length : 0;
+				validationMetrics.networkCall(httpRequest.getMethod(), httpRequest.getURI().getHost(), httpRequest.getURI().toString(), status, bytes,
+						System.currentTimeMillis() - start);
+			} catch (RuntimeException e) {
+				LOG.warn("Unable to record the network call : {}", e.getMessage(), e);
+			}
+		}
+	}
+
+	/**
+	 * Closes the shared HTTP clients and their pooled connections (the clients with requests in progress are closed
+	 * once these requests are finished). New clients are created at the next request.
+	 */
+	public void shutdown() {
+		closeHttpClients();
+	}
+
+	/**
+	 * Replaces the shared HTTP clients : the next requests use new clients. The replaced clients are closed now or, if
+	 * they have requests in progress, at the end of their last request.
+	 */
+	private synchronized void closeHttpClients() {
+		if (httpClients != null) {
+			for (final CloseableHttpClient httpClient : httpClients.values()) {
+				if ((activeRequests == null) || !activeRequests.containsKey(httpClient)) {
+					closeClient(httpClient);
 				}
-			} finally {
-				closeClient(client);
 			}
+			httpClients = null;
 		}
 	}
 
@@ -662,6 +767,7 @@ public class CommonsDataLoader implements DataLoader {
 	public void setTimeoutConnection(final int timeoutConnection) {
 
 		this.timeoutConnection = timeoutConnection;
+		closeHttpClients();
 	}
 
 	/**
@@ -682,6 +788,7 @@ public class CommonsDataLoader implements DataLoader {
 	public void setTimeoutSocket(final int timeoutSocket) {
 
 		this.timeoutSocket = timeoutSocket;
+		closeHttpClients();
 	}
 
 	/**
@@ -701,6 +808,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setConnectionsMaxTotal(int connectionsMaxTotal) {
 		this.connectionsMaxTotal = connectionsMaxTotal;
+		closeHttpClients();
 	}
 
 	/**
@@ -720,6 +828,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setConnectionsMaxPerRoute(int connectionsMaxPerRoute) {
 		this.connectionsMaxPerRoute = connectionsMaxPerRoute;
+		closeHttpClients();
 	}
 
 	/**
@@ -739,6 +848,7 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setRedirectsEnabled(boolean redirectsEnabled) {
 		this.redirectsEnabled = redirectsEnabled;
+		closeHttpClients();
 	}
 
 	/**
@@ -786,30 +896,47 @@ public class CommonsDataLoader implements DataLoader {
 	 */
 	public void setProxyConfig(final ProxyConfig proxyConfig) {
 		this.proxyConfig = proxyConfig;
+		closeHttpClients();
+	}
+
+	/**
+	 * This method allows to record the network calls (host, status, size and duration).
+	 *
+	 * @param validationMetrics
+	 *            the metrics collector
+	 */
+	public void setValidationMetrics(final ValidationMetrics validationMetrics) {
+		this.validationMetrics = validationMetrics;
 	}
 
 	public void setSslKeystorePath(String sslKeystorePath) {
 		this.sslKeystorePath = sslKeystorePath;
+		closeHttpClients();
 	}
 
 	public void setSslKeystoreType(String sslKeystoreType) {
 		this.sslKeystoreType = sslKeystoreType;
+		closeHttpClients();
 	}
 
 	public void setSslKeystorePassword(String sslKeystorePassword) {
 		this.sslKeystorePassword = sslKeystorePassword;
+		closeHttpClients();
 	}
 
 	public void setSslTruststorePath(final String sslTruststorePath) {
 		this.sslTruststorePath = sslTruststorePath;
+		closeHttpClients();
 	}
 
 	public void setSslTruststorePassword(final String sslTruststorePassword) {
 		this.sslTruststorePassword = sslTruststorePassword;
+		closeHttpClients();
 	}
 
 	public void setSslTruststoreType(String sslTruststoreType) {
 		this.sslTruststoreType = sslTruststoreType;
+		closeHttpClients();
 	}
 
 	/**
@@ -830,6 +957,7 @@ public class CommonsDataLoader implements DataLoader {
 		final HttpHost httpHost = new HttpHost(host, port, scheme);
 		final UsernamePasswordCredentials credentials = new UsernamePasswordCredentials(login, password);
 		authenticationMap.put(httpHost, credentials);
+		closeHttpClients();
 
 		return this;
 	}
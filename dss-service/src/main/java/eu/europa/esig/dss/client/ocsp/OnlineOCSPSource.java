@@ -23,7 +23,18 @@ package eu.europa.esig.dss.client.ocsp;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.security.Security;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.bouncycastle.asn1.ASN1OctetString;
 import org.bouncycastle.asn1.ASN1Primitive;
@@ -37,6 +48,7 @@ import org.bouncycastle.cert.ocsp.OCSPException;
 import org.bouncycastle.cert.ocsp.OCSPReq;
 import org.bouncycastle.cert.ocsp.OCSPReqBuilder;
 import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.SingleResp;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,19 +57,24 @@ import eu.europa.esig.dss.DSSASN1Utils;
 import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DSSRevocationUtils;
 import eu.europa.esig.dss.client.NonceSource;
+import eu.europa.esig.dss.client.http.AsyncDataLoader;
 import eu.europa.esig.dss.client.http.DataLoader;
 import eu.europa.esig.dss.client.http.commons.OCSPDataLoader;
+import eu.europa.esig.dss.metrics.MetricsSpan;
+import eu.europa.esig.dss.metrics.NoOpValidationMetrics;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.ocsp.BatchOCSPSource;
 import eu.europa.esig.dss.x509.ocsp.OCSPRespStatus;
-import eu.europa.esig.dss.x509.ocsp.OCSPSource;
 import eu.europa.esig.dss.x509.ocsp.OCSPToken;
 
 /**
- * Online OCSP repository. This implementation will contact the OCSP Responder to retrieve the OCSP response.
+ * Online OCSP repository. This implementation will contact the OCSP Responder to retrieve the OCSP response. Several
+ * certificates of the same responder can be checked with one request (see {@code #getOCSPTokens(Collection)}).
  */
 @SuppressWarnings("serial")
-public class OnlineOCSPSource implements OCSPSource {
+public class OnlineOCSPSource implements BatchOCSPSource {
 
 	private static final Logger LOG = LoggerFactory.getLogger(OnlineOCSPSource.class);
 
@@ -75,6 +92,16 @@ public class OnlineOCSPSource implements OCSPSource {
 	 */
 	private DataLoader dataLoader;
 
+	/**
+	 * The OCSP responders which do not support the requests with several certificates.
+	 */
+	private final Set<String> singleRequestResponders = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+	/**
+	 * The collector of the duration of the OCSP requests.
+	 */
+	private ValidationMetrics validationMetrics = new NoOpValidationMetrics();
+
 	/**
 	 * Create an OCSP source The default constructor for OnlineOCSPSource. The default {@code OCSPDataLoader} is set. It
 	 * is possible to change it with {@code
@@ -104,6 +131,16 @@ public class OnlineOCSPSource implements OCSPSource {
 		this.nonceSource = nonceSource;
 	}
 
+	/**
+	 * Set the collector of the metrics (duration of the requests).
+	 *
+	 * @param validationMetrics
+	 *            the metrics collector
+	 */
+	public void setValidationMetrics(final ValidationMetrics validationMetrics) {
+		this.validationMetrics = validationMetrics;
+	}
+
 	@Override
 	public OCSPToken getOCSPToken(CertificateToken certificateToken, CertificateToken issuerCertificateToken) {
 		if (dataLoader == null) {
@@ -113,15 +150,11 @@ public class OnlineOCSPSource implements OCSPSource {
 		try {
 			final String dssIdAsString = certificateToken.getDSSIdAsString();
 			LOG.trace("--> OnlineOCSPSource queried for " + dssIdAsString);
-			final List<String> ocspAccessLocations = DSSASN1Utils.getOCSPAccessLocations(certificateToken);
-			if (Utils.isCollectionEmpty(ocspAccessLocations)) {
-				LOG.debug("No OCSP location found for " + dssIdAsString);
-				certificateToken.extraInfo().infoNoOcspUriFoundInCertificate();
+			final String ocspAccessLocation = getOCSPAccessLocation(certificateToken);
+			if (ocspAccessLocation == null) {
 				return null;
 			}
 
-			String ocspAccessLocation = ocspAccessLocations.get(0);
-
 			final CertificateID certId = DSSRevocationUtils.getOCSPCertificateID(certificateToken, issuerCertificateToken);
 
 			BigInteger nonce = null;
@@ -129,9 +162,9 @@ public class OnlineOCSPSource implements OCSPSource {
 				nonce = nonceSource.getNonce();
 			}
 
-			final byte[] content = buildOCSPRequest(certId, nonce);
+			final byte[] content = buildOCSPRequest(Collections.singletonList(certId), nonce);
 
-			final byte[] ocspRespBytes = dataLoader.post(ocspAccessLocation, content);
+			final byte[] ocspRespBytes = post(ocspAccessLocation, content, 1);
 			if (Utils.isArrayEmpty(ocspRespBytes)) {
 				return null;
 			}
@@ -140,19 +173,8 @@ public class OnlineOCSPSource implements OCSPSource {
 
 			OCSPRespStatus status = OCSPRespStatus.fromInt(ocspResp.getStatus());
 			if (OCSPRespStatus.SUCCESSFUL.equals(status)) {
-				OCSPToken ocspToken = new OCSPToken();
-				ocspToken.setResponseStatus(status);
-				ocspToken.setSourceURL(ocspAccessLocation);
-				ocspToken.setCertId(certId);
-				ocspToken.setAvailable(true);
 				final BasicOCSPResp basicOCSPResp = (BasicOCSPResp) ocspResp.getResponseObject();
-				ocspToken.setBasicOCSPResp(basicOCSPResp);
-
-				if (nonceSource != null) {
-					ocspToken.setUseNonce(true);
-					ocspToken.setNonceMatch(isNonceMatch(basicOCSPResp, nonce));
-				}
-				return ocspToken;
+				return buildOCSPToken(ocspAccessLocation, certId, basicOCSPResp, nonce);
 			} else {
 				certificateToken.extraInfo().infoOCSPException("OCSP Response status : " + status);
 				return null;
@@ -164,10 +186,270 @@ public class OnlineOCSPSource implements OCSPSource {
 		}
 	}
 
-	private byte[] buildOCSPRequest(final CertificateID certId, BigInteger nonce) throws DSSException {
+	/**
+	 * The certificates which share the same OCSP responder are requested with one OCSP request (which contains several
+	 * CertIDs). The certificates which are not present in the response and the certificates of the responders which
+	 * refuse the request are requested one by one.
+	 *
+	 * With an {@code AsyncDataLoader}, the requests to the different responders (and the single requests) are all sent
+	 * before waiting for the first response.
+	 */
+	@Override
+	public Map<CertificateToken, OCSPToken> getOCSPTokens(Collection<CertificateToken> certificateTokens) {
+		if (dataLoader == null) {
+			throw new NullPointerException("DataLoader is not provided !");
+		}
+
+		final Map<CertificateToken, OCSPToken> result = new HashMap<CertificateToken, OCSPToken>();
+		final Map<String, List<CertificateToken>> certificatesByLocation = new LinkedHashMap<String, List<CertificateToken>>();
+		for (CertificateToken certificateToken : certificateTokens) {
+			final String ocspAccessLocation = getOCSPAccessLocation(certificateToken);
+			if (ocspAccessLocation == null) {
+				result.put(certificateToken, null);
+			} else {
+				List<CertificateToken> certificates = certificatesByLocation.get(ocspAccessLocation);
+				if (certificates == null) {
+					certificates = new ArrayList<CertificateToken>();
+					certificatesByLocation.put(ocspAccessLocation, certificates);
+				}
+				certificates.add(certificateToken);
+			}
+		}
+
+		final boolean async = dataLoader instanceof AsyncDataLoader;
+		final List<OCSPRequest> requests = new ArrayList<OCSPRequest>();
+		for (Entry<String, List<CertificateToken>> entry : certificatesByLocation.entrySet()) {
+			final String ocspAccessLocation = entry.getKey();
+			final List<CertificateToken> certificates = entry.getValue();
+			if ((certificates.size() > 1) && !singleRequestResponders.contains(ocspAccessLocation)) {
+				requests.add(new OCSPRequest(ocspAccessLocation, certificates));
+			} else if (async) {
+				for (CertificateToken certificateToken : certificates) {
+					requests.add(new OCSPRequest(ocspAccessLocation, Collections.singletonList(certificateToken)));
+				}
+			}
+		}
+		for (OCSPRequest request : requests) {
+			request.send();
+		}
+		for (OCSPRequest request : requests) {
+			result.putAll(request.getOCSPTokens());
+		}
+
+		for (List<CertificateToken> certificates : certificatesByLocation.values()) {
+			for (CertificateToken certificateToken : certificates) {
+				if (!result.containsKey(certificateToken)) {
+					try {
+						result.put(certificateToken, getOCSPToken(certificateToken, certificateToken.getIssuerToken()));
+					} catch (DSSException e) {
+						LOG.error("OCSP DSS Exception: " + e.getMessage(), e);
+						certificateToken.extraInfo().infoOCSPException(e.getMessage());
+						result.put(certificateToken, null);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * One OCSP request for the certificates of the same responder. The content is built and, with an
+	 * {@code AsyncDataLoader}, posted by {@code #send()}. {@code #getOCSPTokens()} returns the certificates with a
+	 * matching single response.
+	 *
+	 * A request with one certificate (only sent with an {@code AsyncDataLoader}) is never repeated : its certificate is
+	 * always present in the returned map, with a null token on failure.
+	 */
+	private class OCSPRequest {
+
+		private final String ocspAccessLocation;
+
+		private final List<CertificateToken> certificates;
+
+		private final Map<CertificateToken, CertificateID> certIds = new LinkedHashMap<CertificateToken, CertificateID>();
+
+		private BigInteger nonce;
+
+		private byte[] content;
+
+		private MetricsSpan span;
+
+		private Future<byte[]> response;
+
+		private OCSPRequest(final String ocspAccessLocation, final List<CertificateToken> certificates) {
+			this.ocspAccessLocation = ocspAccessLocation;
+			this.certificates = certificates;
+		}
+
+		private boolean isSingle() {
+			return certificates.size() == 1;
+		}
+
+		private void send() {
+			try {
+				for (CertificateToken certificateToken : certificates) {
+					certIds.put(certificateToken, DSSRevocationUtils.getOCSPCertificateID(certificateToken, certificateToken.getIssuerToken()));
+				}
+
+				if (nonceSource != null) {
+					nonce = nonceSource.getNonce();
+				}
+
+				content = buildOCSPRequest(new ArrayList<CertificateID>(certIds.values()), nonce);
+
+				if (dataLoader instanceof AsyncDataLoader) {
+					span = startSpan(ocspAccessLocation, certIds.size());
+					response = ((AsyncDataLoader) dataLoader).postAsync(ocspAccessLocation, content);
+				}
+			} catch (RuntimeException e) {
+				// the certificates are requested one by one
+				LOG.warn("Unable to send the OCSP request with {} certificates to {} : {}", certificates.size(), ocspAccessLocation, e.getMessage());
+				content = null;
+				if (span != null) {
+					span.fail(e);
+					span.close();
+				}
+			}
+		}
+
+		private Map<CertificateToken, OCSPToken> getOCSPTokens() {
+			final Map<CertificateToken, OCSPToken> result = new HashMap<CertificateToken, OCSPToken>();
+			if (content == null) {
+				return result;
+			}
+			try {
+				final byte[] ocspRespBytes = (response == null) ? post(ocspAccessLocation, content, certIds.size()) : getResponse();
+				if (Utils.isArrayEmpty(ocspRespBytes)) {
+					if (isSingle()) {
+						result.put(certificates.get(0), null);
+					}
+					return result;
+				}
+
+				final OCSPResp ocspResp = new OCSPResp(ocspRespBytes);
+				OCSPRespStatus status = OCSPRespStatus.fromInt(ocspResp.getStatus());
+				if (!OCSPRespStatus.SUCCESSFUL.equals(status)) {
+					if (isSingle()) {
+						certificates.get(0).extraInfo().infoOCSPException("OCSP Response status : " + status);
+						result.put(certificates.get(0), null);
+					} else {
+						LOG.info("OCSP responder {} refused a request with {} certificates ({}), single requests will be used", ocspAccessLocation,
+								certificates.size(), status);
+						singleRequestResponders.add(ocspAccessLocation);
+					}
+					return result;
+				}
+
+				final BasicOCSPResp basicOCSPResp = (BasicOCSPResp) ocspResp.getResponseObject();
+				if (isSingle()) {
+					// same behaviour as getOCSPToken
+					final CertificateToken certificateToken = certificates.get(0);
+					result.put(certificateToken, buildOCSPToken(ocspAccessLocation, certIds.get(certificateToken), basicOCSPResp, nonce));
+					return result;
+				}
+				for (Entry<CertificateToken, CertificateID> entry : certIds.entrySet()) {
+					final CertificateID certId = entry.getValue();
+					if (hasSingleResp(basicOCSPResp, certId)) {
+						result.put(entry.getKey(), buildOCSPToken(ocspAccessLocation, certId, basicOCSPResp, nonce));
+					}
+				}
+				if (result.size() < certificates.size()) {
+					LOG.info("OCSP responder {} only answered {} of {} requests, single requests will be used", ocspAccessLocation, result.size(),
+							certificates.size());
+					singleRequestResponders.add(ocspAccessLocation);
+				}
+			} catch (Exception e) {
+				if (isSingle()) {
+					LOG.error("OCSP DSS Exception: " + e.getMessage(), e);
+					certificates.get(0).extraInfo().infoOCSPException(e.getMessage());
+					result.put(certificates.get(0), null);
+				} else {
+					LOG.warn("Unable to send the OCSP request with {} certificates to {} : {}", certificates.size(), ocspAccessLocation,
+							e.getMessage());
+				}
+			}
+			return result;
+		}
+
+		private byte[] getResponse() throws Exception {
+			try {
+				return response.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				span.fail(e);
+				throw e;
+			} catch (ExecutionException e) {
+				span.fail(e);
+				throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+			} finally {
+				span.close();
+			}
+		}
+
+	}
+
+	private byte[] post(final String ocspAccessLocation, final byte[] content, final int nbCertificates) {
+		try (MetricsSpan span = startSpan(ocspAccessLocation, nbCertificates)) {
+			try {
+				return dataLoader.post(ocspAccessLocation, content);
+			} catch (RuntimeException e) {
+				span.fail(e);
+				throw e;
+			}
+		}
+	}
+
+	private MetricsSpan startSpan(final String ocspAccessLocation, final int nbCertificates) {
+		final MetricsSpan span = validationMetrics.startSpan(ValidationMetrics.OCSP_REQUEST);
+		span.tag(ValidationMetrics.URL, ocspAccessLocation);
+		span.tag(ValidationMetrics.CERTIFICATES, String.valueOf(nbCertificates));
+		return span;
+	}
+
+	private String getOCSPAccessLocation(final CertificateToken certificateToken) {
+		final List<String> ocspAccessLocations = DSSASN1Utils.getOCSPAccessLocations(certificateToken);
+		if (Utils.isCollectionEmpty(ocspAccessLocations)) {
+			LOG.debug("No OCSP location found for " + certificateToken.getDSSIdAsString());
+			certificateToken.extraInfo().infoNoOcspUriFoundInCertificate();
+			return null;
+		}
+		return ocspAccessLocations.get(0);
+	}
+
+	private OCSPToken buildOCSPToken(final String ocspAccessLocation, final CertificateID certId, final BasicOCSPResp basicOCSPResp,
+			final BigInteger nonce) {
+		OCSPToken ocspToken = new OCSPToken();
+		ocspToken.setResponseStatus(OCSPRespStatus.SUCCESSFUL);
+		ocspToken.setSourceURL(ocspAccessLocation);
+		ocspToken.setCertId(certId);
+		ocspToken.setAvailable(true);
+		ocspToken.setBasicOCSPResp(basicOCSPResp);
+
+		if (nonceSource != null) {
+			ocspToken.setUseNonce(true);
+			ocspToken.setNonceMatch(isNonceMatch(basicOCSPResp, nonce));
+		}
+		return ocspToken;
+	}
+
+	private boolean hasSingleResp(final BasicOCSPResp basicOCSPResp, final CertificateID certId) {
+		final SingleResp[] responses = basicOCSPResp == null ? null : basicOCSPResp.getResponses();
+		if (responses != null) {
+			for (SingleResp singleResp : responses) {
+				if (DSSRevocationUtils.matches(certId, singleResp)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private byte[] buildOCSPRequest(final List<CertificateID> certIds, BigInteger nonce) throws DSSException {
 		try {
 			final OCSPReqBuilder ocspReqBuilder = new OCSPReqBuilder();
-			ocspReqBuilder.addRequest(certId);
+			for (CertificateID certId : certIds) {
+				ocspReqBuilder.addRequest(certId);
+			}
 			/*
 			 * The nonce extension is used to bind a request to a response to prevent replay attacks.
 			 * RFC 6960 (OCSP) section 4.1.2 such extensions SHOULD NOT be flagged as critical
@@ -37,6 +37,9 @@ import eu.europa.esig.dss.DigestAlgorithm;
 import eu.europa.esig.dss.client.NonceSource;
 import eu.europa.esig.dss.client.http.DataLoader;
 import eu.europa.esig.dss.client.http.NativeHTTPDataLoader;
+import eu.europa.esig.dss.metrics.MetricsSpan;
+import eu.europa.esig.dss.metrics.NoOpValidationMetrics;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.x509.tsp.TSPSource;
 
@@ -68,6 +71,11 @@ public class OnlineTSPSource implements TSPSource {
 	 */
 	private NonceSource nonceSource;
 
+	/**
+	 * The collector of the duration of the TSP requests.
+	 */
+	private ValidationMetrics validationMetrics = new NoOpValidationMetrics();
+
 	/**
 	 * The default constructor for OnlineTSPSource.
 	 */
@@ -125,8 +133,30 @@ public class OnlineTSPSource implements TSPSource {
 		this.nonceSource = nonceSource;
 	}
 
+	/**
+	 * Set the collector of the metrics (duration of the requests).
+	 *
+	 * @param validationMetrics
+	 *            the metrics collector
+	 */
+	public void setValidationMetrics(final ValidationMetrics validationMetrics) {
+		this.validationMetrics = validationMetrics;
+	}
+
 	@Override
 	public TimeStampToken getTimeStampResponse(final DigestAlgorithm digestAlgorithm, final byte[] digest) throws DSSException {
+		try (MetricsSpan span = validationMetrics.startSpan(ValidationMetrics.TSP_REQUEST)) {
+			span.tag(ValidationMetrics.URL, tspServer);
+			try {
+				return getTimeStampToken(digestAlgorithm, digest);
+			} catch (DSSException e) {
+				span.fail(e);
+				throw e;
+			}
+		}
+	}
+
+	private TimeStampToken getTimeStampToken(final DigestAlgorithm digestAlgorithm, final byte[] digest) throws DSSException {
 		try {
 			if (LOG.isTraceEnabled()) {
 				LOG.trace("Timestamp digest algorithm: " + digestAlgorithm.getName());
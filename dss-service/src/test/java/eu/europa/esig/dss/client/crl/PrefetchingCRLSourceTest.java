@@ -0,0 +1,176 @@
+package eu.europa.esig.dss.client.crl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.crl.CRLUtils;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.crl.CRLToken;
+
+public class PrefetchingCRLSourceTest {
+
+	private static final String CRL_URL = "http://crl.test/ca.crl";
+
+	private KeyPair caKeyPair;
+	private CertificateToken caToken;
+	private CertificateToken firstCertificate;
+	private CertificateToken secondCertificate;
+
+	private CountingCRLSource onlineSource;
+	private PrefetchingCRLSource prefetchingSource;
+
+	@Before
+	public void init() throws Exception {
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(1024);
+		caKeyPair = keyPairGenerator.generateKeyPair();
+
+		X500Name caName = new X500Name("CN=Test CA");
+		JcaX509v3CertificateBuilder caBuilder = new JcaX509v3CertificateBuilder(caName, BigInteger.ONE, new Date(System.currentTimeMillis() - 3600000),
+				new Date(System.currentTimeMillis() + 3600000), caName, caKeyPair.getPublic());
+		caBuilder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+		caBuilder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+		caToken = new CertificateToken(new JcaX509CertificateConverter().getCertificate(caBuilder.build(signer())));
+
+		firstCertificate = createCertificate(keyPairGenerator, 100);
+		secondCertificate = createCertificate(keyPairGenerator, 101);
+
+		onlineSource = new CountingCRLSource();
+		prefetchingSource = new PrefetchingCRLSource(onlineSource);
+		prefetchingSource.setMaxJitter(0);
+		prefetchingSource.setRetryDelay(50);
+	}
+
+	@After
+	public void shutdown() {
+		prefetchingSource.shutdown();
+	}
+
+	@Test
+	public void oneDownloadPerDistributionPoint() {
+		onlineSource.validity = 3600000;
+
+		CRLToken first = prefetchingSource.findCrl(firstCertificate);
+		CRLToken second = prefetchingSource.findCrl(secondCertificate);
+		assertNotNull(first);
+		assertNotNull(second);
+		assertTrue(first.getStatus());
+		// the serial number of the second certificate is revoked
+		assertFalse(second.getStatus());
+		assertEquals(CRL_URL, second.getSourceURL());
+		assertEquals(1, onlineSource.downloads.get());
+	}
+
+	@Test
+	public void refreshBeforeNextUpdate() throws Exception {
+		onlineSource.validity = 1000;
+		prefetchingSource.setRefreshMargin(500);
+
+		CRLToken crlToken = prefetchingSource.findCrl(firstCertificate);
+		assertNotNull(crlToken);
+		assertEquals(1, onlineSource.downloads.get());
+
+		// the CRL is downloaded again without any request
+		waitForDownloads(3);
+
+		crlToken = prefetchingSource.findCrl(secondCertificate);
+		assertNotNull(crlToken);
+		assertTrue(crlToken.getNextUpdate().after(new Date()));
+	}
+
+	@Test
+	public void prefetch() throws Exception {
+		onlineSource.validity = 3600000;
+
+		prefetchingSource.prefetch(firstCertificate);
+		waitForDownloads(1);
+
+		assertNotNull(prefetchingSource.findCrl(firstCertificate));
+		assertNotNull(prefetchingSource.findCrl(secondCertificate));
+		assertEquals(1, onlineSource.downloads.get());
+	}
+
+	private void waitForDownloads(int expected) throws InterruptedException {
+		long timeout = System.currentTimeMillis() + 10000;
+		while (onlineSource.downloads.get() < expected && System.currentTimeMillis() < timeout) {
+			Thread.sleep(20);
+		}
+		assertTrue(onlineSource.downloads.get() >= expected);
+	}
+
+	private CertificateToken createCertificate(KeyPairGenerator keyPairGenerator, int serialNumber) throws Exception {
+		KeyPair keyPair = keyPairGenerator.generateKeyPair();
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(new X500Name("CN=Test CA"), BigInteger.valueOf(serialNumber),
+				new Date(System.currentTimeMillis() - 3600000), new Date(System.currentTimeMillis() + 3600000), new X500Name("CN=User " + serialNumber),
+				keyPair.getPublic());
+		GeneralNames crlName = new GeneralNames(new GeneralName(GeneralName.uniformResourceIdentifier, CRL_URL));
+		builder.addExtension(Extension.cRLDistributionPoints, false,
+				new CRLDistPoint(new DistributionPoint[] { new DistributionPoint(new DistributionPointName(crlName), null, null) }));
+		CertificateToken certificate = new CertificateToken(new JcaX509CertificateConverter().getCertificate(builder.build(signer())));
+		assertTrue(certificate.isSignedBy(caToken));
+		return certificate;
+	}
+
+	private ContentSigner signer() throws Exception {
+		return new JcaContentSignerBuilder("SHA256withRSA").build(caKeyPair.getPrivate());
+	}
+
+	/**
+	 * Online source which generates a new CRL at each download
+	 */
+	@SuppressWarnings("serial")
+	private class CountingCRLSource extends OnlineCRLSource {
+
+		private final AtomicInteger downloads = new AtomicInteger();
+
+		private volatile long validity;
+
+		@Override
+		public CRLToken findCrl(CertificateToken certificateToken) throws DSSException {
+			downloads.incrementAndGet();
+			try {
+				Date now = new Date();
+				X509v2CRLBuilder builder = new X509v2CRLBuilder(new X500Name("CN=Test CA"), now);
+				builder.setNextUpdate(new Date(now.getTime() + validity));
+				builder.addCRLEntry(BigInteger.valueOf(101), now, 0);
+				byte[] crl = builder.build(signer()).getEncoded();
+				CRLToken crlToken = new CRLToken(certificateToken, CRLUtils.isValidCRL(new ByteArrayInputStream(crl), caToken));
+				crlToken.setSourceURL(CRL_URL);
+				crlToken.setAvailable(true);
+				return crlToken;
+			} catch (Exception e) {
+				throw new DSSException(e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,125 @@
+package eu.europa.esig.dss.client.http.commons;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.After;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSException;
+
+public class AsyncCommonsDataLoaderTest {
+
+	private static final String URL = "file:/dss/test.crl";
+
+	private static final byte[] DATA = new byte[] { 1, 2, 3 };
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private final AtomicInteger downloads = new AtomicInteger();
+
+	private final AsyncCommonsDataLoader dataLoader = new AsyncCommonsDataLoader() {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected byte[] fileGet(String urlString) {
+			downloads.incrementAndGet();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				throw new DSSException(e);
+			}
+			if (!URL.equals(urlString)) {
+				throw new DSSException("Unknown url " + urlString);
+			}
+			return DATA;
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			return content;
+		}
+
+	};
+
+	@After
+	public void shutdown() {
+		dataLoader.shutdown();
+	}
+
+	@Test
+	public void identicalGetsAreCoalesced() throws Exception {
+		Future<byte[]> first = dataLoader.getAsync(URL);
+		Future<byte[]> second = dataLoader.getAsync(URL);
+		assertSame(first, second);
+		assertFalse(first.isDone());
+
+		release.countDown();
+		assertArrayEquals(DATA, first.get());
+		assertEquals(1, downloads.get());
+
+		// the completed requests are not cached
+		assertArrayEquals(DATA, dataLoader.get(URL));
+		assertEquals(2, downloads.get());
+	}
+
+	@Test
+	public void blockingGetJoinsThePendingRequest() throws Exception {
+		Future<byte[]> pending = dataLoader.getAsync(URL);
+		Thread releaser = new Thread() {
+
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(200);
+				} catch (InterruptedException e) {
+					// ignore
+				}
+				release.countDown();
+			}
+
+		};
+		releaser.start();
+		assertArrayEquals(DATA, dataLoader.get(URL));
+		assertArrayEquals(DATA, pending.get());
+		assertEquals(1, downloads.get());
+	}
+
+	@Test(expected = DSSException.class)
+	public void failureIsPropagated() {
+		release.countDown();
+		dataLoader.get("file:/dss/unknown.crl");
+	}
+
+	@Test
+	public void postAsync() throws Exception {
+		assertArrayEquals(DATA, dataLoader.postAsync("http://ocsp.test", DATA).get());
+	}
+
+	@Test
+	public void sharedHttpClient() {
+		CommonsDataLoader commonsDataLoader = new CommonsDataLoader();
+		CloseableHttpClient httpClient = commonsDataLoader.getHttpClient("http://crl.test/ca.crl");
+		assertSame(httpClient, commonsDataLoader.getHttpClient("http://ocsp.test"));
+		assertNotSame(httpClient, commonsDataLoader.getHttpClient("https://tsa.test"));
+
+		commonsDataLoader.setTimeoutSocket(1000);
+		assertNotSame(httpClient, commonsDataLoader.getHttpClient("http://ocsp.test"));
+
+		httpClient = commonsDataLoader.getHttpClient("http://ocsp.test");
+		commonsDataLoader.shutdown();
+		assertNotSame(httpClient, commonsDataLoader.getHttpClient("http://ocsp.test"));
+		commonsDataLoader.shutdown();
+	}
+
+}
@@ -1,14 +1,28 @@
 package eu.europa.esig.dss.client.http.commons;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
 import eu.europa.esig.dss.DSSUtils;
 import eu.europa.esig.dss.client.http.NativeHTTPDataLoader;
+import eu.europa.esig.dss.metrics.NoOpValidationMetrics;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.x509.CertificateToken;
 
@@ -49,4 +63,102 @@ public class CommonsDataLoaderTest {
 		assertTrue(Utils.isArrayNotEmpty(dataLoader.get(url)));
 	}
 
+	@Test(timeout = 10000)
+	public void failingMetricsDoNotLeakConnections() throws IOException {
+		final byte[] data = new byte[] { 1, 2, 3 };
+		HttpServer server = startServer(data);
+		try {
+			CommonsDataLoader loader = new CommonsDataLoader();
+			loader.setConnectionsMaxTotal(1);
+			loader.setConnectionsMaxPerRoute(1);
+			loader.setValidationMetrics(new NoOpValidationMetrics() {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public void networkCall(String method, String host, String url, int status, long bytes, long duration) {
+					throw new IllegalStateException("Metrics failure");
+				}
+
+			});
+			String url = "http://localhost:" + server.getAddress().getPort() + "/data";
+			// the single pooled connection is released at each call
+			for (int i = 0; i < 3; i++) {
+				assertArrayEquals(data, loader.get(url));
+				assertArrayEquals(data, loader.post(url, data));
+			}
+			loader.shutdown();
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void reconfigurationDuringRequest() throws Exception {
+		final byte[] data = new byte[] { 1, 2, 3 };
+		final CountDownLatch received = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				if (exchange.getRequestURI().getPath().equals("/slow")) {
+					received.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						throw new IOException(e);
+					}
+				}
+				exchange.sendResponseHeaders(200, data.length);
+				try (OutputStream os = exchange.getResponseBody()) {
+					os.write(data);
+				}
+			}
+		});
+		server.start();
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			final CommonsDataLoader loader = new CommonsDataLoader();
+			final String url = "http://localhost:" + server.getAddress().getPort();
+			Future<byte[]> slow = executorService.submit(new Callable<byte[]>() {
+				@Override
+				public byte[] call() throws Exception {
+					return loader.get(url + "/slow");
+				}
+			});
+			received.await();
+
+			// the client of the request in progress is replaced but not closed
+			loader.setTimeoutSocket(20000);
+			assertArrayEquals(data, loader.get(url + "/fast"));
+
+			release.countDown();
+			assertArrayEquals(data, slow.get());
+			assertArrayEquals(data, loader.get(url + "/fast"));
+			loader.shutdown();
+		} finally {
+			release.countDown();
+			executorService.shutdown();
+			server.stop(0);
+		}
+	}
+
+	private static HttpServer startServer(final byte[] data) throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				DSSUtils.toByteArray(exchange.getRequestBody());
+				exchange.sendResponseHeaders(200, data.length);
+				try (OutputStream os = exchange.getResponseBody()) {
+					os.write(data);
+				}
+			}
+		});
+		server.start();
+		return server;
+	}
+
 }
@@ -0,0 +1,302 @@
+package eu.europa.esig.dss.client.ocsp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AccessDescription;
+import org.bouncycastle.asn1.x509.AuthorityInformationAccess;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cert.ocsp.BasicOCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.OCSPReq;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.OCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.Req;
+import org.bouncycastle.cert.ocsp.RespID;
+import org.bouncycastle.operator.ContentSigner;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSRevocationUtils;
+import eu.europa.esig.dss.client.http.AsyncDataLoader;
+import eu.europa.esig.dss.client.http.DataLoader;
+import eu.europa.esig.dss.metrics.MetricsSpan;
+import eu.europa.esig.dss.metrics.NoOpValidationMetrics;
+import eu.europa.esig.dss.metrics.ValidationMetrics;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.x509.ocsp.OCSPToken;
+
+public class OnlineOCSPSourceBatchTest {
+
+	private static final String OCSP_URL = "http://ocsp.test";
+
+	private static final String OCSP_URL_2 = "http://ocsp2.test";
+
+	private KeyPair caKeyPair;
+	private CertificateToken caToken;
+	private List<CertificateToken> certificates;
+
+	@Before
+	public void init() throws Exception {
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(1024);
+		caKeyPair = keyPairGenerator.generateKeyPair();
+
+		X500Name caName = new X500Name("CN=Test CA");
+		JcaX509v3CertificateBuilder caBuilder = new JcaX509v3CertificateBuilder(caName, BigInteger.ONE, notBefore(), notAfter(), caName,
+				caKeyPair.getPublic());
+		caBuilder.addExtension(Extension.basicConstraints, true, new BasicConstraints(true));
+		caToken = new CertificateToken(new JcaX509CertificateConverter().getCertificate(caBuilder.build(signer())));
+
+		certificates = new ArrayList<CertificateToken>();
+		for (int i = 0; i < 3; i++) {
+			certificates.add(createCertificate(keyPairGenerator, caName, i, OCSP_URL));
+		}
+	}
+
+	private CertificateToken createCertificate(KeyPairGenerator keyPairGenerator, X500Name caName, int i, String ocspUrl) throws Exception {
+		KeyPair keyPair = keyPairGenerator.generateKeyPair();
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(caName, BigInteger.valueOf(100 + i), notBefore(), notAfter(),
+				new X500Name("CN=User " + i), keyPair.getPublic());
+		builder.addExtension(Extension.authorityInfoAccess, false, new AuthorityInformationAccess(
+				new AccessDescription(AccessDescription.id_ad_ocsp, new GeneralName(GeneralName.uniformResourceIdentifier, ocspUrl))));
+		CertificateToken certificate = new CertificateToken(new JcaX509CertificateConverter().getCertificate(builder.build(signer())));
+		assertTrue(certificate.isSignedBy(caToken));
+		return certificate;
+	}
+
+	@Test
+	public void oneRequestPerResponder() {
+		OCSPResponder responder = new OCSPResponder(false);
+		OnlineOCSPSource ocspSource = new OnlineOCSPSource();
+		ocspSource.setDataLoader(responder);
+
+		Map<CertificateToken, OCSPToken> ocspTokens = ocspSource.getOCSPTokens(certificates);
+		assertEquals(1, responder.requestSizes.size());
+		assertEquals(3, responder.requestSizes.get(0).intValue());
+		checkTokens(ocspTokens);
+	}
+
+	@Test
+	public void fallbackToSingleRequests() {
+		OCSPResponder responder = new OCSPResponder(true);
+		OnlineOCSPSource ocspSource = new OnlineOCSPSource();
+		ocspSource.setDataLoader(responder);
+
+		Map<CertificateToken, OCSPToken> ocspTokens = ocspSource.getOCSPTokens(certificates);
+		assertEquals(Arrays.asList(3, 1, 1, 1), responder.requestSizes);
+		checkTokens(ocspTokens);
+
+		// the responder is known as refusing the requests with several certificates
+		responder.requestSizes.clear();
+		ocspTokens = ocspSource.getOCSPTokens(certificates);
+		assertEquals(Arrays.asList(1, 1, 1), responder.requestSizes);
+		checkTokens(ocspTokens);
+	}
+
+	@Test
+	public void requestSpans() {
+		final List<String> spans = new ArrayList<String>();
+		OnlineOCSPSource ocspSource = new OnlineOCSPSource();
+		ocspSource.setDataLoader(new OCSPResponder(true));
+		ocspSource.setValidationMetrics(new NoOpValidationMetrics() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public MetricsSpan startSpan(final String name) {
+				return new MetricsSpan() {
+
+					private String certificates;
+
+					@Override
+					public void tag(String key, String value) {
+						if (ValidationMetrics.CERTIFICATES.equals(key)) {
+							certificates = value;
+						}
+					}
+
+					@Override
+					public void fail(Exception e) {
+					}
+
+					@Override
+					public void close() {
+						spans.add(name + ":" + certificates);
+					}
+
+				};
+			}
+
+		});
+
+		checkTokens(ocspSource.getOCSPTokens(certificates));
+		assertEquals(Arrays.asList("ocsp.request:3", "ocsp.request:1", "ocsp.request:1", "ocsp.request:1"), spans);
+	}
+
+	@Test
+	public void asyncRequestsAreSentFirst() throws Exception {
+		KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+		keyPairGenerator.initialize(1024);
+		certificates.add(createCertificate(keyPairGenerator, new X500Name("CN=Test CA"), 3, OCSP_URL_2));
+
+		AsyncOCSPResponder responder = new AsyncOCSPResponder();
+		OnlineOCSPSource ocspSource = new OnlineOCSPSource();
+		ocspSource.setDataLoader(responder);
+
+		checkTokens(ocspSource.getOCSPTokens(certificates));
+		assertEquals(Arrays.asList("post:3", "post:1", "response", "response"), responder.events);
+	}
+
+	private void checkTokens(Map<CertificateToken, OCSPToken> ocspTokens) {
+		assertEquals(certificates.size(), ocspTokens.size());
+		OCSPToken previous = null;
+		for (CertificateToken certificate : certificates) {
+			OCSPToken ocspToken = ocspTokens.get(certificate);
+			assertNotNull(ocspToken);
+			assertNotSame(previous, ocspToken);
+			assertEquals(certificate.getSerialNumber(), ocspToken.getCertId().getSerialNumber());
+			ocspToken.extractInfo();
+			assertTrue(ocspToken.getStatus());
+			previous = ocspToken;
+		}
+	}
+
+	private ContentSigner signer() throws Exception {
+		return new JcaContentSignerBuilder("SHA256withRSA").build(caKeyPair.getPrivate());
+	}
+
+	private Date notBefore() {
+		return new Date(System.currentTimeMillis() - 3600000);
+	}
+
+	private Date notAfter() {
+		return new Date(System.currentTimeMillis() + 3600000);
+	}
+
+	/**
+	 * OCSP responder which answers GOOD to all the requested certificates
+	 */
+	@SuppressWarnings("serial")
+	private class OCSPResponder implements DataLoader {
+
+		private final boolean singleRequestOnly;
+
+		protected final List<Integer> requestSizes = new ArrayList<Integer>();
+
+		protected OCSPResponder(boolean singleRequestOnly) {
+			this.singleRequestOnly = singleRequestOnly;
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			assertTrue(OCSP_URL.equals(url) || OCSP_URL_2.equals(url));
+			try {
+				Req[] requests = new OCSPReq(content).getRequestList();
+				requestSizes.add(requests.length);
+				if (singleRequestOnly && requests.length > 1) {
+					return new OCSPRespBuilder().build(OCSPRespBuilder.MALFORMED_REQUEST, null).getEncoded();
+				}
+				BasicOCSPRespBuilder builder = new BasicOCSPRespBuilder(
+						new RespID(new X509CertificateHolder(caToken.getEncoded()).getSubject()));
+				for (Req request : requests) {
+					builder.addResponse(request.getCertID(), CertificateStatus.GOOD, new Date(), null, null);
+				}
+				OCSPResp ocspResp = DSSRevocationUtils.fromBasicToResp(builder.build(signer(), null, new Date()));
+				return ocspResp.getEncoded();
+			} catch (Exception e) {
+				throw new DSSException(e);
+			}
+		}
+
+		@Override
+		public byte[] get(String url) {
+			throw new DSSException("Not implemented");
+		}
+
+		@Override
+		public DataAndUrl get(List<String> urlStrings) {
+			throw new DSSException("Not implemented");
+		}
+
+		@Override
+		public byte[] get(String url, boolean refresh) {
+			throw new DSSException("Not implemented");
+		}
+
+		@Override
+		public void setContentType(String contentType) {
+			throw new DSSException("Not implemented");
+		}
+
+	}
+
+	/**
+	 * OCSP responder which only answers when the response is awaited
+	 */
+	@SuppressWarnings("serial")
+	private class AsyncOCSPResponder extends OCSPResponder implements AsyncDataLoader {
+
+		private final List<String> events = new ArrayList<String>();
+
+		private AsyncOCSPResponder() {
+			super(false);
+		}
+
+		@Override
+		public Future<byte[]> postAsync(final String url, final byte[] content) {
+			try {
+				events.add("post:" + new OCSPReq(content).getRequestList().length);
+			} catch (Exception e) {
+				throw new DSSException(e);
+			}
+			return new FutureTask<byte[]>(new Callable<byte[]>() {
+
+				@Override
+				public byte[] call() {
+					return post(url, content);
+				}
+
+			}) {
+
+				@Override
+				public byte[] get() throws InterruptedException, ExecutionException {
+					events.add("response");
+					run();
+					return super.get();
+				}
+
+			};
+		}
+
+		@Override
+		public Future<byte[]> getAsync(String url) {
+			throw new DSSException("Not implemented");
+		}
+
+	}
+
+}
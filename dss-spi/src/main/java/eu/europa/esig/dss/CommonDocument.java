@@ -92,8 +92,12 @@ public abstract class CommonDocument implements DSSDocument {
 		this.absolutePath = absolutePath;
 	}
 
+	/**
+	 * Returns the base64 encoded digest of the document, computed once per digest algorithm. This method is
+	 * thread-safe : a document can be shared by signatures which are validated concurrently.
+	 */
 	@Override
-	public String getDigest(final DigestAlgorithm digestAlgorithm) {
+	public synchronized String getDigest(final DigestAlgorithm digestAlgorithm) {
 		String base64EncodeDigest = base64EncodeDigestMap.get(digestAlgorithm);
 		if (base64EncodeDigest == null) {
 			final byte[] digestBytes = DSSUtils.digest(digestAlgorithm, this);
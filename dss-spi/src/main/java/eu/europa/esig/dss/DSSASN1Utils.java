@@ -55,10 +55,8 @@ import org.bouncycastle.asn1.ASN1Primitive;
 import org.bouncycastle.asn1.ASN1Sequence;
 import org.bouncycastle.asn1.ASN1String;
 import org.bouncycastle.asn1.BERTags;
-import org.bouncycastle.asn1.DERBitString;
 import org.bouncycastle.asn1.DERNull;
 import org.bouncycastle.asn1.DEROctetString;
-import org.bouncycastle.asn1.DERSequence;
 import org.bouncycastle.asn1.DERTaggedObject;
 import org.bouncycastle.asn1.DLSequence;
 import org.bouncycastle.asn1.DLSet;
@@ -73,6 +71,7 @@ import org.bouncycastle.asn1.x500.style.BCStyle;
 import org.bouncycastle.asn1.x509.AccessDescription;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
 import org.bouncycastle.asn1.x509.AuthorityInformationAccess;
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
 import org.bouncycastle.asn1.x509.CRLDistPoint;
 import org.bouncycastle.asn1.x509.DistributionPoint;
 import org.bouncycastle.asn1.x509.DistributionPointName;
@@ -85,6 +84,7 @@ import org.bouncycastle.asn1.x509.PolicyInformation;
 import org.bouncycastle.asn1.x509.PolicyQualifierId;
 import org.bouncycastle.asn1.x509.PolicyQualifierInfo;
 import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
 import org.bouncycastle.asn1.x509.Time;
 import org.bouncycastle.asn1.x509.X509ObjectIdentifiers;
 import org.bouncycastle.asn1.x509.qualified.QCStatement;
@@ -102,6 +102,7 @@ import org.slf4j.LoggerFactory;
 import eu.europa.esig.dss.tsl.ServiceInfo;
 import eu.europa.esig.dss.tsl.ServiceInfoStatus;
 import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.x509.CertificateExtensions;
 import eu.europa.esig.dss.x509.CertificateToken;
 
 /**
@@ -362,46 +363,11 @@ public final class DSSASN1Utils {
 	 * @return true if the certificate has the id_pkix_ocsp_nocheck extension
 	 */
 	public static boolean hasIdPkixOcspNoCheckExtension(CertificateToken token) {
-		final byte[] extensionValue = token.getCertificate().getExtensionValue(OCSPObjectIdentifiers.id_pkix_ocsp_nocheck.getId());
-		if (extensionValue != null) {
-			try {
-				final ASN1Primitive derObject = toASN1Primitive(extensionValue);
-				if (derObject instanceof DEROctetString) {
-					return isDEROctetStringNull((DEROctetString) derObject);
-				}
-			} catch (Exception e) {
-				LOG.debug("Exception when processing 'id_pkix_ocsp_no_check'", e);
-			}
-		}
-		return false;
+		return getCertificateExtensions(token).isOcspNoCheck();
 	}
 
 	public static List<CertificatePolicy> getCertificatePolicies(final CertificateToken certToken) {
-		List<CertificatePolicy> certificatePolicies = new ArrayList<CertificatePolicy>();
-		final byte[] certificatePoliciesBinaries = certToken.getCertificate().getExtensionValue(Extension.certificatePolicies.getId());
-		if (Utils.isArrayNotEmpty(certificatePoliciesBinaries)) {
-			try {
-				ASN1Sequence seq = getAsn1SequenceFromDerOctetString(certificatePoliciesBinaries);
-				for (int ii = 0; ii < seq.size(); ii++) {
-					CertificatePolicy cp = new CertificatePolicy();
-					final PolicyInformation policyInfo = PolicyInformation.getInstance(seq.getObjectAt(ii));
-					cp.setOid(policyInfo.getPolicyIdentifier().getId());
-					ASN1Sequence policyQualifiersSeq = policyInfo.getPolicyQualifiers();
-					if (policyQualifiersSeq != null) {
-						for (int jj = 0; jj < policyQualifiersSeq.size(); jj++) {
-							PolicyQualifierInfo pqi = PolicyQualifierInfo.getInstance(policyQualifiersSeq.getObjectAt(jj));
-							if (PolicyQualifierId.id_qt_cps.equals(pqi.getPolicyQualifierId())) {
-								cp.setCpsUrl(getString(pqi.getQualifier()));
-							}
-						}
-					}
-					certificatePolicies.add(cp);
-				}
-			} catch (Exception e) {
-				LOG.warn("Unable to parse the certificatePolicies extension '" + Utils.toBase64(certificatePoliciesBinaries) + "' : " + e.getMessage(), e);
-			}
-		}
-		return certificatePolicies;
+		return new ArrayList<CertificatePolicy>(getCertificateExtensions(certToken).getCertificatePolicies());
 	}
 
 	/**
@@ -413,21 +379,7 @@ public final class DSSASN1Utils {
 	 * @return the list of QC Statements oids
 	 */
 	public static List<String> getQCStatementsIdList(final CertificateToken certToken) {
-		final List<String> extensionIdList = new ArrayList<String>();
-		final byte[] qcStatement = certToken.getCertificate().getExtensionValue(Extension.qCStatements.getId());
-		if (Utils.isArrayNotEmpty(qcStatement)) {
-			try {
-				final ASN1Sequence seq = getAsn1SequenceFromDerOctetString(qcStatement);
-				// Sequence of QCStatement
-				for (int ii = 0; ii < seq.size(); ii++) {
-					final QCStatement statement = QCStatement.getInstance(seq.getObjectAt(ii));
-					extensionIdList.add(statement.getStatementId().getId());
-				}
-			} catch (Exception e) {
-				LOG.warn("Unable to parse the qCStatements extension '" + Utils.toBase64(qcStatement) + "' : " + e.getMessage(), e);
-			}
-		}
-		return extensionIdList;
+		return new ArrayList<String>(getCertificateExtensions(certToken).getQcStatementIds());
 	}
 
 	/**
@@ -439,39 +391,7 @@ public final class DSSASN1Utils {
 	 * @return the list of QCTypes oids
 	 */
 	public static List<String> getQCTypesIdList(final CertificateToken certToken) {
-		final List<String> qcTypesIdList = new ArrayList<String>();
-		final byte[] qcStatement = certToken.getCertificate().getExtensionValue(Extension.qCStatements.getId());
-		if (Utils.isArrayNotEmpty(qcStatement)) {
-			try {
-				final ASN1Sequence seq = getAsn1SequenceFromDerOctetString(qcStatement);
-				// Sequence of QCStatement
-				for (int ii = 0; ii < seq.size(); ii++) {
-					final QCStatement statement = QCStatement.getInstance(seq.getObjectAt(ii));
-					if (QC_TYPE_STATEMENT_OID.equals(statement.getStatementId().getId())) {
-						final ASN1Encodable qcTypeInfo1 = statement.getStatementInfo();
-						if (qcTypeInfo1 instanceof ASN1Sequence) {
-							final ASN1Sequence qcTypeInfo = (ASN1Sequence) qcTypeInfo1;
-							for (int jj = 0; jj < qcTypeInfo.size(); jj++) {
-								final ASN1Encodable e1 = qcTypeInfo.getObjectAt(jj);
-								if (e1 instanceof ASN1ObjectIdentifier) {
-									final ASN1ObjectIdentifier oid = (ASN1ObjectIdentifier) e1;
-									qcTypesIdList.add(oid.getId());
-								} else {
-									LOG.warn("ASN1Sequence in QcTypes does not contain ASN1ObjectIdentifer, but {}",
-											e1.getClass().getName());
-								}
-							}
-						} else {
-							LOG.warn("QcTypes not an ASN1Sequence, but {}", qcTypeInfo1.getClass().getName());
-						}
-					}
-				}
-			} catch (Exception e) {
-				LOG.warn("Unable to parse the qCStatements extension '" + Utils.toBase64(qcStatement) + "' : " + e.getMessage(), e);
-			}
-		}
-
-		return qcTypesIdList;
+		return new ArrayList<String>(getCertificateExtensions(certToken).getQcTypeIds());
 	}
 
 	/**
@@ -500,23 +420,25 @@ public final class DSSASN1Utils {
 	 *             if encoding error occurred
 	 */
 	public static byte[] getSki(final CertificateToken certificateToken, boolean computeIfMissing) throws DSSException {
-		try {
-			byte[] sKI = certificateToken.getCertificate().getExtensionValue(Extension.subjectKeyIdentifier.getId());
-			if (Utils.isArrayNotEmpty(sKI)) {
-
-				ASN1Primitive extension = JcaX509ExtensionUtils.parseExtensionValue(sKI);
-				SubjectKeyIdentifier skiBC = SubjectKeyIdentifier.getInstance(extension);
-				return skiBC.getKeyIdentifier();
-			} else if (computeIfMissing) {
-				// If extension not present, we compute it from the certificate public key
-				DLSequence seq = (DLSequence) DERSequence.fromByteArray(certificateToken.getPublicKey().getEncoded());
-				DERBitString item = (DERBitString) seq.getObjectAt(1);
-				return DSSUtils.digest(DigestAlgorithm.SHA1, item.getOctets());
-			}
-			return null;
-		} catch (Exception e) {
-			throw new DSSException(e);
+		CertificateExtensions extensions = getCertificateExtensions(certificateToken);
+		byte[] ski = extensions.getSubjectKeyIdentifier();
+		if (ski == null && computeIfMissing) {
+			// If extension not present, we use the digest of the certificate public key
+			ski = extensions.getPublicKeyHash();
 		}
+		return ski == null ? null : ski.clone();
+	}
+
+	/**
+	 * This method returns the key identifier of the authority key identifier extension.
+	 *
+	 * @param certificateToken
+	 *            the {@code CertificateToken}
+	 * @return the key identifier or null if missing
+	 */
+	public static byte[] getAki(final CertificateToken certificateToken) {
+		byte[] aki = getCertificateExtensions(certificateToken).getAuthorityKeyIdentifier();
+		return aki == null ? null : aki.clone();
 	}
 
 	/**
@@ -527,7 +449,7 @@ public final class DSSASN1Utils {
 	 * @return a list of CA URIs, or empty list if the extension is not present.
 	 */
 	public static List<String> getCAAccessLocations(final CertificateToken certificate) {
-		return getAccessLocations(certificate, X509ObjectIdentifiers.id_ad_caIssuers);
+		return new ArrayList<String>(getCertificateExtensions(certificate).getCaIssuersUrls());
 	}
 
 	/**
@@ -551,39 +473,13 @@ public final class DSSASN1Utils {
 	 * @return a list of OCSP URIs, or empty list if the extension is not present.
 	 */
 	public static List<String> getOCSPAccessLocations(final CertificateToken certificate, boolean checkInTrustAnchors) {
-		List<String> ocspUrls = getAccessLocations(certificate, X509ObjectIdentifiers.id_ad_ocsp);
+		List<String> ocspUrls = new ArrayList<String>(getCertificateExtensions(certificate).getOcspUrls());
 		if (Utils.isCollectionEmpty(ocspUrls) && checkInTrustAnchors) {
 			return getServiceSupplyPoints(certificate, "ocsp");
 		}
 		return ocspUrls;
 	}
 
-	private static List<String> getAccessLocations(final CertificateToken certificate, ASN1ObjectIdentifier aiaType) {
-		List<String> locationsUrls = new ArrayList<String>();
-		final byte[] authInfoAccessExtensionValue = certificate.getCertificate().getExtensionValue(Extension.authorityInfoAccess.getId());
-		if (null == authInfoAccessExtensionValue) {
-			return locationsUrls;
-		}
-
-		try {
-			ASN1Sequence asn1Sequence = DSSASN1Utils.getAsn1SequenceFromDerOctetString(authInfoAccessExtensionValue);
-			AuthorityInformationAccess authorityInformationAccess = AuthorityInformationAccess.getInstance(asn1Sequence);
-			AccessDescription[] accessDescriptions = authorityInformationAccess.getAccessDescriptions();
-			for (AccessDescription accessDescription : accessDescriptions) {
-				if (aiaType.equals(accessDescription.getAccessMethod())) {
-					GeneralName gn = accessDescription.getAccessLocation();
-					String location = parseGn(gn);
-					if (location != null) {
-						locationsUrls.add(location);
-					}
-				}
-			}
-		} catch (Exception e) {
-			LOG.error("Unable to parse authorityInfoAccess", e);
-		}
-		return locationsUrls;
-	}
-
 	public static List<String> getCrlUrls(final CertificateToken certificateToken) {
 		return getCrlUrls(certificateToken, true);
 	}
@@ -598,33 +494,7 @@ public final class DSSASN1Utils {
 	 * @return the {@code List} of CRL URI, or empty list if the extension is not present
 	 */
 	public static List<String> getCrlUrls(final CertificateToken certificateToken, boolean checkInTrustAnchors) {
-		final List<String> urls = new ArrayList<String>();
-
-		final byte[] crlDistributionPointsBytes = certificateToken.getCertificate().getExtensionValue(Extension.cRLDistributionPoints.getId());
-		if (crlDistributionPointsBytes != null) {
-			try {
-				final ASN1Sequence asn1Sequence = DSSASN1Utils.getAsn1SequenceFromDerOctetString(crlDistributionPointsBytes);
-				final CRLDistPoint distPoint = CRLDistPoint.getInstance(asn1Sequence);
-				final DistributionPoint[] distributionPoints = distPoint.getDistributionPoints();
-				for (final DistributionPoint distributionPoint : distributionPoints) {
-
-					final DistributionPointName distributionPointName = distributionPoint.getDistributionPoint();
-					if (DistributionPointName.FULL_NAME != distributionPointName.getType()) {
-						continue;
-					}
-					final GeneralNames generalNames = (GeneralNames) distributionPointName.getName();
-					final GeneralName[] names = generalNames.getNames();
-					for (final GeneralName name : names) {
-						String location = parseGn(name);
-						if (location != null) {
-							urls.add(location);
-						}
-					}
-				}
-			} catch (Exception e) {
-				LOG.error("Unable to parse cRLDistributionPoints", e);
-			}
-		}
+		final List<String> urls = new ArrayList<String>(getCertificateExtensions(certificateToken).getCrlUrls());
 
 		if (Utils.isCollectionEmpty(urls) && checkInTrustAnchors) {
 			return getServiceSupplyPoints(certificateToken, "crl", "certificateRevocationList");
@@ -690,15 +560,8 @@ public final class DSSASN1Utils {
 	}
 
 	public static boolean isExtendedKeyUsagePresent(CertificateToken certToken, ASN1ObjectIdentifier oid) {
-		try {
-			List<String> keyPurposes = certToken.getCertificate().getExtendedKeyUsage();
-			if ((keyPurposes != null) && keyPurposes.contains(oid.getId())) {
-				return true;
-			}
-		} catch (CertificateParsingException e) {
-			LOG.error("Unable to retrieve ExtendedKeyUsage from certificate", e);
-		}
-		return false;
+		List<String> keyPurposes = getCertificateExtensions(certToken).getExtendedKeyUsages();
+		return (keyPurposes != null) && keyPurposes.contains(oid.getId());
 	}
 
 	/**
@@ -923,12 +786,226 @@ public final class DSSASN1Utils {
 	}
 
 	public static List<String> getExtendedKeyUsage(CertificateToken certToken) {
+		List<String> keyPurposes = getCertificateExtensions(certToken).getExtendedKeyUsages();
+		return keyPurposes == null ? null : new ArrayList<String>(keyPurposes);
+	}
+
+	/**
+	 * Returns the decoded extensions of the certificate. The extensions are decoded at the first call and the result is
+	 * attached to the {@code CertificateToken}, the next calls (from any thread) return the same instance.
+	 *
+	 * @param certToken
+	 *            the certificate
+	 * @return the decoded extensions
+	 */
+	public static CertificateExtensions getCertificateExtensions(final CertificateToken certToken) {
+		CertificateExtensions extensions = certToken.getExtensions();
+		if (extensions == null) {
+			synchronized (certToken) {
+				extensions = certToken.getExtensions();
+				if (extensions == null) {
+					extensions = decodeExtensions(certToken.getCertificate());
+					certToken.setExtensions(extensions);
+				}
+			}
+		}
+		return extensions;
+	}
+
+	private static CertificateExtensions decodeExtensions(final X509Certificate certificate) {
+		List<String> qcStatementIds = new ArrayList<String>();
+		List<String> qcTypeIds = new ArrayList<String>();
+		readQCStatements(certificate, qcStatementIds, qcTypeIds);
+		List<String> caIssuersUrls = new ArrayList<String>();
+		List<String> ocspUrls = new ArrayList<String>();
+		readAccessLocations(certificate, caIssuersUrls, ocspUrls);
+		return new CertificateExtensions(readSki(certificate), readAki(certificate), computePublicKeyHash(certificate), readCertificatePolicies(certificate),
+				qcStatementIds, qcTypeIds, caIssuersUrls, ocspUrls, readCrlUrls(certificate), readExtendedKeyUsages(certificate),
+				readOcspNoCheck(certificate));
+	}
+
+	private static byte[] readSki(final X509Certificate certificate) {
+		final byte[] sKI = certificate.getExtensionValue(Extension.subjectKeyIdentifier.getId());
+		if (Utils.isArrayNotEmpty(sKI)) {
+			try {
+				ASN1Primitive extension = JcaX509ExtensionUtils.parseExtensionValue(sKI);
+				SubjectKeyIdentifier skiBC = SubjectKeyIdentifier.getInstance(extension);
+				return skiBC.getKeyIdentifier();
+			} catch (Exception e) {
+				LOG.warn("Unable to parse the subjectKeyIdentifier extension '" + Utils.toBase64(sKI) + "' : " + e.getMessage(), e);
+			}
+		}
+		return null;
+	}
+
+	private static byte[] readAki(final X509Certificate certificate) {
+		final byte[] aKI = certificate.getExtensionValue(Extension.authorityKeyIdentifier.getId());
+		if (Utils.isArrayNotEmpty(aKI)) {
+			try {
+				ASN1Primitive extension = JcaX509ExtensionUtils.parseExtensionValue(aKI);
+				AuthorityKeyIdentifier akiBC = AuthorityKeyIdentifier.getInstance(extension);
+				return akiBC.getKeyIdentifier();
+			} catch (Exception e) {
+				LOG.warn("Unable to parse the authorityKeyIdentifier extension '" + Utils.toBase64(aKI) + "' : " + e.getMessage(), e);
+			}
+		}
+		return null;
+	}
+
+	private static byte[] computePublicKeyHash(final X509Certificate certificate) {
+		try {
+			SubjectPublicKeyInfo publicKeyInfo = SubjectPublicKeyInfo.getInstance(certificate.getPublicKey().getEncoded());
+			return DSSUtils.digest(DigestAlgorithm.SHA1, publicKeyInfo.getPublicKeyData().getOctets());
+		} catch (Exception e) {
+			LOG.warn("Unable to compute the digest of the public key : " + e.getMessage(), e);
+			return null;
+		}
+	}
+
+	private static boolean readOcspNoCheck(final X509Certificate certificate) {
+		final byte[] extensionValue = certificate.getExtensionValue(OCSPObjectIdentifiers.id_pkix_ocsp_nocheck.getId());
+		if (extensionValue != null) {
+			try {
+				final ASN1Primitive derObject = toASN1Primitive(extensionValue);
+				if (derObject instanceof DEROctetString) {
+					return isDEROctetStringNull((DEROctetString) derObject);
+				}
+			} catch (Exception e) {
+				LOG.debug("Exception when processing 'id_pkix_ocsp_no_check'", e);
+			}
+		}
+		return false;
+	}
+
+	private static List<CertificatePolicy> readCertificatePolicies(final X509Certificate certificate) {
+		List<CertificatePolicy> certificatePolicies = new ArrayList<CertificatePolicy>();
+		final byte[] certificatePoliciesBinaries = certificate.getExtensionValue(Extension.certificatePolicies.getId());
+		if (Utils.isArrayNotEmpty(certificatePoliciesBinaries)) {
+			try {
+				ASN1Sequence seq = getAsn1SequenceFromDerOctetString(certificatePoliciesBinaries);
+				for (int ii = 0; ii < seq.size(); ii++) {
+					CertificatePolicy cp = new CertificatePolicy();
+					final PolicyInformation policyInfo = PolicyInformation.getInstance(seq.getObjectAt(ii));
+					cp.setOid(policyInfo.getPolicyIdentifier().getId());
+					ASN1Sequence policyQualifiersSeq = policyInfo.getPolicyQualifiers();
+					if (policyQualifiersSeq != null) {
+						for (int jj = 0; jj < policyQualifiersSeq.size(); jj++) {
+							PolicyQualifierInfo pqi = PolicyQualifierInfo.getInstance(policyQualifiersSeq.getObjectAt(jj));
+							if (PolicyQualifierId.id_qt_cps.equals(pqi.getPolicyQualifierId())) {
+								cp.setCpsUrl(getString(pqi.getQualifier()));
+							}
+						}
+					}
+					certificatePolicies.add(cp);
+				}
+			} catch (Exception e) {
+				LOG.warn("Unable to parse the certificatePolicies extension '" + Utils.toBase64(certificatePoliciesBinaries) + "' : " + e.getMessage(), e);
+			}
+		}
+		return certificatePolicies;
+	}
+
+	/**
+	 * Reads the QCStatement ids and the QCType ids (as per ETSI EN 319 412-5 V2.1.1)
+	 */
+	private static void readQCStatements(final X509Certificate certificate, final List<String> extensionIdList, final List<String> qcTypesIdList) {
+		final byte[] qcStatement = certificate.getExtensionValue(Extension.qCStatements.getId());
+		if (Utils.isArrayNotEmpty(qcStatement)) {
+			try {
+				final ASN1Sequence seq = getAsn1SequenceFromDerOctetString(qcStatement);
+				// Sequence of QCStatement
+				for (int ii = 0; ii < seq.size(); ii++) {
+					final QCStatement statement = QCStatement.getInstance(seq.getObjectAt(ii));
+					extensionIdList.add(statement.getStatementId().getId());
+					if (QC_TYPE_STATEMENT_OID.equals(statement.getStatementId().getId())) {
+						final ASN1Encodable qcTypeInfo1 = statement.getStatementInfo();
+						if (qcTypeInfo1 instanceof ASN1Sequence) {
+							final ASN1Sequence qcTypeInfo = (ASN1Sequence) qcTypeInfo1;
+							for (int jj = 0; jj < qcTypeInfo.size(); jj++) {
+								final ASN1Encodable e1 = qcTypeInfo.getObjectAt(jj);
+								if (e1 instanceof ASN1ObjectIdentifier) {
+									final ASN1ObjectIdentifier oid = (ASN1ObjectIdentifier) e1;
+									qcTypesIdList.add(oid.getId());
+								} else {
+									LOG.warn("ASN1Sequence in QcTypes does not contain ASN1ObjectIdentifer, but {}",
+											e1.getClass().getName());
+								}
+							}
+						} else {
+							LOG.warn("QcTypes not an ASN1Sequence, but {}", qcTypeInfo1.getClass().getName());
+						}
+					}
+				}
+			} catch (Exception e) {
+				LOG.warn("Unable to parse the qCStatements extension '" + Utils.toBase64(qcStatement) + "' : " + e.getMessage(), e);
+			}
+		}
+	}
+
+	private static void readAccessLocations(final X509Certificate certificate, final List<String> caIssuersUrls, final List<String> ocspUrls) {
+		final byte[] authInfoAccessExtensionValue = certificate.getExtensionValue(Extension.authorityInfoAccess.getId());
+		if (null != authInfoAccessExtensionValue) {
+			try {
+				ASN1Sequence asn1Sequence = DSSASN1Utils.getAsn1SequenceFromDerOctetString(authInfoAccessExtensionValue);
+				AuthorityInformationAccess authorityInformationAccess = AuthorityInformationAccess.getInstance(asn1Sequence);
+				AccessDescription[] accessDescriptions = authorityInformationAccess.getAccessDescriptions();
+				for (AccessDescription accessDescription : accessDescriptions) {
+					List<String> locationsUrls = null;
+					if (X509ObjectIdentifiers.id_ad_caIssuers.equals(accessDescription.getAccessMethod())) {
+						locationsUrls = caIssuersUrls;
+					} else if (X509ObjectIdentifiers.id_ad_ocsp.equals(accessDescription.getAccessMethod())) {
+						locationsUrls = ocspUrls;
+					}
+					if (locationsUrls != null) {
+						String location = parseGn(accessDescription.getAccessLocation());
+						if (location != null) {
+							locationsUrls.add(location);
+						}
+					}
+				}
+			} catch (Exception e) {
+				LOG.error("Unable to parse authorityInfoAccess", e);
+			}
+		}
+	}
+
+	private static List<String> readCrlUrls(final X509Certificate certificate) {
+		final List<String> urls = new ArrayList<String>();
+		final byte[] crlDistributionPointsBytes = certificate.getExtensionValue(Extension.cRLDistributionPoints.getId());
+		if (crlDistributionPointsBytes != null) {
+			try {
+				final ASN1Sequence asn1Sequence = DSSASN1Utils.getAsn1SequenceFromDerOctetString(crlDistributionPointsBytes);
+				final CRLDistPoint distPoint = CRLDistPoint.getInstance(asn1Sequence);
+				final DistributionPoint[] distributionPoints = distPoint.getDistributionPoints();
+				for (final DistributionPoint distributionPoint : distributionPoints) {
+
+					final DistributionPointName distributionPointName = distributionPoint.getDistributionPoint();
+					if (DistributionPointName.FULL_NAME != distributionPointName.getType()) {
+						continue;
+					}
+					final GeneralNames generalNames = (GeneralNames) distributionPointName.getName();
+					final GeneralName[] names = generalNames.getNames();
+					for (final GeneralName name : names) {
+						String location = parseGn(name);
+						if (location != null) {
+							urls.add(location);
+						}
+					}
+				}
+			} catch (Exception e) {
+				LOG.error("Unable to parse cRLDistributionPoints", e);
+			}
+		}
+		return urls;
+	}
+
+	private static List<String> readExtendedKeyUsages(final X509Certificate certificate) {
 		try {
-			return certToken.getCertificate().getExtendedKeyUsage();
+			return certificate.getExtendedKeyUsage();
 		} catch (CertificateParsingException e) {
 			LOG.warn("Unable to retrieve ExtendedKeyUsage : {}", e.getMessage());
 			return Collections.emptyList();
 		}
 	}
 
-}
\ No newline at end of file
+}
@@ -309,29 +309,46 @@ public final class DSSUtils {
 		}
 
 		for (String url : urls) {
-			LOG.debug("Loading certificate(s) from {}", url);
-			byte[] bytes = null;
-			try {
-				bytes = loader.get(url);
-			} catch (Exception e) {
-				LOG.warn("Unable to download certificate from '" + url + "': ", e.getMessage());
-				continue;
-			}
-			if (Utils.isArrayNotEmpty(bytes)) {
-				LOG.debug("Base64 content : {}", Utils.toBase64(bytes));
-				try (InputStream is = new ByteArrayInputStream(bytes)) {
-					return loadCertificates(is);
-				} catch (Exception e) {
-					LOG.warn("Unable to parse certificate(s) from AIA (url: {}) : {}", url, e.getMessage());
-				}
-			} else {
-				LOG.warn("Empty content from {}.", url);
+			List<CertificateToken> certificates = loadPotentialIssuerCertificates(url, loader);
+			if (Utils.isCollectionNotEmpty(certificates)) {
+				return certificates;
 			}
 		}
 
 		return Collections.emptyList();
 	}
 
+	/**
+	 * This method loads the potential issuer certificate(s) from one AIA location.
+	 * 
+	 * @param url
+	 *            the AIA url (id-ad-caIssuers)
+	 * @param loader
+	 *            the data loader to use
+	 * @return a list of potential issuers, empty if the url cannot be downloaded or parsed
+	 */
+	public static List<CertificateToken> loadPotentialIssuerCertificates(final String url, final DataLoader loader) {
+		LOG.debug("Loading certificate(s) from {}", url);
+		byte[] bytes = null;
+		try {
+			bytes = loader.get(url);
+		} catch (Exception e) {
+			LOG.warn("Unable to download certificate from '" + url + "': ", e.getMessage());
+			return Collections.emptyList();
+		}
+		if (Utils.isArrayNotEmpty(bytes)) {
+			LOG.debug("Base64 content : {}", Utils.toBase64(bytes));
+			try (InputStream is = new ByteArrayInputStream(bytes)) {
+				return loadCertificates(is);
+			} catch (Exception e) {
+				LOG.warn("Unable to parse certificate(s) from AIA (url: {}) : {}", url, e.getMessage());
+			}
+		} else {
+			LOG.warn("Empty content from {}.", url);
+		}
+		return Collections.emptyList();
+	}
+
 	/**
 	 * This method digests the given string with SHA1 algorithm and encode returned array of bytes as hex string.
 	 *
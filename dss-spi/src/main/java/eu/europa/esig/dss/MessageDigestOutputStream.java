@@ -0,0 +1,58 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss;
+
+import java.io.OutputStream;
+import java.security.MessageDigest;
+
+/**
+ * {@code OutputStream} which only updates a {@code MessageDigest} : the data written to compute a message imprint is
+ * digested in streaming, without being buffered.
+ */
+public class MessageDigestOutputStream extends OutputStream {
+
+	private final MessageDigest messageDigest;
+
+	/**
+	 * The default constructor
+	 *
+	 * @param messageDigest
+	 *            the digest to update with the written data
+	 */
+	public MessageDigestOutputStream(final MessageDigest messageDigest) {
+		this.messageDigest = messageDigest;
+	}
+
+	@Override
+	public void write(int b) {
+		messageDigest.update((byte) b);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) {
+		messageDigest.update(b, off, len);
+	}
+
+	public MessageDigest getMessageDigest() {
+		return messageDigest;
+	}
+
+}
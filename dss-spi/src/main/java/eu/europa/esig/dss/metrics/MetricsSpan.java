@@ -0,0 +1,53 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.metrics;
+
+/**
+ * A timed operation of the validation. The span is finished with {@code close()}, so it can be used in a
+ * try-with-resources statement.
+ */
+public interface MetricsSpan extends AutoCloseable {
+
+	/**
+	 * This method adds a dimension to the span (eg : the url of the OCSP responder).
+	 * 
+	 * @param key
+	 *            the name of the dimension
+	 * @param value
+	 *            the value
+	 */
+	void tag(String key, String value);
+
+	/**
+	 * This method marks the operation as failed.
+	 * 
+	 * @param e
+	 *            the cause of the failure
+	 */
+	void fail(Exception e);
+
+	/**
+	 * This method finishes the span.
+	 */
+	@Override
+	void close();
+
+}
@@ -0,0 +1,59 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.metrics;
+
+/**
+ * This class ignores all the metrics. It is used when no other implementation is configured.
+ */
+public class NoOpValidationMetrics implements ValidationMetrics {
+
+	private static final long serialVersionUID = -2364502931845498135L;
+
+	private static final MetricsSpan NO_OP_SPAN = new MetricsSpan() {
+
+		@Override
+		public void tag(String key, String value) {
+		}
+
+		@Override
+		public void fail(Exception e) {
+		}
+
+		@Override
+		public void close() {
+		}
+
+	};
+
+	@Override
+	public MetricsSpan startSpan(String name) {
+		return NO_OP_SPAN;
+	}
+
+	@Override
+	public void increment(String name, String tag) {
+	}
+
+	@Override
+	public void networkCall(String method, String host, String url, int status, long bytes, long duration) {
+	}
+
+}
@@ -0,0 +1,117 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.metrics;
+
+import java.io.Serializable;
+
+/**
+ * This interface allows to collect metrics about the validation : timed spans around its phases, counters (cache
+ * hits and misses, processed tokens,...) and the network calls. The default implementation
+ * ({@code NoOpValidationMetrics}) ignores everything.
+ * 
+ * An implementation is called concurrently by the different validations and must be thread-safe.
+ */
+public interface ValidationMetrics extends Serializable {
+
+	/* Spans */
+
+	String SIGNATURES_VALIDATION = "signatures.validation";
+
+	String VALIDATION_CONTEXT = "validation.context";
+
+	String DIAGNOSTIC_DATA_BUILD = "diagnostic.data.build";
+
+	String PROCESS_EXECUTION = "process.execution";
+
+	String OCSP_REQUEST = "ocsp.request";
+
+	String CRL_REQUEST = "crl.request";
+
+	String TSP_REQUEST = "tsp.request";
+
+	/* Counters */
+
+	String PROCESSED_TOKENS = "processed.tokens";
+
+	String REVOCATION_DATA = "revocation.data";
+
+	String AIA_CACHE = "aia.cache";
+
+	String DIAGNOSTIC_DATA_CACHE = "diagnostic.data.cache";
+
+	String CRL_CACHE = "crl.cache";
+
+	String VALIDATION_RESULT_CACHE = "validation.result.cache";
+
+	/* Tags */
+
+	String URL = "url";
+
+	String CERTIFICATES = "certificates";
+
+	String HIT = "hit";
+
+	String MISS = "miss";
+
+	String EMBEDDED = "embedded";
+
+	String ONLINE = "online";
+
+	String NONE = "none";
+
+	/**
+	 * This method starts a timed span. The returned span must be closed when the operation is finished.
+	 * 
+	 * @param name
+	 *            the name of the span (eg : {@code OCSP_REQUEST})
+	 * @return the started span
+	 */
+	MetricsSpan startSpan(String name);
+
+	/**
+	 * This method increments a counter.
+	 * 
+	 * @param name
+	 *            the name of the counter (eg : {@code AIA_CACHE})
+	 * @param tag
+	 *            the dimension of the counter (eg : {@code HIT}), can be null
+	 */
+	void increment(String name, String tag);
+
+	/**
+	 * This method records a network call.
+	 * 
+	 * @param method
+	 *            the HTTP method (GET, POST,...)
+	 * @param host
+	 *            the called host
+	 * @param url
+	 *            the called url
+	 * @param status
+	 *            the HTTP status code or -1 if no response has been received
+	 * @param bytes
+	 *            the size of the received content
+	 * @param duration
+	 *            the duration of the call in milliseconds
+	 */
+	void networkCall(String method, String host, String url, int status, long bytes, long duration);
+
+}
@@ -142,7 +142,7 @@ public class CertificatePool implements Serializable {
 				LOG.trace("Certificate " + id + " is not in the pool");
 				certToken = certificateToAdd;
 				certById.put(id, certToken);
-				final String subjectName = certificateToAdd.getSubjectX500Principal().getName(X500Principal.CANONICAL);
+				final String subjectName = certificateToAdd.getCanonicalSubjectName();
 				List<CertificateToken> list = certBySubject.get(subjectName);
 				if (list == null) {
 					list = new ArrayList<CertificateToken>();
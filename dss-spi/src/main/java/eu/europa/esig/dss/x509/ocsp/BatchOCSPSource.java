@@ -0,0 +1,45 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.x509.ocsp;
+
+import java.util.Collection;
+import java.util.Map;
+
+import eu.europa.esig.dss.x509.CertificateToken;
+
+/**
+ * An {@code OCSPSource} which is able to retrieve the OCSP responses of several certificates at once (eg : one request
+ * with several CertIDs per OCSP responder).
+ */
+public interface BatchOCSPSource extends OCSPSource {
+
+	/**
+	 * Gets the {@code OCSPToken}s of the given certificates. The issuer of each certificate must be known
+	 * ({@code CertificateToken#getIssuerToken()}).
+	 *
+	 * @param certificateTokens
+	 *            the certificates for which the requests are made
+	 * @return a map with an entry for every processed certificate, the value is null if no response was retrieved for
+	 *         this certificate
+	 */
+	Map<CertificateToken, OCSPToken> getOCSPTokens(Collection<CertificateToken> certificateTokens);
+
+}
@@ -1,7 +1,21 @@
 package eu.europa.esig.dss.x509.tsp;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.bouncycastle.tsp.TimeStampToken;
 import org.slf4j.Logger;
@@ -13,20 +27,47 @@ import eu.europa.esig.dss.DigestAlgorithm;
 /**
  * This class allows to retrieve a timestamp with different sources. The composite will try all sources until to get a
  * non-empty response.
- * 
+ *
+ * By default, the sources are requested one by one (in the order of the map). If an {@code ExecutorService} is
+ * provided, the composite works in "hedged" mode : the first source is requested and if no response is received
+ * after the configured latency percentile of this source, the next source is requested in parallel. The first
+ * returned token is used and the pending requests are cancelled.
+ *
+ * Latencies and errors are collected per source and can be used to order the sources (see
+ * {@link #setAdaptiveOrdering(boolean)}).
+ *
  * Be careful, all given tspSources MUST accept the same digest algorithm.
- * 
+ *
  */
 public class CompositeTSPSource implements TSPSource {
 
+	private static final long serialVersionUID = 8863748751947376413L;
+
 	private static final Logger LOG = LoggerFactory.getLogger(CompositeTSPSource.class);
 
+	/**
+	 * Number of consecutive failures after which a source is moved to the end of the list (adaptive ordering)
+	 */
+	private static final int UNHEALTHY_CONSECUTIVE_FAILURES = 3;
+
 	private Map<String, TSPSource> tspSources;
 
+	private transient ExecutorService executorService;
+
+	private double hedgingPercentile = 95;
+
+	private long defaultHedgingDelay = 1000;
+
+	private int minimumSamples = 10;
+
+	private boolean adaptiveOrdering = false;
+
+	private final Map<String, TSPSourceStatistics> statistics = new ConcurrentHashMap<String, TSPSourceStatistics>();
+
 	/**
 	 * This setter allows to provide multiple tspSources. Be careful, all given tspSources MUST accept the same digest
 	 * algorithm.
-	 * 
+	 *
 	 * @param tspSources
 	 *            a {@code Map} of String and TSPSource with a label and its corresponding source
 	 */
@@ -34,14 +75,90 @@ public class CompositeTSPSource implements TSPSource {
 		this.tspSources = tspSources;
 	}
 
+	/**
+	 * This setter enables the hedged mode : the sources are called on the given executor and the next source is
+	 * requested as soon as the current one exceeds its latency percentile (or fails). If null (default), the sources
+	 * are requested sequentially in the current thread.
+	 *
+	 * @param executorService
+	 *            the executor used to perform the requests
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+	/**
+	 * This setter allows to define the latency percentile (default : 95) of a source after which the next source is
+	 * requested (hedged mode only).
+	 *
+	 * @param hedgingPercentile
+	 *            a value between 0 and 100
+	 */
+	public void setHedgingPercentile(double hedgingPercentile) {
+		if (hedgingPercentile < 0 || hedgingPercentile > 100) {
+			throw new IllegalArgumentException("The percentile must be between 0 and 100");
+		}
+		this.hedgingPercentile = hedgingPercentile;
+	}
+
+	/**
+	 * This setter allows to define the delay (in milliseconds, default : 1000) before requesting the next source when
+	 * not enough latencies are known for the current source (hedged mode only).
+	 *
+	 * @param defaultHedgingDelay
+	 *            the delay in milliseconds
+	 */
+	public void setDefaultHedgingDelay(long defaultHedgingDelay) {
+		this.defaultHedgingDelay = defaultHedgingDelay;
+	}
+
+	/**
+	 * This setter allows to define the minimum number of latencies (default : 10) to be collected for a source before
+	 * using its percentile as hedging delay.
+	 *
+	 * @param minimumSamples
+	 *            the minimum number of samples
+	 */
+	public void setMinimumSamples(int minimumSamples) {
+		this.minimumSamples = minimumSamples;
+	}
+
+	/**
+	 * This setter allows to order the sources according to the collected statistics (default : false). Sources with
+	 * several consecutive failures are requested last, the other ones are sorted by their latency percentile weighted
+	 * by their error rate.
+	 *
+	 * @param adaptiveOrdering
+	 *            true if the sources need to be ordered with their statistics
+	 */
+	public void setAdaptiveOrdering(boolean adaptiveOrdering) {
+		this.adaptiveOrdering = adaptiveOrdering;
+	}
+
+	/**
+	 * Returns the collected statistics per source label
+	 *
+	 * @return an unmodifiable map of label and statistics
+	 */
+	public Map<String, TSPSourceStatistics> getStatistics() {
+		return Collections.unmodifiableMap(statistics);
+	}
+
 	@Override
 	public TimeStampToken getTimeStampResponse(DigestAlgorithm digestAlgorithm, byte[] digestValue) throws DSSException {
-		for (Entry<String, TSPSource> entry : tspSources.entrySet()) {
-			String sourceKey = entry.getKey();
-			TSPSource source = entry.getValue();
+		List<String> sourceKeys = getOrderedSourceKeys();
+		if (executorService == null) {
+			return getSequentialTimeStampResponse(sourceKeys, digestAlgorithm, digestValue);
+		} else {
+			return getHedgedTimeStampResponse(sourceKeys, digestAlgorithm, digestValue);
+		}
+	}
+
+	private TimeStampToken getSequentialTimeStampResponse(List<String> sourceKeys, DigestAlgorithm digestAlgorithm, byte[] digestValue) {
+		for (String sourceKey : sourceKeys) {
 			LOG.debug("Trying to get timestamp with TSPSource '{}'", sourceKey);
 			try {
-				TimeStampToken token = source.getTimeStampResponse(digestAlgorithm, digestValue);
+				TimeStampToken token = new TimedTimeStampCall(sourceKey, digestAlgorithm, digestValue).call();
 				if (token != null) {
 					LOG.debug("Successfully retrieved timestamp with TSPSource '{}'", sourceKey);
 					return token;
@@ -50,7 +167,166 @@ public class CompositeTSPSource implements TSPSource {
 				LOG.warn("Unable to retrieve the timestamp with TSPSource '{}' : {}", sourceKey, e.getMessage());
 			}
 		}
-		throw new DSSException("Unable to retrieve the timestamp (" + tspSources.size() + " tries)");
+		throw new DSSException("Unable to retrieve the timestamp (" + sourceKeys.size() + " tries)");
+	}
+
+	private TimeStampToken getHedgedTimeStampResponse(List<String> sourceKeys, DigestAlgorithm digestAlgorithm, byte[] digestValue) {
+		CompletionService<TimeStampToken> completionService = new ExecutorCompletionService<TimeStampToken>(executorService);
+		Map<Future<TimeStampToken>, TimedTimeStampCall> pendingCalls = new HashMap<Future<TimeStampToken>, TimedTimeStampCall>();
+		Iterator<String> keysIterator = sourceKeys.iterator();
+		try {
+			long hedgingDelay = submit(completionService, pendingCalls, keysIterator.next(), digestAlgorithm, digestValue);
+			while (!pendingCalls.isEmpty()) {
+				Future<TimeStampToken> completed;
+				if (keysIterator.hasNext()) {
+					completed = completionService.poll(hedgingDelay, TimeUnit.MILLISECONDS);
+				} else {
+					completed = completionService.take();
+				}
+
+				if (completed == null) {
+					String nextKey = keysIterator.next();
+					LOG.debug("No timestamp received after {}ms, hedging with TSPSource '{}'", hedgingDelay, nextKey);
+					hedgingDelay = submit(completionService, pendingCalls, nextKey, digestAlgorithm, digestValue);
+					continue;
+				}
+
+				String sourceKey = pendingCalls.remove(completed).sourceKey;
+				try {
+					TimeStampToken token = completed.get();
+					if (token != null) {
+						LOG.debug("Successfully retrieved timestamp with TSPSource '{}'", sourceKey);
+						return token;
+					}
+				} catch (ExecutionException e) {
+					LOG.warn("Unable to retrieve the timestamp with TSPSource '{}' : {}", sourceKey, e.getCause().getMessage());
+				}
+
+				// the source failed : the next one is requested without waiting
+				if (keysIterator.hasNext()) {
+					hedgingDelay = submit(completionService, pendingCalls, keysIterator.next(), digestAlgorithm, digestValue);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("Interrupted while waiting for a timestamp", e);
+		} finally {
+			for (Entry<Future<TimeStampToken>, TimedTimeStampCall> pendingCall : pendingCalls.entrySet()) {
+				// the statistics of the source are not impacted by the interruption
+				pendingCall.getValue().cancelled = true;
+				pendingCall.getKey().cancel(true);
+			}
+		}
+		throw new DSSException("Unable to retrieve the timestamp (" + sourceKeys.size() + " tries)");
+	}
+
+	private long submit(CompletionService<TimeStampToken> completionService, Map<Future<TimeStampToken>, TimedTimeStampCall> pendingCalls,
+			String sourceKey, DigestAlgorithm digestAlgorithm, byte[] digestValue) {
+		LOG.debug("Trying to get timestamp with TSPSource '{}'", sourceKey);
+		TimedTimeStampCall call = new TimedTimeStampCall(sourceKey, digestAlgorithm, digestValue);
+		pendingCalls.put(completionService.submit(call), call);
+		return getHedgingDelay(sourceKey);
+	}
+
+	private long getHedgingDelay(String sourceKey) {
+		TSPSourceStatistics sourceStatistics = statistics.get(sourceKey);
+		if (sourceStatistics != null && sourceStatistics.getNumberOfSamples() >= minimumSamples) {
+			return sourceStatistics.getLatencyPercentile(hedgingPercentile);
+		}
+		return defaultHedgingDelay;
+	}
+
+	private List<String> getOrderedSourceKeys() {
+		if (tspSources == null || tspSources.isEmpty()) {
+			throw new DSSException("No TSPSource is configured");
+		}
+		List<String> keys = new ArrayList<String>(tspSources.keySet());
+		if (adaptiveOrdering) {
+			final Map<String, Double> scores = new HashMap<String, Double>();
+			for (String key : keys) {
+				scores.put(key, getScore(key));
+			}
+			// stable sort : sources with the same score stay in the configured order
+			Collections.sort(keys, new Comparator<String>() {
+				@Override
+				public int compare(String key1, String key2) {
+					return Double.compare(scores.get(key1), scores.get(key2));
+				}
+			});
+		}
+		return keys;
+	}
+
+	private double getScore(String sourceKey) {
+		TSPSourceStatistics sourceStatistics = statistics.get(sourceKey);
+		if (sourceStatistics == null) {
+			return defaultHedgingDelay;
+		}
+		if (sourceStatistics.getConsecutiveFailures() >= UNHEALTHY_CONSECUTIVE_FAILURES) {
+			return Double.MAX_VALUE;
+		}
+		return getHedgingDelay(sourceKey) * (1 + sourceStatistics.getErrorRate());
+	}
+
+	private TSPSourceStatistics getOrCreateStatistics(String sourceKey) {
+		TSPSourceStatistics sourceStatistics = statistics.get(sourceKey);
+		if (sourceStatistics == null) {
+			synchronized (statistics) {
+				sourceStatistics = statistics.get(sourceKey);
+				if (sourceStatistics == null) {
+					sourceStatistics = new TSPSourceStatistics();
+					statistics.put(sourceKey, sourceStatistics);
+				}
+			}
+		}
+		return sourceStatistics;
+	}
+
+	/**
+	 * Calls a source and records its latency or its failure (nothing is recorded if the call is cancelled or
+	 * interrupted)
+	 */
+	private final class TimedTimeStampCall implements Callable<TimeStampToken> {
+
+		private final String sourceKey;
+		private final DigestAlgorithm digestAlgorithm;
+		private final byte[] digestValue;
+		private volatile boolean cancelled;
+
+		private TimedTimeStampCall(String sourceKey, DigestAlgorithm digestAlgorithm, byte[] digestValue) {
+			this.sourceKey = sourceKey;
+			this.digestAlgorithm = digestAlgorithm;
+			this.digestValue = digestValue;
+		}
+
+		@Override
+		public TimeStampToken call() throws Exception {
+			TSPSourceStatistics sourceStatistics = getOrCreateStatistics(sourceKey);
+			long start = System.currentTimeMillis();
+			try {
+				TimeStampToken token = tspSources.get(sourceKey).getTimeStampResponse(digestAlgorithm, digestValue);
+				if (isInterrupted()) {
+					LOG.debug("The call of TSPSource '{}' has been cancelled", sourceKey);
+				} else if (token != null) {
+					sourceStatistics.addSuccess(System.currentTimeMillis() - start);
+				} else {
+					sourceStatistics.addFailure();
+				}
+				return token;
+			} catch (Exception e) {
+				if (isInterrupted()) {
+					LOG.debug("The call of TSPSource '{}' has been cancelled", sourceKey);
+				} else {
+					sourceStatistics.addFailure();
+				}
+				throw e;
+			}
+		}
+
+		private boolean isInterrupted() {
+			return cancelled || Thread.currentThread().isInterrupted();
+		}
+
 	}
 
 }
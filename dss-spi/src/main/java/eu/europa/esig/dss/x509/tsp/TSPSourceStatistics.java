@@ -0,0 +1,147 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.x509.tsp;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * This class collects the latencies and the errors of a {@code TSPSource}. Only the last successful latencies are
+ * kept (sliding window). Instances are thread-safe.
+ */
+public class TSPSourceStatistics implements Serializable {
+
+	private static final long serialVersionUID = -4366523460420929815L;
+
+	private static final int DEFAULT_WINDOW_SIZE = 100;
+
+	private final long[] latencies;
+
+	private int nextIndex;
+
+	private int nbLatencies;
+
+	private long successes;
+
+	private long failures;
+
+	private int consecutiveFailures;
+
+	public TSPSourceStatistics() {
+		this(DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * @param windowSize
+	 *            the number of the last latencies to keep
+	 */
+	public TSPSourceStatistics(int windowSize) {
+		if (windowSize < 1) {
+			throw new IllegalArgumentException("The window size must be positive");
+		}
+		this.latencies = new long[windowSize];
+	}
+
+	/**
+	 * Records a successful call
+	 *
+	 * @param latencyMillis
+	 *            the duration of the call in milliseconds
+	 */
+	public synchronized void addSuccess(long latencyMillis) {
+		latencies[nextIndex] = latencyMillis;
+		nextIndex = (nextIndex + 1) % latencies.length;
+		if (nbLatencies < latencies.length) {
+			nbLatencies++;
+		}
+		successes++;
+		consecutiveFailures = 0;
+	}
+
+	/**
+	 * Records a failed call (exception or empty response)
+	 */
+	public synchronized void addFailure() {
+		failures++;
+		consecutiveFailures++;
+	}
+
+	public synchronized long getSuccesses() {
+		return successes;
+	}
+
+	public synchronized long getFailures() {
+		return failures;
+	}
+
+	public synchronized int getConsecutiveFailures() {
+		return consecutiveFailures;
+	}
+
+	/**
+	 * Returns the number of latencies currently available in the window
+	 *
+	 * @return the number of samples
+	 */
+	public synchronized int getNumberOfSamples() {
+		return nbLatencies;
+	}
+
+	/**
+	 * Returns the error rate (between 0 and 1) of all recorded calls
+	 *
+	 * @return the error rate or 0 if no call was recorded
+	 */
+	public synchronized double getErrorRate() {
+		long total = successes + failures;
+		if (total == 0) {
+			return 0;
+		}
+		return (double) failures / total;
+	}
+
+	/**
+	 * Returns the latency percentile of the recorded successful calls (nearest-rank method)
+	 *
+	 * @param percentile
+	 *            the percentile between 0 and 100 (eg : 95)
+	 * @return the latency in milliseconds or -1 if no sample is available
+	 */
+	public synchronized long getLatencyPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("The percentile must be between 0 and 100");
+		}
+		if (nbLatencies == 0) {
+			return -1;
+		}
+		long[] sorted = Arrays.copyOf(latencies, nbLatencies);
+		Arrays.sort(sorted);
+		int rank = (int) Math.ceil(percentile / 100 * nbLatencies);
+		return sorted[Math.max(rank, 1) - 1];
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "TSPSourceStatistics [successes=" + successes + ", failures=" + failures + ", consecutiveFailures=" + consecutiveFailures + ", median="
+				+ (nbLatencies == 0 ? "?" : getLatencyPercentile(50) + "ms") + "]";
+	}
+
+}
@@ -4,7 +4,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -20,6 +22,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.x509.CertificateExtensions;
 import eu.europa.esig.dss.x509.CertificateToken;
 
 public class DSSASN1UtilsTest {
@@ -111,6 +114,39 @@ public class DSSASN1UtilsTest {
 		assertEquals("http://crl.luxtrust.lu/LTQCA.crl", crlUrls.get(0));
 	}
 
+	@Test
+	public void getAki() {
+		assertNotNull(DSSASN1Utils.getAki(certificateWithAIA));
+	}
+
+	@Test
+	public void getCertificateExtensions() {
+		CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/ec.europa.eu.crt"));
+		CertificateExtensions extensions = DSSASN1Utils.getCertificateExtensions(certificate);
+		assertSame(extensions, DSSASN1Utils.getCertificateExtensions(certificate));
+		assertEquals(DSSASN1Utils.getCrlUrls(certificate), extensions.getCrlUrls());
+
+		// the returned lists are copies of the decoded values
+		List<String> crlUrls = DSSASN1Utils.getCrlUrls(certificate);
+		crlUrls.clear();
+		assertEquals(1, DSSASN1Utils.getCrlUrls(certificate).size());
+
+		// the extensions are immutable
+		byte[] ski = extensions.getSubjectKeyIdentifier();
+		ski[0]++;
+		assertFalse(ski[0] == extensions.getSubjectKeyIdentifier()[0]);
+		try {
+			extensions.getCrlUrls().clear();
+			fail("The list is unmodifiable");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+
+		// the published extensions cannot be replaced
+		certificate.setExtensions(new CertificateExtensions(null, null, null, null, null, null, null, null, null, null, false));
+		assertSame(extensions, DSSASN1Utils.getCertificateExtensions(certificate));
+	}
+
 	@Test
 	public void getCertificateHolder() {
 		CertificateToken token = DSSUtils.loadCertificate(new File("src/test/resources/ec.europa.eu.crt"));
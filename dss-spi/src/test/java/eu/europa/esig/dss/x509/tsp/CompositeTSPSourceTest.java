@@ -0,0 +1,226 @@
+package eu.europa.esig.dss.x509.tsp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bouncycastle.cms.CMSSignedData;
+import org.bouncycastle.tsp.TimeStampToken;
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.utils.Utils;
+
+public class CompositeTSPSourceTest {
+
+	private static final String TIMESTAMP = "MIIIeQYJKoZIhvcNAQcCoIIIajCCCGYCAQMxDzANBglghkgBZQMEAgEFADCCARcGCyqGSIb3DQEJEAEEoIIBBgSCAQIwgf8CAQEGCisGAQQB+0sFAgIwMTANBglghkgBZQMEAgEFAAQglpOQ7OAK4W1yrehpc9Ru/cM4s30d+ckg6Z+3A76VxqcCFQD3FqBBui0KeqzF5Yw4rKBQ/CqmQhgTMjAxNzA0MjcwNjEwMzcuNDQzWjADgAEBAQH/AgkA9Q8FD+qHq56gfKR6MHgxKTAnBgNVBAMTIFVuaXZlcnNpZ24gVGltZXN0YW1waW5nIFVuaXQgMDE3MRwwGgYDVQQLExMwMDAyIDQzOTEyOTE2NDAwMDI2MSAwHgYDVQQKExdDcnlwdG9sb2cgSW50ZXJuYXRpb25hbDELMAkGA1UEBhMCRlKgggRhMIIEXTCCA0WgAwIBAgIRAIXfg8Wy+RxvNPq4ooTfu3gwDQYJKoZIhvcNAQELBQAwdzELMAkGA1UEBhMCRlIxIDAeBgNVBAoTF0NyeXB0b2xvZyBJbnRlcm5hdGlvbmFsMRwwGgYDVQQLExMwMDAyIDQzOTEyOTE2NDAwMDI2MSgwJgYDVQQDEx9Vbml2ZXJzaWduIFRpbWVzdGFtcGluZyBDQSAyMDE1MB4XDTE3MDMyMzEwMDcxMloXDTIzMDMyMzEwMDcxMloweDEpMCcGA1UEAxMgVW5pdmVyc2lnbiBUaW1lc3RhbXBpbmcgVW5pdCAwMTcxHDAaBgNVBAsTEzAwMDIgNDM5MTI5MTY0MDAwMjYxIDAeBgNVBAoTF0NyeXB0b2xvZyBJbnRlcm5hdGlvbmFsMQswCQYDVQQGEwJGUjCCASIwDQYJKoZIhvcNAQEBBQADggEPADCCAQoCggEBALvkTUmAEMbWX/8JNEsptM/ioLmOQAh3B9l7SMqeBGavDGwRfFQ51nyHT0z2PJ0geNPJOYLSczPcQgkUfkie+WWnevwUpVwEGXsrplvrSwQCaHeOhMzct8Uy6rUPxn2u6vPVkRI4p3xxBiD8TCkqDFTHfMi3r5YFYDrJ2iGYfh5Q/KPS5qZNNIfKHd9cQYYhQFfDcLhItJiKrx6+zemLbKIB+HzqpzRD/MK/PYmva9Y0THOUJ9KW6pPK+HoAcpm5OnfAVrA4x9dVT2pE84viyCZ8MCpgkEJsuS+xImwksQmo9YxtxDlfDDbebDq8JPh1JPvLWWIQG5Sw3MJSFJYfyG0CAwEAAaOB4jCB3zAJBgNVHRMEAjAAMEEGA1UdIAQ6MDgwNgYKKwYBBAH7SwUBATAoMCYGCCsGAQUFBwIBFhpodHRwOi8vZG9jcy51bml2ZXJzaWduLmV1LzBGBgNVHR8EPzA9MDugOaA3hjVodHRwOi8vY3JsLnVuaXZlcnNpZ24uZXUvdW5pdmVyc2lnbl90c2Ffcm9vdF8yMDE1LmNybDAOBgNVHQ8BAf8EBAMCB4AwFgYDVR0lAQH/BAwwCgYIKwYBBQUHAwgwHwYDVR0jBBgwFoAU+k3tVzu9P/ORM5oLOaR/XRLdB0YwDQYJKoZIhvcNAQELBQADggEBAC3hQlq7JdDdSuBvnttN7Z7rJRId3w1awNaC0loQcDQ3txW3aKNnIe6HthwdAkVxhxnkhK5pbBVpYq9me25PpCWlqnanUZsT0kl2FpmIsdw03cHpluihV4f31wp8r+JGu2wj0+91lQkAHfnayB7W/uGiPJjjhlY0sl9Lp2VtTgBfCNJZFNemL725BQlWlzn3qOepv/NTa6vHndu6fah6W/TAxMUNTpbOUQ1hbdqWMBzmg5CH6Lwohnm6/7WGLjm14ENltv9hg3gBXTX6hBCys3IkF4bE9wIUWbhOm55mwKRfSgZbr6dGnq5Nx7KWjE8V3ExkVeZWcE/ivOweUGaZHHUxggLOMIICygIBATCBjDB3MQswCQYDVQQGEwJGUjEgMB4GA1UEChMXQ3J5cHRvbG9nIEludGVybmF0aW9uYWwxHDAaBgNVBAsTEzAwMDIgNDM5MTI5MTY0MDAwMjYxKDAmBgNVBAMTH1VuaXZlcnNpZ24gVGltZXN0YW1waW5nIENBIDIwMTUCEQCF34PFsvkcbzT6uKKE37t4MA0GCWCGSAFlAwQCAQUAoIIBEjAaBgkqhkiG9w0BCQMxDQYLKoZIhvcNAQkQAQQwLwYJKoZIhvcNAQkEMSIEIF/5vrW6p1HJTWPzFj9+f+BC7fA6dqxqUSKUDEcnArVFMIHCBgsqhkiG9w0BCRACDDGBsjCBrzCBrDCBqQQUbvEQFkqwfgLnwZQ2qPkKt6JIND8wgZAwe6R5MHcxCzAJBgNVBAYTAkZSMSAwHgYDVQQKExdDcnlwdG9sb2cgSW50ZXJuYXRpb25hbDEcMBoGA1UECxMTMDAwMiA0MzkxMjkxNjQwMDAyNjEoMCYGA1UEAxMfVW5pdmVyc2lnbiBUaW1lc3RhbXBpbmcgQ0EgMjAxNQIRAIXfg8Wy+RxvNPq4ooTfu3gwDQYJKoZIhvcNAQELBQAEggEAIinJKkZU7I+6g1aSmh/7pbpbN8tLAiaQCS24G8MziaBfqP4aNyAXO0LChwFlELFXNH/AowZTj9PlP1ProPXRjli8arAO3D7drWRPJotdoG9ZkYf/4JFbKGpeogAVYk+vrfLSHhScm4gtXaffGgta29gFn8XjTLXtA89B8crfOjyiz0atbxXkL+7m0oj2iF+8N9y5pXfQ5JyYjC5Ni7HMmGnL4VDn9kd/sQXLcHw2Bq4BHL7tHXu4gRy3vHK05Z8JLP9AxpiGvXqgs9VjXLeYGv2t6oU2KQXUtqEfzzoflT4Ec5QsV9ukjEaZ0GRHb/pwHI7dmXzC27hpRacmztSgxA==";
+
+	@Test
+	public void statistics() {
+		TSPSourceStatistics statistics = new TSPSourceStatistics(4);
+		assertEquals(-1, statistics.getLatencyPercentile(95));
+		statistics.addSuccess(10);
+		statistics.addSuccess(40);
+		statistics.addSuccess(20);
+		statistics.addSuccess(30);
+		assertEquals(20, statistics.getLatencyPercentile(50));
+		assertEquals(40, statistics.getLatencyPercentile(95));
+
+		// sliding window
+		statistics.addSuccess(50);
+		assertEquals(4, statistics.getNumberOfSamples());
+		assertEquals(20, statistics.getLatencyPercentile(0));
+
+		statistics.addFailure();
+		statistics.addFailure();
+		assertEquals(2, statistics.getConsecutiveFailures());
+		assertEquals(2d / 7, statistics.getErrorRate(), 0.0001);
+		statistics.addSuccess(10);
+		assertEquals(0, statistics.getConsecutiveFailures());
+	}
+
+	@Test
+	public void sequentialFailures() {
+		CountingTSPSource first = new CountingTSPSource(0);
+		CountingTSPSource second = new CountingTSPSource(0);
+
+		CompositeTSPSource composite = new CompositeTSPSource();
+		composite.setTspSources(sources(first, second));
+
+		assertFailure(composite);
+		assertEquals(1, first.calls.get());
+		assertEquals(1, second.calls.get());
+		assertEquals(1, composite.getStatistics().get("first").getFailures());
+		assertEquals(1, composite.getStatistics().get("second").getFailures());
+	}
+
+	@Test
+	public void hedgedFailures() {
+		CountingTSPSource slow = new CountingTSPSource(2000);
+		CountingTSPSource fast = new CountingTSPSource(0);
+
+		ExecutorService executorService = Executors.newCachedThreadPool();
+		try {
+			CompositeTSPSource composite = new CompositeTSPSource();
+			composite.setTspSources(sources(slow, fast));
+			composite.setExecutorService(executorService);
+			composite.setDefaultHedgingDelay(50);
+
+			long start = System.currentTimeMillis();
+			assertFailure(composite);
+			assertEquals(1, slow.calls.get());
+			assertEquals(1, fast.calls.get());
+			// the second source is requested before the end of the first one
+			assertTrue(fast.startTime - start < 1000);
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void hedgedCancellation() throws Exception {
+		TimeStampToken timeStampToken = new TimeStampToken(new CMSSignedData(Utils.fromBase64(TIMESTAMP)));
+		InterruptibleTSPSource slow = new InterruptibleTSPSource();
+		TSPSource fast = new FixedTSPSource(timeStampToken);
+
+		ExecutorService executorService = Executors.newCachedThreadPool();
+		try {
+			CompositeTSPSource composite = new CompositeTSPSource();
+			composite.setTspSources(sources(slow, fast));
+			composite.setExecutorService(executorService);
+			composite.setDefaultHedgingDelay(50);
+
+			assertSame(timeStampToken, composite.getTimeStampResponse(DigestAlgorithm.SHA256, new byte[32]));
+
+			// the pending call of the first source is cancelled
+			executorService.shutdown();
+			assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+			assertTrue(slow.interrupted);
+			TSPSourceStatistics slowStatistics = composite.getStatistics().get("first");
+			assertEquals(0, slowStatistics.getFailures());
+			assertEquals(0, slowStatistics.getSuccesses());
+			assertEquals(1, composite.getStatistics().get("second").getSuccesses());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void adaptiveOrdering() {
+		CountingTSPSource first = new CountingTSPSource(0);
+		CountingTSPSource second = new CountingTSPSource(0);
+
+		CompositeTSPSource composite = new CompositeTSPSource();
+		composite.setTspSources(sources(first, second));
+		composite.setAdaptiveOrdering(true);
+
+		// first source becomes unhealthy
+		for (int i = 0; i < 3; i++) {
+			assertFailure(composite);
+		}
+		composite.getStatistics().get("second").addSuccess(10);
+
+		first.calls.set(0);
+		second.calls.set(0);
+		second.failFirst = first;
+		assertFailure(composite);
+		assertEquals(1, second.calls.get());
+		assertEquals(1, first.calls.get());
+		assertTrue(second.calledBeforeOther);
+	}
+
+	private Map<String, TSPSource> sources(TSPSource first, TSPSource second) {
+		Map<String, TSPSource> tspSources = new LinkedHashMap<String, TSPSource>();
+		tspSources.put("first", first);
+		tspSources.put("second", second);
+		return tspSources;
+	}
+
+	private void assertFailure(CompositeTSPSource composite) {
+		try {
+			composite.getTimeStampResponse(DigestAlgorithm.SHA256, new byte[32]);
+			fail("No timestamp token must be returned");
+		} catch (DSSException e) {
+			assertTrue(e.getMessage().startsWith("Unable to retrieve the timestamp"));
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private static class CountingTSPSource implements TSPSource {
+
+		private final long duration;
+		private final AtomicInteger calls = new AtomicInteger();
+		private volatile long startTime;
+		private volatile CountingTSPSource failFirst;
+		private volatile boolean calledBeforeOther;
+
+		private CountingTSPSource(long duration) {
+			this.duration = duration;
+		}
+
+		@Override
+		public TimeStampToken getTimeStampResponse(DigestAlgorithm digestAlgorithm, byte[] digest) throws DSSException {
+			startTime = System.currentTimeMillis();
+			calls.incrementAndGet();
+			if (failFirst != null) {
+				calledBeforeOther = failFirst.calls.get() == 0;
+			}
+			if (duration > 0) {
+				try {
+					Thread.sleep(duration);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			throw new DSSException("Unavailable TSA");
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static class FixedTSPSource implements TSPSource {
+
+		private final transient TimeStampToken timeStampToken;
+
+		private FixedTSPSource(TimeStampToken timeStampToken) {
+			this.timeStampToken = timeStampToken;
+		}
+
+		@Override
+		public TimeStampToken getTimeStampResponse(DigestAlgorithm digestAlgorithm, byte[] digest) throws DSSException {
+			return timeStampToken;
+		}
+
+	}
+
+	/**
+	 * Waits until its interruption and fails like an interrupted I/O (the interrupted status is cleared)
+	 */
+	@SuppressWarnings("serial")
+	private static class InterruptibleTSPSource implements TSPSource {
+
+		private volatile boolean interrupted;
+
+		@Override
+		public TimeStampToken getTimeStampResponse(DigestAlgorithm digestAlgorithm, byte[] digest) throws DSSException {
+			try {
+				Thread.sleep(10000);
+				return null;
+			} catch (InterruptedException e) {
+				interrupted = true;
+				throw new DSSException("Interrupted request", e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,416 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.token;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.KeyStore.PasswordProtection;
+import java.security.KeyStore.PrivateKeyEntry;
+import java.security.ProviderException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.MaskGenerationFunction;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+
+/**
+ * PKCS11 token which keeps a pool of logged-in connections to the same slot.
+ *
+ * Each connection is an independent {@code Pkcs11SignatureToken} (own provider, own login). The pool keeps the
+ * keystore of each connection and its private key entries (key handles) in memory, unlike a single
+ * {@code Pkcs11SignatureToken} which reloads its keystore at each call. The signatures are computed concurrently, each one on a
+ * connection borrowed from the pool. A connection which fails with a PKCS#11 error is closed and replaced by a new
+ * one (re-login) and the signature is retried once.
+ *
+ * The key entries returned by this token are only used to identify the key (by alias) : the signature is computed
+ * with the entry of the same alias on the borrowed connection.
+ */
+public class PooledPkcs11SignatureToken extends AbstractKeyStoreTokenConnection {
+
+	private static final String PKCS11_EXCEPTION_CLASSNAME = "sun.security.pkcs11.wrapper.PKCS11Exception";
+
+	private final String pkcs11Path;
+
+	private final PasswordInputCallback callback;
+
+	private final int slotId;
+
+	private final String extraPkcs11Config;
+
+	private long maxWaitTime = 30000;
+
+	/* One permit per connection (idle or not yet created) */
+	private final Semaphore permits;
+
+	private final Queue<PooledConnection> idleConnections = new ConcurrentLinkedQueue<PooledConnection>();
+
+	private final Set<PooledConnection> connections = new HashSet<PooledConnection>();
+
+	private boolean closed;
+
+	/**
+	 * Create the pooled SignatureTokenConnection, using the provided path for the library and the password.
+	 *
+	 * @param pkcs11Path
+	 *            the path for the library (.dll, .so)
+	 * @param password
+	 *            the pin code / password to use
+	 * @param slotId
+	 *            the slotId to use
+	 * @param poolSize
+	 *            the maximum number of logged-in connections
+	 */
+	public PooledPkcs11SignatureToken(String pkcs11Path, PasswordProtection password, int slotId, int poolSize) {
+		this(pkcs11Path, new PrefilledPasswordCallback(password), slotId, null, poolSize);
+	}
+
+	/**
+	 * Create the pooled SignatureTokenConnection, using the provided path for the library and a way of retrieving the
+	 * password. The callback is invoked at each login (creation or replacement of a connection).
+	 *
+	 * @param pkcs11Path
+	 *            the path for the library (.dll, .so)
+	 * @param callback
+	 *            the callback to enter the pin code / password
+	 * @param slotId
+	 *            the slotId to use
+	 * @param extraPkcs11Config
+	 *            extra configuration for pkcs11 library
+	 * @param poolSize
+	 *            the maximum number of logged-in connections
+	 */
+	public PooledPkcs11SignatureToken(String pkcs11Path, PasswordInputCallback callback, int slotId, String extraPkcs11Config, int poolSize) {
+		if (poolSize < 1) {
+			throw new IllegalArgumentException("The pool size must be positive");
+		}
+		this.pkcs11Path = pkcs11Path;
+		this.callback = callback;
+		this.slotId = slotId;
+		this.extraPkcs11Config = extraPkcs11Config;
+		this.permits = new Semaphore(poolSize, true);
+	}
+
+	/**
+	 * This setter allows to define how long a caller waits for an available connection (default : 30 seconds)
+	 *
+	 * @param maxWaitTime
+	 *            the maximum wait time in milliseconds
+	 */
+	public void setMaxWaitTime(long maxWaitTime) {
+		this.maxWaitTime = maxWaitTime;
+	}
+
+	/**
+	 * Creates a new connection to the token. The user is logged in when the keystore is loaded.
+	 *
+	 * @return a new PKCS11 connection
+	 */
+	protected Pkcs11SignatureToken createToken() {
+		return new Pkcs11SignatureToken(pkcs11Path, callback, slotId, extraPkcs11Config);
+	}
+
+	@Override
+	KeyStore getKeyStore() throws DSSException {
+		PooledConnection connection = borrow();
+		try {
+			return connection.keyStore;
+		} finally {
+			release(connection);
+		}
+	}
+
+	@Override
+	PasswordProtection getKeyProtectionParameter() {
+		return null;
+	}
+
+	@Override
+	public List<DSSPrivateKeyEntry> getKeys() throws DSSException {
+		PooledConnection connection = borrow();
+		try {
+			return connection.getKeys();
+		} finally {
+			release(connection);
+		}
+	}
+
+	@Override
+	public DSSPrivateKeyEntry getKey(String alias, PasswordProtection passwordProtection) {
+		PooledConnection connection = borrow();
+		try {
+			return connection.getKey(alias);
+		} finally {
+			release(connection);
+		}
+	}
+
+	@Override
+	public SignatureValue sign(ToBeSigned toBeSigned, DigestAlgorithm digestAlgorithm, MaskGenerationFunction mgf, DSSPrivateKeyEntry keyEntry)
+			throws DSSException {
+		if (!(keyEntry instanceof KSPrivateKeyEntry)) {
+			throw new IllegalArgumentException("Only KSPrivateKeyEntry are supported");
+		}
+		String alias = ((KSPrivateKeyEntry) keyEntry).getAlias();
+		try {
+			return sign(toBeSigned, digestAlgorithm, mgf, alias);
+		} catch (StaleConnectionException e) {
+			LOG.warn("PKCS11 connection failure, the signature is retried with a new connection : {}", e.getCause().getMessage());
+			try {
+				return sign(toBeSigned, digestAlgorithm, mgf, alias);
+			} catch (StaleConnectionException e2) {
+				throw e2.getCause();
+			}
+		}
+	}
+
+	private SignatureValue sign(ToBeSigned toBeSigned, DigestAlgorithm digestAlgorithm, MaskGenerationFunction mgf, String alias)
+			throws StaleConnectionException {
+		PooledConnection connection = borrow();
+		boolean valid = true;
+		try {
+			KSPrivateKeyEntry entry = connection.getKey(alias);
+			if (entry == null) {
+				throw new DSSException("No key found for alias '" + alias + "'");
+			}
+			return connection.token.sign(toBeSigned, digestAlgorithm, mgf, entry);
+		} catch (DSSException e) {
+			if (isConnectionFailure(e)) {
+				valid = false;
+				throw new StaleConnectionException(e);
+			}
+			throw e;
+		} finally {
+			if (valid) {
+				release(connection);
+			} else {
+				destroy(connection);
+			}
+		}
+	}
+
+	/**
+	 * Checks the idle connections and closes the ones which are no longer usable (token removed, session closed,
+	 * user logged out,...). They are replaced by new connections on demand. This method can be scheduled to detect
+	 * the failures before the signature requests.
+	 */
+	public void checkConnections() {
+		List<PooledConnection> toCheck = new ArrayList<PooledConnection>();
+		while (permits.tryAcquire()) {
+			PooledConnection connection = idleConnections.poll();
+			if (connection == null) {
+				permits.release();
+				break;
+			}
+			toCheck.add(connection);
+		}
+		for (PooledConnection connection : toCheck) {
+			if (connection.isValid()) {
+				release(connection);
+			} else {
+				LOG.warn("The PKCS11 connection is no longer valid and is closed");
+				destroy(connection);
+			}
+		}
+	}
+
+	private PooledConnection borrow() {
+		try {
+			if (!permits.tryAcquire(maxWaitTime, TimeUnit.MILLISECONDS)) {
+				throw new DSSException("No PKCS11 connection available after " + maxWaitTime + " ms");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("Interrupted while waiting for a PKCS11 connection", e);
+		}
+		try {
+			PooledConnection connection = idleConnections.poll();
+			if (connection == null) {
+				connection = new PooledConnection(createToken());
+				synchronized (this) {
+					if (closed) {
+						connection.close();
+						throw new DSSException("The token is closed");
+					}
+					connections.add(connection);
+				}
+			}
+			return connection;
+		} catch (RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	private void release(PooledConnection connection) {
+		synchronized (this) {
+			if (!closed) {
+				idleConnections.offer(connection);
+				permits.release();
+				return;
+			}
+		}
+		connection.close();
+		permits.release();
+	}
+
+	private void destroy(PooledConnection connection) {
+		synchronized (this) {
+			connections.remove(connection);
+		}
+		connection.close();
+		permits.release();
+	}
+
+	private boolean isConnectionFailure(Throwable e) {
+		Throwable cause = e;
+		while (cause != null) {
+			if (cause instanceof ProviderException || PKCS11_EXCEPTION_CLASSNAME.equals(cause.getClass().getName())) {
+				return true;
+			}
+			cause = cause.getCause();
+		}
+		return false;
+	}
+
+	@Override
+	public void close() {
+		List<PooledConnection> toClose;
+		synchronized (this) {
+			closed = true;
+			toClose = new ArrayList<PooledConnection>(connections);
+			connections.clear();
+			idleConnections.clear();
+		}
+		for (PooledConnection connection : toClose) {
+			connection.close();
+		}
+	}
+
+	private static class PooledConnection {
+
+		private final Pkcs11SignatureToken token;
+
+		/* Loaded once (login) */
+		private final KeyStore keyStore;
+
+		/* Only accessed by the thread which borrowed the connection */
+		private final Map<String, KSPrivateKeyEntry> keys = new LinkedHashMap<String, KSPrivateKeyEntry>();
+
+		private boolean allKeysLoaded;
+
+		private PooledConnection(Pkcs11SignatureToken token) {
+			this.token = token;
+			try {
+				// login
+				this.keyStore = token.getKeyStore();
+			} catch (RuntimeException e) {
+				token.close();
+				throw e;
+			}
+		}
+
+		private List<DSSPrivateKeyEntry> getKeys() {
+			if (!allKeysLoaded) {
+				try {
+					for (String alias : Collections.list(keyStore.aliases())) {
+						KSPrivateKeyEntry entry = loadKey(alias);
+						if (entry != null) {
+							keys.put(alias, entry);
+						}
+					}
+				} catch (GeneralSecurityException e) {
+					throw new DSSException("Unable to retrieve keys from keystore", e);
+				}
+				allKeysLoaded = true;
+			}
+			return new ArrayList<DSSPrivateKeyEntry>(keys.values());
+		}
+
+		private KSPrivateKeyEntry getKey(String alias) {
+			KSPrivateKeyEntry entry = keys.get(alias);
+			if (entry == null && !allKeysLoaded) {
+				try {
+					entry = loadKey(alias);
+				} catch (GeneralSecurityException e) {
+					throw new DSSException("Unable to retrieve key from keystore", e);
+				}
+				if (entry != null) {
+					keys.put(alias, entry);
+				}
+			}
+			return entry;
+		}
+
+		private KSPrivateKeyEntry loadKey(String alias) throws GeneralSecurityException {
+			if (keyStore.isKeyEntry(alias)) {
+				return new KSPrivateKeyEntry(alias, (PrivateKeyEntry) keyStore.getEntry(alias, token.getKeyProtectionParameter()));
+			}
+			LOG.debug("No related/supported key found for alias '{}'", alias);
+			return null;
+		}
+
+		private boolean isValid() {
+			try {
+				if (keys.isEmpty()) {
+					token.getKeys();
+				} else {
+					token.getKey(keys.keySet().iterator().next());
+				}
+				return true;
+			} catch (Exception e) {
+				LOG.debug("Invalid PKCS11 connection : {}", e.getMessage());
+				return false;
+			}
+		}
+
+		private void close() {
+			token.close();
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static class StaleConnectionException extends Exception {
+
+		private StaleConnectionException(DSSException cause) {
+			super(cause);
+		}
+
+		@Override
+		public synchronized DSSException getCause() {
+			return (DSSException) super.getCause();
+		}
+
+	}
+
+}
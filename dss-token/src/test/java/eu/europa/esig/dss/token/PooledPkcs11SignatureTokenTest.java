@@ -0,0 +1,149 @@
+package eu.europa.esig.dss.token;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.security.KeyStore;
+import java.security.KeyStore.PasswordProtection;
+import java.security.NoSuchAlgorithmException;
+import java.security.ProviderException;
+import java.security.Signature;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DigestAlgorithm;
+import eu.europa.esig.dss.SignatureValue;
+import eu.europa.esig.dss.ToBeSigned;
+
+public class PooledPkcs11SignatureTokenTest {
+
+	private static final PasswordProtection PASSWORD = new PasswordProtection("password".toCharArray());
+
+	@Test
+	public void concurrentSignatures() throws Exception {
+		final Pkcs12BackedPool token = new Pkcs12BackedPool(3);
+		ExecutorService executorService = Executors.newFixedThreadPool(8);
+		try {
+			final DSSPrivateKeyEntry key = token.getKeys().get(0);
+			final ToBeSigned toBeSigned = new ToBeSigned("Hello world".getBytes("UTF-8"));
+
+			List<Future<SignatureValue>> futures = new ArrayList<Future<SignatureValue>>();
+			for (int i = 0; i < 50; i++) {
+				futures.add(executorService.submit(new Callable<SignatureValue>() {
+					@Override
+					public SignatureValue call() throws Exception {
+						return token.sign(toBeSigned, DigestAlgorithm.SHA256, key);
+					}
+				}));
+			}
+			for (Future<SignatureValue> future : futures) {
+				SignatureValue signatureValue = future.get();
+				assertNotNull(signatureValue.getValue());
+
+				Signature signature = Signature.getInstance(signatureValue.getAlgorithm().getJCEId());
+				signature.initVerify(key.getCertificate().getPublicKey());
+				signature.update(toBeSigned.getBytes());
+				assertTrue(signature.verify(signatureValue.getValue()));
+			}
+
+			// one login per connection
+			assertTrue(token.logins.get() <= 3);
+		} finally {
+			executorService.shutdown();
+			token.close();
+		}
+	}
+
+	@Test
+	public void reconnection() throws Exception {
+		Pkcs12BackedPool token = new Pkcs12BackedPool(1);
+		try {
+			DSSPrivateKeyEntry key = token.getKeys().get(0);
+			assertEquals(1, token.logins.get());
+			// the keystore of the connection is kept
+			assertEquals(1, token.getKeys().size());
+			assertEquals(1, token.logins.get());
+
+			token.failure.set(true);
+			SignatureValue signatureValue = token.sign(new ToBeSigned(new byte[] { 1, 2, 3 }), DigestAlgorithm.SHA256, key);
+			assertNotNull(signatureValue.getValue());
+			assertEquals(2, token.logins.get());
+		} finally {
+			token.close();
+		}
+	}
+
+	@Test(expected = DSSException.class)
+	public void unknownAlias() throws Exception {
+		Pkcs12BackedPool token = new Pkcs12BackedPool(1);
+		try {
+			KSPrivateKeyEntry key = (KSPrivateKeyEntry) token.getKeys().get(0);
+			DSSPrivateKeyEntry unknownKey = new KSPrivateKeyEntry("unknown", new KeyStore.PrivateKeyEntry(key.getPrivateKey(),
+					new Certificate[] { key.getCertificate().getCertificate() }));
+			token.sign(new ToBeSigned(new byte[] { 1, 2, 3 }), DigestAlgorithm.SHA256, unknownKey);
+		} finally {
+			token.close();
+		}
+	}
+
+	/**
+	 * Pool of connections which are backed by a PKCS#12 file instead of a PKCS#11 library
+	 */
+	private static class Pkcs12BackedPool extends PooledPkcs11SignatureToken {
+
+		private final AtomicInteger logins = new AtomicInteger();
+
+		private final AtomicBoolean failure = new AtomicBoolean();
+
+		private Pkcs12BackedPool(int poolSize) {
+			super(null, PASSWORD, 0, poolSize);
+		}
+
+		@Override
+		protected Pkcs11SignatureToken createToken() {
+			return new Pkcs11SignatureToken(null, PASSWORD) {
+
+				@Override
+				KeyStore getKeyStore() {
+					logins.incrementAndGet();
+					try (InputStream is = new FileInputStream("src/test/resources/user_a_rsa.p12")) {
+						KeyStore keyStore = KeyStore.getInstance("PKCS12");
+						keyStore.load(is, PASSWORD.getPassword());
+						return keyStore;
+					} catch (Exception e) {
+						throw new DSSException(e);
+					}
+				}
+
+				@Override
+				PasswordProtection getKeyProtectionParameter() {
+					return PASSWORD;
+				}
+
+				@Override
+				protected Signature getSignatureInstance(String javaSignatureAlgorithm) throws NoSuchAlgorithmException {
+					if (failure.compareAndSet(true, false)) {
+						throw new ProviderException("CKR_SESSION_HANDLE_INVALID");
+					}
+					return Signature.getInstance(javaSignatureAlgorithm);
+				}
+
+			};
+		}
+
+	}
+
+}
@@ -33,12 +33,16 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,6 +50,7 @@ import org.w3c.dom.Element;
 
 import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
 import eu.europa.esig.dss.tsl.CertSubjectDNAttributeCondition;
 import eu.europa.esig.dss.tsl.CompositeCondition;
 import eu.europa.esig.dss.tsl.Condition;
@@ -88,20 +93,22 @@ import eu.europa.esig.jaxb.tsl.OtherTSLPointerType;
 import eu.europa.esig.jaxb.tsl.PostalAddressType;
 import eu.europa.esig.jaxb.tsl.ServiceHistoryInstanceType;
 import eu.europa.esig.jaxb.tsl.ServiceSupplyPointsType;
+import eu.europa.esig.jaxb.tsl.TSLSchemeInformationType;
 import eu.europa.esig.jaxb.tsl.TSPInformationType;
 import eu.europa.esig.jaxb.tsl.TSPServiceInformationType;
 import eu.europa.esig.jaxb.tsl.TSPServiceType;
 import eu.europa.esig.jaxb.tsl.TSPServicesListType;
 import eu.europa.esig.jaxb.tsl.TSPType;
-import eu.europa.esig.jaxb.tsl.TrustServiceProviderListType;
-import eu.europa.esig.jaxb.tsl.TrustStatusListType;
 import eu.europa.esig.jaxb.tslx.CertSubjectDNAttributeType;
 import eu.europa.esig.jaxb.tslx.ExtendedKeyUsageType;
 import eu.europa.esig.jaxb.xades.IdentifierType;
 import eu.europa.esig.jaxb.xades.ObjectIdentifierType;
 
 /**
- * This class allows to parse a TSL from JAXB object to DTO's. It can be executed as a Callable
+ * This class allows to parse a TSL to DTO's. It can be executed as a Callable
+ * 
+ * The TSL is read with a StAX reader : only the scheme information and one trust service provider at a time are
+ * unmarshalled with JAXB, the complete JAXB tree of the TSL is never built.
  */
 public class TSLParser implements Callable<TSLParserResult> {
 
@@ -114,10 +121,19 @@ public class TSLParser implements Callable<TSLParserResult> {
 
 	private static final String TSL_MIME_TYPE = "application/vnd.etsi.tsl+xml";
 
+	private static final String TSL_NAMESPACE = "http://uri.etsi.org/02231/v2#";
+	private static final String SCHEME_INFORMATION = "SchemeInformation";
+	private static final String TRUST_SERVICE_PROVIDER = "TrustServiceProvider";
+
 	private static final JAXBContext jaxbContext;
 
+	private static final XMLInputFactory xmlInputFactory;
+
 	private String filepath;
 
+	/* Certificates by digest, they can be shared between the parsers of the different TSLs */
+	private final ConcurrentMap<String, CertificateToken> certificates;
+
 	static {
 		try {
 			jaxbContext = JAXBContext.newInstance(ObjectFactory.class, eu.europa.esig.jaxb.ecc.ObjectFactory.class,
@@ -125,45 +141,78 @@ public class TSLParser implements Callable<TSLParserResult> {
 		} catch (JAXBException e) {
 			throw new DSSException("Unable to initialize JaxB : " + e.getMessage(), e);
 		}
+		xmlInputFactory = XMLInputFactory.newInstance();
+		xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
 	}
 
 	public TSLParser(String filepath) {
+		this(filepath, new ConcurrentHashMap<String, CertificateToken>());
+	}
+
+	/**
+	 * The constructor with a map of the already loaded certificates. When the same map is given to the parsers of
+	 * several TSLs, a certificate which is present in several TSLs is only decoded once.
+	 * 
+	 * @param filepath
+	 *            the path of the TSL file
+	 * @param certificates
+	 *            the certificates by the base64 of their SHA-256 digest
+	 */
+	public TSLParser(String filepath, ConcurrentMap<String, CertificateToken> certificates) {
 		this.filepath = filepath;
+		this.certificates = certificates;
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public TSLParserResult call() throws Exception {
 		try (InputStream is = new FileInputStream(filepath)) {
-			Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-			JAXBElement<TrustStatusListType> jaxbElement = (JAXBElement<TrustStatusListType>) unmarshaller.unmarshal(is);
-			TrustStatusListType trustStatusList = jaxbElement.getValue();
-			return getTslModel(trustStatusList);
+			XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(is);
+			try {
+				return getTslModel(reader);
+			} finally {
+				reader.close();
+			}
 		} catch (Exception e) {
 			throw new DSSException("Unable to parse file '" + filepath + "' : " + e.getMessage(), e);
 		}
 	}
 
-	private TSLParserResult getTslModel(TrustStatusListType tsl) {
+	private TSLParserResult getTslModel(XMLStreamReader reader) throws Exception {
+		Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
 		TSLParserResult tslModel = new TSLParserResult();
-		tslModel.setTerritory(getTerritory(tsl));
-		tslModel.setSequenceNumber(getSequenceNumber(tsl));
-		tslModel.setVersion(getVersion(tsl));
-		tslModel.setIssueDate(getIssueDate(tsl));
-		tslModel.setNextUpdateDate(getNextUpdate(tsl));
-		tslModel.setDistributionPoints(getDistributionPoints(tsl));
-		tslModel.setPointers(getMachineProcessableTSLPointers(tsl));
-		tslModel.setServiceProviders(getServiceProviders(tsl));
-		tslModel.setEnglishSchemeInformationURIs(getEnglishSchemeInformationURIs(tsl));
+		List<TSLServiceProvider> serviceProviders = new ArrayList<TSLServiceProvider>();
+		boolean schemeInformationFound = false;
+		while (reader.hasNext()) {
+			if (reader.isStartElement() && TSL_NAMESPACE.equals(reader.getNamespaceURI())) {
+				// the unmarshaller moves the reader after the end of the element
+				if (SCHEME_INFORMATION.equals(reader.getLocalName())) {
+					fillSchemeInformation(tslModel, unmarshaller.unmarshal(reader, TSLSchemeInformationType.class).getValue());
+					schemeInformationFound = true;
+					continue;
+				} else if (TRUST_SERVICE_PROVIDER.equals(reader.getLocalName())) {
+					serviceProviders.add(getServiceProvider(unmarshaller.unmarshal(reader, TSPType.class).getValue()));
+					continue;
+				}
+			}
+			reader.next();
+		}
+		if (!schemeInformationFound) {
+			throw new DSSException("No SchemeInformation found");
+		}
+		tslModel.setServiceProviders(serviceProviders);
 		return tslModel;
 	}
 
-	private int getVersion(TrustStatusListType tsl) {
-		return getInt(tsl.getSchemeInformation().getTSLVersionIdentifier());
-	}
-
-	private int getSequenceNumber(TrustStatusListType tsl) {
-		return getInt(tsl.getSchemeInformation().getTSLSequenceNumber());
+	private void fillSchemeInformation(TSLParserResult tslModel, TSLSchemeInformationType schemeInformation) {
+		tslModel.setTerritory(schemeInformation.getSchemeTerritory());
+		tslModel.setSequenceNumber(getInt(schemeInformation.getTSLSequenceNumber()));
+		tslModel.setVersion(getInt(schemeInformation.getTSLVersionIdentifier()));
+		tslModel.setIssueDate(convertToDate(schemeInformation.getListIssueDateTime()));
+		tslModel.setNextUpdateDate(getNextUpdate(schemeInformation));
+		tslModel.setDistributionPoints(getDistributionPoints(schemeInformation));
+		tslModel.setPointers(getMachineProcessableTSLPointers(schemeInformation));
+		tslModel.setEnglishSchemeInformationURIs(getEnglishSchemeInformationURIs(schemeInformation));
 	}
 
 	private int getInt(BigInteger bigInteger) {
@@ -173,25 +222,16 @@ public class TSLParser implements Callable<TSLParserResult> {
 		return -1;
 	}
 
-	private String getTerritory(TrustStatusListType tsl) {
-		return tsl.getSchemeInformation().getSchemeTerritory();
-	}
-
-	private Date getIssueDate(TrustStatusListType tsl) {
-		XMLGregorianCalendar gregorianCalendar = tsl.getSchemeInformation().getListIssueDateTime();
-		return convertToDate(gregorianCalendar);
-	}
-
-	private Date getNextUpdate(TrustStatusListType tsl) {
-		NextUpdateType nextUpdate = tsl.getSchemeInformation().getNextUpdate();
+	private Date getNextUpdate(TSLSchemeInformationType schemeInformation) {
+		NextUpdateType nextUpdate = schemeInformation.getNextUpdate();
 		if (nextUpdate != null) {
 			return convertToDate(nextUpdate.getDateTime());
 		}
 		return null;
 	}
 
-	private List<String> getDistributionPoints(TrustStatusListType tsl) {
-		NonEmptyURIListType distributionPoints = tsl.getSchemeInformation().getDistributionPoints();
+	private List<String> getDistributionPoints(TSLSchemeInformationType schemeInformation) {
+		NonEmptyURIListType distributionPoints = schemeInformation.getDistributionPoints();
 		if (distributionPoints != null) {
 			return distributionPoints.getURI();
 		}
@@ -208,9 +248,9 @@ public class TSLParser implements Callable<TSLParserResult> {
 		return null;
 	}
 
-	private List<TSLPointer> getMachineProcessableTSLPointers(TrustStatusListType tsl) {
+	private List<TSLPointer> getMachineProcessableTSLPointers(TSLSchemeInformationType schemeInformation) {
 		List<TSLPointer> list = new ArrayList<TSLPointer>();
-		List<TSLPointer> tslPointers = getTSLPointers(tsl);
+		List<TSLPointer> tslPointers = getTSLPointers(schemeInformation);
 		if (Utils.isCollectionNotEmpty(tslPointers)) {
 			for (TSLPointer tslPointer : tslPointers) {
 				if (TSL_MIME_TYPE.equals(tslPointer.getMimeType())) {
@@ -221,10 +261,10 @@ public class TSLParser implements Callable<TSLParserResult> {
 		return list;
 	}
 
-	private List<TSLPointer> getTSLPointers(TrustStatusListType tsl) {
+	private List<TSLPointer> getTSLPointers(TSLSchemeInformationType schemeInformation) {
 		List<TSLPointer> list = new ArrayList<TSLPointer>();
-		if ((tsl.getSchemeInformation() != null) && (tsl.getSchemeInformation().getPointersToOtherTSL() != null)) {
-			List<OtherTSLPointerType> pointers = tsl.getSchemeInformation().getPointersToOtherTSL().getOtherTSLPointer();
+		if (schemeInformation.getPointersToOtherTSL() != null) {
+			List<OtherTSLPointerType> pointers = schemeInformation.getPointersToOtherTSL().getOtherTSLPointer();
 			for (OtherTSLPointerType otherTSLPointerType : pointers) {
 				list.add(getPointerInfos(otherTSLPointerType));
 			}
@@ -288,8 +328,7 @@ public class TSLParser implements Callable<TSLParserResult> {
 		for (DigitalIdentityType digitalId : digitalIds) {
 			if (digitalId.getX509Certificate() != null) {
 				try {
-					CertificateToken certificate = DSSUtils.loadCertificate(digitalId.getX509Certificate());
-					certificates.add(certificate);
+					certificates.add(loadCertificate(digitalId.getX509Certificate()));
 				} catch (Exception e) {
 					LOG.warn("Unable to load certificate : " + e.getMessage(), e);
 				}
@@ -298,15 +337,21 @@ public class TSLParser implements Callable<TSLParserResult> {
 		return certificates;
 	}
 
-	private List<TSLServiceProvider> getServiceProviders(TrustStatusListType tsl) {
-		List<TSLServiceProvider> serviceProviders = new ArrayList<TSLServiceProvider>();
-		TrustServiceProviderListType trustServiceProviderList = tsl.getTrustServiceProviderList();
-		if ((trustServiceProviderList != null) && (Utils.isCollectionNotEmpty(trustServiceProviderList.getTrustServiceProvider()))) {
-			for (TSPType tsp : trustServiceProviderList.getTrustServiceProvider()) {
-				serviceProviders.add(getServiceProvider(tsp));
+	/**
+	 * The same certificate is present in a lot of services (history, pointers, several TSLs,...) : it is decoded once
+	 * and the same token is returned for the following occurrences.
+	 */
+	private CertificateToken loadCertificate(byte[] encoded) {
+		String digest = Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA256, encoded));
+		CertificateToken certificate = certificates.get(digest);
+		if (certificate == null) {
+			certificate = DSSUtils.loadCertificate(encoded);
+			CertificateToken previous = certificates.putIfAbsent(digest, certificate);
+			if (previous != null) {
+				certificate = previous;
 			}
 		}
-		return serviceProviders;
+		return certificate;
 	}
 
 	private TSLServiceProvider getServiceProvider(TSPType tsp) {
@@ -639,10 +684,10 @@ public class TSLParser implements Callable<TSLParserResult> {
 		return names.getName().get(0).getValue();
 	}
 
-	private List<String> getEnglishSchemeInformationURIs(TrustStatusListType tsl) {
+	private List<String> getEnglishSchemeInformationURIs(TSLSchemeInformationType schemeInformation) {
 		// Maintains original order for PIVOTs LOTL
 		List<String> result = new LinkedList<String>();
-		NonEmptyMultiLangURIListType schemeInformationURI = tsl.getSchemeInformation().getSchemeInformationURI();
+		NonEmptyMultiLangURIListType schemeInformationURI = schemeInformation.getSchemeInformationURI();
 		if (schemeInformationURI != null && Utils.isCollectionNotEmpty(schemeInformationURI.getURI())) {
 			for (NonEmptyMultiLangURIType uri : schemeInformationURI.getURI()) {
 				if (ENGLISH_LANGUAGE.equals(uri.getLang())) {
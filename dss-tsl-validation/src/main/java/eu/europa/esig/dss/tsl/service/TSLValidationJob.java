@@ -28,6 +28,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -76,6 +78,9 @@ public class TSLValidationJob {
 
 	private List<OtherTrustedList> otherTrustedLists;
 
+	/* Certificates decoded by the TSL parsers of the current run, the same certificate is present in several TSLs */
+	private ConcurrentMap<String, CertificateToken> parsedCertificates = new ConcurrentHashMap<String, CertificateToken>();
+
 	public void setExecutorService(ExecutorService executorService) {
 		if (this.executorService != null && !this.executorService.isShutdown()) {
 			this.executorService.shutdownNow();
@@ -158,13 +163,14 @@ public class TSLValidationJob {
 
 	public void initRepository() {
 		LOG.info("Initialization of the TSL repository ...");
+		parsedCertificates = new ConcurrentHashMap<String, CertificateToken>();
 		int loadedTSL = 0;
 		List<File> cachedFiles = repository.getStoredFiles();
 		if (Utils.isCollectionNotEmpty(cachedFiles)) {
 			List<Future<TSLParserResult>> futureParseResults = new ArrayList<Future<TSLParserResult>>();
 			for (File file : cachedFiles) {
 				try {
-					futureParseResults.add(executorService.submit(new TSLParser(file.getAbsolutePath())));
+					futureParseResults.add(executorService.submit(newParser(file.getAbsolutePath())));
 				} catch (Exception e) {
 					LOG.error("Unable to parse file '" + file.getAbsolutePath() + "' : " + e.getMessage(), e);
 				}
@@ -233,6 +239,7 @@ public class TSLValidationJob {
 
 	public void refresh() {
 		LOG.debug("TSL Validation Job is starting ...");
+		parsedCertificates = new ConcurrentHashMap<String, CertificateToken>();
 		TSLLoaderResult resultLoaderLOTL = null;
 		Future<TSLLoaderResult> result = executorService.submit(new TSLLoader(dataLoader, lotlCode, lotlUrl));
 		try {
@@ -329,7 +336,7 @@ public class TSLValidationJob {
 
 					TSLParserResult pivotParseResult = pivotModel.getParseResult();
 					if (pivotParseResult == null) {
-						Future<TSLParserResult> parseResultFuture = executorService.submit(new TSLParser(pivotModel.getFilepath()));
+						Future<TSLParserResult> parseResultFuture = executorService.submit(newParser(pivotModel.getFilepath()));
 						pivotParseResult = parseResultFuture.get();
 					}
 
@@ -421,7 +428,7 @@ public class TSLValidationJob {
 
 					TSLParserResult countryParseResult = countryModel.getParseResult();
 					if (countryParseResult == null) {
-						futureParseResults.add(executorService.submit(new TSLParser(countryModel.getFilepath())));
+						futureParseResults.add(executorService.submit(newParser(countryModel.getFilepath())));
 					}
 
 					if (checkTSLSignatures && (countryModel.getValidationResult() == null || newLotl)) {
@@ -494,8 +501,12 @@ public class TSLValidationJob {
 	}
 
 	private TSLParserResult parseLOTL(TSLValidationModel validationModel) throws Exception {
-		Future<TSLParserResult> future = executorService.submit(new TSLParser(validationModel.getFilepath()));
+		Future<TSLParserResult> future = executorService.submit(newParser(validationModel.getFilepath()));
 		return future.get();
 	}
 
+	private TSLParser newParser(String filepath) {
+		return new TSLParser(filepath, parsedCertificates);
+	}
+
 }
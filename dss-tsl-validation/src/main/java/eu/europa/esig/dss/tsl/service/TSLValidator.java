@@ -24,15 +24,24 @@ import java.io.File;
 import java.util.List;
 import java.util.concurrent.Callable;
 
+import org.apache.xml.security.signature.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSPKUtils;
+import eu.europa.esig.dss.DigestAlgorithm;
 import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.SignatureAlgorithm;
+import eu.europa.esig.dss.SignatureLevel;
 import eu.europa.esig.dss.tsl.TSLValidationResult;
 import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.AdvancedSignature;
+import eu.europa.esig.dss.validation.CertificateValidity;
 import eu.europa.esig.dss.validation.CertificateVerifier;
 import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.SignatureCryptographicVerification;
+import eu.europa.esig.dss.validation.ValidationResourceManager;
 import eu.europa.esig.dss.validation.executor.ValidationLevel;
 import eu.europa.esig.dss.validation.policy.rules.Indication;
 import eu.europa.esig.dss.validation.reports.Reports;
@@ -40,7 +49,12 @@ import eu.europa.esig.dss.validation.reports.SimpleReport;
 import eu.europa.esig.dss.x509.CertificateToken;
 import eu.europa.esig.dss.x509.CommonTrustedCertificateSource;
 import eu.europa.esig.dss.xades.XPathQueryHolder;
+import eu.europa.esig.dss.xades.validation.XAdESSignature;
 import eu.europa.esig.dss.xades.validation.XMLDocumentValidator;
+import eu.europa.esig.jaxb.policy.Algo;
+import eu.europa.esig.jaxb.policy.ConstraintsParameters;
+import eu.europa.esig.jaxb.policy.CryptographicConstraint;
+import eu.europa.esig.jaxb.policy.ListAlgo;
 
 /**
  * This class allows to validate TSL or LOTL. It can be executed as a Callable.
@@ -49,6 +63,10 @@ public class TSLValidator implements Callable<TSLValidationResult> {
 
 	private static final Logger LOG = LoggerFactory.getLogger(TSLValidator.class);
 
+	private static final String TSL_CONSTRAINT = "/tsl-constraint.xml";
+
+	private static CryptographicConstraint cryptographicConstraint;
+
 	private File file;
 	private String countryCode;
 	private List<CertificateToken> potentialSigners;
@@ -84,13 +102,20 @@ public class TSLValidator implements Callable<TSLValidationResult> {
 		xPathQueryHolders.clear();
 		xPathQueryHolders.add(new XPathQueryHolder());
 
-		Reports reports = xmlDocumentValidator.validateDocument(TSLValidator.class.getResourceAsStream("/tsl-constraint.xml"));
+		TSLValidationResult result = new TSLValidationResult();
+		result.setCountryCode(countryCode);
+
+		if (isValidSignature(xmlDocumentValidator)) {
+			result.setIndication(Indication.TOTAL_PASSED);
+			return result;
+		}
+
+		// The full validation is only executed to obtain the exact indication and the reports
+		Reports reports = xmlDocumentValidator.validateDocument(TSLValidator.class.getResourceAsStream(TSL_CONSTRAINT));
 		SimpleReport simpleReport = reports.getSimpleReport();
 		Indication indication = simpleReport.getIndication(simpleReport.getFirstSignatureId());
 		boolean isValid = Indication.TOTAL_PASSED.equals(indication);
 
-		TSLValidationResult result = new TSLValidationResult();
-		result.setCountryCode(countryCode);
 		result.setIndication(indication);
 		result.setSubIndication(simpleReport.getSubIndication(simpleReport.getFirstSignatureId()));
 
@@ -102,6 +127,82 @@ public class TSLValidator implements Callable<TSLValidationResult> {
 		return result;
 	}
 
+	/**
+	 * This method verifies directly the constraints of the TSL policy (format, reference digests, signature value,
+	 * signing certificate among the allowed signers, signing time and cryptographic constraints) without building the
+	 * validation context and the reports.
+	 *
+	 * @return true if all the constraints are satisfied, false if the full validation is needed
+	 */
+	private boolean isValidSignature(XMLDocumentValidator xmlDocumentValidator) {
+		try {
+			List<AdvancedSignature> signatures = xmlDocumentValidator.getSignatures();
+			if (signatures.size() != 1) {
+				return false;
+			}
+			XAdESSignature signature = (XAdESSignature) signatures.get(0);
+			if (!SignatureLevel.XAdES_BASELINE_B.equals(signature.getDataFoundUpToLevel())) {
+				return false;
+			}
+
+			signature.checkSignatureIntegrity();
+			SignatureCryptographicVerification verification = signature.getSignatureCryptographicVerification();
+			if (!verification.isReferenceDataFound() || !verification.isReferenceDataIntact() || !verification.isSignatureIntact()) {
+				return false;
+			}
+
+			CertificateValidity signingCertificate = signature.getCandidatesForSigningCertificate().getTheCertificateValidity();
+			if (signingCertificate == null || signingCertificate.getCertificateToken() == null || !signingCertificate.isDigestPresent()
+					|| !signingCertificate.isDigestEqual() || !potentialSigners.contains(signingCertificate.getCertificateToken())) {
+				return false;
+			}
+
+			if (signature.getSigningTime() == null) {
+				return false;
+			}
+
+			CryptographicConstraint cryptographic = getCryptographicConstraint();
+			SignatureAlgorithm signatureAlgorithm = signature.getSignatureAlgorithm();
+			if (signatureAlgorithm == null || !isAcceptable(cryptographic.getAcceptableDigestAlgo(), signatureAlgorithm.getDigestAlgorithm().getName())
+					|| !isAcceptable(cryptographic.getAcceptableEncryptionAlgo(), signatureAlgorithm.getEncryptionAlgorithm().getName())) {
+				return false;
+			}
+			for (Reference reference : signature.getReferences()) {
+				DigestAlgorithm digestAlgorithm = DigestAlgorithm.forXML(reference.getMessageDigestAlgorithm().getAlgorithmURI());
+				if (!isAcceptable(cryptographic.getAcceptableDigestAlgo(), digestAlgorithm.getName())) {
+					return false;
+				}
+			}
+			int keySize = DSSPKUtils.getPublicKeySize(signingCertificate.getPublicKey());
+			for (Algo algo : cryptographic.getMiniPublicKeySize().getAlgo()) {
+				if (algo.getValue().equals(signatureAlgorithm.getEncryptionAlgorithm().getName()) && keySize < Integer.parseInt(algo.getSize())) {
+					return false;
+				}
+			}
+			return true;
+		} catch (Exception e) {
+			LOG.warn("Unable to verify the TSL signature without the full validation : {}", e.getMessage());
+			return false;
+		}
+	}
+
+	private boolean isAcceptable(ListAlgo acceptableAlgos, String algorithmName) {
+		for (Algo algo : acceptableAlgos.getAlgo()) {
+			if (algo.getValue().equals(algorithmName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static synchronized CryptographicConstraint getCryptographicConstraint() {
+		if (cryptographicConstraint == null) {
+			ConstraintsParameters constraints = ValidationResourceManager.loadPolicyData(TSLValidator.class.getResourceAsStream(TSL_CONSTRAINT));
+			cryptographicConstraint = constraints.getSignatureConstraints().getBasicSignatureConstraints().getCryptographic();
+		}
+		return cryptographicConstraint;
+	}
+
 	private CommonTrustedCertificateSource buildTrustedCertificateSource(List<CertificateToken> potentialSigners) {
 		CommonTrustedCertificateSource commonTrustedCertificateSource = new CommonTrustedCertificateSource();
 		if (Utils.isCollectionNotEmpty(potentialSigners)) {
@@ -4,11 +4,14 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.junit.Test;
 
@@ -164,6 +167,23 @@ public class TSLParserTest {
 		assertTrue(condition.check(certificate));
 	}
 
+	@Test
+	public void certificatesSharedBetweenTSLs() throws Exception {
+		ConcurrentMap<String, CertificateToken> certificates = new ConcurrentHashMap<String, CertificateToken>();
+
+		TSLParserResult oldModel = new TSLParser("src/test/resources/tsls/0A191C3E18CAB7B783E690D3E4431C354A068FF0.xml", certificates).call();
+		int nbCertificates = certificates.size();
+		assertTrue(nbCertificates > 0);
+
+		TSLParserResult newModel = new TSLParser("src/test/resources/tsls/0A191C3E18CAB7B783E690D3E4431C354A068FF0-2.xml", certificates).call();
+
+		// the certificates of the ESTEID-SK 2007 service are decoded once
+		CertificateToken oldCertificate = getESTEIDSK2007(oldModel.getServiceProviders()).getCertificates().get(0);
+		CertificateToken newCertificate = getESTEIDSK2007(newModel.getServiceProviders()).getCertificates().get(0);
+		assertSame(oldCertificate, newCertificate);
+		assertTrue(certificates.size() < 2 * nbCertificates);
+	}
+
 	@Test
 	public void getAdditionnalServiceInfo() throws Exception {
 		TSLParser parser = new TSLParser("src/test/resources/tsls/tsl-be-v5.xml");
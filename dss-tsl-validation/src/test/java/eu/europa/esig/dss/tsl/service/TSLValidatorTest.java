@@ -0,0 +1,43 @@
+package eu.europa.esig.dss.tsl.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.tsl.TSLValidationResult;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.validation.policy.rules.Indication;
+import eu.europa.esig.dss.validation.policy.rules.SubIndication;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.xades.validation.XMLDocumentValidator;
+
+public class TSLValidatorTest {
+
+	private static final File LOTL = new File("src/test/resources/LOTL.xml");
+
+	@Test
+	public void validSignature() throws Exception {
+		XMLDocumentValidator xmlDocumentValidator = new XMLDocumentValidator(new FileDocument(LOTL));
+		xmlDocumentValidator.setCertificateVerifier(new CommonCertificateVerifier());
+		List<CertificateToken> potentialSigners = xmlDocumentValidator.getSignatures().get(0).getCertificates();
+
+		TSLValidationResult result = new TSLValidator(LOTL, "EU", potentialSigners).call();
+		assertEquals("EU", result.getCountryCode());
+		assertEquals(Indication.TOTAL_PASSED, result.getIndication());
+		assertNull(result.getSubIndication());
+	}
+
+	@Test
+	public void unknownSigner() throws Exception {
+		TSLValidationResult result = new TSLValidator(LOTL, "EU", new ArrayList<CertificateToken>()).call();
+		assertEquals(Indication.INDETERMINATE, result.getIndication());
+		assertEquals(SubIndication.NO_CERTIFICATE_CHAIN_FOUND, result.getSubIndication());
+	}
+
+}
@@ -0,0 +1,81 @@
+package eu.europa.esig.dss.validation;
+
+import java.io.Serializable;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+
+import eu.europa.esig.dss.DataToValidateDTO;
+import eu.europa.esig.dss.RemoteJob;
+import eu.europa.esig.dss.validation.reports.dto.ReportsDTO;
+
+/**
+ * Asynchronous variant of {@link RestDocumentValidationService} : the validation is submitted as a job, its status
+ * is polled (or a callback url is notified) and the reports are fetched once the job is completed.
+ * 
+ * When the server is overloaded, the submission is refused with the HTTP status 429 (Too Many Requests) and a
+ * Retry-After header.
+ */
+@Path("/")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public interface RestAsyncDocumentValidationService extends Serializable {
+
+	/**
+	 * The HTTP header which identifies the client (the concurrent jobs are limited per tenant and a job is only visible
+	 * to its tenant). It is ignored when the client is authenticated (the name of the principal is used) ; otherwise
+	 * the limit per tenant is only advisory.
+	 */
+	String TENANT_HEADER = "X-DSS-Tenant";
+
+	/**
+	 * This method submits the validation of the signed file
+	 * 
+	 * @param dataToValidate
+	 *            the signed document, the original document and the policy
+	 * @param tenant
+	 *            the client identifier (optional)
+	 * @param callbackUrl
+	 *            the url where the job identifier is posted when the job is finished (optional, HTTP status 400 if
+	 *            its scheme or host is not allowed)
+	 * @return the created job
+	 */
+	@POST
+	@Path("submitValidation")
+	RemoteJob submitValidation(DataToValidateDTO dataToValidate, @HeaderParam(TENANT_HEADER) String tenant, @QueryParam("callbackUrl") String callbackUrl);
+
+	/**
+	 * This method returns the status of a job (HTTP status 404 if the job is unknown, expired or submitted by another
+	 * tenant)
+	 * 
+	 * @param id
+	 *            the job identifier
+	 * @param tenant
+	 *            the client identifier (optional, the one used for the submission)
+	 * @return the job
+	 */
+	@GET
+	@Path("jobs/{id}")
+	RemoteJob getJob(@PathParam("id") String id, @HeaderParam(TENANT_HEADER) String tenant);
+
+	/**
+	 * This method returns the reports of a completed job (HTTP status 409 if the job is not completed)
+	 * 
+	 * @param id
+	 *            the job identifier
+	 * @param tenant
+	 *            the client identifier (optional, the one used for the submission)
+	 * @return the diagnostic data, the simple report and the detailed report
+	 */
+	@GET
+	@Path("jobs/{id}/reports")
+	ReportsDTO getReports(@PathParam("id") String id, @HeaderParam(TENANT_HEADER) String tenant);
+
+}
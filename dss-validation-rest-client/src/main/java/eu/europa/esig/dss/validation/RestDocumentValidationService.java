@@ -1,11 +1,14 @@
 package eu.europa.esig.dss.validation;
 
+import java.io.InputStream;
 import java.io.Serializable;
 
 import javax.ws.rs.Consumes;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 
 import eu.europa.esig.dss.DataToValidateDTO;
@@ -19,6 +22,32 @@ import eu.europa.esig.dss.validation.reports.dto.ReportsDTO;
 @Consumes(MediaType.APPLICATION_JSON)
 public interface RestDocumentValidationService extends Serializable {
 
+	/**
+	 * Name of the multipart part which contains the signed document (mandatory)
+	 */
+	String SIGNED_DOCUMENT_PART = "signedDocument";
+
+	/**
+	 * Name of the multipart part which contains the detached content (optional)
+	 */
+	String ORIGINAL_DOCUMENT_PART = "originalDocument";
+
+	/**
+	 * Name of the multipart part which contains the validation policy (optional)
+	 */
+	String POLICY_PART = "policy";
+
+	/**
+	 * Name of the multipart part which contains the id of a validation policy registered on the server (optional)
+	 */
+	String POLICY_ID_PART = "policyId";
+
+	/**
+	 * Name of the multipart part which contains the reports to return : FULL, SIMPLE_ONLY or DIAGNOSTIC_ONLY
+	 * (optional)
+	 */
+	String REPORT_PROJECTION_PART = "reportProjection";
+
 	/**
 	 * This method returns the result of the validation of the signed file. The results contains a Diagnostic Data, a
 	 * simple report and a detailed report
@@ -30,4 +59,23 @@ public interface RestDocumentValidationService extends Serializable {
 	@Path("validateSignature")
 	ReportsDTO validateSignature(DataToValidateDTO dataToValidate);
 
+	/**
+	 * This method returns the result of the validation of the signed file sent as "multipart/form-data" (parts
+	 * {@value #SIGNED_DOCUMENT_PART}, {@value #ORIGINAL_DOCUMENT_PART}, {@value #POLICY_PART}, {@value #POLICY_ID_PART} and
+	 * {@value #REPORT_PROJECTION_PART}). Unlike
+	 * {@link #validateSignature(DataToValidateDTO)}, the documents are sent in binary and are not loaded in memory by
+	 * the server. The request is refused with the HTTP status 413 if it exceeds the size limits of the server and 400
+	 * if the body is not a valid multipart content.
+	 * 
+	 * @param contentType
+	 *            the content type of the request (with the multipart boundary)
+	 * @param multipartBody
+	 *            the multipart body
+	 * @return the reports
+	 */
+	@POST
+	@Path("validateSignatureMultipart")
+	@Consumes(MediaType.MULTIPART_FORM_DATA)
+	ReportsDTO validateSignature(@HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType, InputStream multipartBody);
+
 }
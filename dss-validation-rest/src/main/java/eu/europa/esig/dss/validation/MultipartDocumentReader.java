@@ -0,0 +1,391 @@
+/**
+ * DSS - Digital Signature Services
+ * Copyright (C) 2015 European Commission, provided under the CEF programme
+ *
+ * This file is part of the "DSS - Digital Signature Services" project.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+package eu.europa.esig.dss.validation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.FileDocument;
+import eu.europa.esig.dss.MimeType;
+import eu.europa.esig.dss.utils.Utils;
+
+/**
+ * This class reads a "multipart/form-data" body (RFC 7578) in streaming. The content of each expected part is
+ * spooled to a temporary file and returned as a {@code FileDocument} : the documents are never fully loaded in
+ * memory.
+ *
+ * The size of each spooled part and the total size of the spooled parts can be limited : when a limit is exceeded, a
+ * {@code MultipartTooLargeException} is thrown and the spooled parts are deleted.
+ *
+ * The caller is responsible to delete the returned documents (see {@link #delete(Map)}).
+ */
+public class MultipartDocumentReader {
+
+	private static final Logger LOG = LoggerFactory.getLogger(MultipartDocumentReader.class);
+
+	private static final String BOUNDARY = "boundary=";
+
+	private static final int MAX_HEADER_LENGTH = 8192;
+
+	private static final int MAX_HEADERS = 32;
+
+	private final File temporaryDirectory;
+
+	private final Set<String> expectedParts;
+
+	private long maxPartSize = -1;
+
+	private long maxTotalSize = -1;
+
+	/**
+	 * The default constructor for MultipartDocumentReader.
+	 *
+	 * @param temporaryDirectory
+	 *            the directory for the spooled parts (null for the default temporary directory)
+	 * @param expectedParts
+	 *            the names of the parts to keep (the other parts are skipped)
+	 */
+	public MultipartDocumentReader(File temporaryDirectory, Set<String> expectedParts) {
+		this.temporaryDirectory = temporaryDirectory;
+		this.expectedParts = expectedParts;
+	}
+
+	/**
+	 * This setter allows to define the maximum size in bytes of a spooled part (default : -1, no limit)
+	 *
+	 * @param maxPartSize
+	 *            the maximum size of a part
+	 */
+	public void setMaxPartSize(long maxPartSize) {
+		this.maxPartSize = maxPartSize;
+	}
+
+	/**
+	 * This setter allows to define the maximum size in bytes of all the spooled parts (default : -1, no limit)
+	 *
+	 * @param maxTotalSize
+	 *            the maximum total size of the parts
+	 */
+	public void setMaxTotalSize(long maxTotalSize) {
+		this.maxTotalSize = maxTotalSize;
+	}
+
+	/**
+	 * Reads the multipart body.
+	 *
+	 * @param contentType
+	 *            the value of the Content-Type header (which contains the boundary)
+	 * @param body
+	 *            the multipart body
+	 * @return the map of documents by part name
+	 * @throws MultipartTooLargeException
+	 *             if a part or the sum of the parts exceeds the maximum size
+	 * @throws DSSException
+	 *             if the body is not a valid multipart content
+	 */
+	public Map<String, DSSDocument> read(String contentType, InputStream body) throws DSSException {
+		Map<String, DSSDocument> documents = new LinkedHashMap<String, DSSDocument>();
+		long totalSize = 0;
+		try {
+			byte[] delimiter = ("\r\n--" + getBoundary(contentType)).getBytes("US-ASCII");
+			InputStream is = new BufferedInputStream(body);
+
+			// the first delimiter is not preceded by CRLF when there is no preamble
+			if (!skipFirstDelimiter(is, delimiter)) {
+				throw new DSSException("The multipart body does not contain the boundary");
+			}
+			while (!isLastDelimiter(is)) {
+				Map<String, String> headers = readHeaders(is);
+				Map<String, String> disposition = parseParameters(headers.get("content-disposition"));
+				String name = disposition.get("name");
+
+				if (name == null || !expectedParts.contains(name) || documents.containsKey(name)) {
+					copyUntilDelimiter(is, delimiter, null);
+					continue;
+				}
+
+				File file = File.createTempFile("dss-part-", ".tmp", temporaryDirectory);
+				FileDocument document = new FileDocument(file);
+				documents.put(name, document);
+				try (SizeLimitedOutputStream os = new SizeLimitedOutputStream(new BufferedOutputStream(new FileOutputStream(file)), name, totalSize)) {
+					copyUntilDelimiter(is, delimiter, os);
+					totalSize += os.size;
+				}
+				String fileName = disposition.get("filename");
+				document.setName(Utils.isStringNotEmpty(fileName) ? fileName : name);
+				document.setMimeType(getMimeType(headers.get("content-type"), document.getName()));
+			}
+			return documents;
+		} catch (DSSException e) {
+			delete(documents);
+			throw e;
+		} catch (IOException e) {
+			delete(documents);
+			throw new DSSException("Unable to read the multipart body : " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Deletes the temporary files of the documents returned by {@link #read(String, InputStream)}.
+	 *
+	 * @param documents
+	 *            the documents to delete
+	 */
+	public static void delete(Map<String, DSSDocument> documents) {
+		for (DSSDocument document : documents.values()) {
+			if (document instanceof FileDocument) {
+				File file = new File(document.getAbsolutePath());
+				if (file.exists() && !file.delete()) {
+					LOG.warn("Unable to delete the temporary file '{}'", file.getAbsolutePath());
+				}
+			}
+		}
+	}
+
+	private String getBoundary(String contentType) {
+		if (contentType != null) {
+			for (String parameter : contentType.split(";")) {
+				parameter = parameter.trim();
+				if (parameter.toLowerCase().startsWith(BOUNDARY)) {
+					return unquote(parameter.substring(BOUNDARY.length()));
+				}
+			}
+		}
+		throw new DSSException("The multipart boundary is not defined in the content type : " + contentType);
+	}
+
+	/**
+	 * The content type of the part is sent by the client : only the known mime-types are used (the parameters like
+	 * the charset are ignored), the other ones are resolved from the file name.
+	 */
+	private MimeType getMimeType(String partContentType, String name) {
+		if (Utils.isStringNotEmpty(partContentType)) {
+			String mimeTypeString = partContentType.split(";")[0].trim().toLowerCase();
+			MimeType mimeType = MimeType.fromKnownMimeTypeString(mimeTypeString);
+			if (mimeType != null && !MimeType.BINARY.equals(mimeType)) {
+				return mimeType;
+			}
+		}
+		return MimeType.fromFileName(name);
+	}
+
+	private boolean skipFirstDelimiter(InputStream is, byte[] delimiter) throws IOException {
+		// search "--boundary" at the start of the body, then "\r\n--boundary" after a preamble
+		is.mark(delimiter.length);
+		boolean atStart = true;
+		for (int i = 2; i < delimiter.length; i++) {
+			if (is.read() != delimiter[i]) {
+				atStart = false;
+				break;
+			}
+		}
+		if (atStart) {
+			return true;
+		}
+		is.reset();
+		return copyUntilDelimiter(is, delimiter, null);
+	}
+
+	private boolean isLastDelimiter(InputStream is) throws IOException {
+		int first = is.read();
+		int second = is.read();
+		if (first == '-' && second == '-') {
+			return true;
+		}
+		if (first == -1) {
+			throw new DSSException("Unexpected end of the multipart body");
+		}
+		// skip the transport padding and the end of the delimiter line
+		int b = second;
+		int previous = first;
+		while (!(previous == '\r' && b == '\n')) {
+			if (b == -1) {
+				throw new DSSException("Unexpected end of the multipart body");
+			}
+			previous = b;
+			b = is.read();
+		}
+		return false;
+	}
+
+	private Map<String, String> readHeaders(InputStream is) throws IOException {
+		Map<String, String> headers = new HashMap<String, String>();
+		String line = readLine(is);
+		int count = 0;
+		while (!line.isEmpty()) {
+			if (++count > MAX_HEADERS) {
+				throw new DSSException("The multipart part contains too many headers");
+			}
+			int index = line.indexOf(':');
+			if (index > 0) {
+				headers.put(line.substring(0, index).trim().toLowerCase(), line.substring(index + 1).trim());
+			}
+			line = readLine(is);
+		}
+		return headers;
+	}
+
+	private String readLine(InputStream is) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		int b = is.read();
+		while (b != '\n') {
+			if (b == -1) {
+				throw new DSSException("Unexpected end of the multipart body");
+			}
+			if (baos.size() > MAX_HEADER_LENGTH) {
+				throw new DSSException("The multipart header is too long");
+			}
+			if (b != '\r') {
+				baos.write(b);
+			}
+			b = is.read();
+		}
+		return new String(baos.toByteArray(), "UTF-8");
+	}
+
+	private Map<String, String> parseParameters(String header) {
+		Map<String, String> parameters = new HashMap<String, String>();
+		if (header != null) {
+			for (String parameter : header.split(";")) {
+				int index = parameter.indexOf('=');
+				if (index > 0) {
+					parameters.put(parameter.substring(0, index).trim().toLowerCase(), unquote(parameter.substring(index + 1).trim()));
+				}
+			}
+		}
+		return parameters;
+	}
+
+	private String unquote(String value) {
+		if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+			return value.substring(1, value.length() - 1);
+		}
+		return value;
+	}
+
+	/**
+	 * Copies the stream until the delimiter (Knuth-Morris-Pratt search) : the delimiter is consumed but not copied.
+	 *
+	 * @return true if the delimiter has been found, false if the end of the stream is reached
+	 */
+	private boolean copyUntilDelimiter(InputStream is, byte[] delimiter, OutputStream os) throws IOException {
+		int[] failure = computeFailure(delimiter);
+		int matched = 0;
+		int b;
+		while ((b = is.read()) != -1) {
+			while (matched > 0 && delimiter[matched] != (byte) b) {
+				int fallback = failure[matched - 1];
+				write(os, delimiter, matched - fallback);
+				matched = fallback;
+			}
+			if (delimiter[matched] == (byte) b) {
+				matched++;
+				if (matched == delimiter.length) {
+					return true;
+				}
+			} else if (os != null) {
+				os.write(b);
+			}
+		}
+		if (os != null) {
+			// the part is not terminated
+			throw new DSSException("Unexpected end of the multipart body");
+		}
+		return false;
+	}
+
+	private void write(OutputStream os, byte[] bytes, int length) throws IOException {
+		if (os != null) {
+			os.write(bytes, 0, length);
+		}
+	}
+
+	private int[] computeFailure(byte[] pattern) {
+		int[] failure = new int[pattern.length];
+		int j = 0;
+		for (int i = 1; i < pattern.length; i++) {
+			while (j > 0 && pattern[j] != pattern[i]) {
+				j = failure[j - 1];
+			}
+			if (pattern[j] == pattern[i]) {
+				j++;
+			}
+			failure[i] = j;
+		}
+		return failure;
+	}
+
+	/**
+	 * Counts the bytes of a spooled part and fails as soon as a limit is exceeded
+	 */
+	private final class SizeLimitedOutputStream extends FilterOutputStream {
+
+		private final String name;
+		private final long previousTotalSize;
+		private long size;
+
+		private SizeLimitedOutputStream(OutputStream out, String name, long previousTotalSize) {
+			super(out);
+			this.name = name;
+			this.previousTotalSize = previousTotalSize;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			count(1);
+			out.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			count(len);
+			out.write(b, off, len);
+		}
+
+		private void count(int length) {
+			size += length;
+			if (maxPartSize >= 0 && size > maxPartSize) {
+				throw new MultipartTooLargeException("The part '" + name + "' exceeds the maximum size (" + maxPartSize + " bytes)");
+			}
+			if (maxTotalSize >= 0 && previousTotalSize + size > maxTotalSize) {
+				throw new MultipartTooLargeException("The multipart body exceeds the maximum size (" + maxTotalSize + " bytes)");
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,53 @@
+package eu.europa.esig.dss.validation;
+
+import java.util.concurrent.Callable;
+
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.SecurityContext;
+
+import eu.europa.esig.dss.DataToValidateDTO;
+import eu.europa.esig.dss.RemoteJob;
+import eu.europa.esig.dss.RemoteJobService;
+import eu.europa.esig.dss.RestJobSupport;
+import eu.europa.esig.dss.validation.reports.dto.ReportsDTO;
+
+@SuppressWarnings("serial")
+public class RestAsyncDocumentValidationServiceImpl implements RestAsyncDocumentValidationService {
+
+	private RemoteDocumentValidationService validationService;
+
+	private RemoteJobService<ReportsDTO> jobService;
+
+	@Context
+	private transient SecurityContext securityContext;
+
+	public void setValidationService(RemoteDocumentValidationService validationService) {
+		this.validationService = validationService;
+	}
+
+	public void setJobService(RemoteJobService<ReportsDTO> jobService) {
+		this.jobService = jobService;
+	}
+
+	@Override
+	public RemoteJob submitValidation(final DataToValidateDTO dataToValidate, String tenant, String callbackUrl) {
+		return RestJobSupport.submit(jobService, RestJobSupport.getTenant(securityContext, tenant), new Callable<ReportsDTO>() {
+			@Override
+			public ReportsDTO call() throws Exception {
+				return validationService.validateDocument(dataToValidate.getSignedDocument(), dataToValidate.getOriginalDocument(),
+						dataToValidate.getPolicy(), dataToValidate.getPolicyId(), dataToValidate.getReportProjection());
+			}
+		}, callbackUrl);
+	}
+
+	@Override
+	public RemoteJob getJob(String id, String tenant) {
+		return RestJobSupport.getJob(jobService, RestJobSupport.getTenant(securityContext, tenant), id);
+	}
+
+	@Override
+	public ReportsDTO getReports(String id, String tenant) {
+		return RestJobSupport.getResult(jobService, RestJobSupport.getTenant(securityContext, tenant), id);
+	}
+
+}
@@ -1,20 +1,132 @@
 package eu.europa.esig.dss.validation;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.core.Response;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
 import eu.europa.esig.dss.DataToValidateDTO;
+import eu.europa.esig.dss.ReportProjection;
+import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.reports.dto.ReportsDTO;
 
 @SuppressWarnings("serial")
 public class RestDocumentValidationServiceImpl implements RestDocumentValidationService {
 	
 	private RemoteDocumentValidationService validationService;
+
+	private File temporaryDirectory;
+
+	private long maxPartSize = 50 * 1024 * 1024;
+
+	private long maxRequestSize = 100 * 1024 * 1024;
 	
 	public void setValidationService(RemoteDocumentValidationService validationService) {
 		this.validationService = validationService;
 	}
+
+	/**
+	 * This setter allows to define the directory where the parts of the multipart requests are spooled (default :
+	 * java.io.tmpdir)
+	 * 
+	 * @param temporaryDirectory
+	 *            the directory for the temporary files
+	 */
+	public void setTemporaryDirectory(File temporaryDirectory) {
+		this.temporaryDirectory = temporaryDirectory;
+	}
+
+	/**
+	 * This setter allows to define the maximum size in bytes of a part of the multipart requests (default : 50 MB, -1
+	 * for no limit). The larger parts are refused with the HTTP status 413.
+	 * 
+	 * @param maxPartSize
+	 *            the maximum size of a part
+	 */
+	public void setMaxPartSize(long maxPartSize) {
+		this.maxPartSize = maxPartSize;
+	}
+
+	/**
+	 * This setter allows to define the maximum size in bytes of all the parts of a multipart request (default : 100 MB,
+	 * -1 for no limit). The larger requests are refused with the HTTP status 413.
+	 * 
+	 * @param maxRequestSize
+	 *            the maximum size of the parts of a request
+	 */
+	public void setMaxRequestSize(long maxRequestSize) {
+		this.maxRequestSize = maxRequestSize;
+	}
 	
 	@Override
 	public ReportsDTO validateSignature(DataToValidateDTO dataToValidate) {
-		return validationService.validateDocument(dataToValidate.getSignedDocument(), dataToValidate.getOriginalDocument(), dataToValidate.getPolicy());
+		return validationService.validateDocument(dataToValidate.getSignedDocument(), dataToValidate.getOriginalDocument(), dataToValidate.getPolicy(),
+				dataToValidate.getPolicyId(), dataToValidate.getReportProjection());
+	}
+
+	@Override
+	public ReportsDTO validateSignature(String contentType, InputStream multipartBody) {
+		MultipartDocumentReader reader = new MultipartDocumentReader(temporaryDirectory,
+				new HashSet<String>(Arrays.asList(SIGNED_DOCUMENT_PART, ORIGINAL_DOCUMENT_PART, POLICY_PART, POLICY_ID_PART,
+						REPORT_PROJECTION_PART)));
+		reader.setMaxPartSize(maxPartSize);
+		reader.setMaxTotalSize(maxRequestSize);
+		Map<String, DSSDocument> documents = readMultipartBody(reader, contentType, multipartBody);
+		try {
+			DSSDocument signedDocument = documents.get(SIGNED_DOCUMENT_PART);
+			if (signedDocument == null) {
+				throw new DSSException("The part '" + SIGNED_DOCUMENT_PART + "' is missing");
+			}
+			return validationService.validateDocument(signedDocument, documents.get(ORIGINAL_DOCUMENT_PART), documents.get(POLICY_PART),
+					getPolicyId(documents.get(POLICY_ID_PART)), getReportProjection(documents.get(REPORT_PROJECTION_PART)));
+		} finally {
+			MultipartDocumentReader.delete(documents);
+		}
+	}
+
+	private Map<String, DSSDocument> readMultipartBody(MultipartDocumentReader reader, String contentType, InputStream multipartBody) {
+		try {
+			return reader.read(contentType, multipartBody);
+		} catch (MultipartTooLargeException e) {
+			throw new ClientErrorException(e.getMessage(), Response.Status.REQUEST_ENTITY_TOO_LARGE, e);
+		} catch (DSSException e) {
+			throw new BadRequestException(e.getMessage(), e);
+		}
+	}
+
+	private String getPolicyId(DSSDocument policyIdPart) {
+		return getValue(policyIdPart, POLICY_ID_PART);
+	}
+
+	private ReportProjection getReportProjection(DSSDocument reportProjectionPart) {
+		String value = getValue(reportProjectionPart, REPORT_PROJECTION_PART);
+		if (Utils.isStringEmpty(value)) {
+			return null;
+		}
+		try {
+			return ReportProjection.valueOf(value);
+		} catch (IllegalArgumentException e) {
+			throw new DSSException("Unsupported report projection '" + value + "'", e);
+		}
+	}
+
+	private String getValue(DSSDocument part, String partName) {
+		if (part == null) {
+			return null;
+		}
+		try (InputStream is = part.openStream()) {
+			return new String(Utils.toByteArray(is), "UTF-8").trim();
+		} catch (IOException e) {
+			throw new DSSException("Unable to read the part '" + partName + "'", e);
+		}
 	}
 
 }
@@ -0,0 +1,200 @@
+package eu.europa.esig.dss.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.DSSException;
+import eu.europa.esig.dss.DSSUtils;
+import eu.europa.esig.dss.MimeType;
+
+public class MultipartDocumentReaderTest {
+
+	private static final String BOUNDARY = "----dss-boundary";
+
+	private static final String CONTENT_TYPE = "multipart/form-data; boundary=\"" + BOUNDARY + "\"";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File temporaryDirectory;
+
+	private MultipartDocumentReader reader;
+
+	@Before
+	public void init() throws IOException {
+		temporaryDirectory = temporaryFolder.newFolder();
+		reader = new MultipartDocumentReader(temporaryDirectory, new HashSet<String>(Arrays.asList("signedDocument", "policy")));
+	}
+
+	@Test
+	public void partsAndMimeTypes() {
+		String body = part("signedDocument", "doc.xml", "text/xml; charset=UTF-8", "<root/>") + part("other", null, null, "skipped")
+				+ part("policy", "policy.bin", "application/x-unknown-" + System.nanoTime(), "policy") + "--" + BOUNDARY + "--\r\n";
+
+		Map<String, DSSDocument> documents = reader.read(CONTENT_TYPE, stream(body));
+		assertEquals(2, documents.size());
+		DSSDocument signedDocument = documents.get("signedDocument");
+		assertEquals("<root/>", new String(DSSUtils.toByteArray(signedDocument)));
+		assertEquals("doc.xml", signedDocument.getName());
+		assertEquals(MimeType.XML, signedDocument.getMimeType());
+
+		DSSDocument policy = documents.get("policy");
+		assertEquals("policy", new String(DSSUtils.toByteArray(policy)));
+		// the unknown mime-type sent by the client is not registered
+		assertEquals(MimeType.BINARY, policy.getMimeType());
+
+		MultipartDocumentReader.delete(documents);
+		assertEquals(0, temporaryDirectory.listFiles().length);
+	}
+
+	@Test
+	public void unknownMimeTypeIsNotRegistered() {
+		String mimeType = "application/x-unknown-" + System.nanoTime();
+		String body = part("signedDocument", "doc.pdf", mimeType, "content") + "--" + BOUNDARY + "--";
+
+		Map<String, DSSDocument> documents = reader.read(CONTENT_TYPE, stream(body));
+		assertEquals(MimeType.PDF, documents.get("signedDocument").getMimeType());
+		assertNull(MimeType.fromKnownMimeTypeString(mimeType));
+		MultipartDocumentReader.delete(documents);
+	}
+
+	@Test
+	public void preamble() {
+		String body = "This is the preamble\r\n" + part("signedDocument", null, null, "content") + "--" + BOUNDARY + "--\r\nepilogue";
+
+		Map<String, DSSDocument> documents = reader.read(CONTENT_TYPE, stream(body));
+		assertEquals("content", new String(DSSUtils.toByteArray(documents.get("signedDocument"))));
+		assertEquals("signedDocument", documents.get("signedDocument").getName());
+		MultipartDocumentReader.delete(documents);
+	}
+
+	@Test
+	public void boundarySplitAcrossReads() {
+		// the content contains partial delimiters
+		String content = "a\r\n--" + BOUNDARY.substring(0, 5) + "b\r\n\r\n--" + BOUNDARY.substring(0, 10) + "\r\n-";
+		String body = part("signedDocument", null, null, content) + part("policy", null, null, "policy") + "--" + BOUNDARY + "--";
+
+		Map<String, DSSDocument> documents = reader.read(CONTENT_TYPE, new SmallChunksInputStream(body.getBytes(), 3));
+		assertEquals(content, new String(DSSUtils.toByteArray(documents.get("signedDocument"))));
+		assertEquals("policy", new String(DSSUtils.toByteArray(documents.get("policy"))));
+		MultipartDocumentReader.delete(documents);
+	}
+
+	@Test
+	public void missingFinalBoundary() {
+		assertInvalid(part("signedDocument", null, null, "content"));
+		assertInvalid(part("signedDocument", null, null, "content").replace("\r\n--" + BOUNDARY + "\r\n", ""));
+	}
+
+	@Test
+	public void missingBoundary() {
+		assertInvalid("no multipart content");
+	}
+
+	@Test
+	public void oversizedHeaders() {
+		StringBuilder longValue = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			longValue.append('a');
+		}
+		assertInvalid("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"signedDocument\"; filename=\"" + longValue + "\"\r\n\r\ncontent\r\n--"
+				+ BOUNDARY + "--");
+
+		StringBuilder headers = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			headers.append("X-Header-").append(i).append(": value\r\n");
+		}
+		assertInvalid("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"signedDocument\"\r\n" + headers + "\r\ncontent\r\n--" + BOUNDARY + "--");
+	}
+
+	@Test
+	public void maxPartSize() {
+		reader.setMaxPartSize(10);
+		String body = part("signedDocument", null, null, "0123456789") + part("policy", null, null, "policy") + "--" + BOUNDARY + "--";
+		Map<String, DSSDocument> documents = reader.read(CONTENT_TYPE, stream(body));
+		assertEquals(2, documents.size());
+		MultipartDocumentReader.delete(documents);
+
+		// the skipped parts are not limited
+		assertTooLarge(part("other", null, null, "01234567890") + part("signedDocument", null, null, "01234567890") + "--" + BOUNDARY + "--");
+	}
+
+	@Test
+	public void maxTotalSize() {
+		reader.setMaxTotalSize(15);
+		assertTooLarge(part("signedDocument", null, null, "0123456789") + part("policy", null, null, "0123456789") + "--" + BOUNDARY + "--");
+	}
+
+	private void assertTooLarge(String body) {
+		try {
+			reader.read(CONTENT_TYPE, stream(body));
+			fail("The body must be rejected");
+		} catch (MultipartTooLargeException e) {
+			// the partial file is deleted
+			assertEquals(0, temporaryDirectory.listFiles().length);
+		}
+	}
+
+	private void assertInvalid(String body) {
+		try {
+			reader.read(CONTENT_TYPE, stream(body));
+			fail("The body must be rejected");
+		} catch (DSSException e) {
+			// the spooled parts are deleted
+			assertEquals(0, temporaryDirectory.listFiles().length);
+		}
+	}
+
+	private String part(String name, String fileName, String contentType, String content) {
+		StringBuilder part = new StringBuilder("--").append(BOUNDARY).append("\r\n");
+		part.append("Content-Disposition: form-data; name=\"").append(name).append('"');
+		if (fileName != null) {
+			part.append("; filename=\"").append(fileName).append('"');
+		}
+		part.append("\r\n");
+		if (contentType != null) {
+			part.append("Content-Type: ").append(contentType).append("\r\n");
+		}
+		return part.append("\r\n").append(content).append("\r\n").toString();
+	}
+
+	private InputStream stream(String body) {
+		return new ByteArrayInputStream(body.getBytes());
+	}
+
+	/**
+	 * Returns at most {@code chunkSize} bytes per read
+	 */
+	private static class SmallChunksInputStream extends ByteArrayInputStream {
+
+		private final int chunkSize;
+
+		private SmallChunksInputStream(byte[] bytes, int chunkSize) {
+			super(bytes);
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		public synchronized int read(byte[] b, int off, int len) {
+			return super.read(b, off, Math.min(len, chunkSize));
+		}
+
+	}
+
+}
@@ -15,7 +15,7 @@ public class SoapDocumentValidationServiceImpl implements SoapDocumentValidation
 	@Override
 	public WSReportsDTO validateSignature(DataToValidateDTO dataToValidate) {
 		ReportsDTO reportsDTO = validationService.validateDocument(dataToValidate.getSignedDocument(), dataToValidate.getOriginalDocument(),
-				dataToValidate.getPolicy());
+				dataToValidate.getPolicy(), dataToValidate.getPolicyId(), dataToValidate.getReportProjection());
 		return new WSReportsDTO(reportsDTO.getDiagnosticData(), reportsDTO.getSimpleReport(), reportsDTO.getDetailedReport());
 	}
 }
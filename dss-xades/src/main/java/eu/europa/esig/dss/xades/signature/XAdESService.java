@@ -40,6 +40,7 @@ import eu.europa.esig.dss.signature.MultipleDocumentsSignatureService;
 import eu.europa.esig.dss.signature.SignatureExtension;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.CertificateVerifier;
+import eu.europa.esig.dss.validation.SharedCertificateVerifier;
 import eu.europa.esig.dss.validation.TimestampToken;
 import eu.europa.esig.dss.xades.DSSReference;
 import eu.europa.esig.dss.xades.ProfileParameters;
@@ -132,7 +133,7 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 			profile = new XAdESLevelBaselineB(certificateVerifier);
 		}
 		final DSSDocument signedDoc = profile.signDocument(toSignDocument, parameters, signatureValue.getValue());
-		final SignatureExtension<XAdESSignatureParameters> extension = getExtensionProfile(parameters);
+		final SignatureExtension<XAdESSignatureParameters> extension = getExtensionProfile(parameters, certificateVerifier);
 		if (extension != null) {
 			if (SignaturePackaging.DETACHED.equals(parameters.getSignaturePackaging()) && Utils.isCollectionEmpty(parameters.getDetachedContents())) {
 				List<DSSDocument> detachedContents = new ArrayList<DSSDocument>();
@@ -167,7 +168,8 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 	@Override
 	public DSSDocument extendDocument(final DSSDocument toExtendDocument, final XAdESSignatureParameters parameters) throws DSSException {
 		parameters.getContext().setOperationKind(Operation.EXTENDING);
-		final SignatureExtension<XAdESSignatureParameters> extension = getExtensionProfile(parameters);
+		// the validation data is shared between the signatures of the document
+		final SignatureExtension<XAdESSignatureParameters> extension = getExtensionProfile(parameters, new SharedCertificateVerifier(certificateVerifier));
 		if (extension != null) {
 			final DSSDocument dssDocument = extension.extendSignatures(toExtendDocument, parameters);
 			dssDocument.setName(DSSUtils.getFinalFileName(toExtendDocument, SigningOperation.EXTEND, parameters.getSignatureLevel()));
@@ -180,9 +182,12 @@ public class XAdESService extends AbstractSignatureService<XAdESSignatureParamet
 	 * The choice of profile according to the passed parameter.
 	 *
 	 * @param parameters
+	 * @param certificateVerifier
+	 *            the certificate verifier used to collect the validation data
 	 * @return
 	 */
-	private SignatureExtension<XAdESSignatureParameters> getExtensionProfile(final XAdESSignatureParameters parameters) {
+	private SignatureExtension<XAdESSignatureParameters> getExtensionProfile(final XAdESSignatureParameters parameters,
+			final CertificateVerifier certificateVerifier) {
 		switch (parameters.getSignatureLevel()) {
 		case XAdES_BASELINE_B:
 			return null;
@@ -22,6 +22,7 @@ package eu.europa.esig.dss.xades.validation;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.math.BigInteger;
 import java.security.PublicKey;
@@ -1430,7 +1431,7 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		canonicalizationMethod = timestampToken != null ? timestampToken.getCanonicalizationMethod() : canonicalizationMethod;
 
 		try (ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
-			writeCanonicalizedValue(xPathQueryHolder.XPATH_SIGNATURE_VALUE, canonicalizationMethod, buffer);
+			writeSignatureTimestampData(canonicalizationMethod, buffer);
 			final byte[] byteArray = buffer.toByteArray();
 			if (LOG.isTraceEnabled()) {
 				LOG.trace("Signature timestamp canonicalized string : \n{}", new String(byteArray));
@@ -1441,24 +1442,16 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		}
 	}
 
+	private void writeSignatureTimestampData(final String canonicalizationMethod, final OutputStream buffer) throws IOException {
+		writeCanonicalizedValue(xPathQueryHolder.XPATH_SIGNATURE_VALUE, canonicalizationMethod, buffer);
+	}
+
 	@Override
 	public byte[] getTimestampX1Data(final TimestampToken timestampToken, String canonicalizationMethod) {
 		canonicalizationMethod = timestampToken != null ? timestampToken.getCanonicalizationMethod() : canonicalizationMethod;
 
 		try (ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
-			writeCanonicalizedValue(xPathQueryHolder.XPATH_SIGNATURE_VALUE, canonicalizationMethod, buffer);
-
-			final NodeList signatureTimeStampNode = DomUtils.getNodeList(signatureElement, xPathQueryHolder.XPATH_SIGNATURE_TIMESTAMP);
-			if (signatureTimeStampNode != null) {
-				for (int ii = 0; ii < signatureTimeStampNode.getLength(); ii++) {
-
-					final Node item = signatureTimeStampNode.item(ii);
-					final byte[] canonicalizedValue = DSSXMLUtils.canonicalizeSubtree(canonicalizationMethod, item);
-					buffer.write(canonicalizedValue);
-				}
-			}
-			writeCanonicalizedValue(xPathQueryHolder.XPATH_COMPLETE_CERTIFICATE_REFS, canonicalizationMethod, buffer);
-			writeCanonicalizedValue(xPathQueryHolder.XPATH_COMPLETE_REVOCATION_REFS, canonicalizationMethod, buffer);
+			writeTimestampX1Data(canonicalizationMethod, buffer);
 			final byte[] byteArray = buffer.toByteArray();
 			if (LOG.isTraceEnabled()) {
 				LOG.trace("X1Timestamp (SigAndRefsTimeStamp) canonicalised string : \n{}", new String(byteArray));
@@ -1469,13 +1462,27 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		}
 	}
 
+	private void writeTimestampX1Data(final String canonicalizationMethod, final OutputStream buffer) throws IOException {
+		writeCanonicalizedValue(xPathQueryHolder.XPATH_SIGNATURE_VALUE, canonicalizationMethod, buffer);
+
+		final NodeList signatureTimeStampNode = DomUtils.getNodeList(signatureElement, xPathQueryHolder.XPATH_SIGNATURE_TIMESTAMP);
+		if (signatureTimeStampNode != null) {
+			for (int ii = 0; ii < signatureTimeStampNode.getLength(); ii++) {
+
+				final Node item = signatureTimeStampNode.item(ii);
+				final byte[] canonicalizedValue = DSSXMLUtils.canonicalizeSubtree(canonicalizationMethod, item);
+				buffer.write(canonicalizedValue);
+			}
+		}
+		writeTimestampX2Data(canonicalizationMethod, buffer);
+	}
+
 	@Override
 	public byte[] getTimestampX2Data(final TimestampToken timestampToken, String canonicalizationMethod) {
 		canonicalizationMethod = timestampToken != null ? timestampToken.getCanonicalizationMethod() : canonicalizationMethod;
 
 		try (ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
-			writeCanonicalizedValue(xPathQueryHolder.XPATH_COMPLETE_CERTIFICATE_REFS, canonicalizationMethod, buffer);
-			writeCanonicalizedValue(xPathQueryHolder.XPATH_COMPLETE_REVOCATION_REFS, canonicalizationMethod, buffer);
+			writeTimestampX2Data(canonicalizationMethod, buffer);
 
 			final byte[] byteArray = buffer.toByteArray();
 			if (LOG.isTraceEnabled()) {
@@ -1487,6 +1494,11 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		}
 	}
 
+	private void writeTimestampX2Data(final String canonicalizationMethod, final OutputStream buffer) throws IOException {
+		writeCanonicalizedValue(xPathQueryHolder.XPATH_COMPLETE_CERTIFICATE_REFS, canonicalizationMethod, buffer);
+		writeCanonicalizedValue(xPathQueryHolder.XPATH_COMPLETE_REVOCATION_REFS, canonicalizationMethod, buffer);
+	}
+
 	/**
 	 * Gathers the data to be used to calculate the hash value sent to the TSA (messageImprint).
 	 *
@@ -1497,6 +1509,15 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 	 */
 	@Override
 	public byte[] getArchiveTimestampData(final TimestampToken timestampToken, String canonicalizationMethod) {
+		try (ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
+			writeArchiveTimestampData(timestampToken, canonicalizationMethod, buffer);
+			return buffer.toByteArray();
+		} catch (IOException e) {
+			throw new DSSException("Error when computing the archive data", e);
+		}
+	}
+
+	private void writeArchiveTimestampData(final TimestampToken timestampToken, String canonicalizationMethod, final OutputStream buffer) {
 
 		if (LOG.isTraceEnabled()) {
 			LOG.trace("--->Get archive timestamp data:" + (timestampToken == null ? "--> CREATION" : "--> VALIDATION"));
@@ -1512,7 +1533,7 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		 * 
 		 * 1) Initialize the final octet stream as an empty octet stream.
 		 */
-		try (ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
+		try {
 
 			/**
 			 * 2) Take all the ds:Reference elements in their order of appearance within ds:SignedInfo referencing
@@ -1681,12 +1702,32 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 				byte[] canonicalizedValue = DSSXMLUtils.canonicalizeOrSerializeSubtree(canonicalizationMethod, node);
 				buffer.write(canonicalizedValue);
 			}
-			return buffer.toByteArray();
 		} catch (IOException | XMLSignatureException e) {
 			throw new DSSException("Error when computing the archive data", e);
 		}
 	}
 
+	@Override
+	protected boolean writeTimestampedData(final TimestampToken timestampToken, final OutputStream sink) throws IOException {
+		final String canonicalizationMethod = timestampToken.getCanonicalizationMethod();
+		switch (timestampToken.getTimeStampType()) {
+		case SIGNATURE_TIMESTAMP:
+			writeSignatureTimestampData(canonicalizationMethod, sink);
+			return true;
+		case VALIDATION_DATA_TIMESTAMP:
+			writeTimestampX1Data(canonicalizationMethod, sink);
+			return true;
+		case VALIDATION_DATA_REFSONLY_TIMESTAMP:
+			writeTimestampX2Data(canonicalizationMethod, sink);
+			return true;
+		case ARCHIVE_TIMESTAMP:
+			writeArchiveTimestampData(timestampToken, canonicalizationMethod, sink);
+			return true;
+		default:
+			return super.writeTimestampedData(timestampToken, sink);
+		}
+	}
+
 	/**
 	 * This methods removes the char '#' if present
 	 * 
@@ -1700,7 +1741,7 @@ public class XAdESSignature extends DefaultAdvancedSignature {
 		return uri;
 	}
 
-	private void writeCanonicalizedValue(final String xPathString, final String canonicalizationMethod, final ByteArrayOutputStream buffer) throws IOException {
+	private void writeCanonicalizedValue(final String xPathString, final String canonicalizationMethod, final OutputStream buffer) throws IOException {
 		final Element element = DomUtils.getElement(signatureElement, xPathString);
 		if (element != null) {
 			buffer.write(DSSXMLUtils.canonicalizeOrSerializeSubtree(canonicalizationMethod, element));
@@ -118,6 +118,16 @@ public class XMLDocumentValidator extends SignedDocumentValidator {
 		return Arrays.equals(preamble, xmlPreamble) || Arrays.equals(preamble, xmlUtf8);
 	}
 
+	/**
+	 * The signatures are checked sequentially : they share the DOM of the document, which is not thread-safe (even
+	 * for reading, eg : the deferred nodes of Xerces or the ID attributes registered during the reference
+	 * resolution).
+	 */
+	@Override
+	protected boolean isConcurrentSignatureValidationSupported() {
+		return false;
+	}
+
 	@Override
 	public List<AdvancedSignature> getSignatures() {
 		if (signatures != null) {
@@ -0,0 +1,120 @@
+package eu.europa.esig.dss.xades.signature;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.security.KeyStore.PrivateKeyEntry;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import eu.europa.esig.dss.DSSDocument;
+import eu.europa.esig.dss.InMemoryDocument;
+import eu.europa.esig.dss.SignatureLevel;
+import eu.europa.esig.dss.SignaturePackaging;
+import eu.europa.esig.dss.signature.BatchSignatureService;
+import eu.europa.esig.dss.signature.PKIFactoryAccess;
+import eu.europa.esig.dss.signature.SignatureParametersFactory;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.KSPrivateKeyEntry;
+import eu.europa.esig.dss.token.KeyStoreSignatureTokenConnection;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.wrapper.DiagnosticData;
+import eu.europa.esig.dss.x509.CertificateToken;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+
+public class XAdESBatchSignatureTest extends PKIFactoryAccess {
+
+	@Test
+	public void test() throws IOException {
+		List<DSSDocument> toSignDocuments = new ArrayList<DSSDocument>();
+		for (int i = 0; i < 5; i++) {
+			toSignDocuments.add(new InMemoryDocument(("Hello " + i).getBytes("UTF-8"), "hello" + i + ".txt"));
+		}
+
+		ExecutorService executorService = Executors.newFixedThreadPool(3);
+		try (KeyStoreSignatureTokenConnection token = getToken()) {
+			DSSPrivateKeyEntry privateKeyEntry = token.getKey(getSigningAlias());
+
+			BatchSignatureService<XAdESSignatureParameters> batchService = new BatchSignatureService<XAdESSignatureParameters>(
+					new XAdESService(getCompleteCertificateVerifier()));
+			batchService.setExecutorService(executorService);
+
+			List<DSSDocument> signedDocuments = batchService.signDocuments(toSignDocuments, new SignatureParametersFactory<XAdESSignatureParameters>() {
+
+				@Override
+				public XAdESSignatureParameters createParameters(DSSDocument toSignDocument) {
+					XAdESSignatureParameters parameters = new XAdESSignatureParameters();
+					parameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+					parameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+					return parameters;
+				}
+
+			}, token, privateKeyEntry);
+
+			assertEquals(toSignDocuments.size(), signedDocuments.size());
+			for (DSSDocument signedDocument : signedDocuments) {
+				SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+				validator.setCertificateVerifier(getCompleteCertificateVerifier());
+				DiagnosticData diagnosticData = validator.validateDocument().getDiagnosticData();
+				assertEquals(1, diagnosticData.getSignatureIdList().size());
+				assertTrue(diagnosticData.isBLevelTechnicallyValid(diagnosticData.getFirstSignatureId()));
+				assertEquals(privateKeyEntry.getCertificate().getDSSIdAsString(),
+						diagnosticData.getSigningCertificateId(diagnosticData.getFirstSignatureId()));
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void noCertificateChain() throws IOException {
+		List<DSSDocument> toSignDocuments = new ArrayList<DSSDocument>();
+		toSignDocuments.add(new InMemoryDocument("Hello".getBytes("UTF-8"), "hello.txt"));
+
+		try (KeyStoreSignatureTokenConnection token = getToken()) {
+			KSPrivateKeyEntry keyEntry = (KSPrivateKeyEntry) token.getKey(getSigningAlias());
+			PrivateKeyEntry entry = new PrivateKeyEntry(keyEntry.getPrivateKey(), new Certificate[] { keyEntry.getCertificate().getCertificate() });
+			DSSPrivateKeyEntry privateKeyEntry = new KSPrivateKeyEntry(keyEntry.getAlias(), entry) {
+
+				@Override
+				public CertificateToken[] getCertificateChain() {
+					return null;
+				}
+
+			};
+
+			BatchSignatureService<XAdESSignatureParameters> batchService = new BatchSignatureService<XAdESSignatureParameters>(
+					new XAdESService(getCompleteCertificateVerifier()));
+			List<DSSDocument> signedDocuments = batchService.signDocuments(toSignDocuments, new SignatureParametersFactory<XAdESSignatureParameters>() {
+
+				@Override
+				public XAdESSignatureParameters createParameters(DSSDocument toSignDocument) {
+					XAdESSignatureParameters parameters = new XAdESSignatureParameters();
+					parameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+					parameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+					return parameters;
+				}
+
+			}, token, privateKeyEntry);
+
+			assertEquals(1, signedDocuments.size());
+			SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocuments.get(0));
+			validator.setCertificateVerifier(getCompleteCertificateVerifier());
+			DiagnosticData diagnosticData = validator.validateDocument().getDiagnosticData();
+			assertTrue(diagnosticData.isBLevelTechnicallyValid(diagnosticData.getFirstSignatureId()));
+			assertEquals(privateKeyEntry.getCertificate().getDSSIdAsString(), diagnosticData.getSigningCertificateId(diagnosticData.getFirstSignatureId()));
+		}
+	}
+
+	@Override
+	protected String getSigningAlias() {
+		return GOOD_USER;
+	}
+
+}
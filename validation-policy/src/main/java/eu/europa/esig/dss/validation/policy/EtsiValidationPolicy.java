@@ -60,6 +60,15 @@ public class EtsiValidationPolicy implements ValidationPolicy {
 		this.policy = policy;
 	}
 
+	/**
+	 * Returns the JAXB constraints of this policy
+	 *
+	 * @return the {@code ConstraintsParameters} (must not be modified)
+	 */
+	public ConstraintsParameters getConstraintsParameters() {
+		return policy;
+	}
+
 	@Override
 	public Date getAlgorithmExpirationDate(final String algorithm, Context context, SubContext subContext) {
 		CryptographicConstraint signatureCryptographicConstraint = getCertificateCryptographicConstraint(context, subContext);